@@ -2,14 +2,20 @@ package transmission;
 
 /**
  * This class represents an automatic car transmission. It implements all the operations
- * defined by the Transmission interface.
+ * defined by the Transmission interface. Unless the thresholds are very high, the gear for
+ * every speed below the fifth threshold is precomputed, so that a speed change of any size
+ * resolves the gear with a single table lookup.
  */
 public class AutomaticTransmission implements Transmission {
+  // Largest fifth threshold for which a gear table is built (64 KiB).
+  private static final int MAX_TABLE_SIZE = 1 << 16;
+
   private final int speedThresholdOne;
   private final int speedThresholdTwo;
   private final int speedThresholdThree;
   private final int speedThresholdFour;
   private final int speedThresholdFive;
+  private final byte[] gears; // gear per speed below speedThresholdFive, or null
   private int speed;
   private int gear; // Using an integer to represent the gear
 
@@ -27,19 +33,23 @@ public class AutomaticTransmission implements Transmission {
                                int speedThresholdThree, int speedThresholdFour,
                                int speedThresholdFive) throws IllegalArgumentException {
 
-    if (speedThresholdOne >= speedThresholdTwo || speedThresholdTwo >= speedThresholdThree
-        || speedThresholdThree >= speedThresholdFour || speedThresholdFour >= speedThresholdFive) {
-      throw new IllegalArgumentException("Speed thresholds must increase progressively.");
-    }
-    if (speedThresholdOne <= 0) {
-      throw new IllegalArgumentException("Threshold speed cannot be zero or negative.");
-    }
+    checkThresholds(speedThresholdOne, speedThresholdTwo, speedThresholdThree,
+        speedThresholdFour, speedThresholdFive);
 
     this.speedThresholdOne = speedThresholdOne;
     this.speedThresholdTwo = speedThresholdTwo;
     this.speedThresholdThree = speedThresholdThree;
     this.speedThresholdFour = speedThresholdFour;
     this.speedThresholdFive = speedThresholdFive;
+    if (speedThresholdFive <= MAX_TABLE_SIZE) {
+      this.gears = new byte[speedThresholdFive];
+      for (int i = 0; i < speedThresholdFive; i++) {
+        this.gears[i] = (byte) gearFor(i, speedThresholdOne, speedThresholdTwo,
+            speedThresholdThree, speedThresholdFour, speedThresholdFive);
+      }
+    } else {
+      this.gears = null;
+    }
     this.speed = 0;
     this.gear = 0; // Start in idle gear
   }
@@ -65,6 +75,20 @@ public class AutomaticTransmission implements Transmission {
     }
     updateGear();
   }
+  /**
+   * Set the car speed directly, looking up the gear for it.
+   * @param speed the new speed
+   * @throws IllegalStateException if the speed is negative, in which case nothing changes
+   */
+  @Override
+  public void setSpeed(int speed) throws IllegalStateException {
+    if (speed < 0) {
+      throw new IllegalStateException("Speed cannot be negative.");
+    }
+    this.speed = speed;
+    updateGear();
+  }
+
   /**
    * get speed for the car.
    * @return the car speed
@@ -85,20 +109,55 @@ public class AutomaticTransmission implements Transmission {
   }
 
   private void updateGear() {
-    if (this.speed == 0) {
-      this.gear = 0;
-    } else if (this.speed < this.speedThresholdOne) {
-      this.gear = 1;
-    } else if (this.speed < this.speedThresholdTwo) {
-      this.gear = 2;
-    } else if (this.speed < this.speedThresholdThree) {
-      this.gear = 3;
-    } else if (this.speed < this.speedThresholdFour) {
-      this.gear = 4;
-    } else if (this.speed < this.speedThresholdFive) {
-      this.gear = 5;
-    } else {
+    if (this.speed >= this.speedThresholdFive) {
       this.gear = 6;
+    } else if (this.gears != null) {
+      this.gear = this.gears[this.speed];
+    } else {
+      this.gear = gearFor(this.speed, this.speedThresholdOne, this.speedThresholdTwo,
+          this.speedThresholdThree, this.speedThresholdFour, this.speedThresholdFive);
+    }
+  }
+
+  /**
+   * Check that five speed thresholds are positive and in increasing order.
+   * @throws IllegalArgumentException if any speed threshold is not positive or
+   *                                  if the speed thresholds are not in increasing order
+   */
+  static void checkThresholds(int speedThresholdOne, int speedThresholdTwo,
+                              int speedThresholdThree, int speedThresholdFour,
+                              int speedThresholdFive) throws IllegalArgumentException {
+    if (speedThresholdOne >= speedThresholdTwo || speedThresholdTwo >= speedThresholdThree
+        || speedThresholdThree >= speedThresholdFour || speedThresholdFour >= speedThresholdFive) {
+      throw new IllegalArgumentException("Speed thresholds must increase progressively.");
+    }
+    if (speedThresholdOne <= 0) {
+      throw new IllegalArgumentException("Threshold speed cannot be zero or negative.");
+    }
+  }
+
+  /**
+   * The gear of a car at a speed: 0 when stopped, 1 below the first threshold, and one more
+   * for every threshold reached, up to 6.
+   * @param speed the speed of the car
+   * @return the gear for the speed
+   */
+  static int gearFor(int speed, int speedThresholdOne, int speedThresholdTwo,
+                     int speedThresholdThree, int speedThresholdFour, int speedThresholdFive) {
+    if (speed == 0) {
+      return 0;
+    } else if (speed < speedThresholdOne) {
+      return 1;
+    } else if (speed < speedThresholdTwo) {
+      return 2;
+    } else if (speed < speedThresholdThree) {
+      return 3;
+    } else if (speed < speedThresholdFour) {
+      return 4;
+    } else if (speed < speedThresholdFive) {
+      return 5;
+    } else {
+      return 6;
     }
   }
 
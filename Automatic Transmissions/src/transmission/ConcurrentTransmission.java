@@ -0,0 +1,156 @@
+package transmission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents an automatic car transmission that many threads can drive and read
+ * at once. It shifts exactly like AutomaticTransmission, but keeps the speed and gear
+ * packed in one AtomicLong, the speed in the high 32 bits and the gear in the low ones.
+ * Every change computes the new pair from the current one and installs it with a
+ * compare-and-set, retrying if another thread got there first, so writers never block and
+ * a reader of getState always sees a speed with its own gear.
+ */
+public class ConcurrentTransmission implements Transmission {
+  private final int speedThresholdOne;
+  private final int speedThresholdTwo;
+  private final int speedThresholdThree;
+  private final int speedThresholdFour;
+  private final int speedThresholdFive;
+  private final AtomicLong state = new AtomicLong(); // speed << 32 | gear, starts at 0, 0
+
+  /**
+   * Constructor for the transmission object that includes 5 speed thresholds.
+   * @param speedThresholdOne the speed that triggers the shift from gear one to two
+   * @param speedThresholdTwo the speed that triggers the shift from gear two to three
+   * @param speedThresholdThree the speed that triggers the shift from gear three to four
+   * @param speedThresholdFour the speed that triggers the shift from gear four to five
+   * @param speedThresholdFive the speed that triggers the shift from gear five to six
+   * @throws IllegalArgumentException if any speed threshold is not positive or
+   *                                  if the speed thresholds are not in increasing order
+   */
+  public ConcurrentTransmission(int speedThresholdOne, int speedThresholdTwo,
+                                int speedThresholdThree, int speedThresholdFour,
+                                int speedThresholdFive) throws IllegalArgumentException {
+    AutomaticTransmission.checkThresholds(speedThresholdOne, speedThresholdTwo,
+        speedThresholdThree, speedThresholdFour, speedThresholdFive);
+    this.speedThresholdOne = speedThresholdOne;
+    this.speedThresholdTwo = speedThresholdTwo;
+    this.speedThresholdThree = speedThresholdThree;
+    this.speedThresholdFour = speedThresholdFour;
+    this.speedThresholdFive = speedThresholdFive;
+  }
+
+  /**
+   * Increase the car speed by 1.
+   */
+  @Override
+  public void increaseSpeed() {
+    changeSpeed(1);
+  }
+
+  /**
+   * Decrease the car speed to a positive number.
+   * @throws IllegalStateException if the resulting speed is negative, in which case nothing
+   *                               changes
+   */
+  @Override
+  public void decreaseSpeed() throws IllegalStateException {
+    changeSpeed(-1);
+  }
+
+  /**
+   * Set the car speed directly, shifting to the gear for it.
+   * @param speed the new speed
+   * @throws IllegalStateException if the speed is negative, in which case nothing changes
+   */
+  @Override
+  public void setSpeed(int speed) throws IllegalStateException {
+    if (speed < 0) {
+      throw new IllegalStateException("Speed cannot be negative.");
+    }
+    this.state.set(pack(speed));
+  }
+
+  /**
+   * Change the car speed atomically by the given number of MPH.
+   * @param delta the change in speed, negative to slow down
+   * @throws IllegalStateException if the resulting speed would be negative, in which case
+   *                               nothing changes
+   */
+  @Override
+  public void changeSpeed(int delta) throws IllegalStateException {
+    while (true) {
+      long current = this.state.get();
+      long speed = (long) speedOf(current) + delta;
+      if (speed < 0) {
+        throw new IllegalStateException("Speed cannot be negative.");
+      }
+      if (this.state.compareAndSet(current, pack((int) Math.min(speed, Integer.MAX_VALUE)))) {
+        return;
+      }
+    }
+  }
+
+  private long pack(int speed) {
+    int gear = AutomaticTransmission.gearFor(speed, this.speedThresholdOne,
+        this.speedThresholdTwo, this.speedThresholdThree, this.speedThresholdFour,
+        this.speedThresholdFive);
+    return (long) speed << 32 | gear;
+  }
+
+  /**
+   * get the speed and gear of the car as one value, read atomically. Use speedOf and gearOf
+   * to unpack it; unlike calling getSpeed and then getGear, the two always belong together.
+   * @return the packed speed and gear
+   */
+  public long getState() {
+    return this.state.get();
+  }
+
+  /**
+   * get the speed out of a state returned by getState.
+   * @param state the state
+   * @return the speed
+   */
+  public static int speedOf(long state) {
+    return (int) (state >>> 32);
+  }
+
+  /**
+   * get the gear out of a state returned by getState.
+   * @param state the state
+   * @return the gear
+   */
+  public static int gearOf(long state) {
+    return (int) state;
+  }
+
+  /**
+   * get speed for the car.
+   * @return the car speed
+   */
+  @Override
+  public int getSpeed() {
+    return speedOf(this.state.get());
+  }
+
+  /**
+   * get gear for the car.
+   * @return the car gear level
+   */
+  @Override
+  public int getGear() {
+    return gearOf(this.state.get());
+  }
+
+  /**
+   * String representation of the car transmission, from one atomic read.
+   * @return string representation of the car transmission
+   */
+  @Override
+  public String toString() {
+    long current = this.state.get();
+    return String.format("Transmission (speed = %d, gear = %d)", speedOf(current),
+        gearOf(current));
+  }
+}
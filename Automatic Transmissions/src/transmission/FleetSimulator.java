@@ -0,0 +1,200 @@
+package transmission;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * This class simulates a fleet of cars with automatic transmissions driving acceleration
+ * profiles. Each car behaves like an AutomaticTransmission, but the speed, gear, thresholds
+ * and shift count of all the cars are kept in primitive arrays with one entry per car, so
+ * that millions of cars fit in memory and are updated in tight loops.
+ *
+ * <p>A profile is a cycle of speed changes in MPH, one per tick, and every car keeps its own
+ * position in its profile, starting from the first change when it is added. The cars are
+ * split into blocks that are simulated in parallel, each block running all the requested
+ * ticks before the next, so its columns stay in the cache. The gear is resolved exactly as
+ * AutomaticTransmission does. A car braking below 0 MPH stops at 0 instead of failing.
+ */
+public class FleetSimulator {
+  private static final int BLOCK_SIZE = 4096;
+
+  private final int[][] profiles;
+  private int size;
+  private long ticks;
+  private int[] profileIds = new int[16];
+  private int[] steps = new int[16];
+  private int[] speeds = new int[16];
+  private int[] gears = new int[16];
+  private int[] thresholdsOne = new int[16];
+  private int[] thresholdsTwo = new int[16];
+  private int[] thresholdsThree = new int[16];
+  private int[] thresholdsFour = new int[16];
+  private int[] thresholdsFive = new int[16];
+  private long[] shifts = new long[16];
+
+  /**
+   * Constructor for a fleet without cars.
+   * @param profiles the acceleration profiles the cars can follow, each a non-empty cycle of
+   *                 speed changes per tick
+   * @throws IllegalArgumentException if a profile is empty
+   */
+  public FleetSimulator(int[]... profiles) throws IllegalArgumentException {
+    this.profiles = new int[profiles.length][];
+    for (int i = 0; i < profiles.length; i++) {
+      if (profiles[i].length == 0) {
+        throw new IllegalArgumentException("Profiles cannot be empty.");
+      }
+      this.profiles[i] = profiles[i].clone();
+    }
+  }
+
+  /**
+   * Add a stopped car to the fleet, which starts its profile at the next tick.
+   * @param profile the index of the profile the car follows
+   * @param speedThresholdOne the speed that triggers the shift from gear one to two
+   * @param speedThresholdTwo the speed that triggers the shift from gear two to three
+   * @param speedThresholdThree the speed that triggers the shift from gear three to four
+   * @param speedThresholdFour the speed that triggers the shift from gear four to five
+   * @param speedThresholdFive the speed that triggers the shift from gear five to six
+   * @return the index of the car
+   * @throws IllegalArgumentException if there is no such profile, any speed threshold is not
+   *                                  positive or the speed thresholds are not in increasing
+   *                                  order
+   */
+  public int addCar(int profile, int speedThresholdOne, int speedThresholdTwo,
+                    int speedThresholdThree, int speedThresholdFour, int speedThresholdFive)
+      throws IllegalArgumentException {
+    if (profile < 0 || profile >= this.profiles.length) {
+      throw new IllegalArgumentException("No such profile: " + profile);
+    }
+    AutomaticTransmission.checkThresholds(speedThresholdOne, speedThresholdTwo,
+        speedThresholdThree, speedThresholdFour, speedThresholdFive);
+    if (this.size == this.speeds.length) {
+      grow();
+    }
+    int car = this.size++;
+    this.profileIds[car] = profile;
+    this.thresholdsOne[car] = speedThresholdOne;
+    this.thresholdsTwo[car] = speedThresholdTwo;
+    this.thresholdsThree[car] = speedThresholdThree;
+    this.thresholdsFour[car] = speedThresholdFour;
+    this.thresholdsFive[car] = speedThresholdFive;
+    return car;
+  }
+
+  /**
+   * Simulate a number of ticks on the common fork-join pool.
+   * @param count the number of ticks
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public void run(int count) throws IllegalArgumentException {
+    run(count, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Simulate a number of ticks on the given pool.
+   * @param count the number of ticks
+   * @param pool the pool running the simulation
+   * @throws IllegalArgumentException if the count is negative
+   */
+  public void run(int count, ForkJoinPool pool) throws IllegalArgumentException {
+    if (count < 0) {
+      throw new IllegalArgumentException("Tick count cannot be negative.");
+    }
+    int blocks = (this.size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(block ->
+        runBlock(block * BLOCK_SIZE, Math.min(this.size, (block + 1) * BLOCK_SIZE), count)))
+        .join();
+    this.ticks += count;
+  }
+
+  private void runBlock(int from, int to, int count) {
+    int[] speeds = this.speeds;
+    int[] gears = this.gears;
+    int[] steps = this.steps;
+    for (long tick = this.ticks; tick < this.ticks + count; tick++) {
+      for (int car = from; car < to; car++) {
+        int[] profile = this.profiles[this.profileIds[car]];
+        int step = steps[car];
+        int speed = Math.max(0, speeds[car] + profile[step]);
+        steps[car] = step + 1 == profile.length ? 0 : step + 1;
+        int gear = AutomaticTransmission.gearFor(speed, this.thresholdsOne[car],
+            this.thresholdsTwo[car], this.thresholdsThree[car], this.thresholdsFour[car],
+            this.thresholdsFive[car]);
+        if (gear != gears[car]) {
+          this.shifts[car]++;
+          gears[car] = gear;
+        }
+        speeds[car] = speed;
+      }
+    }
+  }
+
+  private void grow() {
+    int capacity = this.speeds.length * 2;
+    this.profileIds = Arrays.copyOf(this.profileIds, capacity);
+    this.steps = Arrays.copyOf(this.steps, capacity);
+    this.speeds = Arrays.copyOf(this.speeds, capacity);
+    this.gears = Arrays.copyOf(this.gears, capacity);
+    this.thresholdsOne = Arrays.copyOf(this.thresholdsOne, capacity);
+    this.thresholdsTwo = Arrays.copyOf(this.thresholdsTwo, capacity);
+    this.thresholdsThree = Arrays.copyOf(this.thresholdsThree, capacity);
+    this.thresholdsFour = Arrays.copyOf(this.thresholdsFour, capacity);
+    this.thresholdsFive = Arrays.copyOf(this.thresholdsFive, capacity);
+    this.shifts = Arrays.copyOf(this.shifts, capacity);
+  }
+
+  /**
+   * get the number of cars in the fleet.
+   * @return the number of cars
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * get the number of ticks simulated so far.
+   * @return the number of ticks
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  /**
+   * get speed for a car.
+   * @param car the index of the car
+   * @return the car speed
+   * @throws IndexOutOfBoundsException if there is no such car
+   */
+  public int getSpeed(int car) {
+    return this.speeds[checkCar(car)];
+  }
+
+  /**
+   * get gear for a car.
+   * @param car the index of the car
+   * @return the car gear level
+   * @throws IndexOutOfBoundsException if there is no such car
+   */
+  public int getGear(int car) {
+    return this.gears[checkCar(car)];
+  }
+
+  /**
+   * get the number of gear shifts of a car so far.
+   * @param car the index of the car
+   * @return the number of shifts
+   * @throws IndexOutOfBoundsException if there is no such car
+   */
+  public long getShiftCount(int car) {
+    return this.shifts[checkCar(car)];
+  }
+
+  private int checkCar(int car) {
+    if (car < 0 || car >= this.size) {
+      throw new IndexOutOfBoundsException("No such car: " + car);
+    }
+    return car;
+  }
+}
@@ -0,0 +1,150 @@
+package transmission;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the statistics of replaying speed traces through one transmission model:
+ * the number of samples and the time spent in each gear, and the number of gear shifts.
+ * Histograms built by separate threads are combined with merge.
+ */
+public class GearHistogram {
+  private long[] samples = new long[8];
+  private long[] micros = new long[8];
+  private long shifts;
+  private long traces;
+
+  GearHistogram() {
+  }
+
+  /**
+   * Add the statistics of one replayed trace.
+   * @param gearSamples the number of samples per gear, which is kept
+   * @param periodMicros the time between two samples in microseconds
+   * @param shifts the number of gear shifts
+   */
+  void addTrace(long[] gearSamples, int periodMicros, long shifts) {
+    ensureGears(gearSamples.length);
+    for (int gear = 0; gear < gearSamples.length; gear++) {
+      this.samples[gear] += gearSamples[gear];
+      this.micros[gear] += gearSamples[gear] * periodMicros;
+    }
+    this.shifts += shifts;
+    this.traces++;
+  }
+
+  /**
+   * Add the statistics of another histogram to this one.
+   * @param other the other histogram
+   * @return this histogram
+   */
+  GearHistogram merge(GearHistogram other) {
+    ensureGears(other.samples.length);
+    for (int gear = 0; gear < other.samples.length; gear++) {
+      this.samples[gear] += other.samples[gear];
+      this.micros[gear] += other.micros[gear];
+    }
+    this.shifts += other.shifts;
+    this.traces += other.traces;
+    return this;
+  }
+
+  private void ensureGears(int count) {
+    if (count > this.samples.length) {
+      this.samples = Arrays.copyOf(this.samples, count);
+      this.micros = Arrays.copyOf(this.micros, count);
+    }
+  }
+
+  /**
+   * get the number of gears the histogram has room for, which is more than the highest
+   * gear seen.
+   * @return the number of gears, including gear 0
+   */
+  public int getGearCount() {
+    return this.samples.length;
+  }
+
+  /**
+   * get the number of samples spent in a gear.
+   * @param gear the gear
+   * @return the number of samples
+   */
+  public long getSamples(int gear) {
+    return gear >= 0 && gear < this.samples.length ? this.samples[gear] : 0;
+  }
+
+  /**
+   * get the time spent in a gear.
+   * @param gear the gear
+   * @return the time in microseconds
+   */
+  public long getTimeInGear(int gear) {
+    return gear >= 0 && gear < this.micros.length ? this.micros[gear] : 0;
+  }
+
+  /**
+   * get the total number of samples replayed.
+   * @return the number of samples
+   */
+  public long getSampleCount() {
+    long total = 0;
+    for (long count : this.samples) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * get the total time replayed.
+   * @return the time in microseconds
+   */
+  public long getTotalTime() {
+    long total = 0;
+    for (long time : this.micros) {
+      total += time;
+    }
+    return total;
+  }
+
+  /**
+   * get the number of gear shifts, including those from and to gear 0.
+   * @return the number of shifts
+   */
+  public long getShiftCount() {
+    return this.shifts;
+  }
+
+  /**
+   * get the number of shifts per hour of replayed time.
+   * @return the shift frequency, or 0 if nothing was replayed
+   */
+  public double getShiftsPerHour() {
+    long time = getTotalTime();
+    return time == 0 ? 0 : this.shifts * 3_600_000_000.0 / time;
+  }
+
+  /**
+   * get the number of traces replayed.
+   * @return the number of traces
+   */
+  public long getTraceCount() {
+    return this.traces;
+  }
+
+  /**
+   * String representation of the histogram.
+   * @return the share of time spent in each gear and the shift frequency
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Gears (");
+    long time = Math.max(1, getTotalTime());
+    for (int gear = 0; gear < this.micros.length; gear++) {
+      if (this.samples[gear] > 0) {
+        builder.append(String.format("%d: %.1f%%, ", gear, 100.0 * this.micros[gear] / time));
+      }
+    }
+    return builder.append(String.format("shifts/hour = %.1f)", getShiftsPerHour()))
+        .toString();
+  }
+}
@@ -0,0 +1,178 @@
+package transmission;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an automatic car transmission with any number of gears. With n
+ * thresholds the car has gears 1 to n + 1 when moving and 0 when stopped, like
+ * AutomaticTransmission has with five.
+ *
+ * <p>Upshifts and downshifts may use different thresholds, so that a car driving around a
+ * threshold does not keep shifting: the car shifts up from gear i to i + 1 once its speed
+ * reaches the i-th upshift threshold, and back down once its speed drops below the i-th
+ * downshift threshold, which is at most the upshift one. The gear for a new speed is found
+ * by binary search over the thresholds, so a speed change of any size costs O(log n).
+ *
+ * <p>Gear shifts can be recorded in a ShiftLog. Without a log, a speed change does no more
+ * work than finding the gear.
+ */
+public class MultiGearTransmission implements Transmission {
+  private final int[] upshiftThresholds;
+  private final int[] downshiftThresholds;
+  private final ShiftLog log; // null when shifts are not recorded
+  private int speed;
+  private int gear;
+
+  /**
+   * Constructor for a transmission shifting up and down at the same thresholds, without a
+   * shift log.
+   * @param thresholds the speeds that trigger the shifts from each gear to the next
+   * @throws IllegalArgumentException if any speed threshold is not positive or
+   *                                  if the speed thresholds are not in increasing order
+   */
+  public MultiGearTransmission(int[] thresholds) throws IllegalArgumentException {
+    this(thresholds, thresholds, null);
+  }
+
+  /**
+   * Constructor for a transmission with separate upshift and downshift thresholds.
+   * @param upshiftThresholds the speeds that trigger the shifts from each gear to the next
+   * @param downshiftThresholds the speeds below which each gear above the first shifts down
+   * @param log the log recording the shifts, or null to not record them
+   * @throws IllegalArgumentException if the threshold arrays differ in length, any speed
+   *                                  threshold is not positive, the thresholds are not in
+   *                                  increasing order or a downshift threshold is above the
+   *                                  matching upshift threshold
+   */
+  public MultiGearTransmission(int[] upshiftThresholds, int[] downshiftThresholds,
+                               ShiftLog log) throws IllegalArgumentException {
+    if (upshiftThresholds.length != downshiftThresholds.length) {
+      throw new IllegalArgumentException("Upshift and downshift thresholds must pair up.");
+    }
+    checkThresholds(upshiftThresholds);
+    checkThresholds(downshiftThresholds);
+    for (int i = 0; i < upshiftThresholds.length; i++) {
+      if (downshiftThresholds[i] > upshiftThresholds[i]) {
+        throw new IllegalArgumentException("Downshift thresholds cannot exceed upshift ones.");
+      }
+    }
+    this.upshiftThresholds = upshiftThresholds.clone();
+    this.downshiftThresholds = downshiftThresholds.clone();
+    this.log = log;
+  }
+
+  private static void checkThresholds(int[] thresholds) throws IllegalArgumentException {
+    for (int i = 0; i < thresholds.length; i++) {
+      if (thresholds[i] <= 0) {
+        throw new IllegalArgumentException("Threshold speed cannot be zero or negative.");
+      }
+      if (i > 0 && thresholds[i - 1] >= thresholds[i]) {
+        throw new IllegalArgumentException("Speed thresholds must increase progressively.");
+      }
+    }
+  }
+
+  /**
+   * Increase the car speed by 1.
+   */
+  @Override
+  public void increaseSpeed() {
+    setSpeed(this.speed + 1);
+  }
+
+  /**
+   * Decrease the car speed to a positive number.
+   * @throws IllegalStateException if the resulting speed is negative, in which case nothing
+   *                               changes
+   */
+  @Override
+  public void decreaseSpeed() throws IllegalStateException {
+    setSpeed(this.speed - 1);
+  }
+
+  /**
+   * Set the car speed directly, shifting to the gear for it.
+   * @param speed the new speed
+   * @throws IllegalStateException if the speed is negative, in which case nothing changes
+   */
+  @Override
+  public void setSpeed(int speed) throws IllegalStateException {
+    if (speed < 0) {
+      throw new IllegalStateException("Speed cannot be negative.");
+    }
+    int gear;
+    if (speed == 0) {
+      gear = 0;
+    } else if (speed > this.speed) {
+      gear = Math.max(this.gear, 1 + countAtMost(this.upshiftThresholds, speed));
+    } else {
+      gear = Math.min(this.gear, 1 + countAtMost(this.downshiftThresholds, speed));
+    }
+    if (gear != this.gear && this.log != null) {
+      this.log.record(System.nanoTime(), this.gear, gear, speed);
+    }
+    this.speed = speed;
+    this.gear = gear;
+  }
+
+  /**
+   * The number of thresholds at or below a speed.
+   */
+  private static int countAtMost(int[] thresholds, int speed) {
+    int from = 0;
+    int to = thresholds.length;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      if (thresholds[middle] <= speed) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return from;
+  }
+
+  /**
+   * get speed for the car.
+   * @return the car speed
+   */
+  @Override
+  public int getSpeed() {
+    return this.speed;
+  }
+
+  /**
+   * get gear for the car.
+   * @return the car gear level
+   */
+  @Override
+  public int getGear() {
+    return this.gear;
+  }
+
+  /**
+   * get the number of gears when moving.
+   * @return the number of gears
+   */
+  public int getGearCount() {
+    return this.upshiftThresholds.length + 1;
+  }
+
+  /**
+   * get the log recording the shifts of the car.
+   * @return the shift log, or null if shifts are not recorded
+   */
+  public ShiftLog getShiftLog() {
+    return this.log;
+  }
+
+  /**
+   * String representation of the car transmission.
+   * @return string representation of the car transmission
+   */
+  @Override
+  public String toString() {
+    return String.format("Transmission (speed = %d, gear = %d, thresholds = %s)", this.speed,
+        this.gear, Arrays.toString(this.upshiftThresholds));
+  }
+}
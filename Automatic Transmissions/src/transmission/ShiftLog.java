@@ -0,0 +1,129 @@
+package transmission;
+
+/**
+ * This class records gear shifts for telemetry in a ring buffer of fixed capacity, keeping
+ * the most recent shifts. The buffer is a set of primitive arrays allocated up front, so
+ * recording a shift only writes four array slots and never allocates. It is not
+ * thread-safe.
+ */
+public class ShiftLog {
+  private final long[] times;
+  private final int[] speeds;
+  private final int[] fromGears;
+  private final int[] toGears;
+  private final int mask;
+  private long recorded;
+
+  /**
+   * Constructor for a log keeping the given number of shifts, rounded up to a power of two.
+   * @param capacity the minimum number of shifts kept
+   * @throws IllegalArgumentException if the capacity is not positive or above 2^30
+   */
+  public ShiftLog(int capacity) throws IllegalArgumentException {
+    if (capacity <= 0 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.times = new long[size];
+    this.speeds = new int[size];
+    this.fromGears = new int[size];
+    this.toGears = new int[size];
+    this.mask = size - 1;
+  }
+
+  /**
+   * Record a gear shift, overwriting the oldest one if the log is full.
+   * @param time the time of the shift, such as from System.nanoTime()
+   * @param fromGear the gear before the shift
+   * @param toGear the gear after the shift
+   * @param speed the speed that caused the shift
+   */
+  public void record(long time, int fromGear, int toGear, int speed) {
+    int slot = (int) this.recorded & this.mask;
+    this.times[slot] = time;
+    this.fromGears[slot] = fromGear;
+    this.toGears[slot] = toGear;
+    this.speeds[slot] = speed;
+    this.recorded++;
+  }
+
+  /**
+   * get the number of shifts the log can keep.
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return this.mask + 1;
+  }
+
+  /**
+   * get the number of shifts kept, which are the most recent ones.
+   * @return the number of shifts kept
+   */
+  public int size() {
+    return (int) Math.min(this.recorded, this.mask + 1);
+  }
+
+  /**
+   * get the number of shifts recorded since the log was created or cleared, including
+   * those overwritten.
+   * @return the number of shifts recorded
+   */
+  public long getRecorded() {
+    return this.recorded;
+  }
+
+  /**
+   * get the time of a kept shift.
+   * @param index the index of the shift, from 0 for the oldest kept
+   * @return the time of the shift
+   * @throws IndexOutOfBoundsException if there is no such shift
+   */
+  public long getTime(int index) {
+    return this.times[slot(index)];
+  }
+
+  /**
+   * get the gear before a kept shift.
+   * @param index the index of the shift, from 0 for the oldest kept
+   * @return the gear before the shift
+   * @throws IndexOutOfBoundsException if there is no such shift
+   */
+  public int getFromGear(int index) {
+    return this.fromGears[slot(index)];
+  }
+
+  /**
+   * get the gear after a kept shift.
+   * @param index the index of the shift, from 0 for the oldest kept
+   * @return the gear after the shift
+   * @throws IndexOutOfBoundsException if there is no such shift
+   */
+  public int getToGear(int index) {
+    return this.toGears[slot(index)];
+  }
+
+  /**
+   * get the speed that caused a kept shift.
+   * @param index the index of the shift, from 0 for the oldest kept
+   * @return the speed
+   * @throws IndexOutOfBoundsException if there is no such shift
+   */
+  public int getSpeed(int index) {
+    return this.speeds[slot(index)];
+  }
+
+  /**
+   * Forget all shifts.
+   */
+  public void clear() {
+    this.recorded = 0;
+  }
+
+  private int slot(int index) {
+    int size = size();
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No such shift: " + index);
+    }
+    return (int) (this.recorded - size + index) & this.mask;
+  }
+}
@@ -0,0 +1,112 @@
+package transmission;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class writes a speed trace recorded from a vehicle to a binary file, to be replayed
+ * by TraceReplay. The file is little-endian: a header of {@value #HEADER_SIZE} bytes holding
+ * a magic number, the format version, the sampling period in microseconds and the number of
+ * samples, followed by every speed sample in MPH as an unsigned 16-bit number.
+ */
+public class SpeedTraceWriter implements Closeable {
+  /** The magic number starting every speed trace, "SPDT" in ASCII. */
+  static final int MAGIC = 0x54445053;
+  /** The current format version. */
+  static final int VERSION = 1;
+  /** The size of the header in bytes. */
+  static final int HEADER_SIZE = 24;
+  /** The largest speed a sample can hold. */
+  public static final int MAX_SPEED = 0xFFFF;
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer =
+      ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+  private final int periodMicros;
+  private long samples;
+  private boolean closed;
+
+  /**
+   * Constructor for a writer creating a trace file, replacing any existing file.
+   * @param file the file
+   * @param periodMicros the time between two samples in microseconds
+   * @throws IllegalArgumentException if the period is not positive
+   * @throws IOException if the file cannot be created
+   */
+  public SpeedTraceWriter(Path file, int periodMicros) throws IOException {
+    if (periodMicros <= 0) {
+      throw new IllegalArgumentException("Sampling period must be positive.");
+    }
+    this.periodMicros = periodMicros;
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.buffer.position(HEADER_SIZE);
+  }
+
+  /**
+   * Append a speed sample.
+   * @param speed the speed in MPH
+   * @throws IllegalArgumentException if the speed is negative or above MAX_SPEED
+   * @throws IllegalStateException if the writer is closed
+   * @throws IOException if the file cannot be written
+   */
+  public void write(int speed) throws IOException {
+    if (this.closed) {
+      throw new IllegalStateException("The writer is closed.");
+    }
+    if (speed < 0 || speed > MAX_SPEED) {
+      throw new IllegalArgumentException("Speed must be between 0 and " + MAX_SPEED + ".");
+    }
+    if (!this.buffer.hasRemaining()) {
+      flush();
+    }
+    this.buffer.putShort((short) speed);
+    this.samples++;
+  }
+
+  /**
+   * get the number of samples written.
+   * @return the number of samples
+   */
+  public long getSamples() {
+    return this.samples;
+  }
+
+  /**
+   * Write the buffered samples and the header, and close the file.
+   * @throws IOException if the file cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      flush();
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(VERSION).putInt(this.periodMicros).putInt(0)
+          .putLong(this.samples).flip();
+      long position = 0;
+      while (header.hasRemaining()) {
+        position += this.channel.write(header, position);
+      }
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  private void flush() throws IOException {
+    this.buffer.flip();
+    while (this.buffer.hasRemaining()) {
+      this.channel.write(this.buffer);
+    }
+    this.buffer.clear();
+  }
+}
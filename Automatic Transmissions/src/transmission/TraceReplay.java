@@ -0,0 +1,145 @@
+package transmission;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * This class replays speed traces written by SpeedTraceWriter through transmission models
+ * and gathers a GearHistogram per model: time in each gear, shift count and shift
+ * frequency.
+ *
+ * <p>Every pair of a trace and a model is replayed on a fork-join pool by its own task,
+ * which feeds the samples to a fresh transmission from the model with setSpeed. The task
+ * reads the samples straight from the file, memory-mapped in windows so that traces of
+ * billions of samples fit, and counts them in an accumulator of its own; the accumulators
+ * are only merged once all tasks are done, so the replay takes no locks.
+ */
+public class TraceReplay {
+  private static final long DEFAULT_WINDOW = 1L << 28;
+
+  private final List<Supplier<? extends Transmission>> models;
+  private final long window;
+
+  /**
+   * Constructor for a replay through the given models.
+   * @param models the models, each supplying a new stopped transmission per trace
+   * @throws IllegalArgumentException if there are no models
+   */
+  public TraceReplay(List<? extends Supplier<? extends Transmission>> models)
+      throws IllegalArgumentException {
+    this(models, DEFAULT_WINDOW);
+  }
+
+  TraceReplay(List<? extends Supplier<? extends Transmission>> models, long window)
+      throws IllegalArgumentException {
+    if (models.isEmpty()) {
+      throw new IllegalArgumentException("At least one model is needed.");
+    }
+    this.models = new ArrayList<>(models);
+    this.window = Math.max(2, window & ~1L);
+  }
+
+  /**
+   * Replay traces through every model on the common fork-join pool.
+   * @param traces the trace files
+   * @return the histogram of each model, in the order of the models
+   * @throws IOException if a trace cannot be read or is not a valid trace
+   */
+  public List<GearHistogram> replay(List<Path> traces) throws IOException {
+    return replay(traces, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Replay traces through every model on the given pool.
+   * @param traces the trace files
+   * @param pool the pool running the replay
+   * @return the histogram of each model, in the order of the models
+   * @throws IOException if a trace cannot be read or is not a valid trace
+   */
+  public List<GearHistogram> replay(List<Path> traces, ForkJoinPool pool)
+      throws IOException {
+    int modelCount = this.models.size();
+    GearHistogram[] results = new GearHistogram[traces.size() * modelCount];
+    try {
+      pool.submit(() -> IntStream.range(0, results.length).parallel().forEach(task -> {
+        try {
+          results[task] = replay(traces.get(task / modelCount),
+              this.models.get(task % modelCount).get());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      })).join();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    List<GearHistogram> histograms = new ArrayList<>(modelCount);
+    for (int model = 0; model < modelCount; model++) {
+      GearHistogram histogram = new GearHistogram();
+      for (int task = model; task < results.length; task += modelCount) {
+        histogram.merge(results[task]);
+      }
+      histograms.add(histogram);
+    }
+    return histograms;
+  }
+
+  private GearHistogram replay(Path trace, Transmission transmission) throws IOException {
+    try (FileChannel channel = FileChannel.open(trace, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(SpeedTraceWriter.HEADER_SIZE)
+          .order(ByteOrder.LITTLE_ENDIAN);
+      int read = 0;
+      while (header.hasRemaining() && read >= 0) {
+        read = channel.read(header, header.position());
+      }
+      header.flip();
+      if (header.remaining() < SpeedTraceWriter.HEADER_SIZE
+          || header.getInt() != SpeedTraceWriter.MAGIC) {
+        throw new IOException("Not a speed trace: " + trace);
+      }
+      if (header.getInt() != SpeedTraceWriter.VERSION) {
+        throw new IOException("Unsupported speed trace version: " + trace);
+      }
+      int periodMicros = header.getInt();
+      header.getInt();
+      long samples = header.getLong();
+      long end = SpeedTraceWriter.HEADER_SIZE + 2 * samples;
+      if (samples < 0 || channel.size() < end) {
+        throw new IOException("Truncated speed trace: " + trace);
+      }
+      long shifts = 0;
+      int gear = transmission.getGear();
+      long[] counts = new long[Math.max(8, gear + 1)];
+      for (long offset = SpeedTraceWriter.HEADER_SIZE; offset < end; offset += this.window) {
+        int length = (int) Math.min(this.window, end - offset);
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offset, length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < length; i += 2) {
+          transmission.setSpeed(data.getShort(i) & 0xFFFF);
+          int next = transmission.getGear();
+          if (next != gear) {
+            shifts++;
+            gear = next;
+            if (gear >= counts.length) {
+              counts = Arrays.copyOf(counts, Math.max(gear + 1, 2 * counts.length));
+            }
+          }
+          counts[gear]++;
+        }
+      }
+      GearHistogram histogram = new GearHistogram();
+      histogram.addTrace(counts, periodMicros, shifts);
+      return histogram;
+    }
+  }
+}
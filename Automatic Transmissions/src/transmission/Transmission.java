@@ -18,6 +18,40 @@ public interface Transmission {
    */
   void decreaseSpeed() throws IllegalStateException;
 
+  /**
+   * Sets the speed of this Transmission, shifting straight to the gear for that speed. The
+   * default implementation steps one MPH at a time; implementations should jump directly.
+   *
+   * @param speed the new speed
+   * @throws IllegalStateException if the speed is negative, in which case nothing changes
+   */
+  default void setSpeed(int speed) throws IllegalStateException {
+    if (speed < 0) {
+      throw new IllegalStateException("Speed cannot be negative.");
+    }
+    while (getSpeed() < speed) {
+      increaseSpeed();
+    }
+    while (getSpeed() > speed) {
+      decreaseSpeed();
+    }
+  }
+
+  /**
+   * Changes the speed of this Transmission by the given number of MPH.
+   *
+   * @param delta the change in speed, negative to slow down
+   * @throws IllegalStateException if the resulting speed would be negative, in which case
+   *                               nothing changes
+   */
+  default void changeSpeed(int delta) throws IllegalStateException {
+    long speed = (long) getSpeed() + delta;
+    if (speed < 0) {
+      throw new IllegalStateException("Speed cannot be negative.");
+    }
+    setSpeed((int) Math.min(speed, Integer.MAX_VALUE));
+  }
+
   /**
    * Gets the speed of this Transmission.
    *
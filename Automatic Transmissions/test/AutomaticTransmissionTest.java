@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -77,6 +78,64 @@ public class AutomaticTransmissionTest {
     assertEquals(1, this.porsche.getGear());
   }
 
+  @Test
+  public void setSpeed() {
+    this.porsche.setSpeed(120);
+    assertEquals(120, this.porsche.getSpeed());
+    assertEquals(6, this.porsche.getGear());
+    this.porsche.setSpeed(22);
+    assertEquals(22, this.porsche.getSpeed());
+    assertEquals(3, this.porsche.getGear());
+    this.porsche.setSpeed(0);
+    assertEquals(0, this.porsche.getGear());
+  }
+
+  @Test
+  public void setSpeedBelowZero() {
+    this.porsche.setSpeed(18);
+    try {
+      this.porsche.setSpeed(-1);
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals(18, this.porsche.getSpeed());
+      assertEquals(2, this.porsche.getGear());
+    }
+  }
+
+  @Test
+  public void changeSpeed() {
+    this.porsche.changeSpeed(31);
+    assertEquals(31, this.porsche.getSpeed());
+    assertEquals(5, this.porsche.getGear());
+    this.porsche.changeSpeed(-7);
+    assertEquals(24, this.porsche.getSpeed());
+    assertEquals(3, this.porsche.getGear());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void changeSpeedBelowZero() {
+    this.porsche.changeSpeed(5);
+    this.porsche.changeSpeed(-6);
+  }
+
+  @Test
+  public void setSpeedMatchesSingleSteps() {
+    AutomaticTransmission stepped = new AutomaticTransmission(3, 7, 12, 18, 25);
+    AutomaticTransmission jumped = new AutomaticTransmission(3, 7, 12, 18, 25);
+    AutomaticTransmission untabled = new AutomaticTransmission(3, 7, 12, 18, 100_000);
+    for (int speed = 1; speed <= 30; speed++) {
+      stepped.increaseSpeed();
+      jumped.setSpeed(speed);
+      assertEquals(stepped.getGear(), jumped.getGear());
+    }
+    untabled.setSpeed(17);
+    assertEquals(4, untabled.getGear());
+    untabled.setSpeed(99_999);
+    assertEquals(5, untabled.getGear());
+    untabled.changeSpeed(1);
+    assertEquals(6, untabled.getGear());
+  }
+
   @Test
   public void testToString() {
     assertEquals("Transmission (speed = 0, gear = 0)", this.porsche.toString());
@@ -0,0 +1,112 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import transmission.AutomaticTransmission;
+import transmission.ConcurrentTransmission;
+import transmission.Transmission;
+
+/**
+ * Measures the throughput of ConcurrentTransmission against an AutomaticTransmission guarded
+ * by synchronized, with threads that each change the speed and read the state in a loop.
+ * Run with {@code java ConcurrentTransmissionBenchmark [milliseconds]}.
+ */
+public class ConcurrentTransmissionBenchmark {
+
+  /**
+   * An AutomaticTransmission whose every operation holds the lock on this object.
+   */
+  private static class SynchronizedTransmission implements Transmission {
+    private final AutomaticTransmission transmission =
+        new AutomaticTransmission(15, 30, 45, 60, 75);
+
+    @Override
+    public synchronized void increaseSpeed() {
+      this.transmission.increaseSpeed();
+    }
+
+    @Override
+    public synchronized void decreaseSpeed() {
+      this.transmission.decreaseSpeed();
+    }
+
+    @Override
+    public synchronized void changeSpeed(int delta) {
+      this.transmission.changeSpeed(delta);
+    }
+
+    @Override
+    public synchronized int getSpeed() {
+      return this.transmission.getSpeed();
+    }
+
+    @Override
+    public synchronized int getGear() {
+      return this.transmission.getGear();
+    }
+
+    /**
+     * Reads the speed and gear together, as ConcurrentTransmission.getState does.
+     */
+    synchronized long getState() {
+      return (long) this.transmission.getSpeed() << 32 | this.transmission.getGear();
+    }
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args the duration of each run in milliseconds
+   * @throws InterruptedException if interrupted
+   */
+  public static void main(String[] args) throws InterruptedException {
+    long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+    System.out.printf("%d processors%n", Runtime.getRuntime().availableProcessors());
+    for (int round = 0; round < 2; round++) {
+      for (int threads : new int[] {1, 2, 4, 8, 16}) {
+        ConcurrentTransmission concurrent = new ConcurrentTransmission(15, 30, 45, 60, 75);
+        SynchronizedTransmission locked = new SynchronizedTransmission();
+        double lockFree = run(threads, millis, concurrent, concurrent::getState);
+        double synced = run(threads, millis, locked, locked::getState);
+        System.out.printf("%2d threads: CAS %.1f M ops/s, synchronized %.1f M ops/s%n",
+            threads, lockFree, synced);
+      }
+    }
+  }
+
+  /**
+   * Runs threads alternating a speed change with a state read until the time is up, and
+   * returns the millions of operations per second.
+   */
+  private static double run(int threads, long millis, Transmission transmission,
+                            LongSupplier state)
+      throws InterruptedException {
+    LongAdder operations = new LongAdder();
+    CountDownLatch start = new CountDownLatch(1);
+    long[] sink = new long[threads];
+    Thread[] workers = new Thread[threads];
+    long deadline = System.nanoTime() + millis * 1_000_000 + 50_000_000;
+    for (int i = 0; i < threads; i++) {
+      int worker = i;
+      workers[i] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        long count = 0;
+        while ((count & 1023) != 0 || System.nanoTime() < deadline) {
+          transmission.changeSpeed((count & 2) == 0 ? 3 : -3);
+          sink[worker] += state.getAsLong();
+          count += 2;
+        }
+        operations.add(count);
+      });
+      workers[i].start();
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Thread thread : workers) {
+      thread.join();
+    }
+    return operations.sum() / ((System.nanoTime() - begin) / 1e3);
+  }
+}
@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import transmission.AutomaticTransmission;
+import transmission.ConcurrentTransmission;
+
+/**
+ * Unit tests for concurrent transmission class.
+ */
+public class ConcurrentTransmissionTest {
+  private ConcurrentTransmission porsche;
+
+  /**
+   * Set up class objects for unit tests.
+   */
+  @Before
+  public void setUp() {
+    this.porsche = new ConcurrentTransmission(15, 20, 25, 30, 35);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForSmallerThresholds() {
+    new ConcurrentTransmission(20, 10, 30, 40, 50);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForNegativeSpeed() {
+    new ConcurrentTransmission(-15, 20, 25, 30, 35);
+  }
+
+  @Test
+  public void decreaseSpeedBelowZero() {
+    this.porsche.increaseSpeed();
+    this.porsche.decreaseSpeed();
+    try {
+      this.porsche.decreaseSpeed();
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals(0, this.porsche.getSpeed());
+      assertEquals(0, this.porsche.getGear());
+    }
+  }
+
+  @Test
+  public void testSameGearsAsAutomaticTransmission() {
+    AutomaticTransmission reference = new AutomaticTransmission(15, 20, 25, 30, 35);
+    for (int i = 0; i < 40; i++) {
+      reference.increaseSpeed();
+      this.porsche.increaseSpeed();
+      assertEquals(reference.getSpeed(), this.porsche.getSpeed());
+      assertEquals(reference.getGear(), this.porsche.getGear());
+    }
+    this.porsche.setSpeed(22);
+    assertEquals(3, this.porsche.getGear());
+    this.porsche.changeSpeed(-10);
+    assertEquals(12, this.porsche.getSpeed());
+    assertEquals(1, this.porsche.getGear());
+    long state = this.porsche.getState();
+    assertEquals(12, ConcurrentTransmission.speedOf(state));
+    assertEquals(1, ConcurrentTransmission.gearOf(state));
+    assertEquals("Transmission (speed = 12, gear = 1)", this.porsche.toString());
+  }
+
+  @Test
+  public void testConcurrentWritersAndReaders() throws InterruptedException {
+    int writers = 4;
+    int steps = 50_000;
+    AutomaticTransmission reference = new AutomaticTransmission(15, 20, 25, 30, 35);
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<String> error = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      while (!done.get()) {
+        long state = this.porsche.getState();
+        int speed = ConcurrentTransmission.speedOf(state);
+        reference.setSpeed(speed);
+        if (reference.getGear() != ConcurrentTransmission.gearOf(state)) {
+          error.set("Inconsistent state " + speed + ", " + ConcurrentTransmission.gearOf(state));
+        }
+      }
+    });
+    reader.start();
+    Thread[] threads = new Thread[writers];
+    for (int i = 0; i < writers; i++) {
+      threads[i] = new Thread(() -> {
+        for (int step = 0; step < steps; step++) {
+          this.porsche.increaseSpeed();
+          if (step % 3 == 0) {
+            this.porsche.changeSpeed(5);
+            this.porsche.changeSpeed(-5);
+          }
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    done.set(true);
+    reader.join();
+    assertEquals(null, error.get());
+    assertEquals(writers * steps, this.porsche.getSpeed());
+    assertEquals(6, this.porsche.getGear());
+  }
+}
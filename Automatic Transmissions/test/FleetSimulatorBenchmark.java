@@ -0,0 +1,43 @@
+import java.util.SplittableRandom;
+import transmission.FleetSimulator;
+
+/**
+ * Measures how many car-ticks per second FleetSimulator simulates.
+ * Run with {@code java FleetSimulatorBenchmark [cars] [ticks]}.
+ */
+public class FleetSimulatorBenchmark {
+
+  /**
+   * Runs the benchmark.
+   * @param args the number of cars and of ticks per round
+   */
+  public static void main(String[] args) {
+    int cars = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    SplittableRandom random = new SplittableRandom(1);
+    int[][] profiles = new int[8][];
+    for (int i = 0; i < profiles.length; i++) {
+      // Accelerate to a cruising speed, hold it, then brake to a stop.
+      int cruise = 30 + 10 * i;
+      profiles[i] = new int[3 * cruise];
+      for (int j = 0; j < cruise; j++) {
+        profiles[i][j] = 1 + random.nextInt(2);
+        profiles[i][2 * cruise + j] = -3;
+      }
+    }
+    FleetSimulator fleet = new FleetSimulator(profiles);
+    for (int i = 0; i < cars; i++) {
+      int one = 10 + random.nextInt(10);
+      fleet.addCar(random.nextInt(profiles.length), one, one + 10, one + 20, one + 30,
+          one + 40);
+    }
+    System.out.printf("%d processors%n", Runtime.getRuntime().availableProcessors());
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      fleet.run(ticks);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%d cars x %d ticks: %.2f s, %.0f million car-ticks/s%n", cars, ticks,
+          seconds, (double) cars * ticks / seconds / 1e6);
+    }
+  }
+}
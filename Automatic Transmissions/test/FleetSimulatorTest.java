@@ -0,0 +1,107 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import transmission.AutomaticTransmission;
+import transmission.FleetSimulator;
+
+/**
+ * Unit tests for fleet simulator class.
+ */
+public class FleetSimulatorTest {
+  private FleetSimulator fleet;
+
+  /**
+   * Set up class objects for unit tests.
+   */
+  @Before
+  public void setUp() {
+    this.fleet = new FleetSimulator(new int[] {3, 2, 1, 0, -1, -2, -3, 0},
+        new int[] {1}, new int[] {-1});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForEmptyProfile() {
+    new FleetSimulator(new int[] {1}, new int[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForUnknownProfile() {
+    this.fleet.addCar(3, 15, 20, 25, 30, 35);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForSmallerThresholds() {
+    this.fleet.addCar(0, 20, 10, 30, 40, 50);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testExceptionForUnknownCar() {
+    this.fleet.getSpeed(0);
+  }
+
+  @Test
+  public void testSameGearsAsTransmission() {
+    int cars = 10_000;
+    AutomaticTransmission[] transmissions = new AutomaticTransmission[cars];
+    for (int i = 0; i < cars; i++) {
+      int one = 1 + i % 7;
+      int[] thresholds = {one, one + 3, one + 5 + i % 4, one + 20, one + 21 + i % 11};
+      transmissions[i] = new AutomaticTransmission(thresholds[0], thresholds[1],
+          thresholds[2], thresholds[3], thresholds[4]);
+      assertEquals(i, this.fleet.addCar(0, thresholds[0], thresholds[1], thresholds[2],
+          thresholds[3], thresholds[4]));
+    }
+    int[] profile = {3, 2, 1, 0, -1, -2, -3, 0};
+    int step = 0;
+    for (int round = 0; round < 3; round++) {
+      this.fleet.run(8 * round + 5);
+      for (int tick = 0; tick < 8 * round + 5; tick++) {
+        int delta = profile[step++ % profile.length];
+        for (AutomaticTransmission transmission : transmissions) {
+          for (int i = 0; i < delta; i++) {
+            transmission.increaseSpeed();
+          }
+          for (int i = 0; i > delta; i--) {
+            transmission.decreaseSpeed();
+          }
+        }
+      }
+      for (int i = 0; i < cars; i++) {
+        assertEquals(transmissions[i].getSpeed(), this.fleet.getSpeed(i));
+        assertEquals(transmissions[i].getGear(), this.fleet.getGear(i));
+      }
+    }
+  }
+
+  @Test
+  public void testStopsAtZeroAndCountsShifts() {
+    int up = this.fleet.addCar(1, 2, 4, 6, 8, 10);
+    int down = this.fleet.addCar(2, 2, 4, 6, 8, 10);
+    this.fleet.run(12);
+    assertEquals(12, this.fleet.getSpeed(up));
+    assertEquals(6, this.fleet.getGear(up));
+    assertEquals(6, this.fleet.getShiftCount(up));
+    assertEquals(0, this.fleet.getSpeed(down));
+    assertEquals(0, this.fleet.getGear(down));
+    assertEquals(0, this.fleet.getShiftCount(down));
+    assertEquals(2, this.fleet.size());
+    assertEquals(12, this.fleet.getTicks());
+  }
+
+  @Test
+  public void testCarAddedLaterStartsItsProfile() {
+    FleetSimulator fleet = new FleetSimulator(new int[] {5, 0, 0, 0});
+    int first = fleet.addCar(0, 2, 4, 6, 8, 10);
+    fleet.run(1);
+    int second = fleet.addCar(0, 2, 4, 6, 8, 10);
+    fleet.run(1);
+    assertEquals(5, fleet.getSpeed(first));
+    assertEquals(5, fleet.getSpeed(second));
+    assertEquals(3, fleet.getGear(second));
+    fleet.run(6);
+    assertEquals(10, fleet.getSpeed(first));
+    assertEquals(10, fleet.getSpeed(second));
+    assertEquals(8, fleet.getTicks());
+  }
+}
@@ -0,0 +1,117 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import transmission.AutomaticTransmission;
+import transmission.MultiGearTransmission;
+import transmission.ShiftLog;
+
+/**
+ * Unit tests for multi gear transmission class.
+ */
+public class MultiGearTransmissionTest {
+  private ShiftLog log;
+  private MultiGearTransmission truck;
+
+  /**
+   * Set up class objects for unit tests.
+   */
+  @Before
+  public void setUp() {
+    this.log = new ShiftLog(4);
+    this.truck = new MultiGearTransmission(new int[] {10, 20, 30, 40, 50, 60, 70},
+        new int[] {8, 17, 27, 37, 47, 57, 67}, this.log);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForNegativeSpeed() {
+    new MultiGearTransmission(new int[] {-5, 10});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForSmallerThresholds() {
+    new MultiGearTransmission(new int[] {10, 10, 20});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForHigherDownshift() {
+    new MultiGearTransmission(new int[] {10, 20}, new int[] {5, 21}, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForUnpairedThresholds() {
+    new MultiGearTransmission(new int[] {10, 20}, new int[] {5}, null);
+  }
+
+  @Test
+  public void testSameGearsAsAutomaticTransmission() {
+    AutomaticTransmission porsche = new AutomaticTransmission(15, 20, 25, 30, 35);
+    MultiGearTransmission multi = new MultiGearTransmission(new int[] {15, 20, 25, 30, 35});
+    for (int i = 0; i < 40; i++) {
+      porsche.increaseSpeed();
+      multi.increaseSpeed();
+      assertEquals(porsche.getGear(), multi.getGear());
+    }
+    for (int i = 0; i < 40; i++) {
+      porsche.decreaseSpeed();
+      multi.decreaseSpeed();
+      assertEquals(porsche.getGear(), multi.getGear());
+    }
+    multi.setSpeed(27);
+    assertEquals(4, multi.getGear());
+    assertEquals(6, multi.getGearCount());
+    assertNull(multi.getShiftLog());
+  }
+
+  @Test
+  public void testHysteresis() {
+    this.truck.setSpeed(20);
+    assertEquals(3, this.truck.getGear());
+    this.truck.decreaseSpeed();
+    assertEquals(3, this.truck.getGear());
+    this.truck.setSpeed(17);
+    assertEquals(3, this.truck.getGear());
+    this.truck.decreaseSpeed();
+    assertEquals(2, this.truck.getGear());
+    this.truck.setSpeed(19);
+    assertEquals(2, this.truck.getGear());
+    this.truck.changeSpeed(55);
+    assertEquals(8, this.truck.getGear());
+    this.truck.changeSpeed(-45);
+    assertEquals(29, this.truck.getSpeed());
+    assertEquals(4, this.truck.getGear());
+    this.truck.setSpeed(0);
+    assertEquals(0, this.truck.getGear());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void decreaseSpeedBelowZero() {
+    this.truck.decreaseSpeed();
+  }
+
+  @Test
+  public void testShiftLog() {
+    this.truck.setSpeed(25);
+    this.truck.setSpeed(29);
+    this.truck.setSpeed(9);
+    assertEquals(2, this.log.size());
+    assertEquals(0, this.log.getFromGear(0));
+    assertEquals(3, this.log.getToGear(0));
+    assertEquals(25, this.log.getSpeed(0));
+    assertEquals(3, this.log.getFromGear(1));
+    assertEquals(2, this.log.getToGear(1));
+    assertEquals(9, this.log.getSpeed(1));
+    assertTrue(this.log.getTime(0) <= this.log.getTime(1));
+    for (int i = 0; i < 32; i++) {
+      this.truck.increaseSpeed();
+    }
+    assertEquals(5, this.log.getRecorded());
+    assertEquals(4, this.log.size());
+    assertEquals(3, this.log.getFromGear(0));
+    assertEquals(2, this.log.getToGear(0));
+    assertEquals(5, this.log.getToGear(3));
+    assertEquals(40, this.log.getSpeed(3));
+  }
+}
@@ -0,0 +1,44 @@
+import transmission.MultiGearTransmission;
+import transmission.ShiftLog;
+
+/**
+ * Measures the cost of recording shifts by driving an eight-gear transmission through a
+ * speed cycle with and without a ShiftLog.
+ * Run with {@code java ShiftLogBenchmark [cycles]}.
+ */
+public class ShiftLogBenchmark {
+
+  /**
+   * Runs the benchmark.
+   * @param args the number of cycles per round
+   */
+  public static void main(String[] args) {
+    int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int[] up = {10, 20, 30, 40, 50, 60, 70};
+    int[] down = {8, 17, 27, 37, 47, 57, 67};
+    MultiGearTransmission plain = new MultiGearTransmission(up, down, null);
+    MultiGearTransmission logged = new MultiGearTransmission(up, down, new ShiftLog(1 << 16));
+    long check = 0;
+    for (int round = 0; round < 5; round++) {
+      double without = drive(plain, cycles);
+      double with = drive(logged, cycles);
+      check += plain.getGear() + logged.getShiftLog().getRecorded();
+      System.out.printf("per speed change: %.2f ns without log, %.2f ns with log%n", without,
+          with);
+    }
+    System.out.println(check);
+  }
+
+  private static double drive(MultiGearTransmission transmission, int cycles) {
+    long start = System.nanoTime();
+    for (int i = 0; i < cycles; i++) {
+      for (int speed = 0; speed < 80; speed++) {
+        transmission.increaseSpeed();
+      }
+      for (int speed = 80; speed > 0; speed--) {
+        transmission.decreaseSpeed();
+      }
+    }
+    return (System.nanoTime() - start) / (160.0 * cycles);
+  }
+}
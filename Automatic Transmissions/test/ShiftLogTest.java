@@ -0,0 +1,57 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import transmission.ShiftLog;
+
+/**
+ * Unit tests for shift log class.
+ */
+public class ShiftLogTest {
+  private ShiftLog log;
+
+  /**
+   * Set up class objects for unit tests.
+   */
+  @Before
+  public void setUp() {
+    this.log = new ShiftLog(3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForZeroCapacity() {
+    new ShiftLog(0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testExceptionForMissingShift() {
+    this.log.record(1, 0, 1, 1);
+    this.log.getTime(1);
+  }
+
+  @Test
+  public void testCapacity() {
+    assertEquals(4, this.log.getCapacity());
+    assertEquals(1, new ShiftLog(1).getCapacity());
+    assertEquals(1024, new ShiftLog(1000).getCapacity());
+  }
+
+  @Test
+  public void testKeepsMostRecent() {
+    for (int i = 0; i < 10; i++) {
+      this.log.record(100 + i, i, i + 1, 10 * i);
+    }
+    assertEquals(10, this.log.getRecorded());
+    assertEquals(4, this.log.size());
+    for (int i = 0; i < 4; i++) {
+      assertEquals(106 + i, this.log.getTime(i));
+      assertEquals(6 + i, this.log.getFromGear(i));
+      assertEquals(7 + i, this.log.getToGear(i));
+      assertEquals(60 + 10 * i, this.log.getSpeed(i));
+    }
+    this.log.clear();
+    assertEquals(0, this.log.size());
+    this.log.record(5, 1, 2, 3);
+    assertEquals(5, this.log.getTime(0));
+  }
+}
@@ -0,0 +1,41 @@
+import transmission.AutomaticTransmission;
+
+/**
+ * Compares going from 0 to 120 MPH and back with single steps against setSpeed.
+ * Run with {@code java SpeedChangeBenchmark [cycles]}.
+ */
+public class SpeedChangeBenchmark {
+
+  /**
+   * Runs the benchmark.
+   * @param args the number of cycles per round
+   */
+  public static void main(String[] args) {
+    int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    AutomaticTransmission transmission = new AutomaticTransmission(15, 30, 45, 60, 75);
+    long check = 0;
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < cycles; i++) {
+        for (int speed = 0; speed < 120; speed++) {
+          transmission.increaseSpeed();
+        }
+        check += transmission.getGear();
+        for (int speed = 120; speed > 0; speed--) {
+          transmission.decreaseSpeed();
+        }
+      }
+      double stepped = (System.nanoTime() - start) / (double) cycles;
+      start = System.nanoTime();
+      for (int i = 0; i < cycles; i++) {
+        transmission.setSpeed(120);
+        check += transmission.getGear();
+        transmission.changeSpeed(-120);
+      }
+      double jumped = (System.nanoTime() - start) / (double) cycles;
+      System.out.printf("0-120-0: single steps %.1f ns, setSpeed %.1f ns (%.0fx)%n", stepped,
+          jumped, stepped / jumped);
+    }
+    System.out.println(check);
+  }
+}
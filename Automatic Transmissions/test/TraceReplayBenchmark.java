@@ -0,0 +1,71 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import transmission.AutomaticTransmission;
+import transmission.GearHistogram;
+import transmission.MultiGearTransmission;
+import transmission.SpeedTraceWriter;
+import transmission.TraceReplay;
+import transmission.Transmission;
+
+/**
+ * Measures how many samples per second TraceReplay replays through several models.
+ * Run with {@code java TraceReplayBenchmark [traces] [samples per trace]}.
+ */
+public class TraceReplayBenchmark {
+
+  /**
+   * Runs the benchmark.
+   * @param args the number of traces and of samples per trace
+   * @throws IOException if the traces cannot be written or read
+   */
+  public static void main(String[] args) throws IOException {
+    int traceCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    int samples = args.length > 1 ? Integer.parseInt(args[1]) : 25_000_000;
+    Path directory = Files.createTempDirectory("traces");
+    List<Path> traces = new ArrayList<>();
+    SplittableRandom random = new SplittableRandom(1);
+    try {
+      for (int i = 0; i < traceCount; i++) {
+        Path file = directory.resolve("trace" + i);
+        try (SpeedTraceWriter writer = new SpeedTraceWriter(file, 100_000)) {
+          int speed = 0;
+          for (int j = 0; j < samples; j++) {
+            speed = Math.max(0, Math.min(90, speed + random.nextInt(5) - 2));
+            writer.write(speed);
+          }
+        }
+        traces.add(file);
+      }
+      List<Supplier<Transmission>> models = List.of(
+          () -> new AutomaticTransmission(15, 30, 45, 60, 75),
+          () -> new AutomaticTransmission(10, 20, 35, 50, 65),
+          () -> new MultiGearTransmission(new int[] {10, 20, 30, 40, 50, 60, 70},
+              new int[] {8, 17, 27, 37, 47, 57, 67}, null));
+      TraceReplay replay = new TraceReplay(models);
+      for (int round = 0; round < 5; round++) {
+        long start = System.nanoTime();
+        List<GearHistogram> histograms = replay.replay(traces);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long replayed = 0;
+        for (GearHistogram histogram : histograms) {
+          replayed += histogram.getSampleCount();
+        }
+        System.out.printf("%d samples through %d models: %.2f s, %.0f million samples/s%n",
+            (long) traceCount * samples, models.size(), seconds, replayed / seconds / 1e6);
+        if (round == 0) {
+          histograms.forEach(System.out::println);
+        }
+      }
+    } finally {
+      for (Path file : traces) {
+        Files.deleteIfExists(file);
+      }
+      Files.deleteIfExists(directory);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import transmission.AutomaticTransmission;
+import transmission.GearHistogram;
+import transmission.MultiGearTransmission;
+import transmission.SpeedTraceWriter;
+import transmission.TraceReplay;
+import transmission.Transmission;
+
+/**
+ * Unit tests for trace replay class.
+ */
+public class TraceReplayTest {
+  private Path directory;
+  private List<Supplier<Transmission>> models;
+
+  /**
+   * Set up class objects for unit tests.
+   */
+  @Before
+  public void setUp() throws IOException {
+    this.directory = Files.createTempDirectory("traces");
+    this.models = new ArrayList<>();
+    this.models.add(() -> new AutomaticTransmission(15, 20, 25, 30, 35));
+    this.models.add(() -> new MultiGearTransmission(new int[] {10, 20, 30},
+        new int[] {8, 17, 27}, null));
+  }
+
+  /**
+   * Delete the trace files.
+   */
+  @After
+  public void tearDown() throws IOException {
+    try (var files = Files.list(this.directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(this.directory);
+  }
+
+  private Path trace(String name, int periodMicros, int... speeds) throws IOException {
+    Path file = this.directory.resolve(name);
+    try (SpeedTraceWriter writer = new SpeedTraceWriter(file, periodMicros)) {
+      for (int speed : speeds) {
+        writer.write(speed);
+      }
+    }
+    return file;
+  }
+
+  @Test
+  public void testMatchesStepByStepReplay() throws IOException {
+    int[] city = {0, 5, 12, 16, 21, 18, 9, 0, 0, 3};
+    int[] highway = new int[5000];
+    for (int i = 0; i < highway.length; i++) {
+      highway[i] = 40 + (int) (25 * Math.sin(i / 50.0));
+    }
+    List<Path> traces = List.of(trace("city", 1_000_000, city),
+        trace("highway", 100_000, highway), trace("empty", 500));
+    List<GearHistogram> histograms = new TraceReplay(this.models).replay(traces);
+    assertEquals(2, histograms.size());
+    for (int model = 0; model < 2; model++) {
+      long[] samples = new long[8];
+      long shifts = 0;
+      long micros = 0;
+      for (int[] speeds : new int[][] {city, highway}) {
+        Transmission transmission = this.models.get(model).get();
+        int gear = 0;
+        for (int speed : speeds) {
+          while (transmission.getSpeed() < speed) {
+            transmission.increaseSpeed();
+          }
+          while (transmission.getSpeed() > speed) {
+            transmission.decreaseSpeed();
+          }
+          if (transmission.getGear() != gear) {
+            shifts++;
+            gear = transmission.getGear();
+          }
+          samples[gear]++;
+          micros += speeds == city ? 1_000_000 : 100_000;
+        }
+      }
+      GearHistogram histogram = histograms.get(model);
+      for (int gear = 0; gear < samples.length; gear++) {
+        assertEquals(samples[gear], histogram.getSamples(gear));
+      }
+      assertEquals(city.length + highway.length, histogram.getSampleCount());
+      assertEquals(shifts, histogram.getShiftCount());
+      assertEquals(micros, histogram.getTotalTime());
+      assertEquals(3, histogram.getTraceCount());
+      assertEquals(shifts * 3600e6 / micros, histogram.getShiftsPerHour(), 1e-9);
+    }
+    assertEquals(4_000_000, histograms.get(0).getTimeInGear(1));
+  }
+
+  @Test(expected = IOException.class)
+  public void testExceptionForInvalidTrace() throws IOException {
+    Path file = this.directory.resolve("invalid");
+    Files.write(file, new byte[] {1, 2, 3});
+    new TraceReplay(this.models).replay(List.of(file));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionForSpeedTooHigh() throws IOException {
+    trace("fast", 1000, SpeedTraceWriter.MAX_SPEED + 1);
+  }
+
+  @Test
+  public void testToString() throws IOException {
+    List<GearHistogram> histograms = new TraceReplay(this.models.subList(0, 1))
+        .replay(List.of(trace("short", 1_000_000, 0, 0, 10, 10)));
+    assertTrue(histograms.get(0).toString().startsWith("Gears (0: 50.0%, 1: 50.0%, "));
+  }
+}
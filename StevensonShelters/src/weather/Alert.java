@@ -0,0 +1,68 @@
+package weather;
+
+/**
+ * An alert raised by an {@link AlertEngine} when a rule fires for a station.
+ */
+public final class Alert {
+  private final AlertRule rule;
+  private final int station;
+  private final long timestamp;
+  private final double value;
+
+  /**
+   * Constructor.
+   *
+   * @param rule      the rule that fired
+   * @param station   the station ID
+   * @param timestamp the time of the reading that completed the run
+   * @param value     the value of the metric in that reading
+   */
+  public Alert(AlertRule rule, int station, long timestamp, double value) {
+    this.rule = rule;
+    this.station = station;
+    this.timestamp = timestamp;
+    this.value = value;
+  }
+
+  /**
+   * Get the rule that fired.
+   *
+   * @return the rule
+   */
+  public AlertRule getRule() {
+    return this.rule;
+  }
+
+  /**
+   * Get the station ID.
+   *
+   * @return the station ID
+   */
+  public int getStation() {
+    return this.station;
+  }
+
+  /**
+   * Get the time of the reading that completed the run.
+   *
+   * @return the timestamp
+   */
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * Get the value of the metric in the reading that completed the run.
+   *
+   * @return the value
+   */
+  public double getValue() {
+    return this.value;
+  }
+
+  @Override
+  public String toString() {
+    return "Alert " + this.rule.getName() + " at station " + this.station + ", time "
+        + this.timestamp + ": " + this.rule.getMetric() + " = " + this.value;
+  }
+}
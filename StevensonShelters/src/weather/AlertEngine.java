@@ -0,0 +1,264 @@
+package weather;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates {@link AlertRule}s against readings as they arrive and puts the resulting
+ * {@link Alert}s on a bounded queue.
+ *
+ * <p>The rules are compiled into a flat plan: the thresholds of the rules on the same metric
+ * and in the same direction are sorted into one array, so the rules matched by a reading
+ * are a prefix of their group found by binary search. Per station, the lengths of the
+ * current runs of matching readings are kept in an int array parallel to the plan. A
+ * reading thus costs one computation per metric in use and two tight loops over the rules,
+ * and allocates only the alerts it raises. Station IDs are mapped to dense slots by a
+ * {@link StationSlots}, so any non-negative int can be used as an ID.
+ *
+ * <p>Readings must be evaluated by one thread at a time; partition stations across engines
+ * to use several threads. The rules can be replaced from any thread with {@link #reload}
+ * without stopping evaluation: the new plan is published atomically, and each station moves
+ * to it at its next reading, keeping the runs of the rules present in both plans; a rule
+ * given several times keeps the runs of as many of its occurrences. When the queue is full,
+ * alerts are dropped and counted rather than blocking evaluation.
+ */
+public final class AlertEngine {
+  private static final int METRICS = WeatherMetric.values().length;
+  private static final int GROUPS = 2 * METRICS;
+
+  private final AtomicReference<Plan> plan = new AtomicReference<>();
+  private final BlockingQueue<Alert> alerts;
+  private final AtomicLong dropped = new AtomicLong();
+  private final double[] values = new double[METRICS];
+  private final StationSlots slots = new StationSlots();
+  private Station[] stations = new Station[16];
+
+  /**
+   * Constructor.
+   *
+   * @param rules         the rules to evaluate
+   * @param queueCapacity the largest number of alerts waiting to be taken
+   * @throws IllegalArgumentException if a rule is null or the capacity is not positive
+   */
+  public AlertEngine(Collection<AlertRule> rules, int queueCapacity)
+      throws IllegalArgumentException {
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("Queue capacity must be positive.");
+    }
+    this.alerts = new ArrayBlockingQueue<>(queueCapacity);
+    this.plan.set(new Plan(rules));
+  }
+
+  /**
+   * Replaces the rules. Safe to call while readings are being evaluated.
+   *
+   * @param rules the new rules
+   * @throws IllegalArgumentException if a rule is null
+   */
+  public void reload(Collection<AlertRule> rules) throws IllegalArgumentException {
+    this.plan.set(new Plan(rules));
+  }
+
+  /**
+   * Get the rules currently evaluated.
+   *
+   * @return an unmodifiable list of the rules, in the order they were given
+   */
+  public List<AlertRule> getRules() {
+    return this.plan.get().given;
+  }
+
+  /**
+   * Get the queue the alerts are put on, for consumers to take them from.
+   *
+   * @return the alert queue
+   */
+  public BlockingQueue<Alert> getAlerts() {
+    return this.alerts;
+  }
+
+  /**
+   * Get the number of alerts dropped because the queue was full.
+   *
+   * @return the number of dropped alerts
+   */
+  public long getDroppedAlerts() {
+    return this.dropped.get();
+  }
+
+  /**
+   * Evaluates all rules against a reading of a station.
+   *
+   * @param station     the station ID, a non-negative number
+   * @param timestamp   the time of the reading
+   * @param temperature the air temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @param windSpeed   the wind speed
+   * @return the number of alerts raised, including dropped ones
+   * @throws IllegalArgumentException if the reading is invalid or the station ID is negative
+   */
+  public int evaluate(int station, long timestamp, double temperature, double dewPoint,
+                      double windSpeed) throws IllegalArgumentException {
+    Stevenson.validate(temperature, dewPoint, windSpeed, 0);
+    Plan current = this.plan.get();
+    int[] runs = runs(station, current);
+    if (current.uses(WeatherMetric.TEMPERATURE)) {
+      this.values[WeatherMetric.TEMPERATURE.ordinal()] = temperature;
+    }
+    if (current.uses(WeatherMetric.RELATIVE_HUMIDITY) || current.uses(WeatherMetric.HEAT_INDEX)) {
+      double rh = Stevenson.relativeHumidity(temperature, dewPoint);
+      this.values[WeatherMetric.RELATIVE_HUMIDITY.ordinal()] = rh;
+      this.values[WeatherMetric.HEAT_INDEX.ordinal()] = Stevenson.heatIndex(temperature, rh);
+    }
+    if (current.uses(WeatherMetric.WIND_CHILL)) {
+      this.values[WeatherMetric.WIND_CHILL.ordinal()] = Stevenson.windChill(temperature,
+          windSpeed);
+    }
+    double[] keys = current.keys;
+    int[] consecutive = current.consecutive;
+    int raised = 0;
+    for (int group = 0; group < GROUPS; group++) {
+      int start = current.groups[group];
+      int end = current.groups[group + 1];
+      if (start == end) {
+        continue;
+      }
+      double value = this.values[group >> 1];
+      double key = (group & 1) == 0 ? value : -value;
+      int matched = start;
+      int high = end;
+      while (matched < high) {
+        int middle = (matched + high) >>> 1;
+        if (keys[middle] < key) {
+          matched = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      for (int i = start; i < matched; i++) {
+        int run = runs[i];
+        if (run < consecutive[i]) {
+          runs[i] = ++run;
+          if (run == consecutive[i]) {
+            raise(new Alert(current.rules[i], station, timestamp, value));
+            raised++;
+          }
+        }
+      }
+      Arrays.fill(runs, matched, end, 0);
+    }
+    return raised;
+  }
+
+  private void raise(Alert alert) {
+    if (!this.alerts.offer(alert)) {
+      this.dropped.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the runs of a station for the given plan, moving them over from the station's
+   * previous plan if the rules were reloaded.
+   */
+  private int[] runs(int station, Plan current) {
+    int slot = this.slots.add(station);
+    if (slot == this.stations.length) {
+      this.stations = Arrays.copyOf(this.stations, this.stations.length * 2);
+    }
+    Station state = this.stations[slot];
+    if (state == null) {
+      state = new Station();
+      this.stations[slot] = state;
+    }
+    if (state.plan != current) {
+      int[] runs = new int[current.rules.length];
+      if (state.plan != null) {
+        for (int i = 0; i < runs.length; i++) {
+          int[] previous = state.plan.positions.get(current.rules[i]);
+          int occurrence = current.occurrences[i];
+          if (previous != null && occurrence < previous.length) {
+            runs[i] = state.runs[previous[occurrence]];
+          }
+        }
+      }
+      state.plan = current;
+      state.runs = runs;
+    }
+    return state.runs;
+  }
+
+  private static final class Station {
+    private Plan plan;
+    private int[] runs;
+  }
+
+  /**
+   * The compiled rules. Group g holds the rules on metric g / 2, firing above the threshold
+   * for even g and below it for odd g, at indexes groups[g] to groups[g + 1]. Keys are the
+   * thresholds, negated for the rules firing below, in ascending order within a group, so
+   * a rule matches when the equally negated value is greater than its key. Equal rules are
+   * numbered by occurrence, so that the n-th copy of a rule takes over the run of the n-th
+   * copy in the previous plan.
+   */
+  private static final class Plan {
+    private final List<AlertRule> given;
+    private final AlertRule[] rules;
+    private final double[] keys;
+    private final int[] consecutive;
+    private final int[] occurrences;
+    private final int[] groups = new int[GROUPS + 1];
+    private final boolean[] metrics = new boolean[METRICS];
+    private final Map<AlertRule, int[]> positions = new HashMap<>();
+
+    Plan(Collection<AlertRule> rules) {
+      List<AlertRule> sorted = new ArrayList<>(rules);
+      for (AlertRule rule : sorted) {
+        if (rule == null) {
+          throw new IllegalArgumentException("Rules must not be null.");
+        }
+      }
+      this.given = Collections.unmodifiableList(new ArrayList<>(sorted));
+      sorted.sort(Comparator.comparing(AlertRule::getMetric)
+          .thenComparing(rule -> !rule.isAbove()).thenComparingDouble(Plan::key));
+      this.rules = sorted.toArray(new AlertRule[0]);
+      this.keys = new double[this.rules.length];
+      this.consecutive = new int[this.rules.length];
+      this.occurrences = new int[this.rules.length];
+      for (int i = 0; i < this.rules.length; i++) {
+        AlertRule rule = this.rules[i];
+        int group = 2 * rule.getMetric().ordinal() + (rule.isAbove() ? 0 : 1);
+        this.groups[group + 1]++;
+        this.keys[i] = key(rule);
+        this.consecutive[i] = rule.getConsecutive();
+        this.metrics[rule.getMetric().ordinal()] = true;
+        int[] previous = this.positions.get(rule);
+        this.occurrences[i] = previous == null ? 0 : previous.length;
+        int[] indexes = previous == null
+            ? new int[1] : Arrays.copyOf(previous, previous.length + 1);
+        indexes[this.occurrences[i]] = i;
+        this.positions.put(rule, indexes);
+      }
+      for (int group = 0; group < GROUPS; group++) {
+        this.groups[group + 1] += this.groups[group];
+      }
+    }
+
+    private static double key(AlertRule rule) {
+      return rule.isAbove() ? rule.getThreshold() : -rule.getThreshold();
+    }
+
+    boolean uses(WeatherMetric metric) {
+      return this.metrics[metric.ordinal()];
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package weather;
+
+import java.util.Objects;
+
+/**
+ * A threshold alert on a {@link WeatherMetric}: the rule fires when the metric of a station
+ * has been above, or below, the threshold for a number of consecutive readings. It fires
+ * once per such run of readings.
+ */
+public final class AlertRule {
+  private final String name;
+  private final WeatherMetric metric;
+  private final boolean above;
+  private final double threshold;
+  private final int consecutive;
+
+  private AlertRule(String name, WeatherMetric metric, boolean above, double threshold,
+                    int consecutive) throws IllegalArgumentException {
+    if (name == null || metric == null) {
+      throw new IllegalArgumentException("Name and metric are required.");
+    }
+    if (Double.isNaN(threshold) || consecutive <= 0) {
+      throw new IllegalArgumentException("The threshold must be a number and the number of "
+          + "consecutive readings positive.");
+    }
+    this.name = name;
+    this.metric = metric;
+    this.above = above;
+    this.threshold = threshold;
+    this.consecutive = consecutive;
+  }
+
+  /**
+   * Creates a rule firing when the metric is strictly above the threshold.
+   *
+   * @param name        the name reported with the alerts
+   * @param metric      the metric
+   * @param threshold   the threshold
+   * @param consecutive the number of consecutive readings above the threshold
+   * @return the rule
+   * @throws IllegalArgumentException if a value is missing or illegal
+   */
+  public static AlertRule above(String name, WeatherMetric metric, double threshold,
+                                int consecutive) throws IllegalArgumentException {
+    return new AlertRule(name, metric, true, threshold, consecutive);
+  }
+
+  /**
+   * Creates a rule firing when the metric is strictly below the threshold.
+   *
+   * @param name        the name reported with the alerts
+   * @param metric      the metric
+   * @param threshold   the threshold
+   * @param consecutive the number of consecutive readings below the threshold
+   * @return the rule
+   * @throws IllegalArgumentException if a value is missing or illegal
+   */
+  public static AlertRule below(String name, WeatherMetric metric, double threshold,
+                                int consecutive) throws IllegalArgumentException {
+    return new AlertRule(name, metric, false, threshold, consecutive);
+  }
+
+  /**
+   * Get the name of the rule.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Get the metric of the rule.
+   *
+   * @return the metric
+   */
+  public WeatherMetric getMetric() {
+    return this.metric;
+  }
+
+  /**
+   * Tells whether the rule fires above or below the threshold.
+   *
+   * @return true if the rule fires above the threshold
+   */
+  public boolean isAbove() {
+    return this.above;
+  }
+
+  /**
+   * Get the threshold of the rule.
+   *
+   * @return the threshold
+   */
+  public double getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Get the number of consecutive readings needed to fire.
+   *
+   * @return the number of readings
+   */
+  public int getConsecutive() {
+    return this.consecutive;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AlertRule)) {
+      return false;
+    }
+    AlertRule other = (AlertRule) o;
+    return this.name.equals(other.name) && this.metric == other.metric
+        && this.above == other.above && Double.compare(this.threshold, other.threshold) == 0
+        && this.consecutive == other.consecutive;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.name, this.metric, this.above, this.threshold, this.consecutive);
+  }
+
+  @Override
+  public String toString() {
+    return this.name + ": " + this.metric + (this.above ? " > " : " < ") + this.threshold
+        + " for " + this.consecutive + " readings";
+  }
+}
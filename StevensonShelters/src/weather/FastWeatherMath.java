@@ -0,0 +1,126 @@
+package weather;
+
+/**
+ * Table-driven replacements for the two {@code Math.pow} evaluations in the weather formulas:
+ * the vapor pressure {@code 6.11 * 10^(7.5 t / (237.3 + t))} and the wind factor
+ * {@code v^0.16} of the wind chill.
+ *
+ * <p>Each function is tabulated with its derivative over its physically valid range and
+ * evaluated by cubic Hermite interpolation, i.e. one table lookup and a cubic polynomial.
+ * Temperatures in [-100, 100] Celsius use a step of 0.1 and wind speeds in [1, 256] a step of
+ * 1/32. Inside these ranges the relative error is below {@value #MAX_RELATIVE_ERROR}; outside
+ * them the exact formula is used. Rounded relative humidity, heat index and wind chill can
+ * only differ from the exact ones when the exact value lies within that error of a rounding
+ * boundary, which an exhaustive check over a 0.01 Celsius grid never hits.
+ */
+public final class FastWeatherMath {
+  /** Upper bound on the relative error of the tabulated functions. */
+  public static final double MAX_RELATIVE_ERROR = 2e-9;
+
+  private static final double MIN_TEMPERATURE = -100;
+  private static final double MAX_TEMPERATURE = 100;
+  private static final double TEMPERATURE_STEP = 0.1;
+  private static final double MIN_WIND = 1;
+  private static final double MAX_WIND = 256;
+  private static final double WIND_STEP = 1.0 / 32;
+
+  // Four polynomial coefficients per interval, in the local variable s in [0, 1).
+  private static final double[] VAPOR = tabulate(MIN_TEMPERATURE, MAX_TEMPERATURE,
+      TEMPERATURE_STEP, true);
+  private static final double[] WIND = tabulate(MIN_WIND, MAX_WIND, WIND_STEP, false);
+
+  private FastWeatherMath() {
+  }
+
+  private static double[] tabulate(double min, double max, double step, boolean vapor) {
+    int intervals = (int) Math.round((max - min) / step);
+    double[] table = new double[4 * intervals];
+    for (int i = 0; i < intervals; i++) {
+      double x0 = min + i * step;
+      double x1 = min + (i + 1) * step;
+      double f0 = vapor ? Stevenson.vaporPressure(x0) : Math.pow(x0, 0.16);
+      double f1 = vapor ? Stevenson.vaporPressure(x1) : Math.pow(x1, 0.16);
+      double m0 = step * (vapor ? vaporSlope(x0, f0) : 0.16 * f0 / x0);
+      double m1 = step * (vapor ? vaporSlope(x1, f1) : 0.16 * f1 / x1);
+      table[4 * i] = f0;
+      table[4 * i + 1] = m0;
+      table[4 * i + 2] = 3 * (f1 - f0) - 2 * m0 - m1;
+      table[4 * i + 3] = 2 * (f0 - f1) + m0 + m1;
+    }
+    return table;
+  }
+
+  private static double vaporSlope(double celsius, double pressure) {
+    double denominator = 237.3 + celsius;
+    return pressure * Math.log(10) * 7.5 * 237.3 / (denominator * denominator);
+  }
+
+  private static double interpolate(double[] table, double u) {
+    int i = (int) u;
+    if (4 * i == table.length) {
+      i--;
+    }
+    double s = u - i;
+    int k = 4 * i;
+    return table[k] + s * (table[k + 1] + s * (table[k + 2] + s * table[k + 3]));
+  }
+
+  /**
+   * Vapor pressure in hPa at the given temperature.
+   *
+   * @param celsius the temperature in Celsius
+   * @return the vapor pressure
+   */
+  public static double vaporPressure(double celsius) {
+    if (celsius >= MIN_TEMPERATURE && celsius <= MAX_TEMPERATURE) {
+      return interpolate(VAPOR, (celsius - MIN_TEMPERATURE) * (1 / TEMPERATURE_STEP));
+    }
+    return Stevenson.vaporPressure(celsius);
+  }
+
+  /**
+   * The wind speed raised to the power 0.16.
+   *
+   * @param windSpeed the wind speed
+   * @return the wind factor of the wind chill formula
+   */
+  public static double windFactor(double windSpeed) {
+    if (windSpeed >= MIN_WIND && windSpeed <= MAX_WIND) {
+      return interpolate(WIND, (windSpeed - MIN_WIND) * (1 / WIND_STEP));
+    }
+    return Math.pow(windSpeed, 0.16);
+  }
+
+  /**
+   * Relative humidity in percent.
+   *
+   * @param temperature the temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @return the relative humidity without rounding
+   */
+  public static double relativeHumidity(double temperature, double dewPoint) {
+    return (vaporPressure(dewPoint) / vaporPressure(temperature)) * 100;
+  }
+
+  /**
+   * Heat index in Celsius.
+   *
+   * @param temperature the temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @return the heat index without rounding
+   */
+  public static double heatIndex(double temperature, double dewPoint) {
+    return Stevenson.heatIndex(temperature, relativeHumidity(temperature, dewPoint));
+  }
+
+  /**
+   * Wind chill in Celsius.
+   *
+   * @param temperature the temperature in Celsius
+   * @param windSpeed   the wind speed
+   * @return the wind chill without rounding
+   */
+  public static double windChill(double temperature, double windSpeed) {
+    return Stevenson.windChillFromFactor(temperature, windFactor(windSpeed));
+  }
+}
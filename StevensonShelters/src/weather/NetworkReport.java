@@ -0,0 +1,89 @@
+package weather;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Analytics results of a network of stations, produced by {@link StationAnalytics}.
+ */
+public final class NetworkReport {
+  private final Map<String, StationReport> stations;
+  private final long readings;
+  private final long heatEvents;
+  private final long windChillAlerts;
+  private final QuantileSketch humidity;
+
+  NetworkReport(Map<String, StationReport> stations, long readings, long heatEvents,
+                long windChillAlerts, QuantileSketch humidity) {
+    this.stations = Collections.unmodifiableMap(stations);
+    this.readings = readings;
+    this.heatEvents = heatEvents;
+    this.windChillAlerts = windChillAlerts;
+    this.humidity = humidity;
+  }
+
+  /**
+   * Get the reports of all stations by station ID.
+   *
+   * @return an unmodifiable map of the station reports
+   */
+  public Map<String, StationReport> getStations() {
+    return this.stations;
+  }
+
+  /**
+   * Get the report of a station.
+   *
+   * @param station the station ID
+   * @return the report, or null if the station was not analyzed
+   */
+  public StationReport getStation(String station) {
+    return this.stations.get(station);
+  }
+
+  /**
+   * Get the number of readings of all stations.
+   *
+   * @return the number of readings
+   */
+  public long getReadings() {
+    return this.readings;
+  }
+
+  /**
+   * Get the number of readings with a heat index at or above the threshold.
+   *
+   * @return the number of extreme heat events
+   */
+  public long getHeatEvents() {
+    return this.heatEvents;
+  }
+
+  /**
+   * Get the number of readings with a wind chill at or below the threshold.
+   *
+   * @return the number of wind chill alerts
+   */
+  public long getWindChillAlerts() {
+    return this.windChillAlerts;
+  }
+
+  /**
+   * Get an approximate percentile of the relative humidity of all readings.
+   *
+   * @param quantile the fraction of readings at or below the result, from 0 to 1
+   * @return the approximate relative humidity
+   * @throws IllegalArgumentException if the fraction is outside [0, 1]
+   * @throws IllegalStateException    if there are no readings
+   */
+  public double getHumidityQuantile(double quantile) {
+    return this.humidity.getQuantile(quantile);
+  }
+
+  @Override
+  public String toString() {
+    return "Network: stations = " + this.stations.size() + ", readings = " + this.readings
+        + ", heat events = " + this.heatEvents + ", wind chill alerts = "
+        + this.windChillAlerts;
+  }
+}
@@ -0,0 +1,233 @@
+package weather;
+
+import java.util.Arrays;
+
+/**
+ * Approximate quantiles of a stream of values in bounded memory, after the KLL sketch of
+ * Karnin, Lang and Liberty. Values are kept in levels; an item of level h stands for 2^h
+ * values. When a level is full it is sorted and every other item, starting at a random one
+ * of the first two, is promoted to the next level. Upper levels get capacity k and every
+ * level below two thirds of the one above, so about 3k items are kept and the rank error is
+ * around 1.7 / k of the count.
+ *
+ * <p>Sketches of disjoint streams can be merged, which gives a sketch of the combined stream
+ * with the same accuracy. This class is not thread-safe; give every thread its own sketch
+ * and merge them afterwards.
+ */
+public final class QuantileSketch {
+  static final int MIN_CAPACITY = 8;
+
+  private final int k;
+  private double[][] levels = {new double[MIN_CAPACITY]};
+  private int[] sizes = new int[1];
+  private int[] capacities;
+  private int height = 1;
+  private long count;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+  private long random = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Constructor.
+   *
+   * @param k the capacity of the top level, which sets the accuracy
+   * @throws IllegalArgumentException if k is less than {@value #MIN_CAPACITY}
+   */
+  public QuantileSketch(int k) throws IllegalArgumentException {
+    if (k < MIN_CAPACITY) {
+      throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY + ".");
+    }
+    this.k = k;
+    this.capacities = new int[]{k};
+  }
+
+  /**
+   * Adds a value.
+   *
+   * @param value the value
+   * @throws IllegalArgumentException if the value is NaN
+   */
+  public void add(double value) throws IllegalArgumentException {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException("NaN cannot be added.");
+    }
+    this.count++;
+    this.min = Math.min(this.min, value);
+    this.max = Math.max(this.max, value);
+    append(0, value);
+    if (this.sizes[0] >= this.capacities[0]) {
+      compress();
+    }
+  }
+
+  /**
+   * Adds all values of another sketch to this one. The other sketch is not changed.
+   *
+   * @param other the sketch to merge
+   */
+  public void merge(QuantileSketch other) {
+    if (other.count == 0) {
+      return;
+    }
+    for (int h = 0; h < other.height; h++) {
+      if (h == this.height) {
+        grow();
+      }
+      for (int i = 0; i < other.sizes[h]; i++) {
+        append(h, other.levels[h][i]);
+      }
+    }
+    this.count += other.count;
+    this.min = Math.min(this.min, other.min);
+    this.max = Math.max(this.max, other.max);
+    compress();
+  }
+
+  /**
+   * Returns the number of values added.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Returns the number of items kept to represent the values.
+   *
+   * @return the number of items kept
+   */
+  public int getRetained() {
+    int retained = 0;
+    for (int h = 0; h < this.height; h++) {
+      retained += this.sizes[h];
+    }
+    return retained;
+  }
+
+  /**
+   * Returns the smallest value added.
+   *
+   * @return the minimum
+   * @throws IllegalStateException if the sketch is empty
+   */
+  public double getMin() throws IllegalStateException {
+    checkNotEmpty();
+    return this.min;
+  }
+
+  /**
+   * Returns the largest value added.
+   *
+   * @return the maximum
+   * @throws IllegalStateException if the sketch is empty
+   */
+  public double getMax() throws IllegalStateException {
+    checkNotEmpty();
+    return this.max;
+  }
+
+  /**
+   * Returns an approximation of the value with the given fraction of the values at or below
+   * it. Quantiles 0 and 1 are the exact minimum and maximum.
+   *
+   * @param quantile the fraction, from 0 to 1
+   * @return the approximate quantile
+   * @throws IllegalArgumentException if the fraction is outside [0, 1]
+   * @throws IllegalStateException    if the sketch is empty
+   */
+  public double getQuantile(double quantile) throws IllegalArgumentException {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+    }
+    checkNotEmpty();
+    if (quantile == 0) {
+      return this.min;
+    } else if (quantile == 1) {
+      return this.max;
+    }
+    double[][] sorted = new double[this.height][];
+    int[] next = new int[this.height];
+    for (int h = 0; h < this.height; h++) {
+      sorted[h] = Arrays.copyOf(this.levels[h], this.sizes[h]);
+      Arrays.sort(sorted[h]);
+    }
+    long target = Math.max(1, (long) Math.ceil(quantile * this.count));
+    long rank = 0;
+    while (true) {
+      // The smallest remaining item of all levels, an upper level winning ties.
+      int best = -1;
+      for (int h = 0; h < this.height; h++) {
+        if (next[h] < sorted[h].length
+            && (best < 0 || sorted[h][next[h]] <= sorted[best][next[best]])) {
+          best = h;
+        }
+      }
+      if (best < 0) {
+        return this.max;
+      }
+      double value = sorted[best][next[best]++];
+      rank += 1L << best;
+      if (rank >= target) {
+        return value;
+      }
+    }
+  }
+
+  private void checkNotEmpty() {
+    if (this.count == 0) {
+      throw new IllegalStateException("The sketch is empty.");
+    }
+  }
+
+  private void append(int level, double value) {
+    if (this.sizes[level] == this.levels[level].length) {
+      this.levels[level] = Arrays.copyOf(this.levels[level], this.levels[level].length * 2);
+    }
+    this.levels[level][this.sizes[level]++] = value;
+  }
+
+  private void grow() {
+    this.levels = Arrays.copyOf(this.levels, this.height + 1);
+    this.sizes = Arrays.copyOf(this.sizes, this.height + 1);
+    this.levels[this.height] = new double[MIN_CAPACITY];
+    this.height++;
+    this.capacities = new int[this.height];
+    for (int h = 0; h < this.height; h++) {
+      double capacity = this.k * Math.pow(2.0 / 3, this.height - 1 - h);
+      this.capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(capacity));
+    }
+  }
+
+  private void compress() {
+    for (int h = 0; h < this.height; h++) {
+      if (this.sizes[h] >= this.capacities[h]) {
+        compact(h);
+      }
+    }
+  }
+
+  /**
+   * Promotes every other item of a sorted level. With an odd number of items the largest
+   * stays behind, so the total weight of the items always equals the count.
+   */
+  private void compact(int level) {
+    if (level + 1 == this.height) {
+      grow();
+    }
+    double[] items = this.levels[level];
+    int size = this.sizes[level];
+    Arrays.sort(items, 0, size);
+    int pairs = size & ~1;
+    this.random ^= this.random << 13;
+    this.random ^= this.random >>> 7;
+    this.random ^= this.random << 17;
+    for (int i = (int) (this.random >>> 63); i < pairs; i += 2) {
+      append(level + 1, items[i]);
+    }
+    if (size > pairs) {
+      items[0] = items[size - 1];
+    }
+    this.sizes[level] = size - pairs;
+  }
+}
@@ -0,0 +1,157 @@
+package weather;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Daily analytics over the readings of a network of stations: extreme heat index events,
+ * wind chill alerts and relative humidity percentiles, per station and for the network.
+ *
+ * <p>The stations are split recursively across a fork-join pool into ranges holding about
+ * the same number of readings, each station being handled by one task. Every task builds
+ * its own results, and the results of two ranges are merged by the task that forked them,
+ * so no state is shared and nothing is locked. Percentiles come from mergeable
+ * {@link QuantileSketch}es.
+ */
+public final class StationAnalytics {
+  // Ranges with fewer readings are not split further.
+  private static final long LEAF_READINGS = 1 << 16;
+
+  private final int heatIndexThreshold;
+  private final int windChillThreshold;
+  private final int sketchSize;
+
+  /**
+   * Constructor.
+   *
+   * @param heatIndexThreshold the heat index at or above which a reading is a heat event
+   * @param windChillThreshold the wind chill at or below which a reading is an alert
+   * @param sketchSize         the accuracy parameter k of the humidity sketches
+   * @throws IllegalArgumentException if the sketch size is too small
+   */
+  public StationAnalytics(int heatIndexThreshold, int windChillThreshold, int sketchSize)
+      throws IllegalArgumentException {
+    if (sketchSize < QuantileSketch.MIN_CAPACITY) {
+      throw new IllegalArgumentException("Sketch size must be at least "
+          + QuantileSketch.MIN_CAPACITY + ".");
+    }
+    this.heatIndexThreshold = heatIndexThreshold;
+    this.windChillThreshold = windChillThreshold;
+    this.sketchSize = sketchSize;
+  }
+
+  /**
+   * Analyzes the readings of the stations on the common fork-join pool.
+   *
+   * @param stations the readings by station ID
+   * @return the results
+   */
+  public NetworkReport analyze(Map<String, ? extends Collection<? extends WeatherReading>>
+                                   stations) {
+    return analyze(stations, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Analyzes the readings of the stations on the given pool.
+   *
+   * @param stations the readings by station ID
+   * @param pool     the pool running the analysis
+   * @return the results
+   */
+  public NetworkReport analyze(Map<String, ? extends Collection<? extends WeatherReading>>
+                                   stations, ForkJoinPool pool) {
+    List<String> ids = new ArrayList<>(stations.size());
+    List<Collection<? extends WeatherReading>> readings = new ArrayList<>(stations.size());
+    long[] prefix = new long[stations.size() + 1];
+    for (Map.Entry<String, ? extends Collection<? extends WeatherReading>> entry
+        : stations.entrySet()) {
+      prefix[ids.size() + 1] = prefix[ids.size()] + entry.getValue().size();
+      ids.add(entry.getKey());
+      readings.add(entry.getValue());
+    }
+    Partial result = pool.invoke(new Task(ids, readings, prefix, 0, ids.size()));
+    return new NetworkReport(result.stations, result.readings, result.heatEvents,
+        result.windChillAlerts, result.humidity);
+  }
+
+  /**
+   * Results of a range of stations, owned by a single task until merged into its parent's.
+   */
+  private final class Partial {
+    private final Map<String, StationReport> stations = new HashMap<>();
+    private final QuantileSketch humidity = new QuantileSketch(StationAnalytics.this.sketchSize);
+    private long readings;
+    private long heatEvents;
+    private long windChillAlerts;
+
+    void add(StationReport report) {
+      this.stations.put(report.getStation(), report);
+      this.readings += report.getReadings();
+      this.heatEvents += report.getHeatEvents();
+      this.windChillAlerts += report.getWindChillAlerts();
+      this.humidity.merge(report.getHumidity());
+    }
+
+    void merge(Partial other) {
+      this.stations.putAll(other.stations);
+      this.readings += other.readings;
+      this.heatEvents += other.heatEvents;
+      this.windChillAlerts += other.windChillAlerts;
+      this.humidity.merge(other.humidity);
+    }
+  }
+
+  private final class Task extends RecursiveTask<Partial> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> ids;
+    private final List<Collection<? extends WeatherReading>> readings;
+    private final long[] prefix;
+    private final int from;
+    private final int to;
+
+    Task(List<String> ids, List<Collection<? extends WeatherReading>> readings, long[] prefix,
+         int from, int to) {
+      this.ids = ids;
+      this.readings = readings;
+      this.prefix = prefix;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Partial compute() {
+      if (this.to - this.from > 1
+          && this.prefix[this.to] - this.prefix[this.from] > LEAF_READINGS) {
+        // Split where the readings of the range are halved, keeping both halves non-empty.
+        long half = (this.prefix[this.from] + this.prefix[this.to]) / 2;
+        int middle = Arrays.binarySearch(this.prefix, this.from, this.to + 1, half);
+        middle = middle >= 0 ? middle : -middle - 1;
+        middle = Math.max(this.from + 1, Math.min(this.to - 1, middle));
+        Task right = new Task(this.ids, this.readings, this.prefix, middle, this.to);
+        right.fork();
+        Partial left = new Task(this.ids, this.readings, this.prefix, this.from, middle)
+            .compute();
+        left.merge(right.join());
+        return left;
+      }
+      Partial partial = new Partial();
+      for (int i = this.from; i < this.to; i++) {
+        StationReport report = new StationReport(this.ids.get(i),
+            StationAnalytics.this.sketchSize);
+        for (WeatherReading reading : this.readings.get(i)) {
+          report.add(reading, StationAnalytics.this.heatIndexThreshold,
+              StationAnalytics.this.windChillThreshold);
+        }
+        partial.add(report);
+      }
+      return partial;
+    }
+  }
+}
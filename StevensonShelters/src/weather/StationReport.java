@@ -0,0 +1,91 @@
+package weather;
+
+/**
+ * Analytics results of one station, produced by {@link StationAnalytics}.
+ */
+public final class StationReport {
+  private final String station;
+  private long readings;
+  private long heatEvents;
+  private long windChillAlerts;
+  private final QuantileSketch humidity;
+
+  StationReport(String station, int sketchSize) {
+    this.station = station;
+    this.humidity = new QuantileSketch(sketchSize);
+  }
+
+  void add(WeatherReading reading, int heatIndexThreshold, int windChillThreshold) {
+    this.readings++;
+    if (reading.getHeatIndex() >= heatIndexThreshold) {
+      this.heatEvents++;
+    }
+    if (reading.getWindChill() <= windChillThreshold) {
+      this.windChillAlerts++;
+    }
+    this.humidity.add(reading.getRelativeHumidityWithoutRound());
+  }
+
+  /**
+   * Get the station ID.
+   *
+   * @return the station ID
+   */
+  public String getStation() {
+    return this.station;
+  }
+
+  /**
+   * Get the number of readings of the station.
+   *
+   * @return the number of readings
+   */
+  public long getReadings() {
+    return this.readings;
+  }
+
+  /**
+   * Get the number of readings with a heat index at or above the threshold.
+   *
+   * @return the number of extreme heat events
+   */
+  public long getHeatEvents() {
+    return this.heatEvents;
+  }
+
+  /**
+   * Get the number of readings with a wind chill at or below the threshold.
+   *
+   * @return the number of wind chill alerts
+   */
+  public long getWindChillAlerts() {
+    return this.windChillAlerts;
+  }
+
+  /**
+   * Get the sketch of the relative humidity of the readings.
+   *
+   * @return the humidity sketch
+   */
+  QuantileSketch getHumidity() {
+    return this.humidity;
+  }
+
+  /**
+   * Get an approximate percentile of the relative humidity of the readings.
+   *
+   * @param quantile the fraction of readings at or below the result, from 0 to 1
+   * @return the approximate relative humidity
+   * @throws IllegalArgumentException if the fraction is outside [0, 1]
+   * @throws IllegalStateException    if the station has no readings
+   */
+  public double getHumidityQuantile(double quantile) {
+    return this.humidity.getQuantile(quantile);
+  }
+
+  @Override
+  public String toString() {
+    return "Station " + this.station + ": readings = " + this.readings + ", heat events = "
+        + this.heatEvents + ", wind chill alerts = " + this.windChillAlerts;
+  }
+}
@@ -0,0 +1,107 @@
+package weather;
+
+import java.util.Arrays;
+
+/**
+ * Maps non-negative station IDs to dense slots 0, 1, 2, ... in order of first appearance, so
+ * that per-station state can live in arrays sized by the number of stations rather than by
+ * the largest ID. The IDs are kept in an open-addressing table with linear probing over two
+ * parallel int arrays, so lookups never allocate.
+ */
+final class StationSlots {
+  private static final int EMPTY = -1;
+
+  private int[] ids;
+  private int[] slots;
+  private int mask;
+  private int size;
+
+  /**
+   * Constructor for an empty map.
+   */
+  StationSlots() {
+    this.ids = new int[32];
+    this.slots = new int[32];
+    this.mask = 31;
+    Arrays.fill(this.ids, EMPTY);
+  }
+
+  /**
+   * Get the number of stations.
+   *
+   * @return the number of stations, which is the next slot to be assigned
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Get the slot of a station.
+   *
+   * @param station the station ID
+   * @return the slot, or -1 if the station has none
+   */
+  int get(int station) {
+    if (station < 0) {
+      return -1;
+    }
+    for (int i = index(station); ; i = (i + 1) & this.mask) {
+      int id = this.ids[i];
+      if (id == station) {
+        return this.slots[i];
+      } else if (id == EMPTY) {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Get the slot of a station, assigning the next slot if it is new.
+   *
+   * @param station the station ID
+   * @return the slot
+   * @throws IllegalArgumentException if the station ID is negative
+   */
+  int add(int station) throws IllegalArgumentException {
+    if (station < 0) {
+      throw new IllegalArgumentException("Station IDs must be non-negative.");
+    }
+    for (int i = index(station); ; i = (i + 1) & this.mask) {
+      int id = this.ids[i];
+      if (id == station) {
+        return this.slots[i];
+      } else if (id == EMPTY) {
+        this.ids[i] = station;
+        this.slots[i] = this.size;
+        if (++this.size * 2 > this.mask) {
+          rehash();
+        }
+        return this.size - 1;
+      }
+    }
+  }
+
+  private int index(int station) {
+    int hash = station * 0x9E3779B9;
+    return (hash ^ hash >>> 16) & this.mask;
+  }
+
+  private void rehash() {
+    int[] oldIds = this.ids;
+    int[] oldSlots = this.slots;
+    this.ids = new int[oldIds.length * 2];
+    this.slots = new int[oldIds.length * 2];
+    this.mask = this.ids.length - 1;
+    Arrays.fill(this.ids, EMPTY);
+    for (int j = 0; j < oldIds.length; j++) {
+      if (oldIds[j] != EMPTY) {
+        int i = index(oldIds[j]);
+        while (this.ids[i] != EMPTY) {
+          i = (i + 1) & this.mask;
+        }
+        this.ids[i] = oldIds[j];
+        this.slots[i] = oldSlots[j];
+      }
+    }
+  }
+}
@@ -3,13 +3,20 @@ package weather;
 /**
  * Class representing a weather reading from a Stevenson station.
  */
-public final class Stevenson {
+public final class Stevenson implements WeatherReading {
+  private static final int NOT_COMPUTED = Integer.MIN_VALUE;
 
   private final double temperature;
   private final double dewPoint;
   private final double windSpeed;
   private final int totalRain;
-  private final double[] pressure;
+  // Derived values are computed on first access; a sentinel marks a value not yet computed.
+  // Readings are shared between threads through batches and stores, so the caches are
+  // volatile: a double write is only atomic when volatile (JLS 17.7), and racing threads
+  // then at worst compute the same value twice.
+  private volatile double relativeHumidity = Double.NaN;
+  private volatile int heatIndex = NOT_COMPUTED;
+  private volatile int windChill = NOT_COMPUTED;
 
   /**
    * Constructor.
@@ -22,20 +29,105 @@ public final class Stevenson {
    */
   public Stevenson(final double temperature, final double dewPoint, final double windSpeed,
                    final int totalRain) throws IllegalArgumentException {
+    validate(temperature, dewPoint, windSpeed, totalRain);
+    this.dewPoint = dewPoint;
+    this.temperature = temperature;
+    this.windSpeed = windSpeed;
+    this.totalRain = totalRain;
+  }
+
+  /**
+   * Checks the values of a reading.
+   *
+   * @param temperature the air temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @param windSpeed   the wind speed
+   * @param totalRain   the total rain
+   * @throws IllegalArgumentException if any of the values are illegal.
+   */
+  static void validate(double temperature, double dewPoint, double windSpeed, int totalRain)
+      throws IllegalArgumentException {
     if (dewPoint > temperature || windSpeed < 0 || totalRain < 0) {
       throw new IllegalArgumentException("Invalid parameters:"
           + "Dew point must not exceed temperature, "
           + "wind speed and total rain must be non-negative.");
     }
-    this.dewPoint = dewPoint;
-    this.temperature = temperature;
-    this.windSpeed = windSpeed;
-    this.totalRain = totalRain;
-    double actualVaporPressure = 6.11 * Math.pow(10, (7.5 * this.dewPoint)
-        / (237.3 + this.dewPoint));
-    double calculateHeatIndex = 6.11 * Math.pow(10, (7.5 * this.temperature)
-        / (237.3 + this.temperature));
-    this.pressure = new double[]{actualVaporPressure, calculateHeatIndex};
+  }
+
+  /**
+   * Relative humidity in percent from the ratio of actual to saturated vapor pressure.
+   *
+   * @param temperature the temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @return the relative humidity without rounding
+   */
+  static double relativeHumidity(double temperature, double dewPoint) {
+    return (vaporPressure(dewPoint) / vaporPressure(temperature)) * 100;
+  }
+
+  /**
+   * Vapor pressure in hPa at the given temperature.
+   *
+   * @param celsius the temperature in Celsius
+   * @return the vapor pressure
+   */
+  static double vaporPressure(double celsius) {
+    return 6.11 * Math.pow(10, (7.5 * celsius) / (237.3 + celsius));
+  }
+
+  /**
+   * Heat index in Celsius, shared by the per-reading getters and {@link StevensonBatch}
+   * so both give identical results.
+   *
+   * @param temperature      the temperature in Celsius
+   * @param relativeHumidity the relative humidity in percent
+   * @return the heat index without rounding
+   */
+  static double heatIndex(double temperature, double relativeHumidity) {
+    // the following constants c1 to c9 are fixed in a formula
+    final double c1 = -8.78469475556;
+    final double c2 = 1.61139411;
+    final double c3 = 2.33854883889;
+    final double c4 = -0.14611605;
+    final double c5 = -0.012308094;
+    final double c6 = -0.0164248277778;
+    final double c7 = 0.002211732;
+    final double c8 = 0.00072546;
+    final double c9 = -0.000003582;
+    double t2 = temperature * temperature;
+    double rh2 = relativeHumidity * relativeHumidity;
+    return c1 + c2 * temperature + c3 * relativeHumidity
+        + c4 * temperature * relativeHumidity
+        + c5 * t2
+        + c6 * rh2
+        + c7 * t2 * relativeHumidity
+        + c8 * rh2 * temperature
+        + c9 * rh2 * t2;
+  }
+
+  /**
+   * Wind chill in Celsius.
+   *
+   * @param temperature the temperature in Celsius
+   * @param windSpeed   the wind speed
+   * @return the wind chill without rounding
+   */
+  static double windChill(double temperature, double windSpeed) {
+    return windChillFromFactor(temperature, Math.pow(windSpeed, 0.16));
+  }
+
+  /**
+   * Wind chill in Celsius from the wind speed raised to the power 0.16.
+   *
+   * @param temperature the temperature in Celsius
+   * @param windFactor  the wind speed to the power 0.16
+   * @return the wind chill without rounding
+   */
+  static double windChillFromFactor(double temperature, double windFactor) {
+    double tempInF = celsiusToFahrenheit(temperature);
+    double windChillF = 35.74 + 0.6215 * tempInF - 35.75 * windFactor
+        + 0.4275 * tempInF * windFactor;
+    return fahrenheitToCelsius(windChillF);
   }
 
   /**
@@ -44,7 +136,7 @@ public final class Stevenson {
    * @param celsius the temperature in Celsius
    * @return the temperature in Fahrenheit
    */
-  private double celsiusToFahrenheit(double celsius) {
+  private static double celsiusToFahrenheit(double celsius) {
     return 32 + (celsius) * 9.0 / 5.0;
   }
 
@@ -54,7 +146,7 @@ public final class Stevenson {
    * @param fahrenheit the temperature in Celsius
    * @return the temperature in Fahrenheit
    */
-  private double fahrenheitToCelsius(double fahrenheit) {
+  private static double fahrenheitToCelsius(double fahrenheit) {
     return (fahrenheit - 32) / 9.0 * 5.0;
   }
 
@@ -63,6 +155,7 @@ public final class Stevenson {
    *
    * @return the temperature
    */
+  @Override
   public int getTemperature() {
     return (int) Math.round(this.temperature);
   }
@@ -72,6 +165,7 @@ public final class Stevenson {
    *
    * @return the dew point
    */
+  @Override
   public int getDewPoint() {
     return (int) Math.round(this.dewPoint);
   }
@@ -81,6 +175,7 @@ public final class Stevenson {
    *
    * @return the wind speed
    */
+  @Override
   public int getWindSpeed() {
     return (int) Math.round(this.windSpeed);
   }
@@ -90,6 +185,7 @@ public final class Stevenson {
    *
    * @return the total rain
    */
+  @Override
   public int getTotalRain() {
     return this.totalRain;
   }
@@ -100,10 +196,9 @@ public final class Stevenson {
    *
    * @return Rounded relative humidity as an integer.
    */
+  @Override
   public int getRelativeHumidity() {
-    double rh;
-    rh = (this.pressure[0] / this.pressure[1]) * 100;
-    return (int) Math.round(rh);
+    return (int) Math.round(this.getRelativeHumidityWithoutRound());
   }
 
   /**
@@ -112,9 +207,13 @@ public final class Stevenson {
    *
    * @return Relative humidity as a double.
    */
+  @Override
   public double getRelativeHumidityWithoutRound() {
-    double rh;
-    rh = (this.pressure[0] / this.pressure[1]) * 100;
+    double rh = this.relativeHumidity;
+    if (Double.isNaN(rh)) {
+      rh = relativeHumidity(this.temperature, this.dewPoint);
+      this.relativeHumidity = rh;
+    }
     return rh;
   }
 
@@ -123,27 +222,14 @@ public final class Stevenson {
    *
    * @return the heat index
    */
+  @Override
   public int getHeatIndex() {
-    // the following constants c1 to c9 are fixed in a formula
-    final double c1 = -8.78469475556;
-    final double c2 = 1.61139411;
-    final double c3 = 2.33854883889;
-    final double c4 = -0.14611605;
-    final double c5 = -0.012308094;
-    final double c6 = -0.0164248277778;
-    final double c7 = 0.002211732;
-    final double c8 = 0.00072546;
-    final double c9 = -0.000003582;
-    double heatIndex = c1 + c2 * this.temperature + c3 * this.getRelativeHumidityWithoutRound()
-        + c4 * this.temperature * this.getRelativeHumidityWithoutRound()
-        + c5 * Math.pow(this.temperature, 2)
-        + c6 * Math.pow(this.getRelativeHumidityWithoutRound(), 2)
-        + c7 * Math.pow(this.temperature, 2)
-        * this.getRelativeHumidityWithoutRound()
-        + c8 * Math.pow(this.getRelativeHumidityWithoutRound(), 2) * this.temperature + c9
-        * Math.pow(this.getRelativeHumidityWithoutRound(), 2)
-        * Math.pow(this.temperature, 2);
-    return (int) Math.round(heatIndex);
+    int hi = this.heatIndex;
+    if (hi == NOT_COMPUTED) {
+      hi = (int) Math.round(heatIndex(this.temperature, this.getRelativeHumidityWithoutRound()));
+      this.heatIndex = hi;
+    }
+    return hi;
   }
 
   /**
@@ -151,22 +237,20 @@ public final class Stevenson {
    *
    * @return the wind chill
    */
+  @Override
   public int getWindChill() {
-    double tempInF = celsiusToFahrenheit(this.temperature);
-    double windChillF = 35.74 + 0.6215 * tempInF - 35.75 * Math.pow(this.windSpeed, 0.16)
-        + 0.4275 * tempInF * Math.pow(this.windSpeed, 0.16);
-    double windChillC = fahrenheitToCelsius(windChillF);
-    return (int) Math.round(windChillC);
+    int wc = this.windChill;
+    if (wc == NOT_COMPUTED) {
+      wc = (int) Math.round(windChill(this.temperature, this.windSpeed));
+      this.windChill = wc;
+    }
+    return wc;
   }
 
   @Override
   public String toString() {
-    String str;
-    str = "Reading: " + String.format("T = %d, ", this.getTemperature())
-        + String.format("D = %d, ", this.getDewPoint())
-        + String.format("v = %d, ", this.getWindSpeed())
-        + String.format("rain = %d", this.getTotalRain());
-    return str;
+    return "Reading: T = " + this.getTemperature() + ", D = " + this.getDewPoint()
+        + ", v = " + this.getWindSpeed() + ", rain = " + this.getTotalRain();
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package weather;
+
+/**
+ * Computes derived values for many readings at once from primitive columns, without creating
+ * a {@link Stevenson} per reading. The results are exactly the ones the per-reading getters
+ * return, because both use the same formulas in the same order.
+ */
+public final class StevensonBatch {
+
+  private StevensonBatch() {
+  }
+
+  /**
+   * Computes the relative humidity, heat index and wind chill of every reading in one pass.
+   * Reading i is made of temperature[i], dewPoint[i] and windSpeed[i]; its results are written
+   * to index i of the output arrays, rounded to the nearest integer.
+   *
+   * @param temperature      the air temperatures in Celsius
+   * @param dewPoint         the dew points in Celsius
+   * @param windSpeed        the wind speeds
+   * @param relativeHumidity receives the relative humidities
+   * @param heatIndex        receives the heat indices
+   * @param windChill        receives the wind chills
+   * @throws IllegalArgumentException if an input array differs in length from the temperatures,
+   *                                  an output array is too short, or a reading is invalid.
+   */
+  public static void compute(double[] temperature, double[] dewPoint, double[] windSpeed,
+                             int[] relativeHumidity, int[] heatIndex, int[] windChill)
+      throws IllegalArgumentException {
+    compute(temperature, dewPoint, windSpeed, relativeHumidity, heatIndex, windChill, false);
+  }
+
+  /**
+   * Same as {@link #compute(double[], double[], double[], int[], int[], int[])}, optionally
+   * replacing the {@code Math.pow} evaluations by the interpolation tables of
+   * {@link FastWeatherMath}.
+   *
+   * @param temperature      the air temperatures in Celsius
+   * @param dewPoint         the dew points in Celsius
+   * @param windSpeed        the wind speeds
+   * @param relativeHumidity receives the relative humidities
+   * @param heatIndex        receives the heat indices
+   * @param windChill        receives the wind chills
+   * @param fastMath         true to use the interpolation tables
+   * @throws IllegalArgumentException if an input array differs in length from the temperatures,
+   *                                  an output array is too short, or a reading is invalid.
+   */
+  public static void compute(double[] temperature, double[] dewPoint, double[] windSpeed,
+                             int[] relativeHumidity, int[] heatIndex, int[] windChill,
+                             boolean fastMath) throws IllegalArgumentException {
+    int n = temperature.length;
+    if (dewPoint.length != n || windSpeed.length != n || relativeHumidity.length < n
+        || heatIndex.length < n || windChill.length < n) {
+      throw new IllegalArgumentException("Columns must all hold the same number of readings.");
+    }
+    for (int i = 0; i < n; i++) {
+      double t = temperature[i];
+      double d = dewPoint[i];
+      double v = windSpeed[i];
+      if (d > t || v < 0) {
+        throw new IllegalArgumentException("Invalid reading at index " + i + ": "
+            + "Dew point must not exceed temperature, wind speed must be non-negative.");
+      }
+      double rh = fastMath ? FastWeatherMath.relativeHumidity(t, d)
+          : Stevenson.relativeHumidity(t, d);
+      relativeHumidity[i] = (int) Math.round(rh);
+      heatIndex[i] = (int) Math.round(Stevenson.heatIndex(t, rh));
+      windChill[i] = (int) Math.round(fastMath ? FastWeatherMath.windChill(t, v)
+          : Stevenson.windChill(t, v));
+    }
+  }
+}
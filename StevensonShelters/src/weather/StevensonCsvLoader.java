@@ -0,0 +1,357 @@
+package weather;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Loads weather readings from CSV files with lines of the form
+ * {@code temperature,dewPoint,windSpeed,totalRain}. The file is memory-mapped and numbers are
+ * parsed directly from the bytes, so no String is created per line. Readings are validated
+ * like the {@link Stevenson} constructor and handed to a consumer in {@link StevensonStore}
+ * batches. A file can be split across threads at line boundaries.
+ */
+public final class StevensonCsvLoader {
+  // Largest region mapped at once; lines never span two regions.
+  private static final int REGION = 1 << 30;
+  private static final double[] POWERS_OF_TEN = new double[23];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final int batchSize;
+  private final boolean header;
+
+  /**
+   * Constructor.
+   *
+   * @param batchSize the number of readings handed to the consumer at once
+   * @param header    true if the first line of the file is a header to skip
+   * @throws IllegalArgumentException if the batch size is not positive or above
+   *                                  {@link StevensonStore#MAX_READINGS}
+   */
+  public StevensonCsvLoader(int batchSize, boolean header) throws IllegalArgumentException {
+    if (batchSize <= 0 || batchSize > StevensonStore.MAX_READINGS) {
+      throw new IllegalArgumentException("Batch size must be between 1 and "
+          + StevensonStore.MAX_READINGS + ".");
+    }
+    this.batchSize = batchSize;
+    this.header = header;
+  }
+
+  /**
+   * Loads a file on the calling thread.
+   *
+   * @param file     the CSV file
+   * @param consumer receives each batch; the batch is reused once the consumer returns
+   * @return the number of readings loaded
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if a line is malformed or a reading is invalid
+   */
+  public long load(Path file, Consumer<StevensonStore> consumer) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return loadRange(channel, 0, channel.size(), consumer);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Loads a file with several threads, each parsing a part of the file that starts and ends
+   * on a line boundary.
+   *
+   * @param file     the CSV file
+   * @param threads  the number of threads
+   * @param consumer receives each batch, possibly from several threads at the same time;
+   *                 the batch is reused once the consumer returns
+   * @return the number of readings loaded
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if a line is malformed or a reading is invalid
+   */
+  public long load(Path file, int threads, Consumer<StevensonStore> consumer)
+      throws IOException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("The number of threads must be positive.");
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long[] bounds = new long[threads + 1];
+      bounds[threads] = size;
+      for (int i = 1; i < threads; i++) {
+        bounds[i] = Math.max(bounds[i - 1], nextLine(channel, size * i / threads));
+      }
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      try {
+        List<Future<Long>> parts = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+          long from = bounds[i];
+          long to = bounds[i + 1];
+          parts.add(pool.submit(() -> loadRange(channel, from, to, consumer)));
+        }
+        long count = 0;
+        for (Future<Long> part : parts) {
+          count += part.get();
+        }
+        return count;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Loading was interrupted.", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof UncheckedIOException) {
+          throw ((UncheckedIOException) e.getCause()).getCause();
+        } else if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      } finally {
+        pool.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Returns the offset just after the first line break at or after the given offset.
+   */
+  private static long nextLine(FileChannel channel, long offset) throws IOException {
+    if (offset == 0) {
+      return 0;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    long position = offset - 1;
+    while (true) {
+      buffer.clear();
+      int read = channel.read(buffer, position);
+      if (read <= 0) {
+        return channel.size();
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+  }
+
+  private long loadRange(FileChannel channel, long from, long to,
+                         Consumer<StevensonStore> consumer) {
+    StevensonStore batch = new StevensonStore(this.batchSize);
+    LineParser parser = new LineParser(batch);
+    long count = 0;
+    long position = from;
+    boolean skip = this.header && from == 0;
+    try {
+      while (position < to) {
+        long length = Math.min(REGION, to - position);
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        int end = (int) length;
+        if (position + length < to) {
+          // Only parse complete lines; the rest is mapped again with the next region.
+          end = lastLineEnd(region, end);
+          if (end == 0) {
+            throw new IllegalArgumentException("Line too long at byte " + position + ".");
+          }
+        }
+        int i = 0;
+        while (i < end) {
+          int lineEnd = i;
+          while (lineEnd < end && region.get(lineEnd) != '\n') {
+            lineEnd++;
+          }
+          int contentEnd = lineEnd;
+          if (contentEnd > i && region.get(contentEnd - 1) == '\r') {
+            contentEnd--;
+          }
+          if (skip) {
+            skip = false;
+          } else if (contentEnd > i) {
+            parser.parse(region, i, contentEnd, position + i);
+            count++;
+            if (batch.size() == this.batchSize) {
+              consumer.accept(batch);
+              batch.clear();
+            }
+          }
+          i = lineEnd + 1;
+        }
+        position += end;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (batch.size() > 0) {
+      consumer.accept(batch);
+    }
+    return count;
+  }
+
+  private static int lastLineEnd(ByteBuffer region, int end) {
+    for (int i = end - 1; i >= 0; i--) {
+      if (region.get(i) == '\n') {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Parses the fields of one line at a time from a mapped region.
+   */
+  private static final class LineParser {
+    private final StevensonStore batch;
+    private ByteBuffer line;
+    private int position;
+    private int end;
+    private long offset;
+
+    LineParser(StevensonStore batch) {
+      this.batch = batch;
+    }
+
+    void parse(ByteBuffer line, int from, int to, long offset) {
+      this.line = line;
+      this.position = from;
+      this.end = to;
+      this.offset = offset;
+      double temperature = nextDouble();
+      double dewPoint = nextDouble();
+      double windSpeed = nextDouble();
+      int totalRain = nextInt();
+      // A comma after the last field, even at the end of the line, starts a fifth field.
+      if (this.position <= this.end) {
+        throw new IllegalArgumentException("Too many fields at byte " + offset + ".");
+      }
+      try {
+        this.batch.add(temperature, dewPoint, windSpeed, totalRain);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid reading at byte " + offset + ": "
+            + e.getMessage(), e);
+      }
+    }
+
+    /**
+     * Returns the end of the field at the current position and moves past its comma, or past
+     * the end of the line if the field is the last one.
+     */
+    private int field() {
+      int start = this.position;
+      int fieldEnd = start;
+      while (fieldEnd < this.end && this.line.get(fieldEnd) != ',') {
+        fieldEnd++;
+      }
+      if (fieldEnd == start) {
+        throw new IllegalArgumentException("Missing field at byte " + this.offset + ".");
+      }
+      this.position = fieldEnd + 1;
+      return fieldEnd;
+    }
+
+    private int nextInt() {
+      int i = this.position;
+      int fieldEnd = field();
+      boolean negative = this.line.get(i) == '-';
+      if (negative || this.line.get(i) == '+') {
+        i++;
+      }
+      if (i == fieldEnd) {
+        throw malformed(this.offset);
+      }
+      long value = 0;
+      for (; i < fieldEnd; i++) {
+        int digit = this.line.get(i) - '0';
+        if (digit < 0 || digit > 9) {
+          throw malformed(this.offset);
+        }
+        value = value * 10 + digit;
+        if (value > Integer.MAX_VALUE + 1L) {
+          throw malformed(this.offset);
+        }
+      }
+      value = negative ? -value : value;
+      if (value > Integer.MAX_VALUE) {
+        throw malformed(this.offset);
+      }
+      return (int) value;
+    }
+
+    /**
+     * Parses a decimal number. Numbers with at most 15 significant digits and a small decimal
+     * exponent are converted with one multiplication or division of two exactly
+     * representable doubles, which gives the correctly rounded result; anything else falls
+     * back to {@link Double#parseDouble}.
+     */
+    private double nextDouble() {
+      int start = this.position;
+      int fieldEnd = field();
+      int i = start;
+      boolean negative = this.line.get(i) == '-';
+      if (negative || this.line.get(i) == '+') {
+        i++;
+      }
+      long mantissa = 0;
+      int digits = 0;
+      int scale = 0;
+      boolean any = false;
+      boolean point = false;
+      for (; i < fieldEnd; i++) {
+        byte b = this.line.get(i);
+        if (b >= '0' && b <= '9') {
+          any = true;
+          if (mantissa == 0 && b == '0') {
+            scale -= point ? 1 : 0;
+          } else if (digits < 18) {
+            mantissa = mantissa * 10 + (b - '0');
+            digits++;
+            scale -= point ? 1 : 0;
+          } else {
+            digits++;
+          }
+        } else if (b == '.' && !point) {
+          point = true;
+        } else if (b == 'e' || b == 'E') {
+          return slowPath(start, fieldEnd);
+        } else {
+          throw malformed(this.offset);
+        }
+      }
+      if (!any) {
+        throw malformed(this.offset);
+      }
+      if (digits > 15 || scale < -22) {
+        return slowPath(start, fieldEnd);
+      }
+      double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa;
+      return negative ? -value : value;
+    }
+
+    private double slowPath(int start, int fieldEnd) {
+      byte[] bytes = new byte[fieldEnd - start];
+      this.line.get(start, bytes);
+      try {
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+      } catch (NumberFormatException e) {
+        throw malformed(this.offset);
+      }
+    }
+  }
+
+  private static IllegalArgumentException malformed(long offset) {
+    return new IllegalArgumentException("Malformed number at byte " + offset + ".");
+  }
+}
@@ -0,0 +1,80 @@
+package weather;
+
+import java.util.Objects;
+
+/**
+ * A flyweight view of one reading in a {@link StevensonStore}. Derived values are computed
+ * from the stored columns with the same formulas as {@link Stevenson}.
+ */
+public final class StevensonCursor implements WeatherReading {
+  private final StevensonStore store;
+  private int index;
+
+  StevensonCursor(StevensonStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Moves this cursor to another reading.
+   *
+   * @param index the index of the reading
+   * @return this cursor
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public StevensonCursor at(int index) throws IndexOutOfBoundsException {
+    this.index = Objects.checkIndex(index, this.store.size());
+    return this;
+  }
+
+  /**
+   * Get the index of the reading this cursor is on.
+   *
+   * @return the index
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  @Override
+  public int getTemperature() {
+    return (int) Math.round(this.store.temperature(this.index));
+  }
+
+  @Override
+  public int getDewPoint() {
+    return (int) Math.round(this.store.dewPoint(this.index));
+  }
+
+  @Override
+  public int getWindSpeed() {
+    return (int) Math.round(this.store.windSpeed(this.index));
+  }
+
+  @Override
+  public int getTotalRain() {
+    return this.store.totalRain(this.index);
+  }
+
+  @Override
+  public int getRelativeHumidity() {
+    return (int) Math.round(getRelativeHumidityWithoutRound());
+  }
+
+  @Override
+  public double getRelativeHumidityWithoutRound() {
+    return Stevenson.relativeHumidity(this.store.temperature(this.index),
+        this.store.dewPoint(this.index));
+  }
+
+  @Override
+  public int getHeatIndex() {
+    return (int) Math.round(Stevenson.heatIndex(this.store.temperature(this.index),
+        getRelativeHumidityWithoutRound()));
+  }
+
+  @Override
+  public int getWindChill() {
+    return (int) Math.round(Stevenson.windChill(this.store.temperature(this.index),
+        this.store.windSpeed(this.index)));
+  }
+}
@@ -0,0 +1,158 @@
+package weather;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * A growable columnar store of weather readings kept outside the Java heap. Temperature,
+ * dew point and wind speed are stored as doubles and total rain as an int, each in its own
+ * direct buffer, so a reading costs {@value #BYTES_PER_READING} bytes and no object.
+ * Readings are accessed through a {@link StevensonCursor}. A direct buffer holds at most
+ * {@link Integer#MAX_VALUE} bytes, so a store holds at most {@value #MAX_READINGS} readings.
+ */
+public final class StevensonStore {
+  /** Off-heap bytes used by one reading. */
+  public static final int BYTES_PER_READING = 3 * Double.BYTES + Integer.BYTES;
+  /** The largest number of readings a store can hold. */
+  public static final int MAX_READINGS = Integer.MAX_VALUE / Double.BYTES;
+
+  private ByteBuffer temperature;
+  private ByteBuffer dewPoint;
+  private ByteBuffer windSpeed;
+  private ByteBuffer totalRain;
+  private int capacity;
+  private int size;
+
+  /**
+   * Constructor.
+   *
+   * @param initialCapacity the number of readings to allocate room for
+   * @throws IllegalArgumentException if the capacity is not positive or above
+   *                                  {@link #MAX_READINGS}
+   */
+  public StevensonStore(int initialCapacity) throws IllegalArgumentException {
+    if (initialCapacity <= 0 || initialCapacity > MAX_READINGS) {
+      throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_READINGS
+          + ".");
+    }
+    allocate(initialCapacity);
+  }
+
+  private void allocate(int newCapacity) {
+    ByteBuffer oldTemperature = this.temperature;
+    ByteBuffer oldDewPoint = this.dewPoint;
+    ByteBuffer oldWindSpeed = this.windSpeed;
+    ByteBuffer oldTotalRain = this.totalRain;
+    this.temperature = column(newCapacity, Double.BYTES);
+    this.dewPoint = column(newCapacity, Double.BYTES);
+    this.windSpeed = column(newCapacity, Double.BYTES);
+    this.totalRain = column(newCapacity, Integer.BYTES);
+    if (oldTemperature != null) {
+      this.temperature.put(0, oldTemperature, 0, this.size * Double.BYTES);
+      this.dewPoint.put(0, oldDewPoint, 0, this.size * Double.BYTES);
+      this.windSpeed.put(0, oldWindSpeed, 0, this.size * Double.BYTES);
+      this.totalRain.put(0, oldTotalRain, 0, this.size * Integer.BYTES);
+    }
+    this.capacity = newCapacity;
+  }
+
+  private static ByteBuffer column(int capacity, int width) {
+    return ByteBuffer.allocateDirect(Math.multiplyExact(capacity, width))
+        .order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Appends a reading, applying the same validation as the {@link Stevenson} constructor.
+   *
+   * @param temperature the air temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @param windSpeed   the wind speed
+   * @param totalRain   the total rain
+   * @return the index of the new reading
+   * @throws IllegalArgumentException if any of the values are illegal.
+   * @throws IllegalStateException if the store already holds {@link #MAX_READINGS} readings
+   */
+  public int add(double temperature, double dewPoint, double windSpeed, int totalRain)
+      throws IllegalArgumentException, IllegalStateException {
+    Stevenson.validate(temperature, dewPoint, windSpeed, totalRain);
+    if (this.size == this.capacity) {
+      if (this.capacity == MAX_READINGS) {
+        throw new IllegalStateException("A store cannot hold more than " + MAX_READINGS
+            + " readings.");
+      }
+      allocate((int) Math.min(MAX_READINGS, 2L * this.capacity));
+    }
+    int i = this.size;
+    this.temperature.putDouble(i * Double.BYTES, temperature);
+    this.dewPoint.putDouble(i * Double.BYTES, dewPoint);
+    this.windSpeed.putDouble(i * Double.BYTES, windSpeed);
+    this.totalRain.putInt(i * Integer.BYTES, totalRain);
+    this.size++;
+    return i;
+  }
+
+  /**
+   * Removes all readings, keeping the allocated memory.
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Get the number of readings.
+   *
+   * @return the number of readings
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Get the off-heap memory currently allocated.
+   *
+   * @return the allocated bytes
+   */
+  public long getAllocatedBytes() {
+    return (long) this.capacity * BYTES_PER_READING;
+  }
+
+  /**
+   * Creates a cursor positioned on the first reading. A cursor is a reusable view that is
+   * moved from reading to reading with {@link StevensonCursor#at(int)}.
+   *
+   * @return a new cursor
+   */
+  public StevensonCursor cursor() {
+    return new StevensonCursor(this);
+  }
+
+  /**
+   * Copies a reading into a new {@link Stevenson} object.
+   *
+   * @param index the index of the reading
+   * @return the reading
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public Stevenson get(int index) throws IndexOutOfBoundsException {
+    Objects.checkIndex(index, this.size);
+    return new Stevenson(temperature(index), dewPoint(index), windSpeed(index),
+        totalRain(index));
+  }
+
+  double temperature(int index) {
+    return this.temperature.getDouble(index * Double.BYTES);
+  }
+
+  double dewPoint(int index) {
+    return this.dewPoint.getDouble(index * Double.BYTES);
+  }
+
+  double windSpeed(int index) {
+    return this.windSpeed.getDouble(index * Double.BYTES);
+  }
+
+  int totalRain(int index) {
+    return this.totalRain.getInt(index * Integer.BYTES);
+  }
+}
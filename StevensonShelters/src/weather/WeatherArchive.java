@@ -0,0 +1,348 @@
+package weather;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * A compressed archive of timestamped readings written by a {@link WeatherArchiveWriter}.
+ * The file is memory-mapped and an index of the first and last timestamp of every block
+ * allows decoding only the blocks that overlap a time range.
+ *
+ * <p>The file starts with a {@value #HEADER_SIZE} byte header and ends with the block index
+ * and a {@value #FOOTER_SIZE} byte footer holding the offset of the index, the number of
+ * blocks, the block size and the magic number. A block holds a bit stream with the
+ * timestamp, temperature, dew point and wind speed columns of its readings, followed by the
+ * variable-length rain values. An archive must be smaller than 2 GiB.
+ */
+public final class WeatherArchive {
+  static final int MAGIC = 0x57584152;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+  static final int FOOTER_SIZE = 20;
+  static final int ENTRY_SIZE = 36;
+  static final int MAX_SCALE = 4;
+  static final double[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000};
+
+  private final ByteBuffer data;
+  private final int blocks;
+  private final int blockSize;
+  private final int indexOffset;
+  private final long readings;
+
+  private WeatherArchive(ByteBuffer data, int blocks, int blockSize, int indexOffset) {
+    this.data = data;
+    this.blocks = blocks;
+    this.blockSize = blockSize;
+    this.indexOffset = indexOffset;
+    long total = 0;
+    for (int i = 0; i < blocks; i++) {
+      total += count(i);
+    }
+    this.readings = total;
+  }
+
+  /**
+   * Maps an archive file.
+   *
+   * @param file the archive file
+   * @return the archive
+   * @throws IOException if the file cannot be read or is not a valid archive
+   */
+  public static WeatherArchive open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Archive too large: " + file);
+      }
+      if (size < HEADER_SIZE + FOOTER_SIZE) {
+        throw new IOException("Not a weather archive: " + file);
+      }
+      ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      int footer = (int) size - FOOTER_SIZE;
+      long indexOffset = data.getLong(footer);
+      int blocks = data.getInt(footer + 8);
+      int blockSize = data.getInt(footer + 12);
+      if (data.getInt(0) != MAGIC || data.getInt(footer + 16) != MAGIC
+          || data.getInt(4) != VERSION || blocks < 0 || blockSize <= 0
+          || indexOffset + (long) blocks * ENTRY_SIZE != footer) {
+        throw new IOException("Not a weather archive: " + file);
+      }
+      return new WeatherArchive(data, blocks, blockSize, (int) indexOffset);
+    }
+  }
+
+  /**
+   * Returns the number of blocks.
+   *
+   * @return the number of blocks
+   */
+  public int getBlockCount() {
+    return this.blocks;
+  }
+
+  /**
+   * Returns the largest number of readings in a block.
+   *
+   * @return the block size
+   */
+  public int getBlockSize() {
+    return this.blockSize;
+  }
+
+  /**
+   * Returns the number of readings in the archive.
+   *
+   * @return the number of readings
+   */
+  public long getReadingCount() {
+    return this.readings;
+  }
+
+  /**
+   * Returns the size of the archive file in bytes.
+   *
+   * @return the size in bytes
+   */
+  public long getCompressedBytes() {
+    return this.data.capacity();
+  }
+
+  /**
+   * Returns the timestamp of the first reading of a block.
+   *
+   * @param block the block number
+   * @return the first timestamp
+   * @throws IndexOutOfBoundsException if there is no such block
+   */
+  public long getFirstTimestamp(int block) throws IndexOutOfBoundsException {
+    return this.data.getLong(entry(block) + 8);
+  }
+
+  /**
+   * Returns the timestamp of the last reading of a block.
+   *
+   * @param block the block number
+   * @return the last timestamp
+   * @throws IndexOutOfBoundsException if there is no such block
+   */
+  public long getLastTimestamp(int block) throws IndexOutOfBoundsException {
+    return this.data.getLong(entry(block) + 16);
+  }
+
+  /**
+   * Decodes all readings of a block.
+   *
+   * @param block the block number
+   * @param into  the block receiving the readings, with room for {@link #getBlockSize()}
+   *              readings
+   * @throws IndexOutOfBoundsException if there is no such block
+   * @throws IllegalArgumentException  if the receiving block is too small
+   */
+  public void read(int block, WeatherBlock into) throws IndexOutOfBoundsException {
+    read(block, into, Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Decodes the readings taken in a time range, one block at a time.
+   *
+   * @param from     the start of the range, inclusive
+   * @param to       the end of the range, exclusive
+   * @param consumer receives every non-empty block of readings in time order; the block is
+   *                 reused once the consumer returns
+   * @return the number of readings decoded
+   */
+  public long scan(long from, long to, Consumer<WeatherBlock> consumer) {
+    WeatherBlock block = new WeatherBlock(this.blockSize);
+    long count = 0;
+    for (int i = firstBlockEndingAtOrAfter(from);
+         i < this.blocks && getFirstTimestamp(i) < to; i++) {
+      read(i, block, from, to);
+      if (block.size > 0) {
+        count += block.size;
+        consumer.accept(block);
+      }
+    }
+    return count;
+  }
+
+  private int firstBlockEndingAtOrAfter(long timestamp) {
+    int low = 0;
+    int high = this.blocks;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (getLastTimestamp(middle) < timestamp) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int entry(int block) {
+    if (block < 0 || block >= this.blocks) {
+      throw new IndexOutOfBoundsException("No block " + block + ".");
+    }
+    return this.indexOffset + block * ENTRY_SIZE;
+  }
+
+  private int count(int block) {
+    return this.data.getInt(entry(block) + 24);
+  }
+
+  private void read(int block, WeatherBlock into, long from, long to) {
+    int entry = entry(block);
+    int offset = (int) this.data.getLong(entry);
+    int count = this.data.getInt(entry + 24);
+    int bitBytes = this.data.getInt(entry + 28);
+    if (into.capacity() < count) {
+      throw new IllegalArgumentException("Block too small for " + count + " readings.");
+    }
+    new Decoder(this.data, offset, offset + bitBytes).decode(count, into, from, to);
+  }
+
+  /**
+   * Reads the bit stream and the rain values of one block.
+   */
+  private static final class Decoder {
+    private final ByteBuffer data;
+    private final int start;
+    private long position;
+    private int rainPosition;
+
+    Decoder(ByteBuffer data, int start, int rainStart) {
+      this.data = data;
+      this.start = start;
+      this.rainPosition = rainStart;
+    }
+
+    void decode(int count, WeatherBlock into, long from, long to) {
+      long[] timestamps = into.timestamps;
+      long timestamp = readBits(64);
+      long delta = 0;
+      timestamps[0] = timestamp;
+      for (int i = 1; i < count; i++) {
+        delta += readDeltaOfDelta();
+        timestamp += delta;
+        timestamps[i] = timestamp;
+      }
+      readColumn(into.temperature, count);
+      readColumn(into.dewPoint, count);
+      readColumn(into.windSpeed, count);
+      int[] totalRain = into.totalRain;
+      int rain = readVarint();
+      totalRain[0] = rain;
+      for (int i = 1; i < count; i++) {
+        int zigzag = readVarint();
+        rain += zigzag >>> 1 ^ -(zigzag & 1);
+        totalRain[i] = rain;
+      }
+      int first = 0;
+      while (first < count && timestamps[first] < from) {
+        first++;
+      }
+      int last = count;
+      while (last > first && timestamps[last - 1] >= to) {
+        last--;
+      }
+      if (first > 0) {
+        System.arraycopy(timestamps, first, timestamps, 0, last - first);
+        System.arraycopy(into.temperature, first, into.temperature, 0, last - first);
+        System.arraycopy(into.dewPoint, first, into.dewPoint, 0, last - first);
+        System.arraycopy(into.windSpeed, first, into.windSpeed, 0, last - first);
+        System.arraycopy(totalRain, first, totalRain, 0, last - first);
+      }
+      into.size = last - first;
+    }
+
+    private void readColumn(double[] values, int count) {
+      int mode = (int) readBits(3);
+      if (mode > 0) {
+        double power = POWERS_OF_TEN[mode - 1];
+        long scaled = readBits(64);
+        values[0] = scaled / power;
+        for (int i = 1; i < count; i++) {
+          scaled += readDifference();
+          values[i] = scaled / power;
+        }
+        return;
+      }
+      long bits = readBits(64);
+      values[0] = Double.longBitsToDouble(bits);
+      int leading = 0;
+      int length = 0;
+      for (int i = 1; i < count; i++) {
+        if (readBit() != 0) {
+          if (readBit() != 0) {
+            leading = (int) readBits(5);
+            length = (int) readBits(6) + 1;
+          }
+          bits ^= readBits(length) << 64 - leading - length;
+        }
+        values[i] = Double.longBitsToDouble(bits);
+      }
+    }
+
+    private long readDifference() {
+      if (readBit() == 0) {
+        return 0;
+      } else if (readBit() == 0) {
+        return readBits(4) - 7;
+      } else if (readBit() == 0) {
+        return readBits(8) - 127;
+      } else if (readBit() == 0) {
+        return readBits(16) - 32767;
+      }
+      return readBits(64);
+    }
+
+    private long readDeltaOfDelta() {
+      if (readBit() == 0) {
+        return 0;
+      } else if (readBit() == 0) {
+        return readBits(7) - 63;
+      } else if (readBit() == 0) {
+        return readBits(9) - 255;
+      } else if (readBit() == 0) {
+        return readBits(12) - 2047;
+      }
+      return readBits(64);
+    }
+
+    private int readBit() {
+      int bit = this.data.get(this.start + (int) (this.position >>> 3))
+          >>> 7 - (int) (this.position & 7) & 1;
+      this.position++;
+      return bit;
+    }
+
+    /**
+     * Reads n bits, 1 to 64, relying on the padding after the stream to load whole words.
+     */
+    private long readBits(int n) {
+      int index = this.start + (int) (this.position >>> 3);
+      int shift = (int) (this.position & 7);
+      long word = this.data.getLong(index) << shift;
+      if (n + shift > 64) {
+        word |= (this.data.get(index + 8) & 0xFF) >>> 8 - shift;
+      }
+      this.position += n;
+      return word >>> 64 - n;
+    }
+
+    private int readVarint() {
+      int value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = this.data.get(this.rainPosition++);
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,372 @@
+package weather;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes timestamped readings of one station to a compressed {@link WeatherArchive} file.
+ * Readings are appended in time order and encoded in blocks of a fixed number of readings,
+ * one column at a time: timestamps with delta-of-delta encoding, total rain as
+ * variable-length differences from the previous reading, and temperature, dew point and
+ * wind speed with the XOR encoding of the Gorilla time-series database. A value column whose
+ * values all have at most {@value WeatherArchive#MAX_SCALE} decimals is instead stored as
+ * differences of the scaled integers, which suits sensors of fixed resolution far better.
+ * Only the block being filled is kept in memory; the block index is written when the archive
+ * is closed.
+ */
+public final class WeatherArchiveWriter implements Closeable {
+  private final FileChannel channel;
+  private final int blockSize;
+  private final BitWriter bits = new BitWriter();
+  private final long[] timestamps;
+  private final double[] temperature;
+  private final double[] dewPoint;
+  private final double[] windSpeed;
+  private final int[] totalRain;
+  private byte[] rain = new byte[256];
+  private int rainLength;
+  private ByteBuffer index = ByteBuffer.allocate(64 * WeatherArchive.ENTRY_SIZE);
+  private int blocks;
+  private long offset;
+  private int count;
+  private long previousTimestamp = Long.MIN_VALUE;
+  private boolean closed;
+
+  /**
+   * Constructor. Creates the file or replaces its content.
+   *
+   * @param file      the archive file
+   * @param blockSize the number of readings per block
+   * @throws IOException              if the file cannot be written
+   * @throws IllegalArgumentException if the block size is not positive
+   */
+  public WeatherArchiveWriter(Path file, int blockSize) throws IOException {
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size must be positive.");
+    }
+    this.blockSize = blockSize;
+    this.timestamps = new long[blockSize];
+    this.temperature = new double[blockSize];
+    this.dewPoint = new double[blockSize];
+    this.windSpeed = new double[blockSize];
+    this.totalRain = new int[blockSize];
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    ByteBuffer header = ByteBuffer.allocate(WeatherArchive.HEADER_SIZE);
+    header.putInt(WeatherArchive.MAGIC).putInt(WeatherArchive.VERSION).flip();
+    write(header);
+  }
+
+  /**
+   * Appends a reading, applying the same validation as the {@link Stevenson} constructor.
+   *
+   * @param timestamp   the time of the reading, not before the previous one
+   * @param temperature the air temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @param windSpeed   the wind speed
+   * @param totalRain   the total rain
+   * @throws IOException              if a full block cannot be written
+   * @throws IllegalArgumentException if the reading is invalid or out of time order
+   * @throws IllegalStateException    if the writer is closed
+   */
+  public void append(long timestamp, double temperature, double dewPoint, double windSpeed,
+                     int totalRain) throws IOException {
+    if (this.closed) {
+      throw new IllegalStateException("The archive is closed.");
+    }
+    Stevenson.validate(temperature, dewPoint, windSpeed, totalRain);
+    if (timestamp < this.previousTimestamp) {
+      throw new IllegalArgumentException("Readings must be appended in time order.");
+    }
+    int i = this.count;
+    this.timestamps[i] = timestamp;
+    this.temperature[i] = temperature;
+    this.dewPoint[i] = dewPoint;
+    this.windSpeed[i] = windSpeed;
+    this.totalRain[i] = totalRain;
+    this.previousTimestamp = timestamp;
+    if (++this.count == this.blockSize) {
+      flushBlock();
+    }
+  }
+
+  /**
+   * Returns the number of bytes written to the file so far, not counting the block being
+   * filled.
+   *
+   * @return the number of bytes written
+   */
+  public long getBytesWritten() {
+    return this.offset;
+  }
+
+  /**
+   * Writes the last block, the block index and the footer, and closes the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      flushBlock();
+      long indexOffset = this.offset;
+      this.index.flip();
+      write(this.index);
+      ByteBuffer footer = ByteBuffer.allocate(WeatherArchive.FOOTER_SIZE);
+      footer.putLong(indexOffset).putInt(this.blocks).putInt(this.blockSize)
+          .putInt(WeatherArchive.MAGIC).flip();
+      write(footer);
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  private void flushBlock() throws IOException {
+    int n = this.count;
+    if (n == 0) {
+      return;
+    }
+    this.bits.write(this.timestamps[0], 64);
+    long previousDelta = 0;
+    for (int i = 1; i < n; i++) {
+      long delta = this.timestamps[i] - this.timestamps[i - 1];
+      writeDeltaOfDelta(delta - previousDelta);
+      previousDelta = delta;
+    }
+    writeColumn(this.temperature, n);
+    writeColumn(this.dewPoint, n);
+    writeColumn(this.windSpeed, n);
+    writeVarint(this.totalRain[0]);
+    for (int i = 1; i < n; i++) {
+      int difference = this.totalRain[i] - this.totalRain[i - 1];
+      writeVarint(difference << 1 ^ difference >> 31);
+    }
+    int bitBytes = this.bits.finish();
+    if (this.index.remaining() < WeatherArchive.ENTRY_SIZE) {
+      ByteBuffer larger = ByteBuffer.allocate(this.index.capacity() * 2);
+      this.index.flip();
+      this.index = larger.put(this.index);
+    }
+    this.index.putLong(this.offset).putLong(this.timestamps[0])
+        .putLong(this.timestamps[n - 1]).putInt(n).putInt(bitBytes).putInt(this.rainLength);
+    write(ByteBuffer.wrap(this.bits.bytes(), 0, bitBytes));
+    write(ByteBuffer.wrap(this.rain, 0, this.rainLength));
+    this.blocks++;
+    this.count = 0;
+    this.rainLength = 0;
+    this.bits.reset();
+  }
+
+  /**
+   * Writes a column as a 3-bit mode, 0 for XOR encoding or one more than the number of
+   * decimals, followed by the encoded values.
+   */
+  private void writeColumn(double[] values, int n) {
+    int scale = decimalScale(values, n);
+    if (scale < 0) {
+      this.bits.write(0, 3);
+      writeXor(values, n);
+      return;
+    }
+    this.bits.write(scale + 1, 3);
+    double power = WeatherArchive.POWERS_OF_TEN[scale];
+    long previous = (long) Math.rint(values[0] * power);
+    this.bits.write(previous, 64);
+    for (int i = 1; i < n; i++) {
+      long scaled = (long) Math.rint(values[i] * power);
+      writeDifference(scaled - previous);
+      previous = scaled;
+    }
+  }
+
+  /**
+   * Returns the smallest number of decimals with which every value is restored bit for bit
+   * by dividing its scaled integer by the power of ten, or -1 if there is none.
+   */
+  private static int decimalScale(double[] values, int n) {
+    for (int scale = 0; scale <= WeatherArchive.MAX_SCALE; scale++) {
+      double power = WeatherArchive.POWERS_OF_TEN[scale];
+      int i = 0;
+      while (i < n) {
+        double scaled = values[i] * power;
+        if (!(Math.abs(scaled) < 1L << 52) || Double.doubleToRawLongBits(
+            (long) Math.rint(scaled) / power) != Double.doubleToRawLongBits(values[i])) {
+          break;
+        }
+        i++;
+      }
+      if (i == n) {
+        return scale;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Writes the first value raw and then the XOR of every value with the previous one: a 0 bit
+   * if they are equal; 10 and the meaningful bits if they fit in the previous window of
+   * meaningful bits; 11, 5 bits of leading zeros, 6 bits of length and the meaningful bits
+   * otherwise.
+   */
+  private void writeXor(double[] values, int n) {
+    long previous = Double.doubleToRawLongBits(values[0]);
+    this.bits.write(previous, 64);
+    int leading = -1;
+    int trailing = 0;
+    for (int i = 1; i < n; i++) {
+      long raw = Double.doubleToRawLongBits(values[i]);
+      long xor = raw ^ previous;
+      previous = raw;
+      if (xor == 0) {
+        this.bits.write(0, 1);
+        continue;
+      }
+      int lead = Math.min(Long.numberOfLeadingZeros(xor), 31);
+      int trail = Long.numberOfTrailingZeros(xor);
+      if (leading >= 0 && lead >= leading && trail >= trailing) {
+        this.bits.write(2, 2);
+        this.bits.write(xor >>> trailing, 64 - leading - trailing);
+      } else {
+        int length = 64 - lead - trail;
+        this.bits.write(3, 2);
+        this.bits.write(lead, 5);
+        this.bits.write(length - 1, 6);
+        this.bits.write(xor >>> trail, length);
+        leading = lead;
+        trailing = trail;
+      }
+    }
+  }
+
+  /**
+   * Writes the change of the time between readings with a prefix code that favours readings
+   * taken at a regular interval.
+   */
+  private void writeDeltaOfDelta(long deltaOfDelta) {
+    if (deltaOfDelta == 0) {
+      this.bits.write(0, 1);
+    } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+      this.bits.write(2, 2);
+      this.bits.write(deltaOfDelta + 63, 7);
+    } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+      this.bits.write(6, 3);
+      this.bits.write(deltaOfDelta + 255, 9);
+    } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+      this.bits.write(14, 4);
+      this.bits.write(deltaOfDelta + 2047, 12);
+    } else {
+      this.bits.write(15, 4);
+      this.bits.write(deltaOfDelta, 64);
+    }
+  }
+
+  /**
+   * Writes the difference of two scaled values with a prefix code that favours the small
+   * steps of a slowly changing quantity.
+   */
+  private void writeDifference(long difference) {
+    if (difference == 0) {
+      this.bits.write(0, 1);
+    } else if (difference >= -7 && difference <= 8) {
+      this.bits.write(2, 2);
+      this.bits.write(difference + 7, 4);
+    } else if (difference >= -127 && difference <= 128) {
+      this.bits.write(6, 3);
+      this.bits.write(difference + 127, 8);
+    } else if (difference >= -32767 && difference <= 32768) {
+      this.bits.write(14, 4);
+      this.bits.write(difference + 32767, 16);
+    } else {
+      this.bits.write(15, 4);
+      this.bits.write(difference, 64);
+    }
+  }
+
+  private void writeVarint(int value) {
+    if (this.rainLength + 5 > this.rain.length) {
+      this.rain = Arrays.copyOf(this.rain, this.rain.length * 2);
+    }
+    while ((value & ~0x7F) != 0) {
+      this.rain[this.rainLength++] = (byte) (value & 0x7F | 0x80);
+      value >>>= 7;
+    }
+    this.rain[this.rainLength++] = (byte) value;
+  }
+
+  private void write(ByteBuffer buffer) throws IOException {
+    this.offset += buffer.remaining();
+    while (buffer.hasRemaining()) {
+      this.channel.write(buffer);
+    }
+  }
+
+  /**
+   * Packs bit strings most significant bit first into a growable byte array.
+   */
+  private static final class BitWriter {
+    private byte[] bytes = new byte[1024];
+    private int length;
+    private long word;
+    private int wordBits;
+
+    /**
+     * Appends the low n bits of the value; the other bits must be zero unless n is 64.
+     */
+    void write(long value, int n) {
+      int free = 64 - this.wordBits;
+      if (n < free) {
+        this.word = this.word << n | value;
+        this.wordBits += n;
+        return;
+      }
+      int rest = n - free;
+      this.word = (free == 64 ? 0 : this.word << free) | value >>> rest;
+      putWord();
+      this.word = rest == 0 ? 0 : value & (1L << rest) - 1;
+      this.wordBits = rest;
+    }
+
+    private void putWord() {
+      if (this.length + Long.BYTES > this.bytes.length) {
+        this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+      }
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        this.bytes[this.length++] = (byte) (this.word >>> shift);
+      }
+    }
+
+    /**
+     * Writes the pending bits followed by eight zero bytes, so a reader can always load a
+     * whole word, and returns the number of bytes.
+     */
+    int finish() {
+      int pending = (this.wordBits + 7) / 8;
+      this.word <<= 64 - this.wordBits;
+      putWord();
+      this.length -= Long.BYTES - pending;
+      this.word = 0;
+      putWord();
+      this.wordBits = 0;
+      return this.length;
+    }
+
+    byte[] bytes() {
+      return this.bytes;
+    }
+
+    void reset() {
+      this.length = 0;
+      this.word = 0;
+      this.wordBits = 0;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package weather;
+
+import java.util.Objects;
+
+/**
+ * A reusable batch of timestamped readings decoded from a {@link WeatherArchive}. The values
+ * are kept in primitive columns exactly as they were appended to the archive.
+ */
+public final class WeatherBlock {
+  final long[] timestamps;
+  final double[] temperature;
+  final double[] dewPoint;
+  final double[] windSpeed;
+  final int[] totalRain;
+  int size;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity the largest number of readings the block holds
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public WeatherBlock(int capacity) throws IllegalArgumentException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.timestamps = new long[capacity];
+    this.temperature = new double[capacity];
+    this.dewPoint = new double[capacity];
+    this.windSpeed = new double[capacity];
+    this.totalRain = new int[capacity];
+  }
+
+  /**
+   * Returns the number of readings in the block.
+   *
+   * @return the number of readings
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the largest number of readings the block holds.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return this.timestamps.length;
+  }
+
+  /**
+   * Returns the timestamp of a reading.
+   *
+   * @param index the index of the reading
+   * @return the timestamp
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public long getTimestamp(int index) throws IndexOutOfBoundsException {
+    return this.timestamps[Objects.checkIndex(index, this.size)];
+  }
+
+  /**
+   * Returns the air temperature of a reading in Celsius.
+   *
+   * @param index the index of the reading
+   * @return the temperature
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public double getTemperature(int index) throws IndexOutOfBoundsException {
+    return this.temperature[Objects.checkIndex(index, this.size)];
+  }
+
+  /**
+   * Returns the dew point of a reading in Celsius.
+   *
+   * @param index the index of the reading
+   * @return the dew point
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public double getDewPoint(int index) throws IndexOutOfBoundsException {
+    return this.dewPoint[Objects.checkIndex(index, this.size)];
+  }
+
+  /**
+   * Returns the wind speed of a reading.
+   *
+   * @param index the index of the reading
+   * @return the wind speed
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public double getWindSpeed(int index) throws IndexOutOfBoundsException {
+    return this.windSpeed[Objects.checkIndex(index, this.size)];
+  }
+
+  /**
+   * Returns the total rain of a reading.
+   *
+   * @param index the index of the reading
+   * @return the total rain
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int getTotalRain(int index) throws IndexOutOfBoundsException {
+    return this.totalRain[Objects.checkIndex(index, this.size)];
+  }
+
+  /**
+   * Creates a reading object for a reading of the block.
+   *
+   * @param index the index of the reading
+   * @return a new reading with the same values
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public Stevenson get(int index) throws IndexOutOfBoundsException {
+    Objects.checkIndex(index, this.size);
+    return new Stevenson(this.temperature[index], this.dewPoint[index], this.windSpeed[index],
+        this.totalRain[index]);
+  }
+}
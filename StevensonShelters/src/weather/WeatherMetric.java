@@ -0,0 +1,30 @@
+package weather;
+
+/**
+ * The per-reading quantities that can be aggregated or monitored, all in their unrounded form.
+ */
+public enum WeatherMetric {
+  TEMPERATURE, RELATIVE_HUMIDITY, HEAT_INDEX, WIND_CHILL;
+
+  /**
+   * Computes the value of this metric for a reading.
+   *
+   * @param temperature the air temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @param windSpeed   the wind speed
+   * @return the value of the metric
+   */
+  public double of(double temperature, double dewPoint, double windSpeed) {
+    switch (this) {
+      case TEMPERATURE:
+        return temperature;
+      case RELATIVE_HUMIDITY:
+        return Stevenson.relativeHumidity(temperature, dewPoint);
+      case HEAT_INDEX:
+        return Stevenson.heatIndex(temperature,
+            Stevenson.relativeHumidity(temperature, dewPoint));
+      default:
+        return Stevenson.windChill(temperature, windSpeed);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package weather;
+
+/**
+ * A weather reading and the values derived from it. Implemented by {@link Stevenson} and by
+ * the flyweight cursors of the columnar stores.
+ */
+public interface WeatherReading {
+
+  /**
+   * Get the temperature of the reading rounded to the nearest integer.
+   *
+   * @return the temperature
+   */
+  int getTemperature();
+
+  /**
+   * Get the dew point for the reading rounded to the nearest integer.
+   *
+   * @return the dew point
+   */
+  int getDewPoint();
+
+  /**
+   * Get the wind speed for the reading rounded to the nearest integer.
+   *
+   * @return the wind speed
+   */
+  int getWindSpeed();
+
+  /**
+   * Get the total rain.
+   *
+   * @return the total rain
+   */
+  int getTotalRain();
+
+  /**
+   * Get the relative humidity rounded to the nearest integer.
+   *
+   * @return the relative humidity
+   */
+  int getRelativeHumidity();
+
+  /**
+   * Get the relative humidity without rounding.
+   *
+   * @return the relative humidity
+   */
+  double getRelativeHumidityWithoutRound();
+
+  /**
+   * Get the heat index for the weather reading rounded to the nearest integer.
+   *
+   * @return the heat index
+   */
+  int getHeatIndex();
+
+  /**
+   * Get the wind chill rounded to the nearest integer.
+   *
+   * @return the wind chill
+   */
+  int getWindChill();
+}
@@ -0,0 +1,308 @@
+package weather;
+
+import java.util.Arrays;
+
+/**
+ * Maintains rolling minimum, maximum and mean of the {@link WeatherMetric}s of timestamped
+ * readings, per station and for several window lengths at once.
+ *
+ * <p>Each station keeps its readings in a ring buffer long enough for the largest window.
+ * For every window it keeps running sums for the mean and, per metric, two monotonic deques
+ * of reading sequence numbers whose fronts are the current minimum and maximum. Adding a
+ * reading and expiring old ones therefore costs O(1) amortized. A window covers the readings
+ * with a timestamp in (latest - length, latest], where latest is the newest timestamp of the
+ * station. All state is held in primitive arrays that only grow. Station IDs may be any
+ * non-negative int: they are mapped to dense slots by a {@link StationSlots}, so memory grows
+ * with the number of stations, not with the largest ID.
+ *
+ * <p>This class is not thread-safe; partition stations across aggregators to use several
+ * threads.
+ */
+public final class WindowAggregator {
+  private static final int METRICS = WeatherMetric.values().length;
+
+  private final long[] windows;
+  private final double[] metrics = new double[METRICS];
+  private final StationSlots slots = new StationSlots();
+  private Station[] stations = new Station[16];
+
+  /**
+   * Constructor.
+   *
+   * @param windowMillis the window lengths in milliseconds
+   * @throws IllegalArgumentException if no window is given or a window is not positive
+   */
+  public WindowAggregator(long... windowMillis) throws IllegalArgumentException {
+    if (windowMillis.length == 0) {
+      throw new IllegalArgumentException("At least one window is required.");
+    }
+    for (long window : windowMillis) {
+      if (window <= 0) {
+        throw new IllegalArgumentException("Window lengths must be positive.");
+      }
+    }
+    this.windows = windowMillis.clone();
+  }
+
+  /**
+   * Adds a reading of a station.
+   *
+   * @param station     the station ID, a non-negative number
+   * @param timestamp   the time of the reading in milliseconds
+   * @param temperature the air temperature in Celsius
+   * @param dewPoint    the dew point in Celsius
+   * @param windSpeed   the wind speed
+   * @throws IllegalArgumentException if the reading is invalid, the station ID is negative or
+   *                                  the timestamp is older than the station's latest reading
+   */
+  public void add(int station, long timestamp, double temperature, double dewPoint,
+                  double windSpeed) throws IllegalArgumentException {
+    Stevenson.validate(temperature, dewPoint, windSpeed, 0);
+    int slot = this.slots.add(station);
+    if (slot == this.stations.length) {
+      this.stations = Arrays.copyOf(this.stations, this.stations.length * 2);
+    }
+    if (this.stations[slot] == null) {
+      this.stations[slot] = new Station(this.windows.length);
+    }
+    double rh = Stevenson.relativeHumidity(temperature, dewPoint);
+    this.metrics[WeatherMetric.TEMPERATURE.ordinal()] = temperature;
+    this.metrics[WeatherMetric.RELATIVE_HUMIDITY.ordinal()] = rh;
+    this.metrics[WeatherMetric.HEAT_INDEX.ordinal()] = Stevenson.heatIndex(temperature, rh);
+    this.metrics[WeatherMetric.WIND_CHILL.ordinal()] = Stevenson.windChill(temperature,
+        windSpeed);
+    this.stations[slot].add(this.windows, timestamp, this.metrics);
+  }
+
+  /**
+   * Get the number of readings of a station in a window.
+   *
+   * @param station      the station ID
+   * @param windowMillis one of the window lengths given to the constructor
+   * @return the number of readings
+   */
+  public int getCount(int station, long windowMillis) {
+    Station s = station(station);
+    return s == null ? 0 : (int) (s.tail - s.heads[window(windowMillis)]);
+  }
+
+  /**
+   * Get the smallest value of a metric in a window.
+   *
+   * @param station      the station ID
+   * @param metric       the metric
+   * @param windowMillis one of the window lengths given to the constructor
+   * @return the minimum, or NaN if the window holds no reading
+   */
+  public double getMin(int station, WeatherMetric metric, long windowMillis) {
+    return extreme(station, metric, windowMillis, 0);
+  }
+
+  /**
+   * Get the largest value of a metric in a window.
+   *
+   * @param station      the station ID
+   * @param metric       the metric
+   * @param windowMillis one of the window lengths given to the constructor
+   * @return the maximum, or NaN if the window holds no reading
+   */
+  public double getMax(int station, WeatherMetric metric, long windowMillis) {
+    return extreme(station, metric, windowMillis, 1);
+  }
+
+  /**
+   * Get the mean value of a metric in a window.
+   *
+   * @param station      the station ID
+   * @param metric       the metric
+   * @param windowMillis one of the window lengths given to the constructor
+   * @return the mean, or NaN if the window holds no reading
+   */
+  public double getMean(int station, WeatherMetric metric, long windowMillis) {
+    int w = window(windowMillis);
+    Station s = station(station);
+    if (s == null || s.tail == s.heads[w]) {
+      return Double.NaN;
+    }
+    return s.sums[w * METRICS + metric.ordinal()] / (s.tail - s.heads[w]);
+  }
+
+  private double extreme(int station, WeatherMetric metric, long windowMillis, int kind) {
+    int w = window(windowMillis);
+    Station s = station(station);
+    if (s == null || s.tail == s.heads[w]) {
+      return Double.NaN;
+    }
+    SeqDeque deque = s.deques[(w * METRICS + metric.ordinal()) * 2 + kind];
+    return s.values[metric.ordinal()][(int) (deque.first() & s.mask)];
+  }
+
+  private Station station(int station) {
+    int slot = this.slots.get(station);
+    return slot < 0 ? null : this.stations[slot];
+  }
+
+  private int window(long windowMillis) {
+    for (int i = 0; i < this.windows.length; i++) {
+      if (this.windows[i] == windowMillis) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Unknown window length " + windowMillis + ".");
+  }
+
+  /**
+   * The readings of one station. Readings are numbered by a sequence number; reading s lives
+   * at index s & mask of the ring buffer.
+   */
+  private static final class Station {
+    private long[] times = new long[16];
+    private double[][] values = new double[METRICS][16];
+    private long mask = 15;
+    private long tail;
+    private long latest = Long.MIN_VALUE;
+    private final long[] heads;
+    private final long[] evicted;
+    private final double[] sums;
+    // Per window and metric: the minimum deque, then the maximum deque.
+    private final SeqDeque[] deques;
+
+    Station(int windows) {
+      this.heads = new long[windows];
+      this.evicted = new long[windows];
+      this.sums = new double[windows * METRICS];
+      this.deques = new SeqDeque[windows * METRICS * 2];
+      for (int i = 0; i < this.deques.length; i++) {
+        this.deques[i] = new SeqDeque();
+      }
+    }
+
+    void add(long[] windows, long timestamp, double[] metrics) {
+      if (timestamp < this.latest) {
+        throw new IllegalArgumentException("Readings of a station must arrive in time order.");
+      }
+      this.latest = timestamp;
+      long oldest = this.tail;
+      for (long head : this.heads) {
+        oldest = Math.min(oldest, head);
+      }
+      if (this.tail - oldest > this.mask) {
+        grow(oldest);
+      }
+      long seq = this.tail++;
+      int slot = (int) (seq & this.mask);
+      this.times[slot] = timestamp;
+      for (int m = 0; m < METRICS; m++) {
+        this.values[m][slot] = metrics[m];
+      }
+      for (int w = 0; w < windows.length; w++) {
+        for (int m = 0; m < METRICS; m++) {
+          double x = metrics[m];
+          this.sums[w * METRICS + m] += x;
+          SeqDeque min = this.deques[(w * METRICS + m) * 2];
+          while (!min.isEmpty() && this.values[m][(int) (min.last() & this.mask)] >= x) {
+            min.removeLast();
+          }
+          min.addLast(seq);
+          SeqDeque max = this.deques[(w * METRICS + m) * 2 + 1];
+          while (!max.isEmpty() && this.values[m][(int) (max.last() & this.mask)] <= x) {
+            max.removeLast();
+          }
+          max.addLast(seq);
+        }
+        expire(w, timestamp - windows[w]);
+      }
+    }
+
+    private void expire(int w, long cutoff) {
+      while (this.heads[w] < this.tail
+          && this.times[(int) (this.heads[w] & this.mask)] <= cutoff) {
+        long seq = this.heads[w]++;
+        int slot = (int) (seq & this.mask);
+        for (int m = 0; m < METRICS; m++) {
+          this.sums[w * METRICS + m] -= this.values[m][slot];
+          SeqDeque min = this.deques[(w * METRICS + m) * 2];
+          if (min.first() == seq) {
+            min.removeFirst();
+          }
+          SeqDeque max = this.deques[(w * METRICS + m) * 2 + 1];
+          if (max.first() == seq) {
+            max.removeFirst();
+          }
+        }
+        this.evicted[w]++;
+      }
+      // Running sums drift as values are added and removed; recomputing them once per
+      // buffer length of evictions bounds the drift and keeps the cost O(1) amortized.
+      if (this.evicted[w] > this.mask) {
+        this.evicted[w] = 0;
+        for (int m = 0; m < METRICS; m++) {
+          double sum = 0;
+          for (long seq = this.heads[w]; seq < this.tail; seq++) {
+            sum += this.values[m][(int) (seq & this.mask)];
+          }
+          this.sums[w * METRICS + m] = sum;
+        }
+      }
+    }
+
+    private void grow(long oldest) {
+      int capacity = (int) (this.mask + 1) * 2;
+      long newMask = capacity - 1;
+      long[] newTimes = new long[capacity];
+      double[][] newValues = new double[METRICS][capacity];
+      for (long seq = oldest; seq < this.tail; seq++) {
+        newTimes[(int) (seq & newMask)] = this.times[(int) (seq & this.mask)];
+        for (int m = 0; m < METRICS; m++) {
+          newValues[m][(int) (seq & newMask)] = this.values[m][(int) (seq & this.mask)];
+        }
+      }
+      this.times = newTimes;
+      this.values = newValues;
+      this.mask = newMask;
+    }
+  }
+
+  /**
+   * A double-ended queue of sequence numbers backed by a growable ring of longs.
+   */
+  private static final class SeqDeque {
+    private long[] data = new long[8];
+    private int head;
+    private int size;
+
+    boolean isEmpty() {
+      return this.size == 0;
+    }
+
+    long first() {
+      return this.size == 0 ? -1 : this.data[this.head];
+    }
+
+    long last() {
+      return this.data[(this.head + this.size - 1) & (this.data.length - 1)];
+    }
+
+    void addLast(long seq) {
+      if (this.size == this.data.length) {
+        long[] bigger = new long[this.data.length * 2];
+        for (int i = 0; i < this.size; i++) {
+          bigger[i] = this.data[(this.head + i) & (this.data.length - 1)];
+        }
+        this.data = bigger;
+        this.head = 0;
+      }
+      this.data[(this.head + this.size) & (this.data.length - 1)] = seq;
+      this.size++;
+    }
+
+    void removeFirst() {
+      this.head = (this.head + 1) & (this.data.length - 1);
+      this.size--;
+    }
+
+    void removeLast() {
+      this.size--;
+    }
+  }
+}
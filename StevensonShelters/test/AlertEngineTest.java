@@ -0,0 +1,164 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import weather.Alert;
+import weather.AlertEngine;
+import weather.AlertRule;
+import weather.WeatherMetric;
+
+/**
+ * Unit tests for class AlertEngine.
+ */
+public class AlertEngineTest {
+
+  /**
+   * Test that a rule fires once per run of the required length.
+   */
+  @Test
+  public void testConsecutive() {
+    AlertRule rule = AlertRule.below("cold", WeatherMetric.WIND_CHILL, -10, 2);
+    AlertEngine engine = new AlertEngine(List.of(rule), 10);
+    assertEquals(0, engine.evaluate(1, 1, -5, -10, 30));
+    assertEquals(1, engine.evaluate(1, 2, -5, -10, 30));
+    assertEquals(0, engine.evaluate(1, 3, -5, -10, 30));
+    assertEquals(0, engine.evaluate(1, 4, 20, -10, 30));
+    assertEquals(0, engine.evaluate(1, 5, -5, -10, 30));
+    assertEquals(0, engine.evaluate(2, 5, -5, -10, 30));
+    assertEquals(1, engine.evaluate(1, 6, -5, -10, 30));
+    Alert first = engine.getAlerts().poll();
+    assertEquals(rule, first.getRule());
+    assertEquals(1, first.getStation());
+    assertEquals(2, first.getTimestamp());
+    assertTrue(first.getValue() < -10);
+    assertEquals(6, engine.getAlerts().poll().getTimestamp());
+    assertEquals(null, engine.getAlerts().poll());
+  }
+
+  /**
+   * Test that runs of sparse and very large station IDs are kept apart.
+   */
+  @Test
+  public void testSparseStationIds() {
+    AlertRule rule = AlertRule.below("cold", WeatherMetric.WIND_CHILL, -10, 2);
+    AlertEngine engine = new AlertEngine(List.of(rule), 10);
+    assertEquals(0, engine.evaluate(2_000_000_000, 1, -5, -10, 30));
+    assertEquals(0, engine.evaluate(Integer.MAX_VALUE, 1, -5, -10, 30));
+    assertEquals(0, engine.evaluate(7, 1, -5, -10, 30));
+    assertEquals(1, engine.evaluate(2_000_000_000, 2, -5, -10, 30));
+    assertEquals(2_000_000_000, engine.getAlerts().poll().getStation());
+    assertEquals(1, engine.evaluate(Integer.MAX_VALUE, 2, -5, -10, 30));
+    assertEquals(Integer.MAX_VALUE, engine.getAlerts().poll().getStation());
+  }
+
+  /**
+   * Test that negative station IDs are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeStation() {
+    new AlertEngine(List.of(), 10).evaluate(-1, 1, -5, -10, 30);
+  }
+
+  /**
+   * Test many rules on all metrics against a direct evaluation of every rule.
+   */
+  @Test
+  public void testAgainstDirectEvaluation() {
+    Random random = new Random(9);
+    List<AlertRule> rules = new ArrayList<>();
+    WeatherMetric[] metrics = WeatherMetric.values();
+    for (int i = 0; i < 2000; i++) {
+      WeatherMetric metric = metrics[random.nextInt(metrics.length)];
+      double threshold = metric == WeatherMetric.RELATIVE_HUMIDITY ? random.nextInt(100)
+          : random.nextInt(80) - 40;
+      rules.add(random.nextBoolean()
+          ? AlertRule.above("r" + i, metric, threshold, 1 + random.nextInt(3))
+          : AlertRule.below("r" + i, metric, threshold, 1 + random.nextInt(3)));
+    }
+    AlertEngine engine = new AlertEngine(rules, 1_000_000);
+    int[][] runs = new int[3][rules.size()];
+    long expected = 0;
+    for (int n = 0; n < 3000; n++) {
+      int station = random.nextInt(3);
+      double t = random.nextDouble() * 70 - 30;
+      double d = t - random.nextDouble() * 20;
+      double v = random.nextDouble() * 40;
+      for (int i = 0; i < rules.size(); i++) {
+        AlertRule rule = rules.get(i);
+        double value = rule.getMetric().of(t, d, v);
+        boolean match = rule.isAbove() ? value > rule.getThreshold()
+            : value < rule.getThreshold();
+        runs[station][i] = match ? runs[station][i] + 1 : 0;
+        expected += runs[station][i] == rule.getConsecutive() ? 1 : 0;
+      }
+      engine.evaluate(station, n, t, d, v);
+    }
+    assertTrue(expected > 0);
+    assertEquals(expected, engine.getAlerts().size());
+  }
+
+  /**
+   * Test that reloading keeps the runs of unchanged rules and starts new rules afresh.
+   */
+  @Test
+  public void testReload() {
+    AlertRule humid = AlertRule.above("humid", WeatherMetric.RELATIVE_HUMIDITY, 90, 3);
+    AlertRule hot = AlertRule.above("hot", WeatherMetric.TEMPERATURE, 30, 2);
+    AlertEngine engine = new AlertEngine(List.of(humid), 10);
+    engine.evaluate(0, 1, 35, 34.5, 0);
+    engine.evaluate(0, 2, 35, 34.5, 0);
+    engine.reload(List.of(hot, humid));
+    assertEquals(List.of(hot, humid), engine.getRules());
+    assertEquals(1, engine.evaluate(0, 3, 35, 34.5, 0));
+    assertEquals("humid", engine.getAlerts().poll().getRule().getName());
+    assertEquals(1, engine.evaluate(0, 4, 35, 34.5, 0));
+    assertEquals("hot", engine.getAlerts().poll().getRule().getName());
+  }
+
+  /**
+   * Test that each copy of a duplicated rule keeps its own run across a reload.
+   */
+  @Test
+  public void testReloadDuplicatedRule() {
+    AlertRule humid = AlertRule.above("humid", WeatherMetric.RELATIVE_HUMIDITY, 90, 3);
+    AlertEngine engine = new AlertEngine(List.of(humid), 10);
+    engine.evaluate(0, 1, 35, 34.5, 0);
+    engine.evaluate(0, 2, 35, 34.5, 0);
+    engine.reload(List.of(humid, humid));
+    assertEquals(1, engine.evaluate(0, 3, 35, 34.5, 0));
+    assertEquals(0, engine.evaluate(0, 4, 35, 34.5, 0));
+    assertEquals(1, engine.evaluate(0, 5, 35, 34.5, 0));
+    engine.reload(List.of(humid));
+    assertEquals(0, engine.evaluate(0, 6, 35, 34.5, 0));
+    engine.reload(List.of(humid, humid, humid));
+    engine.evaluate(0, 7, 10, 0, 0);
+    assertEquals(0, engine.evaluate(0, 8, 35, 34.5, 0));
+    assertEquals(0, engine.evaluate(0, 9, 35, 34.5, 0));
+    assertEquals(3, engine.evaluate(0, 10, 35, 34.5, 0));
+  }
+
+  /**
+   * Test that alerts are dropped when the queue is full.
+   */
+  @Test
+  public void testFullQueue() {
+    AlertEngine engine = new AlertEngine(
+        List.of(AlertRule.above("warm", WeatherMetric.TEMPERATURE, 0, 1)), 2);
+    for (int station = 0; station < 5; station++) {
+      assertEquals(1, engine.evaluate(station, 0, 10, 0, 0));
+    }
+    assertEquals(2, engine.getAlerts().size());
+    assertEquals(3, engine.getDroppedAlerts());
+  }
+
+  /**
+   * Test that rules need a positive number of readings.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalRule() {
+    AlertRule.above("never", WeatherMetric.HEAT_INDEX, 40, 0);
+  }
+}
@@ -0,0 +1,41 @@
+import java.util.Random;
+import weather.StevensonBatch;
+
+/**
+ * Compares the exact and the table-driven modes of StevensonBatch. Run with
+ * {@code java FastWeatherMathBenchmark [readings] [rounds]}.
+ */
+public class FastWeatherMathBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the number of readings and of timed rounds
+   */
+  public static void main(String[] args) {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    Random random = new Random(1);
+    double[] temperature = new double[n];
+    double[] dewPoint = new double[n];
+    double[] windSpeed = new double[n];
+    for (int i = 0; i < n; i++) {
+      temperature[i] = random.nextDouble() * 80 - 30;
+      dewPoint[i] = temperature[i] - random.nextDouble() * 25;
+      windSpeed[i] = random.nextDouble() * 60;
+    }
+    int[] relativeHumidity = new int[n];
+    int[] heatIndex = new int[n];
+    int[] windChill = new int[n];
+    for (boolean fast : new boolean[]{false, true, false, true}) {
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < rounds; r++) {
+        long start = System.nanoTime();
+        StevensonBatch.compute(temperature, dewPoint, windSpeed, relativeHumidity, heatIndex,
+            windChill, fast);
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      System.out.printf("%s: %.1f ns/reading%n", fast ? "fast" : "exact", (double) best / n);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import weather.FastWeatherMath;
+import weather.Stevenson;
+import weather.StevensonBatch;
+
+/**
+ * Unit tests for class FastWeatherMath.
+ */
+public class FastWeatherMathTest {
+  // The table error moves the derived values by far less than this, so values further than
+  // this from a rounding boundary are guaranteed to round like the exact ones.
+  private static final double MARGIN = 1e-4;
+
+  private static boolean nearBoundary(double value) {
+    double fraction = value - Math.floor(value);
+    return Math.abs(fraction - 0.5) < MARGIN;
+  }
+
+  /**
+   * Test the relative error of the tables against the exact formulas.
+   */
+  @Test
+  public void testRelativeError() {
+    for (int i = -100_000; i <= 100_000; i++) {
+      double t = i / 1000.0;
+      double exact = 6.11 * Math.pow(10, (7.5 * t) / (237.3 + t));
+      double error = Math.abs(FastWeatherMath.vaporPressure(t) - exact) / exact;
+      assertTrue("vapor pressure at " + t, error <= FastWeatherMath.MAX_RELATIVE_ERROR);
+    }
+    for (int i = 1; i <= 300_000; i++) {
+      double v = i / 1000.0;
+      double exact = Math.pow(v, 0.16);
+      double error = Math.abs(FastWeatherMath.windFactor(v) - exact) / exact;
+      assertTrue("wind factor at " + v, error <= FastWeatherMath.MAX_RELATIVE_ERROR);
+    }
+  }
+
+  /**
+   * Test every temperature and dew point on a 0.01 Celsius grid from -50 to 60, and every
+   * temperature on that grid with every wind speed on a 0.1 grid from 0 to 150: rounded
+   * relative humidity, heat index and wind chill must equal the exact ones.
+   */
+  @Test
+  public void testExhaustiveGrid() {
+    for (int ti = -5000; ti <= 6000; ti++) {
+      double t = ti / 100.0;
+      for (int di = -5000; di <= ti; di++) {
+        double d = di / 100.0;
+        double rh = FastWeatherMath.relativeHumidity(t, d);
+        double heatIndex = FastWeatherMath.heatIndex(t, d);
+        if (nearBoundary(rh) || nearBoundary(heatIndex)) {
+          Stevenson exact = new Stevenson(t, d, 0, 0);
+          assertEquals(exact.getRelativeHumidity(), Math.round(rh));
+          assertEquals(exact.getHeatIndex(), Math.round(heatIndex));
+        }
+      }
+      for (int vi = 0; vi <= 1500; vi++) {
+        double v = vi / 10.0;
+        double windChill = FastWeatherMath.windChill(t, v);
+        if (nearBoundary(windChill)) {
+          assertEquals(new Stevenson(t, t, v, 0).getWindChill(), Math.round(windChill));
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that the batch fast mode matches the exact mode on the readings of StevensonTest.
+   */
+  @Test
+  public void testBatchFastMode() {
+    int[] relativeHumidity = new int[2];
+    int[] heatIndex = new int[2];
+    int[] windChill = new int[2];
+    StevensonBatch.compute(new double[]{20, -20}, new double[]{-20, -20}, new double[]{40, 60},
+        relativeHumidity, heatIndex, windChill, true);
+    assertEquals(5, relativeHumidity[0]);
+    assertEquals(100, relativeHumidity[1]);
+    assertEquals(20, heatIndex[0]);
+    assertEquals(245, heatIndex[1]);
+    assertEquals(19, windChill[0]);
+    assertEquals(-39, windChill[1]);
+  }
+}
@@ -0,0 +1,99 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import weather.QuantileSketch;
+
+/**
+ * Unit tests for class QuantileSketch.
+ */
+public class QuantileSketchTest {
+
+  private static void assertRankError(double[] sorted, QuantileSketch sketch, double bound) {
+    for (double q = 0.01; q < 1; q += 0.01) {
+      double value = sketch.getQuantile(q);
+      int rank = Arrays.binarySearch(sorted, value);
+      assertTrue(rank >= 0);
+      assertTrue("q = " + q, Math.abs((double) (rank + 1) / sorted.length - q) <= bound);
+    }
+  }
+
+  /**
+   * Test that small streams are answered exactly.
+   */
+  @Test
+  public void testExactBelowCapacity() {
+    QuantileSketch sketch = new QuantileSketch(200);
+    for (int i = 100; i >= 1; i--) {
+      sketch.add(i);
+    }
+    assertEquals(100, sketch.getCount());
+    assertEquals(100, sketch.getRetained());
+    assertEquals(1, sketch.getQuantile(0), 0);
+    assertEquals(1, sketch.getQuantile(0.01), 0);
+    assertEquals(50, sketch.getQuantile(0.5), 0);
+    assertEquals(90, sketch.getQuantile(0.9), 0);
+    assertEquals(100, sketch.getQuantile(1), 0);
+  }
+
+  /**
+   * Test the accuracy and the memory of a large stream.
+   */
+  @Test
+  public void testLargeStream() {
+    Random random = new Random(5);
+    double[] values = new double[1_000_000];
+    QuantileSketch sketch = new QuantileSketch(200);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextGaussian() * 20 + 50;
+      sketch.add(values[i]);
+    }
+    Arrays.sort(values);
+    assertTrue(sketch.getRetained() < 3 * 200 + 100);
+    assertEquals(values[0], sketch.getMin(), 0);
+    assertEquals(values[values.length - 1], sketch.getMax(), 0);
+    assertRankError(values, sketch, 0.02);
+  }
+
+  /**
+   * Test that merged sketches are as accurate as a sketch of the whole stream.
+   */
+  @Test
+  public void testMerge() {
+    Random random = new Random(6);
+    double[] values = new double[400_000];
+    QuantileSketch merged = new QuantileSketch(200);
+    for (int part = 0; part < 40; part++) {
+      QuantileSketch sketch = new QuantileSketch(200);
+      for (int i = part * 10_000; i < (part + 1) * 10_000; i++) {
+        values[i] = part % 2 == 0 ? random.nextDouble() * 100 : random.nextInt(30);
+        sketch.add(values[i]);
+      }
+      merged.merge(sketch);
+    }
+    Arrays.sort(values);
+    assertEquals(values.length, merged.getCount());
+    assertTrue(merged.getRetained() < 3 * 200 + 100);
+    assertRankError(values, merged, 0.02);
+  }
+
+  /**
+   * Test that an empty sketch has no quantiles.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testEmpty() {
+    new QuantileSketch(100).getQuantile(0.5);
+  }
+
+  /**
+   * Test that quantiles must be fractions.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalQuantile() {
+    QuantileSketch sketch = new QuantileSketch(100);
+    sketch.add(1);
+    sketch.getQuantile(1.5);
+  }
+}
@@ -0,0 +1,57 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import weather.NetworkReport;
+import weather.StationAnalytics;
+import weather.Stevenson;
+
+/**
+ * Measures how StationAnalytics scales with the parallelism of the fork-join pool. Run with
+ * {@code java StationAnalyticsBenchmark [stations] [readingsPerStation] [rounds]}.
+ */
+public class StationAnalyticsBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the number of stations, of readings per station and of timed rounds
+   */
+  public static void main(String[] args) {
+    int stations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int perStation = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+    Random random = new Random(1);
+    Map<String, List<Stevenson>> network = new HashMap<>();
+    for (int s = 0; s < stations; s++) {
+      List<Stevenson> readings = new ArrayList<>(perStation);
+      for (int i = 0; i < perStation; i++) {
+        double t = random.nextDouble() * 80 - 35;
+        readings.add(new Stevenson(t, t - random.nextDouble() * 30, random.nextDouble() * 50,
+            random.nextInt(100)));
+      }
+      network.put("ST" + s, readings);
+    }
+    long readings = (long) stations * perStation;
+    StationAnalytics analytics = new StationAnalytics(40, -20, 200);
+    double single = 0;
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int parallelism = 1; parallelism <= processors; parallelism *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      long best = Long.MAX_VALUE;
+      NetworkReport report = null;
+      for (int r = 0; r < rounds; r++) {
+        long start = System.nanoTime();
+        report = analytics.analyze(network, pool);
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      pool.shutdown();
+      double perSecond = readings / (best / 1e9);
+      single = parallelism == 1 ? perSecond : single;
+      System.out.printf("%d threads: %.0f readings/s, speedup %.2f (%d heat events)%n",
+          parallelism, perSecond, perSecond / single, report.getHeatEvents());
+    }
+  }
+}
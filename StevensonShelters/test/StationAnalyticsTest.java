@@ -0,0 +1,109 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import weather.NetworkReport;
+import weather.StationAnalytics;
+import weather.StationReport;
+import weather.Stevenson;
+
+/**
+ * Unit tests for class StationAnalytics.
+ */
+public class StationAnalyticsTest {
+
+  private static Map<String, List<Stevenson>> network(int stations, int maxReadings) {
+    Random random = new Random(11);
+    Map<String, List<Stevenson>> network = new HashMap<>();
+    for (int s = 0; s < stations; s++) {
+      List<Stevenson> readings = new ArrayList<>();
+      int n = s == 0 ? 100_000 : random.nextInt(maxReadings);
+      for (int i = 0; i < n; i++) {
+        double t = random.nextDouble() * 80 - 35;
+        readings.add(new Stevenson(t, t - random.nextDouble() * 30, random.nextDouble() * 50,
+            random.nextInt(100)));
+      }
+      network.put("ST" + s, readings);
+    }
+    return network;
+  }
+
+  /**
+   * Test that the counts of every station and of the network match a sequential pass.
+   */
+  @Test
+  public void testCounts() {
+    Map<String, List<Stevenson>> network = network(300, 1000);
+    NetworkReport report = new StationAnalytics(40, -20, 200).analyze(network,
+        new ForkJoinPool(4));
+    assertEquals(300, report.getStations().size());
+    long readings = 0;
+    long heat = 0;
+    long chill = 0;
+    for (Map.Entry<String, List<Stevenson>> entry : network.entrySet()) {
+      long stationHeat = 0;
+      long stationChill = 0;
+      for (Stevenson reading : entry.getValue()) {
+        stationHeat += reading.getHeatIndex() >= 40 ? 1 : 0;
+        stationChill += reading.getWindChill() <= -20 ? 1 : 0;
+      }
+      StationReport station = report.getStation(entry.getKey());
+      assertEquals(entry.getKey(), station.getStation());
+      assertEquals(entry.getValue().size(), station.getReadings());
+      assertEquals(stationHeat, station.getHeatEvents());
+      assertEquals(stationChill, station.getWindChillAlerts());
+      readings += entry.getValue().size();
+      heat += stationHeat;
+      chill += stationChill;
+    }
+    assertEquals(readings, report.getReadings());
+    assertEquals(heat, report.getHeatEvents());
+    assertEquals(chill, report.getWindChillAlerts());
+    assertTrue(heat > 0 && chill > 0);
+  }
+
+  /**
+   * Test the humidity percentiles of the network and of a station.
+   */
+  @Test
+  public void testHumidityPercentiles() {
+    Map<String, List<Stevenson>> network = network(50, 5000);
+    NetworkReport report = new StationAnalytics(40, -20, 200).analyze(network);
+    double[] all = network.values().stream().flatMap(List::stream)
+        .mapToDouble(Stevenson::getRelativeHumidityWithoutRound).sorted().toArray();
+    double[] first = network.get("ST0").stream()
+        .mapToDouble(Stevenson::getRelativeHumidityWithoutRound).sorted().toArray();
+    for (double q : new double[]{0.05, 0.25, 0.5, 0.9, 0.99}) {
+      int rank = Arrays.binarySearch(all, report.getHumidityQuantile(q));
+      assertEquals(q, (double) (rank + 1) / all.length, 0.02);
+      rank = Arrays.binarySearch(first, report.getStation("ST0").getHumidityQuantile(q));
+      assertEquals(q, (double) (rank + 1) / first.length, 0.02);
+    }
+    assertEquals(all[all.length - 1], report.getHumidityQuantile(1), 0);
+  }
+
+  /**
+   * Test a network without stations.
+   */
+  @Test
+  public void testEmpty() {
+    NetworkReport report = new StationAnalytics(40, -20, 200).analyze(new HashMap<>());
+    assertEquals(0, report.getReadings());
+    assertTrue(report.getStations().isEmpty());
+  }
+
+  /**
+   * Test that the sketch size is checked.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSketchSize() {
+    new StationAnalytics(40, -20, 1);
+  }
+}
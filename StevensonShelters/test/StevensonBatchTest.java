@@ -0,0 +1,74 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import weather.Stevenson;
+import weather.StevensonBatch;
+
+/**
+ * Unit tests for class StevensonBatch.
+ */
+public class StevensonBatchTest {
+
+  /**
+   * Test that the batch results match the per-reading getters.
+   */
+  @Test
+  public void testMatchesStevenson() {
+    int n = 2000;
+    double[] temperature = new double[n];
+    double[] dewPoint = new double[n];
+    double[] windSpeed = new double[n];
+    for (int i = 0; i < n; i++) {
+      temperature[i] = -40 + i * 0.0437;
+      dewPoint[i] = temperature[i] - (i % 97) * 0.31;
+      windSpeed[i] = (i % 131) * 0.77;
+    }
+    int[] relativeHumidity = new int[n];
+    int[] heatIndex = new int[n];
+    int[] windChill = new int[n];
+    StevensonBatch.compute(temperature, dewPoint, windSpeed, relativeHumidity, heatIndex,
+        windChill);
+    for (int i = 0; i < n; i++) {
+      Stevenson reading = new Stevenson(temperature[i], dewPoint[i], windSpeed[i], 0);
+      assertEquals(reading.getRelativeHumidity(), relativeHumidity[i]);
+      assertEquals(reading.getHeatIndex(), heatIndex[i]);
+      assertEquals(reading.getWindChill(), windChill[i]);
+    }
+  }
+
+  /**
+   * Test the batch results of the readings used in StevensonTest.
+   */
+  @Test
+  public void testKnownValues() {
+    int[] relativeHumidity = new int[2];
+    int[] heatIndex = new int[2];
+    int[] windChill = new int[2];
+    StevensonBatch.compute(new double[]{20, -20}, new double[]{-20, -20}, new double[]{40, 60},
+        relativeHumidity, heatIndex, windChill);
+    assertEquals(5, relativeHumidity[0]);
+    assertEquals(100, relativeHumidity[1]);
+    assertEquals(20, heatIndex[0]);
+    assertEquals(245, heatIndex[1]);
+    assertEquals(19, windChill[0]);
+    assertEquals(-39, windChill[1]);
+  }
+
+  /**
+   * Test that an exception is thrown when a dew point > temperature.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidReading() {
+    StevensonBatch.compute(new double[]{3.5}, new double[]{4.5}, new double[]{10},
+        new int[1], new int[1], new int[1]);
+  }
+
+  /**
+   * Test that an exception is thrown when the columns differ in length.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedColumns() {
+    StevensonBatch.compute(new double[]{20, 21}, new double[]{10}, new double[]{10, 10},
+        new int[2], new int[2], new int[2]);
+  }
+}
@@ -0,0 +1,113 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import weather.Stevenson;
+import weather.StevensonCsvLoader;
+
+/**
+ * Unit tests for class StevensonCsvLoader.
+ */
+public class StevensonCsvLoaderTest {
+
+  private static Path write(String content) throws IOException {
+    Path file = Files.createTempFile("readings", ".csv");
+    file.toFile().deleteOnExit();
+    Files.writeString(file, content);
+    return file;
+  }
+
+  /**
+   * Test loading the readings used in StevensonTest.
+   */
+  @Test
+  public void testLoad() throws IOException {
+    Path file = write("temperature,dewPoint,windSpeed,totalRain\n20,-20,40.0,80\r\n"
+        + "-20.0,-20,6e1,5\n\n");
+    List<Stevenson> readings = new ArrayList<>();
+    long count = new StevensonCsvLoader(10, true).load(file, batch -> {
+      for (int i = 0; i < batch.size(); i++) {
+        readings.add(batch.get(i));
+      }
+    });
+    assertEquals(2, count);
+    assertEquals(20, readings.get(0).getHeatIndex());
+    assertEquals(19, readings.get(0).getWindChill());
+    assertEquals(80, readings.get(0).getTotalRain());
+    assertEquals(245, readings.get(1).getHeatIndex());
+    assertEquals(60, readings.get(1).getWindSpeed());
+  }
+
+  /**
+   * Test that batches are filled up to the batch size and split loads see every line.
+   */
+  @Test
+  public void testBatchesAndThreads() throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      content.append(i * 0.01).append(',').append(-1.5).append(',').append(i % 40)
+          .append(',').append(i).append('\n');
+    }
+    Path file = write(content.toString());
+    List<Integer> sizes = new ArrayList<>();
+    assertEquals(1000, new StevensonCsvLoader(300, false).load(file,
+        batch -> sizes.add(batch.size())));
+    assertEquals(List.of(300, 300, 300, 100), sizes);
+
+    List<Integer> rain = Collections.synchronizedList(new ArrayList<>());
+    assertEquals(1000, new StevensonCsvLoader(64, false).load(file, 3, batch -> {
+      for (int i = 0; i < batch.size(); i++) {
+        rain.add(batch.cursor().at(i).getTotalRain());
+      }
+    }));
+    Collections.sort(rain);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, (int) rain.get(i));
+    }
+  }
+
+  /**
+   * Test that an exception is thrown when a dew point > temperature.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidReading() throws IOException {
+    new StevensonCsvLoader(10, false).load(write("3.5,4.5,10.2,100\n"), batch -> { });
+  }
+
+  /**
+   * Test that an exception is thrown for a malformed number.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedNumber() throws IOException {
+    new StevensonCsvLoader(10, false).load(write("3.5,1x,10.2,100\n"), batch -> { });
+  }
+
+  /**
+   * Test that an exception is thrown for a missing field.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingField() throws IOException {
+    new StevensonCsvLoader(10, false).load(write("3.5,1,10.2\n"), batch -> { });
+  }
+
+  /**
+   * Test that an exception is thrown for a comma after the last field.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTrailingComma() throws IOException {
+    new StevensonCsvLoader(10, false).load(write("3.5,1,10.2,100,\n"), batch -> { });
+  }
+
+  /**
+   * Test that an exception is thrown for an extra field.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyFields() throws IOException {
+    new StevensonCsvLoader(10, false).load(write("3.5,1,10.2,100,7\n"), batch -> { });
+  }
+}
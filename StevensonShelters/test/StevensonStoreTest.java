@@ -0,0 +1,122 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import weather.Stevenson;
+import weather.StevensonCursor;
+import weather.StevensonStore;
+import weather.WeatherReading;
+
+/**
+ * Unit tests for classes StevensonStore and StevensonCursor.
+ */
+public class StevensonStoreTest {
+  private StevensonStore store;
+
+  /**
+   * Setup for the unit tests.
+   */
+  @Before
+  public void setUp() {
+    this.store = new StevensonStore(1);
+    this.store.add(20, -20, 40, 80);
+    this.store.add(-20, -20, 60, 5);
+  }
+
+  /**
+   * Test that the cursor reports the same values as Stevenson.
+   */
+  @Test
+  public void testCursorMatchesStevenson() {
+    StevensonCursor cursor = this.store.cursor();
+    for (int i = 0; i < 300; i++) {
+      this.store.add(-30 + i * 0.27, -35 + i * 0.2, i * 0.41, i);
+    }
+    for (int i = 0; i < this.store.size(); i++) {
+      WeatherReading expected = this.store.get(i);
+      WeatherReading actual = cursor.at(i);
+      assertEquals(expected.getTemperature(), actual.getTemperature());
+      assertEquals(expected.getDewPoint(), actual.getDewPoint());
+      assertEquals(expected.getWindSpeed(), actual.getWindSpeed());
+      assertEquals(expected.getTotalRain(), actual.getTotalRain());
+      assertEquals(expected.getRelativeHumidity(), actual.getRelativeHumidity());
+      assertEquals(expected.getHeatIndex(), actual.getHeatIndex());
+      assertEquals(expected.getWindChill(), actual.getWindChill());
+    }
+  }
+
+  /**
+   * Test the values of the readings used in StevensonTest.
+   */
+  @Test
+  public void testKnownValues() {
+    StevensonCursor cursor = this.store.cursor();
+    assertEquals(5, cursor.at(0).getRelativeHumidity());
+    assertEquals(20, cursor.getHeatIndex());
+    assertEquals(19, cursor.getWindChill());
+    assertEquals(80, cursor.getTotalRain());
+    assertEquals(245, cursor.at(1).getHeatIndex());
+    assertEquals(-39, cursor.getWindChill());
+    assertEquals(1, cursor.getIndex());
+  }
+
+  /**
+   * Test the memory used per reading.
+   */
+  @Test
+  public void testAllocatedBytes() {
+    assertEquals(2, this.store.size());
+    assertEquals(2 * StevensonStore.BYTES_PER_READING, this.store.getAllocatedBytes());
+    assertEquals(28, StevensonStore.BYTES_PER_READING);
+    this.store.clear();
+    assertEquals(0, this.store.size());
+  }
+
+  /**
+   * Test that the store grows one reading at a time from the smallest capacity.
+   */
+  @Test
+  public void testGrowth() {
+    StevensonStore small = new StevensonStore(1);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, small.add(20, 8, 20, i));
+    }
+    assertEquals(100, small.size());
+    assertEquals(128L * StevensonStore.BYTES_PER_READING, small.getAllocatedBytes());
+    assertEquals(99, small.get(99).getTotalRain());
+  }
+
+  /**
+   * Test that a capacity beyond the largest direct buffer is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityTooLarge() {
+    new StevensonStore(StevensonStore.MAX_READINGS + 1);
+  }
+
+  /**
+   * Test that readings are validated like the Stevenson constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidReading() {
+    this.store.add(20, 8, 20, -10);
+  }
+
+  /**
+   * Test that the cursor refuses indices past the end.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testCursorOutOfRange() {
+    this.store.cursor().at(2);
+  }
+
+  /**
+   * Test that a copied reading is a Stevenson.
+   */
+  @Test
+  public void testGet() {
+    Stevenson reading = this.store.get(1);
+    assertEquals(-20, reading.getTemperature());
+    assertEquals(5, reading.getTotalRain());
+  }
+}
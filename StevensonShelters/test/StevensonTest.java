@@ -108,6 +108,24 @@ public class StevensonTest {
     assertEquals(-39, this.second.getWindChill());
   }
 
+  /**
+   * Test that derived values do not depend on the order or number of calls.
+   */
+  @Test
+  public void testDerivedValuesAreCached() {
+    Stevenson reading = new Stevenson(31.5, 24.2, 12.3, 7);
+    int heatIndex = reading.getHeatIndex();
+    int windChill = reading.getWindChill();
+    double humidity = reading.getRelativeHumidityWithoutRound();
+    Stevenson other = new Stevenson(31.5, 24.2, 12.3, 7);
+    assertEquals(humidity, other.getRelativeHumidityWithoutRound(), 0);
+    assertEquals(windChill, other.getWindChill());
+    assertEquals(heatIndex, other.getHeatIndex());
+    assertEquals(heatIndex, reading.getHeatIndex());
+    assertEquals(windChill, reading.getWindChill());
+    assertEquals(Math.round(humidity), reading.getRelativeHumidity());
+  }
+
   /**
    * Test toString() method.
    */
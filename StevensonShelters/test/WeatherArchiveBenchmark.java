@@ -0,0 +1,70 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import weather.WeatherArchive;
+import weather.WeatherArchiveWriter;
+
+/**
+ * Measures the compression ratio and decoding speed of WeatherArchive on a simulated station
+ * reporting every minute with sensors of 0.1 resolution. Sizes are compared with the same
+ * readings stored as five raw 8-byte values. Run with
+ * {@code java WeatherArchiveBenchmark [readings] [rounds]}.
+ */
+public class WeatherArchiveBenchmark {
+  private static final int RAW_BYTES = 5 * Long.BYTES;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the number of readings and of timed rounds
+   * @throws IOException if the temporary archive cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    Path file = Files.createTempFile("benchmark", ".wxa");
+    file.toFile().deleteOnExit();
+    Random random = new Random(1);
+    long time = 1_600_000_000_000L;
+    double temperature = 15;
+    double spread = 5;
+    double wind = 10;
+    int rain = 0;
+    long start = System.nanoTime();
+    try (WeatherArchiveWriter writer = new WeatherArchiveWriter(file, 4096)) {
+      for (int i = 0; i < n; i++) {
+        time += random.nextInt(50) == 0 ? 60_000 + random.nextInt(2000) - 1000 : 60_000;
+        double daily = 8 * Math.sin(2 * Math.PI * (i % 1440) / 1440);
+        temperature += (15 + daily - temperature) * 0.01 + random.nextGaussian() * 0.05;
+        spread = Math.max(0, spread + random.nextGaussian() * 0.05);
+        wind = Math.max(0, wind + random.nextGaussian() * 0.3);
+        if (random.nextInt(30) == 0) {
+          rain += random.nextInt(3);
+        }
+        double t = Math.round(temperature * 10) / 10.0;
+        double d = Math.round((temperature - spread) * 10) / 10.0;
+        writer.append(time, t, Math.min(d, t), Math.round(wind * 10) / 10.0, rain);
+      }
+    }
+    long encode = System.nanoTime() - start;
+    WeatherArchive archive = WeatherArchive.open(file);
+    System.out.printf("encode: %.1f ns/reading%n", (double) encode / n);
+    System.out.printf("size: %.2f bytes/reading, %.1fx smaller than raw%n",
+        (double) archive.getCompressedBytes() / n,
+        (double) n * RAW_BYTES / archive.getCompressedBytes());
+    double[] checksum = new double[1];
+    long best = Long.MAX_VALUE;
+    for (int r = 0; r < rounds; r++) {
+      start = System.nanoTime();
+      archive.scan(Long.MIN_VALUE, Long.MAX_VALUE, block -> {
+        for (int i = 0; i < block.size(); i++) {
+          checksum[0] += block.getTemperature(i);
+        }
+      });
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("decode: %.1f ns/reading, %.2f GB/s of raw values (checksum %.0f)%n",
+        (double) best / n, (double) n * RAW_BYTES / best, checksum[0]);
+  }
+}
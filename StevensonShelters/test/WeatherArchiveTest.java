@@ -0,0 +1,185 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import weather.WeatherArchive;
+import weather.WeatherArchiveWriter;
+import weather.WeatherBlock;
+
+/**
+ * Unit tests for classes WeatherArchive and WeatherArchiveWriter.
+ */
+public class WeatherArchiveTest {
+  private static final int READINGS = 10_000;
+
+  private final long[] timestamps = new long[READINGS];
+  private final double[] temperature = new double[READINGS];
+  private final double[] dewPoint = new double[READINGS];
+  private final double[] windSpeed = new double[READINGS];
+  private final int[] totalRain = new int[READINGS];
+
+  private static Path file() throws IOException {
+    Path file = Files.createTempFile("readings", ".wxa");
+    file.toFile().deleteOnExit();
+    return file;
+  }
+
+  /**
+   * Writes readings every minute with occasional jitter and gaps, sensor values of one
+   * decimal and some arbitrary doubles.
+   */
+  private Path writeArchive(int blockSize) throws IOException {
+    Random random = new Random(7);
+    Path file = file();
+    long time = 1_600_000_000_000L;
+    double t = 15;
+    int rain = 0;
+    try (WeatherArchiveWriter writer = new WeatherArchiveWriter(file, blockSize)) {
+      for (int i = 0; i < READINGS; i++) {
+        int kind = random.nextInt(100);
+        time += kind < 90 ? 60_000 : kind < 97 ? 60_000 + random.nextInt(3000) - 1500
+            : kind < 99 ? random.nextInt(10_000_000) : 0;
+        t = Math.round((t + random.nextGaussian() * 0.3) * 10) / 10.0;
+        double d = random.nextInt(10) == 0 ? t - random.nextDouble() * 20
+            : Math.round((t - 5 - random.nextInt(30) / 10.0) * 10) / 10.0;
+        double v = random.nextInt(5) == 0 ? this.windSpeed[Math.max(i - 1, 0)]
+            : random.nextInt(200) / 10.0;
+        rain = random.nextInt(20) == 0 ? random.nextInt(Integer.MAX_VALUE)
+            : rain + random.nextInt(3);
+        rain = Math.max(rain, 0);
+        this.timestamps[i] = time;
+        this.temperature[i] = t;
+        this.dewPoint[i] = d;
+        this.windSpeed[i] = v;
+        this.totalRain[i] = rain;
+        writer.append(time, t, d, v, rain);
+      }
+    }
+    return file;
+  }
+
+  private void assertReading(int i, WeatherBlock block, int j) {
+    assertEquals(this.timestamps[i], block.getTimestamp(j));
+    assertEquals(this.temperature[i], block.getTemperature(j), 0);
+    assertEquals(this.dewPoint[i], block.getDewPoint(j), 0);
+    assertEquals(this.windSpeed[i], block.getWindSpeed(j), 0);
+    assertEquals(this.totalRain[i], block.getTotalRain(j));
+  }
+
+  /**
+   * Test that every reading is decoded exactly, block by block and with a full scan.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    WeatherArchive archive = WeatherArchive.open(writeArchive(1000));
+    assertEquals(10, archive.getBlockCount());
+    assertEquals(READINGS, archive.getReadingCount());
+    WeatherBlock block = new WeatherBlock(archive.getBlockSize());
+    for (int b = 0; b < archive.getBlockCount(); b++) {
+      archive.read(b, block);
+      assertEquals(1000, block.size());
+      for (int j = 0; j < block.size(); j++) {
+        assertReading(b * 1000 + j, block, j);
+      }
+    }
+    int[] next = new int[1];
+    assertEquals(READINGS, archive.scan(Long.MIN_VALUE, Long.MAX_VALUE, decoded -> {
+      for (int j = 0; j < decoded.size(); j++) {
+        assertReading(next[0]++, decoded, j);
+      }
+    }));
+    assertEquals(READINGS, next[0]);
+    assertTrue(archive.getCompressedBytes() < READINGS * 40L / 2);
+  }
+
+  /**
+   * Test that a time range scan returns exactly the readings in the range.
+   */
+  @Test
+  public void testScanRange() throws IOException {
+    WeatherArchive archive = WeatherArchive.open(writeArchive(333));
+    Random random = new Random(3);
+    for (int k = 0; k < 50; k++) {
+      int a = random.nextInt(READINGS);
+      int b = random.nextInt(READINGS);
+      long from = this.timestamps[Math.min(a, b)] + random.nextInt(3) - 1;
+      long to = this.timestamps[Math.max(a, b)] + random.nextInt(3) - 1;
+      List<Long> expected = new ArrayList<>();
+      for (long timestamp : this.timestamps) {
+        if (timestamp >= from && timestamp < to) {
+          expected.add(timestamp);
+        }
+      }
+      List<Long> actual = new ArrayList<>();
+      long count = archive.scan(from, to, block -> {
+        for (int j = 0; j < block.size(); j++) {
+          actual.add(block.getTimestamp(j));
+        }
+      });
+      assertEquals(expected, actual);
+      assertEquals(expected.size(), count);
+    }
+  }
+
+  /**
+   * Test an archive without readings.
+   */
+  @Test
+  public void testEmpty() throws IOException {
+    Path file = file();
+    new WeatherArchiveWriter(file, 10).close();
+    WeatherArchive archive = WeatherArchive.open(file);
+    assertEquals(0, archive.getBlockCount());
+    assertEquals(0, archive.scan(Long.MIN_VALUE, Long.MAX_VALUE, block -> {
+      throw new AssertionError();
+    }));
+  }
+
+  /**
+   * Test that readings must be appended in time order.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfOrder() throws IOException {
+    try (WeatherArchiveWriter writer = new WeatherArchiveWriter(file(), 2)) {
+      writer.append(10, 20, 10, 5, 0);
+      writer.append(20, 20, 10, 5, 0);
+      writer.append(15, 20, 10, 5, 0);
+    }
+  }
+
+  /**
+   * Test that invalid readings are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidReading() throws IOException {
+    try (WeatherArchiveWriter writer = new WeatherArchiveWriter(file(), 2)) {
+      writer.append(10, 10, 20, 5, 0);
+    }
+  }
+
+  /**
+   * Test that a closed writer cannot be appended to.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testAppendAfterClose() throws IOException {
+    WeatherArchiveWriter writer = new WeatherArchiveWriter(file(), 2);
+    writer.close();
+    writer.append(10, 20, 10, 5, 0);
+  }
+
+  /**
+   * Test that other files are rejected.
+   */
+  @Test(expected = IOException.class)
+  public void testNotAnArchive() throws IOException {
+    Path file = file();
+    Files.writeString(file, "temperature,dewPoint,windSpeed,totalRain\n20,-20,40,80\n");
+    WeatherArchive.open(file);
+  }
+}
@@ -0,0 +1,133 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import weather.Stevenson;
+import weather.WeatherMetric;
+import weather.WindowAggregator;
+
+/**
+ * Unit tests for class WindowAggregator.
+ */
+public class WindowAggregatorTest {
+  private static final long MINUTE = 60_000;
+  private static final long HOUR = 60 * MINUTE;
+  private WindowAggregator aggregator;
+
+  /**
+   * Setup for the unit tests.
+   */
+  @Before
+  public void setUp() {
+    this.aggregator = new WindowAggregator(MINUTE, HOUR);
+  }
+
+  /**
+   * Test the statistics of a few readings.
+   */
+  @Test
+  public void testSimpleWindow() {
+    this.aggregator.add(7, 0, 20, -20, 40);
+    this.aggregator.add(7, 30_000, 10, 0, 0);
+    this.aggregator.add(7, 60_000, 30, 10, 5);
+    assertEquals(2, this.aggregator.getCount(7, MINUTE));
+    assertEquals(3, this.aggregator.getCount(7, HOUR));
+    assertEquals(10, this.aggregator.getMin(7, WeatherMetric.TEMPERATURE, MINUTE), 0);
+    assertEquals(30, this.aggregator.getMax(7, WeatherMetric.TEMPERATURE, MINUTE), 0);
+    assertEquals(20, this.aggregator.getMean(7, WeatherMetric.TEMPERATURE, HOUR), 1e-12);
+    assertEquals(new Stevenson(20, -20, 40, 0).getHeatIndex(),
+        Math.round(this.aggregator.getMin(7, WeatherMetric.HEAT_INDEX, HOUR)));
+    assertTrue(Double.isNaN(this.aggregator.getMean(3, WeatherMetric.TEMPERATURE, HOUR)));
+  }
+
+  /**
+   * Test the incremental statistics against recomputing them from every reading.
+   */
+  @Test
+  public void testAgainstBruteForce() {
+    Random random = new Random(31);
+    List<List<double[]>> history = new ArrayList<>();
+    long[] clock = new long[3];
+    for (int i = 0; i < 3; i++) {
+      history.add(new ArrayList<>());
+    }
+    for (int i = 0; i < 5000; i++) {
+      int station = random.nextInt(3);
+      clock[station] += random.nextInt(20_000);
+      double temperature = random.nextDouble() * 60 - 20;
+      double dewPoint = temperature - random.nextDouble() * 20;
+      double windSpeed = random.nextDouble() * 50;
+      this.aggregator.add(station, clock[station], temperature, dewPoint, windSpeed);
+      history.get(station).add(new double[]{clock[station], temperature, dewPoint, windSpeed});
+
+      for (WeatherMetric metric : WeatherMetric.values()) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        int count = 0;
+        for (double[] r : history.get(station)) {
+          if (r[0] > clock[station] - MINUTE) {
+            double x = metric.of(r[1], r[2], r[3]);
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+            sum += x;
+            count++;
+          }
+        }
+        assertEquals(count, this.aggregator.getCount(station, MINUTE));
+        assertEquals(min, this.aggregator.getMin(station, metric, MINUTE), 0);
+        assertEquals(max, this.aggregator.getMax(station, metric, MINUTE), 0);
+        assertEquals(sum / count, this.aggregator.getMean(station, metric, MINUTE), 1e-6);
+      }
+    }
+  }
+
+  /**
+   * Test that readings must arrive in time order per station.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfOrder() {
+    this.aggregator.add(1, 1000, 20, 10, 5);
+    this.aggregator.add(1, 999, 20, 10, 5);
+  }
+
+  /**
+   * Test that only configured windows can be queried.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownWindow() {
+    this.aggregator.getMean(1, WeatherMetric.TEMPERATURE, 1234);
+  }
+
+  /**
+   * Test that sparse and very large station IDs are kept apart without huge allocations.
+   */
+  @Test
+  public void testSparseStationIds() {
+    int[] ids = new int[2000];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = Integer.MAX_VALUE - 1_000_003 * i;
+      this.aggregator.add(ids[i], 0, i % 40, i % 40 - 5, 3);
+    }
+    this.aggregator.add(2_000_000_000, 0, 15, 5, 3);
+    for (int i = 0; i < ids.length; i++) {
+      assertEquals(1, this.aggregator.getCount(ids[i], HOUR));
+      assertEquals(i % 40, this.aggregator.getMax(ids[i], WeatherMetric.TEMPERATURE, HOUR), 0);
+    }
+    assertEquals(15, this.aggregator.getMin(2_000_000_000, WeatherMetric.TEMPERATURE, HOUR), 0);
+    assertEquals(0, this.aggregator.getCount(12345, HOUR));
+    assertEquals(0, this.aggregator.getCount(-1, HOUR));
+  }
+
+  /**
+   * Test that negative station IDs are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeStation() {
+    this.aggregator.add(-1, 0, 20, 10, 5);
+  }
+}
@@ -0,0 +1,8 @@
+package checkers;
+
+/**
+ * Game-theoretic value of a position from the point of view of the side to move.
+ */
+public enum GameResult {
+  WIN, LOSS, DRAW
+}
@@ -0,0 +1,184 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A material signature (how many men and kings each side has) together with the index
+ * scheme of its tablebase slice.
+ *
+ * <p>Positions are indexed by placing the groups one after another with the combinatorial
+ * number system: black men on the 28 cells they may stand on, white men on their 28 cells
+ * minus those taken by black men, then black kings and white kings on the cells still free.
+ * The last bit of an index is the side to move. The scheme is collision free and dense except
+ * for a few slots left unused when black men stand on cells white men could not use anyway.
+ */
+final class Material {
+  private static final long[][] BINOMIAL = new long[33][33];
+
+  static {
+    for (int n = 0; n <= 32; n++) {
+      BINOMIAL[n][0] = 1;
+      for (int k = 1; k <= n; k++) {
+        BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+      }
+    }
+  }
+
+  final int blackMen;
+  final int blackKings;
+  final int whiteMen;
+  final int whiteKings;
+  final long size;
+  private final long whiteMenRadix;
+  private final long blackKingRadix;
+  private final long whiteKingRadix;
+
+  Material(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+    this.blackMen = blackMen;
+    this.blackKings = blackKings;
+    this.whiteMen = whiteMen;
+    this.whiteKings = whiteKings;
+    int free = 32 - blackMen - whiteMen;
+    this.whiteMenRadix = BINOMIAL[28][whiteMen];
+    this.blackKingRadix = BINOMIAL[free][blackKings];
+    this.whiteKingRadix = BINOMIAL[free - blackKings][whiteKings];
+    this.size = BINOMIAL[28][blackMen] * this.whiteMenRadix * this.blackKingRadix
+        * this.whiteKingRadix * 2;
+  }
+
+  /**
+   * Returns the signature of the given bitboards.
+   */
+  static Material of(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+    return new Material(Integer.bitCount(blackMen), Integer.bitCount(blackKings),
+        Integer.bitCount(whiteMen), Integer.bitCount(whiteKings));
+  }
+
+  /**
+   * Returns every signature with both sides present and at most the given number of pieces,
+   * grouped so that each group only depends on the groups before it: by piece count, then by
+   * number of men, since captures remove pieces and crowning turns men into kings.
+   */
+  static List<List<Material>> upTo(int maxPieces) {
+    List<List<Material>> levels = new ArrayList<>();
+    for (int pieces = 2; pieces <= maxPieces; pieces++) {
+      for (int men = 0; men <= pieces; men++) {
+        List<Material> level = new ArrayList<>();
+        for (int bm = 0; bm <= men; bm++) {
+          for (int bk = 0; bk <= pieces - men; bk++) {
+            int wm = men - bm;
+            int wk = pieces - men - bk;
+            if (bm + bk > 0 && wm + wk > 0 && bm <= 12 && wm <= 12) {
+              level.add(new Material(bm, bk, wm, wk));
+            }
+          }
+        }
+        if (!level.isEmpty()) {
+          levels.add(level);
+        }
+      }
+    }
+    return levels;
+  }
+
+  /**
+   * Packs the signature into an int, usable as a map key.
+   */
+  static int key(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+    return blackMen | blackKings << 8 | whiteMen << 16 | whiteKings << 24;
+  }
+
+  int key() {
+    return key(this.blackMen, this.blackKings, this.whiteMen, this.whiteKings);
+  }
+
+  String fileName() {
+    return String.format("%d-%d-%d-%d.ctb", this.blackMen, this.blackKings, this.whiteMen,
+        this.whiteKings);
+  }
+
+  /**
+   * Returns the index of a position with this signature.
+   */
+  long index(int blackMen, int blackKings, int whiteMen, int whiteKings, boolean blackToMove) {
+    int men = blackMen | whiteMen;
+    long index = rank(blackMen, 0xF);
+    index = index * this.whiteMenRadix + rank(whiteMen, blackMen);
+    index = index * this.blackKingRadix + rank(blackKings, men);
+    index = index * this.whiteKingRadix + rank(whiteKings, men | blackKings);
+    return index * 2 + (blackToMove ? 0 : 1);
+  }
+
+  /**
+   * Decodes an index into {black men, black kings, white men, white kings, black to move}.
+   * @return false if the index is one of the unused slots
+   */
+  boolean decode(long index, int[] out) {
+    out[4] = (index & 1) == 0 ? 1 : 0;
+    index >>>= 1;
+    long whiteKingIndex = index % this.whiteKingRadix;
+    index /= this.whiteKingRadix;
+    long blackKingIndex = index % this.blackKingRadix;
+    index /= this.blackKingRadix;
+    long whiteMenIndex = index % this.whiteMenRadix;
+    long blackMenIndex = index / this.whiteMenRadix;
+
+    out[0] = unrank(blackMenIndex, this.blackMen, 0xF, 32);
+    out[2] = unrank(whiteMenIndex, this.whiteMen, out[0], 28);
+    if (out[2] == -1) {
+      return false;
+    }
+    int men = out[0] | out[2];
+    out[1] = unrank(blackKingIndex, this.blackKings, men, 32);
+    out[3] = unrank(whiteKingIndex, this.whiteKings, men | out[1], 32);
+    return true;
+  }
+
+  /**
+   * Ranks a set of squares among the squares not blocked.
+   */
+  private static long rank(int squares, int blocked) {
+    long index = 0;
+    int i = 1;
+    for (int rest = squares; rest != 0; rest &= rest - 1, i++) {
+      int square = Integer.numberOfTrailingZeros(rest);
+      int below = (1 << square) - 1;
+      index += BINOMIAL[square - Integer.bitCount(blocked & below)][i];
+    }
+    return index;
+  }
+
+  /**
+   * Inverse of {@link #rank}, returns -1 if a rank falls outside the free squares below limit.
+   */
+  private static int unrank(long index, int count, int blocked, int limit) {
+    int squares = 0;
+    int candidate = 31;
+    for (int i = count; i > 0; i--) {
+      while (BINOMIAL[candidate][i] > index) {
+        candidate--;
+      }
+      index -= BINOMIAL[candidate][i];
+      int square = select(candidate, blocked, limit);
+      if (square < 0) {
+        return -1;
+      }
+      squares |= 1 << square;
+      candidate--;
+    }
+    return squares;
+  }
+
+  private static int select(int rank, int blocked, int limit) {
+    for (int square = 0; square < limit; square++) {
+      if ((blocked >>> square & 1) == 0) {
+        if (rank == 0) {
+          return square;
+        }
+        rank--;
+      }
+    }
+    return -1;
+  }
+}
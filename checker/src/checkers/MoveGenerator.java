@@ -0,0 +1,236 @@
+package checkers;
+
+/**
+ * Generates legal moves on bitboards. The 32 black cells are numbered row by row, so the
+ * square of (row, column) is row * 4 + column / 2. The movement rules are the ones of
+ * {@link Man} and {@link King}: black men move towards row 0, white men towards row 7 and
+ * kings move one step diagonally in any direction. Captures are mandatory, a capturing piece
+ * keeps jumping while it can, and a man that reaches the far row is crowned and stops.
+ */
+final class MoveGenerator {
+  /** Squares on row 0, where black men are crowned. */
+  static final int BLACK_PROMOTION = 0x0000000F;
+  /** Squares on row 7, where white men are crowned. */
+  static final int WHITE_PROMOTION = 0xF0000000;
+
+  // Directions: 0 = (-1, -1), 1 = (-1, +1), 2 = (+1, -1), 3 = (+1, +1).
+  private static final int[][] NEIGHBOR = new int[32][4];
+  private static final int[][] JUMP = new int[32][4];
+
+  static {
+    for (int sq = 0; sq < 32; sq++) {
+      for (int d = 0; d < 4; d++) {
+        int dr = d < 2 ? -1 : 1;
+        int dc = (d & 1) == 0 ? -1 : 1;
+        NEIGHBOR[sq][d] = squareOrNone(row(sq) + dr, column(sq) + dc);
+        JUMP[sq][d] = squareOrNone(row(sq) + 2 * dr, column(sq) + 2 * dc);
+      }
+    }
+  }
+
+  private MoveGenerator() {
+  }
+
+  /**
+   * Returns the square number of a black cell.
+   * @param row row of the cell
+   * @param column column of the cell
+   * @return the square number
+   */
+  static int square(int row, int column) {
+    return row * 4 + column / 2;
+  }
+
+  static int row(int square) {
+    return square >> 2;
+  }
+
+  static int column(int square) {
+    return 2 * (square & 3) + (row(square) & 1);
+  }
+
+  private static int squareOrNone(int row, int column) {
+    if (row < 0 || row > 7 || column < 0 || column > 7) {
+      return -1;
+    }
+    return square(row, column);
+  }
+
+  /**
+   * Adds every position reachable in one move by the side to move to the given list.
+   * The list is cleared first. An empty list means the side to move has lost.
+   * @param blackMen the squares holding black men
+   * @param blackKings the squares holding black kings
+   * @param whiteMen the squares holding white men
+   * @param whiteKings the squares holding white kings
+   * @param blackToMove true if black is to move
+   * @param out the list receiving the successor positions
+   */
+  static void generate(int blackMen, int blackKings, int whiteMen, int whiteKings,
+                       boolean blackToMove, MoveList out) {
+    out.clear();
+    Side side = blackToMove
+        ? new Side(blackMen, blackKings, whiteMen, whiteKings, true)
+        : new Side(whiteMen, whiteKings, blackMen, blackKings, false);
+    if (!side.captures(out)) {
+      side.steps(out);
+    }
+  }
+
+  /**
+   * Adds to the given list every position from which the side that just moved could have
+   * reached this one by a step that neither captures nor crowns, i.e. every predecessor with
+   * the same material. The list is cleared first. The predecessors are not checked for
+   * captures, which would have made the step illegal; callers must rule those out.
+   * @param blackMen the squares holding black men
+   * @param blackKings the squares holding black kings
+   * @param whiteMen the squares holding white men
+   * @param whiteKings the squares holding white kings
+   * @param blackToMove true if black is to move, so white made the last move
+   * @param out the list receiving the predecessor positions
+   */
+  static void unmoves(int blackMen, int blackKings, int whiteMen, int whiteKings,
+                      boolean blackToMove, MoveList out) {
+    out.clear();
+    Side side = blackToMove
+        ? new Side(whiteMen, whiteKings, blackMen, blackKings, false)
+        : new Side(blackMen, blackKings, whiteMen, whiteKings, true);
+    side.unsteps(out);
+  }
+
+  /**
+   * The pieces seen from the side to move.
+   */
+  private static final class Side {
+    private final int ownMen;
+    private final int ownKings;
+    private final int oppMen;
+    private final int oppKings;
+    private final boolean black;
+    private final int firstForward;
+    private final int promotion;
+
+    Side(int ownMen, int ownKings, int oppMen, int oppKings, boolean black) {
+      this.ownMen = ownMen;
+      this.ownKings = ownKings;
+      this.oppMen = oppMen;
+      this.oppKings = oppKings;
+      this.black = black;
+      this.firstForward = black ? 0 : 2;
+      this.promotion = black ? BLACK_PROMOTION : WHITE_PROMOTION;
+    }
+
+    private void add(int ownMen, int ownKings, int oppMen, int oppKings, MoveList out) {
+      if (this.black) {
+        out.add(ownMen, ownKings, oppMen, oppKings);
+      } else {
+        out.add(oppMen, oppKings, ownMen, ownKings);
+      }
+    }
+
+    void steps(MoveList out) {
+      int empty = ~(this.ownMen | this.ownKings | this.oppMen | this.oppKings);
+      for (int pieces = this.ownMen; pieces != 0; pieces &= pieces - 1) {
+        int from = Integer.numberOfTrailingZeros(pieces);
+        for (int d = this.firstForward; d < this.firstForward + 2; d++) {
+          int to = NEIGHBOR[from][d];
+          if (to >= 0 && (empty >>> to & 1) != 0) {
+            int men = this.ownMen & ~(1 << from);
+            if ((this.promotion >>> to & 1) != 0) {
+              add(men, this.ownKings | 1 << to, this.oppMen, this.oppKings, out);
+            } else {
+              add(men | 1 << to, this.ownKings, this.oppMen, this.oppKings, out);
+            }
+          }
+        }
+      }
+      for (int pieces = this.ownKings; pieces != 0; pieces &= pieces - 1) {
+        int from = Integer.numberOfTrailingZeros(pieces);
+        for (int d = 0; d < 4; d++) {
+          int to = NEIGHBOR[from][d];
+          if (to >= 0 && (empty >>> to & 1) != 0) {
+            add(this.ownMen, this.ownKings & ~(1 << from) | 1 << to,
+                this.oppMen, this.oppKings, out);
+          }
+        }
+      }
+    }
+
+    /**
+     * The reverse of {@link #steps}: moves men backwards and kings in any direction.
+     */
+    void unsteps(MoveList out) {
+      int empty = ~(this.ownMen | this.ownKings | this.oppMen | this.oppKings);
+      int firstBackward = 2 - this.firstForward;
+      for (int pieces = this.ownMen; pieces != 0; pieces &= pieces - 1) {
+        int to = Integer.numberOfTrailingZeros(pieces);
+        for (int d = firstBackward; d < firstBackward + 2; d++) {
+          int from = NEIGHBOR[to][d];
+          if (from >= 0 && (empty >>> from & 1) != 0) {
+            add(this.ownMen & ~(1 << to) | 1 << from, this.ownKings,
+                this.oppMen, this.oppKings, out);
+          }
+        }
+      }
+      for (int pieces = this.ownKings; pieces != 0; pieces &= pieces - 1) {
+        int to = Integer.numberOfTrailingZeros(pieces);
+        for (int d = 0; d < 4; d++) {
+          int from = NEIGHBOR[to][d];
+          if (from >= 0 && (empty >>> from & 1) != 0) {
+            add(this.ownMen, this.ownKings & ~(1 << to) | 1 << from,
+                this.oppMen, this.oppKings, out);
+          }
+        }
+      }
+    }
+
+    boolean captures(MoveList out) {
+      boolean found = false;
+      for (int pieces = this.ownMen | this.ownKings; pieces != 0; pieces &= pieces - 1) {
+        int from = Integer.numberOfTrailingZeros(pieces);
+        boolean king = (this.ownKings >>> from & 1) != 0;
+        int men = this.ownMen & ~(1 << from);
+        int kings = this.ownKings & ~(1 << from);
+        found |= jump(from, king, men, kings, 0, out);
+      }
+      return found;
+    }
+
+    /**
+     * Continues a capture sequence from the given square. Captured pieces stay on the board
+     * as blockers until the sequence ends, as in the standard rules.
+     */
+    private boolean jump(int at, boolean king, int men, int kings, int captured, MoveList out) {
+      int opponents = this.oppMen | this.oppKings;
+      int occupied = men | kings | opponents;
+      int first = king ? 0 : this.firstForward;
+      int last = king ? 4 : this.firstForward + 2;
+      boolean found = false;
+      for (int d = first; d < last; d++) {
+        int over = NEIGHBOR[at][d];
+        int to = JUMP[at][d];
+        if (to < 0 || ((opponents & ~captured) >>> over & 1) == 0
+            || (occupied >>> to & 1) != 0) {
+          continue;
+        }
+        found = true;
+        int taken = captured | 1 << over;
+        if (!king && (this.promotion >>> to & 1) != 0) {
+          finish(to, true, men, kings, taken, out);
+        } else if (!jump(to, king, men, kings, taken, out)) {
+          finish(to, king, men, kings, taken, out);
+        }
+      }
+      return found;
+    }
+
+    private void finish(int at, boolean king, int men, int kings, int taken, MoveList out) {
+      if (king) {
+        kings |= 1 << at;
+      } else {
+        men |= 1 << at;
+      }
+      add(men, kings, this.oppMen & ~taken, this.oppKings & ~taken, out);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of successor positions. Each entry is stored as four consecutive ints
+ * (black men, black kings, white men, white kings) so that move generation does not allocate
+ * once the list has grown to its working size.
+ */
+final class MoveList {
+  private int[] data = new int[4 * 32];
+  private int size;
+
+  /**
+   * Removes all entries from this list.
+   */
+  void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Returns the number of positions in this list.
+   * @return the number of positions
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Appends a position to this list.
+   * @param blackMen the squares holding black men
+   * @param blackKings the squares holding black kings
+   * @param whiteMen the squares holding white men
+   * @param whiteKings the squares holding white kings
+   */
+  void add(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+    int offset = this.size * 4;
+    if (offset == this.data.length) {
+      this.data = Arrays.copyOf(this.data, this.data.length * 2);
+    }
+    this.data[offset] = blackMen;
+    this.data[offset + 1] = blackKings;
+    this.data[offset + 2] = whiteMen;
+    this.data[offset + 3] = whiteKings;
+    this.size++;
+  }
+
+  int blackMen(int i) {
+    return this.data[i * 4];
+  }
+
+  int blackKings(int i) {
+    return this.data[i * 4 + 1];
+  }
+
+  int whiteMen(int i) {
+    return this.data[i * 4 + 2];
+  }
+
+  int whiteKings(int i) {
+    return this.data[i * 4 + 3];
+  }
+}
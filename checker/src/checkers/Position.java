@@ -0,0 +1,205 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable checkers position: the pieces on the board and the side to move.
+ * Pieces are kept as four bitboards over the 32 black cells, so positions are cheap to copy,
+ * compare and index.
+ */
+public final class Position {
+  private final int blackMen;
+  private final int blackKings;
+  private final int whiteMen;
+  private final int whiteKings;
+  private final Color sideToMove;
+
+  Position(int blackMen, int blackKings, int whiteMen, int whiteKings, Color sideToMove) {
+    this.blackMen = blackMen;
+    this.blackKings = blackKings;
+    this.whiteMen = whiteMen;
+    this.whiteKings = whiteKings;
+    this.sideToMove = sideToMove;
+  }
+
+  /**
+   * Creates a position from a collection of pieces.
+   * @param pieces the pieces on the board, {@link King} instances are kings, all others are men
+   * @param sideToMove the color to move
+   * @return the position
+   * @throws IllegalArgumentException if two pieces share a cell, a man stands on the row where
+   *                                  it would be crowned, or the side to move is null
+   */
+  public static Position of(Collection<? extends CheckersPiece> pieces, Color sideToMove)
+      throws IllegalArgumentException {
+    if (sideToMove == null) {
+      throw new IllegalArgumentException("The side to move must have a color.");
+    }
+    int[] boards = new int[4];
+    int occupied = 0;
+    for (CheckersPiece piece : pieces) {
+      int square = MoveGenerator.square(piece.getRow(), piece.getColumn());
+      if ((occupied >>> square & 1) != 0) {
+        throw new IllegalArgumentException("Two pieces cannot share a cell.");
+      }
+      occupied |= 1 << square;
+      boolean king = piece instanceof King;
+      boolean black = piece.getColor() == Color.BLACK;
+      int promotion = black ? MoveGenerator.BLACK_PROMOTION : MoveGenerator.WHITE_PROMOTION;
+      if (!king && (promotion >>> square & 1) != 0) {
+        throw new IllegalArgumentException("A man cannot stand on its crowning row.");
+      }
+      boards[(black ? 0 : 2) + (king ? 1 : 0)] |= 1 << square;
+    }
+    return new Position(boards[0], boards[1], boards[2], boards[3], sideToMove);
+  }
+
+  /**
+   * Returns the starting position: twelve white men on rows 0 to 2, twelve black men on
+   * rows 5 to 7, black to move.
+   * @return the starting position
+   */
+  public static Position initial() {
+    return new Position(0xFFF00000, 0, 0x00000FFF, 0, Color.BLACK);
+  }
+
+  /**
+   * Returns the color to move.
+   * @return the color to move
+   */
+  public Color getSideToMove() {
+    return this.sideToMove;
+  }
+
+  /**
+   * Returns the pieces on the board, ordered by square.
+   * @return the pieces on the board
+   */
+  public List<CheckersPiece> getPieces() {
+    List<CheckersPiece> pieces = new ArrayList<>();
+    for (int all = this.blackMen | this.blackKings | this.whiteMen | this.whiteKings; all != 0;
+         all &= all - 1) {
+      int square = Integer.numberOfTrailingZeros(all);
+      int row = MoveGenerator.row(square);
+      int column = MoveGenerator.column(square);
+      Color color = ((this.blackMen | this.blackKings) >>> square & 1) != 0
+          ? Color.BLACK : Color.WHITE;
+      if (((this.blackKings | this.whiteKings) >>> square & 1) != 0) {
+        pieces.add(new King(row, column, color));
+      } else {
+        pieces.add(new Man(row, column, color));
+      }
+    }
+    return Collections.unmodifiableList(pieces);
+  }
+
+  /**
+   * Returns the number of pieces on the board.
+   * @return the number of pieces
+   */
+  public int getPieceCount() {
+    return Integer.bitCount(this.blackMen | this.blackKings | this.whiteMen | this.whiteKings);
+  }
+
+  /**
+   * Returns every position reachable in one legal move.
+   * @return the successor positions, empty if the side to move has lost
+   */
+  public List<Position> successors() {
+    MoveList moves = new MoveList();
+    generate(moves);
+    Color next = this.sideToMove == Color.BLACK ? Color.WHITE : Color.BLACK;
+    List<Position> result = new ArrayList<>(moves.size());
+    for (int i = 0; i < moves.size(); i++) {
+      result.add(new Position(moves.blackMen(i), moves.blackKings(i), moves.whiteMen(i),
+          moves.whiteKings(i), next));
+    }
+    return result;
+  }
+
+  /**
+   * Returns true if the side to move has no legal move and has therefore lost.
+   * @return true if the game is over
+   */
+  public boolean isGameOver() {
+    MoveList moves = new MoveList();
+    generate(moves);
+    return moves.size() == 0;
+  }
+
+  void generate(MoveList moves) {
+    MoveGenerator.generate(this.blackMen, this.blackKings, this.whiteMen, this.whiteKings,
+        this.sideToMove == Color.BLACK, moves);
+  }
+
+  int getBlackMen() {
+    return this.blackMen;
+  }
+
+  int getBlackKings() {
+    return this.blackKings;
+  }
+
+  int getWhiteMen() {
+    return this.whiteMen;
+  }
+
+  int getWhiteKings() {
+    return this.whiteKings;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Position)) {
+      return false;
+    }
+    Position that = (Position) o;
+    return this.blackMen == that.blackMen && this.blackKings == that.blackKings
+        && this.whiteMen == that.whiteMen && this.whiteKings == that.whiteKings
+        && this.sideToMove == that.sideToMove;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.blackMen, this.blackKings, this.whiteMen, this.whiteKings,
+        this.sideToMove);
+  }
+
+  /**
+   * Draws the board with row 0 on top: b/w for men, B/W for kings and . for empty cells.
+   * @return string representation of the position
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < 8; row++) {
+      for (int column = 0; column < 8; column++) {
+        if ((row + column) % 2 != 0) {
+          sb.append(' ');
+          continue;
+        }
+        int bit = 1 << MoveGenerator.square(row, column);
+        if ((this.blackMen & bit) != 0) {
+          sb.append('b');
+        } else if ((this.blackKings & bit) != 0) {
+          sb.append('B');
+        } else if ((this.whiteMen & bit) != 0) {
+          sb.append('w');
+        } else if ((this.whiteKings & bit) != 0) {
+          sb.append('W');
+        } else {
+          sb.append('.');
+        }
+      }
+      sb.append('\n');
+    }
+    return sb.append(this.sideToMove).append(" to move").toString();
+  }
+}
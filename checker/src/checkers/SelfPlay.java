@@ -0,0 +1,173 @@
+package checkers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates training data by playing random games from the starting position.
+ * Every worker thread plays its share of the games and writes {@link TrainingRecord}s to its
+ * own shard file through a direct buffer that is flushed to the channel only when full, so
+ * workers never contend on output. A game that reaches the ply limit is recorded as a draw.
+ *
+ * <p>Runs are reproducible: every shard plays a fixed share of the games with a random
+ * generator split off, in shard order, from one generator seeded with the
+ * constructor seed, so the same seed, shard count and arguments produce identical shard
+ * files whatever the thread timing.
+ */
+public final class SelfPlay {
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private final Path directory;
+  private final int shards;
+  private final long seed;
+
+  /**
+   * Constructor using one shard per available processor.
+   * @param directory the directory the shard files are written to
+   * @param seed the seed of the random move choices
+   */
+  public SelfPlay(Path directory, long seed) {
+    this(directory, Runtime.getRuntime().availableProcessors(), seed);
+  }
+
+  /**
+   * Constructor.
+   * @param directory the directory the shard files are written to
+   * @param shards the number of worker threads and output files
+   * @param seed the seed of the random move choices
+   * @throws IllegalArgumentException if the number of shards is not positive
+   */
+  public SelfPlay(Path directory, int shards, long seed) throws IllegalArgumentException {
+    if (shards <= 0) {
+      throw new IllegalArgumentException("The number of shards must be positive.");
+    }
+    this.directory = directory;
+    this.shards = shards;
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the path of a shard file.
+   * @param shard the shard number
+   * @return the path of the shard file
+   */
+  public Path shardFile(int shard) {
+    return this.directory.resolve(String.format("shard-%03d.bin", shard));
+  }
+
+  /**
+   * Plays the given number of games and writes every position of them.
+   * @param games the number of games
+   * @param maxPlies the largest number of moves in a game
+   * @return the summary of the run
+   * @throws IOException if a shard file cannot be written
+   * @throws IllegalArgumentException if a count is negative or the ply limit is not positive
+   */
+  public SelfPlayReport run(long games, int maxPlies) throws IOException {
+    if (games < 0 || maxPlies <= 0) {
+      throw new IllegalArgumentException(
+          "Games cannot be negative and plies must be positive.");
+    }
+    Files.createDirectories(this.directory);
+    SplittableRandom root = new SplittableRandom(this.seed);
+    long start = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(this.shards);
+    try {
+      List<Future<Long>> results = new ArrayList<>();
+      for (int shard = 0; shard < this.shards; shard++) {
+        int id = shard;
+        SplittableRandom random = root.split();
+        long count = games / this.shards + (shard < games % this.shards ? 1 : 0);
+        results.add(pool.submit(() -> play(id, random, count, maxPlies)));
+      }
+      long positions = 0;
+      for (Future<Long> result : results) {
+        positions += result.get();
+      }
+      return new SelfPlayReport(games, positions, positions * TrainingRecord.SIZE,
+          System.nanoTime() - start);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Self-play was interrupted.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private long play(int shard, SplittableRandom random, long games, int maxPlies) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    MoveList moves = new MoveList();
+    int[] game = new int[4 * maxPlies];
+    long positions = 0;
+    try (FileChannel channel = FileChannel.open(shardFile(shard), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (long played = 0; played < games; played++) {
+        int plies = 0;
+        int blackMen = 0xFFF00000;
+        int blackKings = 0;
+        int whiteMen = 0x00000FFF;
+        int whiteKings = 0;
+        boolean lost = false;
+        while (plies < maxPlies) {
+          game[plies * 4] = blackMen;
+          game[plies * 4 + 1] = blackKings;
+          game[plies * 4 + 2] = whiteMen;
+          game[plies * 4 + 3] = whiteKings;
+          MoveGenerator.generate(blackMen, blackKings, whiteMen, whiteKings, (plies & 1) == 0,
+              moves);
+          plies++;
+          if (moves.size() == 0) {
+            lost = true;
+            break;
+          }
+          int choice = random.nextInt(moves.size());
+          blackMen = moves.blackMen(choice);
+          blackKings = moves.blackKings(choice);
+          whiteMen = moves.whiteMen(choice);
+          whiteKings = moves.whiteKings(choice);
+        }
+        // The side to move at the last recorded ply is the loser, if anyone lost.
+        int loserParity = (plies - 1) & 1;
+        for (int ply = 0; ply < plies; ply++) {
+          if (buffer.remaining() < TrainingRecord.SIZE) {
+            flush(buffer, channel);
+          }
+          GameResult result = !lost ? GameResult.DRAW
+              : (ply & 1) == loserParity ? GameResult.LOSS : GameResult.WIN;
+          TrainingRecord.write(buffer, game[ply * 4], game[ply * 4 + 1], game[ply * 4 + 2],
+              game[ply * 4 + 3], (ply & 1) == 0, result);
+        }
+        positions += plies;
+      }
+      flush(buffer, channel);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return positions;
+  }
+
+  private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
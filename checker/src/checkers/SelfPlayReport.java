@@ -0,0 +1,80 @@
+package checkers;
+
+/**
+ * Summary of a self-play run.
+ */
+public final class SelfPlayReport {
+  private final long games;
+  private final long positions;
+  private final long bytes;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor.
+   * @param games the number of games played
+   * @param positions the number of positions written
+   * @param bytes the number of bytes written
+   * @param elapsedNanos the wall-clock duration of the run
+   */
+  public SelfPlayReport(long games, long positions, long bytes, long elapsedNanos) {
+    this.games = games;
+    this.positions = positions;
+    this.bytes = bytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the number of games played.
+   * @return the number of games played
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns the number of positions written.
+   * @return the number of positions written
+   */
+  public long getPositions() {
+    return this.positions;
+  }
+
+  /**
+   * Returns the number of bytes written.
+   * @return the number of bytes written
+   */
+  public long getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Returns the wall-clock duration of the run in nanoseconds.
+   * @return the wall-clock duration of the run in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Returns the number of positions written per second of wall-clock time.
+   * @return the throughput
+   */
+  public double getPositionsPerSecond() {
+    return this.positions / Math.max(this.elapsedNanos / 1e9, 1e-9);
+  }
+
+  /**
+   * Returns the average size of a position on disk.
+   * @return the bytes per position
+   */
+  public double getBytesPerPosition() {
+    return this.positions == 0 ? 0 : (double) this.bytes / this.positions;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Self-play (games = %d, positions = %d, positions/s = %.0f, "
+            + "bytes/position = %.1f)", this.games, this.positions, getPositionsPerSecond(),
+        getBytesPerPosition());
+  }
+}
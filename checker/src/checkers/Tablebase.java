@@ -0,0 +1,155 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read-only endgame tablebase giving the win/loss/draw value of every position with up to
+ * a fixed number of pieces. Each material signature is stored in its own memory-mapped file
+ * made of a 16 byte header followed by the results packed four to a byte.
+ */
+public final class Tablebase {
+  static final int MAGIC = 0x434B5442;
+  static final int HEADER_SIZE = 16;
+  static final int STATE_OFFSET = 8;
+  static final int PASSES_OFFSET = 12;
+  static final int IN_PROGRESS = 0;
+  static final int COMPLETE = 1;
+
+  // Two-bit result codes, from the point of view of the side to move.
+  static final int UNKNOWN = 0;
+  static final int WIN = 1;
+  static final int LOSS = 2;
+  static final int UNUSED = 3;
+
+  private final int maxPieces;
+  private final Map<Integer, ByteBuffer> slices;
+
+  Tablebase(int maxPieces, Map<Integer, ByteBuffer> slices) {
+    this.maxPieces = maxPieces;
+    this.slices = slices;
+  }
+
+  /**
+   * Opens a tablebase previously written by {@link TablebaseGenerator}.
+   * @param directory the directory holding the slice files
+   * @param maxPieces the largest number of pieces to probe
+   * @return the tablebase
+   * @throws IOException if a slice is missing, incomplete or cannot be read
+   */
+  public static Tablebase open(Path directory, int maxPieces) throws IOException {
+    Map<Integer, ByteBuffer> slices = new ConcurrentHashMap<>();
+    for (List<Material> level : Material.upTo(maxPieces)) {
+      for (Material material : level) {
+        Path file = directory.resolve(material.fileName());
+        if (!Files.exists(file)) {
+          throw new IOException("Missing tablebase slice " + file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+          MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+          if (!hasHeader(data, material, COMPLETE)) {
+            throw new IOException("Incomplete tablebase slice " + file);
+          }
+          slices.put(material.key(), data);
+        }
+      }
+    }
+    return new Tablebase(maxPieces, slices);
+  }
+
+  /**
+   * Returns the largest number of pieces this tablebase covers.
+   * @return the largest number of pieces
+   */
+  public int getMaxPieces() {
+    return this.maxPieces;
+  }
+
+  /**
+   * Returns true if the position has few enough pieces to be probed.
+   * @param position the position
+   * @return true if the position can be probed
+   */
+  public boolean covers(Position position) {
+    return position.getPieceCount() <= this.maxPieces;
+  }
+
+  /**
+   * Looks up the value of a position.
+   * @param position the position
+   * @return the value for the side to move, assuming perfect play by both sides
+   * @throws IllegalArgumentException if the position has more pieces than this tablebase covers
+   */
+  public GameResult probe(Position position) throws IllegalArgumentException {
+    if (!covers(position)) {
+      throw new IllegalArgumentException("The position has more pieces than the tablebase.");
+    }
+    int code = value(position.getBlackMen(), position.getBlackKings(), position.getWhiteMen(),
+        position.getWhiteKings(), position.getSideToMove() == Color.BLACK);
+    if (code == WIN) {
+      return GameResult.WIN;
+    } else if (code == LOSS) {
+      return GameResult.LOSS;
+    }
+    return GameResult.DRAW;
+  }
+
+  /**
+   * Returns the result code of a position whose slice is already in this tablebase.
+   */
+  int value(int blackMen, int blackKings, int whiteMen, int whiteKings, boolean blackToMove) {
+    int black = blackMen | blackKings;
+    int white = whiteMen | whiteKings;
+    if ((blackToMove ? black : white) == 0) {
+      return LOSS;
+    } else if ((blackToMove ? white : black) == 0) {
+      return WIN;
+    }
+    Material material = Material.of(blackMen, blackKings, whiteMen, whiteKings);
+    ByteBuffer data = this.slices.get(material.key());
+    if (data == null) {
+      throw new IllegalStateException("Tablebase slice " + material.fileName()
+          + " has not been generated.");
+    }
+    return read(data, material.index(blackMen, blackKings, whiteMen, whiteKings, blackToMove));
+  }
+
+  void add(Material material, ByteBuffer data) {
+    this.slices.put(material.key(), data);
+  }
+
+  static int read(ByteBuffer data, long index) {
+    int b = data.get(HEADER_SIZE + (int) (index >>> 2));
+    return b >>> ((int) (index & 3) * 2) & 3;
+  }
+
+  /**
+   * Writes a result code. Callers must own the whole byte, i.e. the four indices sharing it.
+   */
+  static void write(ByteBuffer data, long index, int code) {
+    int offset = HEADER_SIZE + (int) (index >>> 2);
+    int shift = (int) (index & 3) * 2;
+    int b = data.get(offset) & ~(3 << shift) | code << shift;
+    data.put(offset, (byte) b);
+  }
+
+  static boolean hasHeader(ByteBuffer data, Material material, int state) {
+    return data.capacity() == fileSize(material)
+        && data.getInt(0) == MAGIC
+        && data.get(4) == material.blackMen && data.get(5) == material.blackKings
+        && data.get(6) == material.whiteMen && data.get(7) == material.whiteKings
+        && data.getInt(STATE_OFFSET) == state;
+  }
+
+  static long fileSize(Material material) {
+    return HEADER_SIZE + (material.size + 3) / 4;
+  }
+}
@@ -0,0 +1,253 @@
+package checkers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * Builds an endgame tablebase by retrograde analysis.
+ *
+ * <p>Slices are solved from the fewest pieces up, so every capture or crowning leads into a
+ * slice that is already complete. A first pass over the slice resolves the positions whose
+ * value follows from those smaller slices alone and, for every other position, counts the
+ * moves that stay in the slice. Newly resolved positions then go on a work list: for each
+ * one the moves are taken back to find its predecessors in the slice, a predecessor of a
+ * loss is a win, and a predecessor whose last undecided move has just turned out to be a
+ * win for the opponent is a loss. Whatever is still unresolved when the list runs dry is a
+ * draw.
+ *
+ * <p>Results are written straight into the memory-mapped slice file and flushed regularly,
+ * so an interrupted run picks up from the partially written files: a resolved result never
+ * changes, and the first pass of the next run treats it like one from a smaller slice.
+ * Independent slices and ranges of the first pass run in parallel; the work list of a slice
+ * is processed by one thread. Besides the file, a slice needs five bytes of memory per
+ * position for the move counters and the work list, which limits slices to
+ * {@code Integer.MAX_VALUE - 8} positions. Every slice with up to six pieces fits, the largest
+ * holding about 258 million positions, but slices with seven pieces reach three billion, so
+ * tablebases of seven or more pieces are rejected before anything is written.
+ */
+public final class TablebaseGenerator {
+  // Positions per parallel work unit; a multiple of four so no two units share a byte.
+  private static final int CHUNK = 1 << 14;
+  // Positions resolved from the work list between two flushes of the slice file.
+  private static final int FLUSH_INTERVAL = 1 << 20;
+  // Move counters of the positions the first pass resolved.
+  private static final byte WON = -1;
+  private static final byte LOST = -2;
+  // The most positions a slice can have, bounded by the size of the counter array.
+  private static final long MAX_SLICE_SIZE = Integer.MAX_VALUE - 8;
+
+  private final Path directory;
+  private final int maxPieces;
+
+  /**
+   * Constructor.
+   * @param directory the directory the slice files are written to
+   * @param maxPieces the largest number of pieces on the board
+   * @throws IllegalArgumentException if fewer than two pieces are requested
+   */
+  public TablebaseGenerator(Path directory, int maxPieces) throws IllegalArgumentException {
+    if (maxPieces < 2) {
+      throw new IllegalArgumentException("A tablebase needs at least two pieces.");
+    }
+    this.directory = directory;
+    this.maxPieces = maxPieces;
+  }
+
+  /**
+   * Generates every missing or incomplete slice and returns the finished tablebase.
+   * @return the tablebase
+   * @throws IllegalArgumentException if a slice has too many positions, which is the case
+   *                                  for seven pieces or more
+   * @throws IOException if a slice file cannot be written
+   */
+  public Tablebase generate() throws IllegalArgumentException, IOException {
+    for (List<Material> level : Material.upTo(this.maxPieces)) {
+      for (Material material : level) {
+        if (material.size > MAX_SLICE_SIZE) {
+          throw new IllegalArgumentException("Slice " + material.fileName()
+              + " is too large; tablebases are limited to six pieces.");
+        }
+      }
+    }
+    Files.createDirectories(this.directory);
+    Tablebase tablebase = new Tablebase(this.maxPieces, new ConcurrentHashMap<>());
+    try {
+      for (List<Material> level : Material.upTo(this.maxPieces)) {
+        level.parallelStream().forEach(material -> solve(material, tablebase));
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return tablebase;
+  }
+
+  private void solve(Material material, Tablebase tablebase) {
+    long length = Tablebase.fileSize(material);
+    Path file = this.directory.resolve(material.fileName());
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      if (channel.size() != length) {
+        channel.truncate(0);
+      }
+      MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+      if (Tablebase.hasHeader(data, material, Tablebase.COMPLETE)) {
+        tablebase.add(material, data);
+        return;
+      }
+      if (!Tablebase.hasHeader(data, material, Tablebase.IN_PROGRESS)) {
+        for (int i = 0; i < length; i++) {
+          data.put(i, (byte) 0);
+        }
+        data.putInt(0, Tablebase.MAGIC);
+        data.put(4, (byte) material.blackMen);
+        data.put(5, (byte) material.blackKings);
+        data.put(6, (byte) material.whiteMen);
+        data.put(7, (byte) material.whiteKings);
+        data.putInt(Tablebase.STATE_OFFSET, Tablebase.IN_PROGRESS);
+      }
+      byte[] counters = new byte[(int) material.size];
+      long chunks = (material.size + CHUNK - 1) / CHUNK;
+      LongStream.range(0, chunks).parallel()
+          .forEach(chunk -> count(material, data, tablebase, counters, chunk * CHUNK,
+              Math.min(material.size, (chunk + 1) * CHUNK)));
+      propagate(material, data, counters);
+      data.putInt(Tablebase.STATE_OFFSET, Tablebase.COMPLETE);
+      data.force();
+      tablebase.add(material, data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * First pass over the unknown positions in [from, to). Stores WON or LOST for the positions
+   * it resolves, and otherwise the number of moves to unknown positions of the slice, plus
+   * one if some move leads to a draw so that the counter never runs down to a loss. Only
+   * unused slots are written, so every range sees the results as they were before the pass.
+   */
+  private static void count(Material material, ByteBuffer data, Tablebase tablebase,
+                            byte[] counters, long from, long to) {
+    MoveList moves = new MoveList();
+    int[] position = new int[5];
+    for (long index = from; index < to; index++) {
+      if (Tablebase.read(data, index) != Tablebase.UNKNOWN) {
+        continue;
+      }
+      if (!material.decode(index, position)) {
+        Tablebase.write(data, index, Tablebase.UNUSED);
+        continue;
+      }
+      boolean blackToMove = position[4] == 1;
+      MoveGenerator.generate(position[0], position[1], position[2], position[3], blackToMove,
+          moves);
+      int pending = 0;
+      boolean win = false;
+      boolean draw = false;
+      for (int i = 0; i < moves.size() && !win; i++) {
+        int value = successor(material, data, tablebase, moves, i, !blackToMove);
+        if (value == Tablebase.UNUSED) {
+          pending++;
+        } else if (value == Tablebase.LOSS) {
+          win = true;
+        } else if (value != Tablebase.WIN) {
+          draw = true;
+        }
+      }
+      if (win) {
+        counters[(int) index] = WON;
+      } else if (pending == 0) {
+        counters[(int) index] = draw ? 0 : LOST;
+      } else {
+        counters[(int) index] = (byte) (pending + (draw ? 1 : 0));
+      }
+    }
+  }
+
+  /**
+   * Writes the results of the first pass and propagates them, and every result they lead
+   * to, back to the predecessors.
+   */
+  private static void propagate(Material material, MappedByteBuffer data, byte[] counters) {
+    int[] work = new int[1024];
+    int size = 0;
+    for (int index = 0; index < counters.length; index++) {
+      if (counters[index] == WON || counters[index] == LOST) {
+        Tablebase.write(data, index, counters[index] == WON ? Tablebase.WIN : Tablebase.LOSS);
+        if (size == work.length) {
+          work = Arrays.copyOf(work, size * 2);
+        }
+        work[size++] = index;
+      }
+    }
+    flush(data);
+    MoveList predecessors = new MoveList();
+    int[] position = new int[5];
+    long resolved = 0;
+    while (size > 0) {
+      int index = work[--size];
+      boolean loss = Tablebase.read(data, index) == Tablebase.LOSS;
+      material.decode(index, position);
+      boolean blackToMove = position[4] == 1;
+      MoveGenerator.unmoves(position[0], position[1], position[2], position[3], blackToMove,
+          predecessors);
+      for (int i = 0; i < predecessors.size(); i++) {
+        int previous = (int) material.index(predecessors.blackMen(i),
+            predecessors.blackKings(i), predecessors.whiteMen(i), predecessors.whiteKings(i),
+            !blackToMove);
+        // Positive counters belong to unresolved positions without captures, the only ones
+        // that really have this move.
+        if (counters[previous] <= 0) {
+          continue;
+        }
+        if (loss) {
+          counters[previous] = 0;
+          Tablebase.write(data, previous, Tablebase.WIN);
+        } else if (--counters[previous] == 0) {
+          Tablebase.write(data, previous, Tablebase.LOSS);
+        } else {
+          continue;
+        }
+        if (size == work.length) {
+          work = Arrays.copyOf(work, size * 2);
+        }
+        work[size++] = previous;
+      }
+      if (++resolved % FLUSH_INTERVAL == 0) {
+        flush(data);
+      }
+    }
+  }
+
+  private static void flush(MappedByteBuffer data) {
+    data.putInt(Tablebase.PASSES_OFFSET, data.getInt(Tablebase.PASSES_OFFSET) + 1);
+    data.force();
+  }
+
+  /**
+   * Returns the value of a successor, or UNUSED for an unknown position of the same slice.
+   */
+  private static int successor(Material material, ByteBuffer data, Tablebase tablebase,
+                               MoveList moves, int i, boolean blackToMove) {
+    int blackMen = moves.blackMen(i);
+    int blackKings = moves.blackKings(i);
+    int whiteMen = moves.whiteMen(i);
+    int whiteKings = moves.whiteKings(i);
+    if (Material.key(Integer.bitCount(blackMen), Integer.bitCount(blackKings),
+        Integer.bitCount(whiteMen), Integer.bitCount(whiteKings)) == material.key()) {
+      int value = Tablebase.read(data,
+          material.index(blackMen, blackKings, whiteMen, whiteKings, blackToMove));
+      return value == Tablebase.UNKNOWN ? Tablebase.UNUSED : value;
+    }
+    return tablebase.value(blackMen, blackKings, whiteMen, whiteKings, blackToMove);
+  }
+}
@@ -0,0 +1,81 @@
+package checkers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The fixed-width binary record written for every self-play position. A record is
+ * {@value #SIZE} bytes:
+ * <ul>
+ *   <li>4 bytes: the occupied squares as a bitboard,</li>
+ *   <li>6 bytes: two bits per occupied square in ascending order (bit 0 set for black,
+ *       bit 1 set for a king), enough for 24 pieces,</li>
+ *   <li>1 byte: bit 0 set if black is to move, bits 1-2 the {@link GameResult} ordinal of the
+ *       final outcome for the side to move.</li>
+ * </ul>
+ */
+public final class TrainingRecord {
+  /** The size of one record in bytes. */
+  public static final int SIZE = 11;
+
+  private TrainingRecord() {
+  }
+
+  /**
+   * Writes a record at the current position of the buffer.
+   * @param buffer the buffer, with at least {@link #SIZE} bytes remaining
+   * @param position the position
+   * @param result the outcome of the game for the side to move
+   */
+  public static void write(ByteBuffer buffer, Position position, GameResult result) {
+    write(buffer, position.getBlackMen(), position.getBlackKings(), position.getWhiteMen(),
+        position.getWhiteKings(), position.getSideToMove() == Color.BLACK, result);
+  }
+
+  static void write(ByteBuffer buffer, int blackMen, int blackKings, int whiteMen,
+                    int whiteKings, boolean blackToMove, GameResult result) {
+    int black = blackMen | blackKings;
+    int kings = blackKings | whiteKings;
+    int occupied = black | whiteMen | whiteKings;
+    long types = 0;
+    int shift = 0;
+    for (int rest = occupied; rest != 0; rest &= rest - 1, shift += 2) {
+      int square = Integer.numberOfTrailingZeros(rest);
+      types |= (long) ((black >>> square & 1) | (kings >>> square & 1) << 1) << shift;
+    }
+    buffer.putInt(occupied);
+    buffer.putShort((short) types);
+    buffer.putInt((int) (types >>> 16));
+    buffer.put((byte) ((blackToMove ? 1 : 0) | result.ordinal() << 1));
+  }
+
+  /**
+   * Reads the position of the record starting at the given offset.
+   * @param buffer the buffer holding records
+   * @param offset the offset of the record
+   * @return the position
+   */
+  public static Position readPosition(ByteBuffer buffer, int offset) {
+    int occupied = buffer.getInt(offset);
+    long types = buffer.getShort(offset + 4) & 0xFFFFL
+        | (buffer.getInt(offset + 6) & 0xFFFFFFFFL) << 16;
+    int[] boards = new int[4];
+    for (int rest = occupied; rest != 0; rest &= rest - 1, types >>>= 2) {
+      int square = Integer.numberOfTrailingZeros(rest);
+      boolean black = (types & 1) != 0;
+      boolean king = (types & 2) != 0;
+      boards[(black ? 0 : 2) + (king ? 1 : 0)] |= 1 << square;
+    }
+    Color side = (buffer.get(offset + 10) & 1) != 0 ? Color.BLACK : Color.WHITE;
+    return new Position(boards[0], boards[1], boards[2], boards[3], side);
+  }
+
+  /**
+   * Reads the outcome of the record starting at the given offset.
+   * @param buffer the buffer holding records
+   * @param offset the offset of the record
+   * @return the outcome of the game for the side to move
+   */
+  public static GameResult readResult(ByteBuffer buffer, int offset) {
+    return GameResult.values()[buffer.get(offset + 10) >>> 1 & 3];
+  }
+}
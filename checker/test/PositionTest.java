@@ -0,0 +1,97 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import checkers.CheckersPiece;
+import checkers.Color;
+import checkers.King;
+import checkers.Man;
+import checkers.Position;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Test for the Position class.
+ */
+public class PositionTest {
+
+  /**
+   * Test that black has seven opening moves.
+   */
+  @Test
+  public void initialMovesTest() {
+    Position start = Position.initial();
+    assertEquals(24, start.getPieceCount());
+    assertEquals(Color.BLACK, start.getSideToMove());
+    assertEquals(7, start.successors().size());
+  }
+
+  /**
+   * Test that men move like Man.canMove().
+   */
+  @Test
+  public void manMovesTest() {
+    Position position = Position.of(Arrays.asList(new Man(3, 3, Color.BLACK),
+        new Man(0, 6, Color.WHITE)), Color.BLACK);
+    List<Position> successors = position.successors();
+    assertEquals(2, successors.size());
+    for (Position next : successors) {
+      assertEquals(Color.WHITE, next.getSideToMove());
+      CheckersPiece moved = next.getPieces().get(1);
+      assertEquals(Color.BLACK, moved.getColor());
+      assertEquals(2, moved.getRow());
+    }
+  }
+
+  /**
+   * Test that a capture is mandatory and continues while possible.
+   */
+  @Test
+  public void multipleCaptureTest() {
+    Position position = Position.of(Arrays.asList(new King(6, 0, Color.BLACK),
+        new Man(5, 1, Color.WHITE), new Man(3, 3, Color.WHITE), new Man(0, 0, Color.WHITE)),
+        Color.BLACK);
+    List<Position> successors = position.successors();
+    assertEquals(1, successors.size());
+    Position next = successors.get(0);
+    assertEquals(2, next.getPieceCount());
+    CheckersPiece king = next.getPieces().get(1);
+    assertEquals(2, king.getRow());
+    assertEquals(4, king.getColumn());
+  }
+
+  /**
+   * Test that a man is crowned on the far row.
+   */
+  @Test
+  public void crowningTest() {
+    Position position = Position.of(Arrays.asList(new Man(1, 1, Color.BLACK),
+        new King(7, 7, Color.WHITE)), Color.BLACK);
+    for (Position next : position.successors()) {
+      assertTrue(next.getPieces().get(0) instanceof King);
+    }
+  }
+
+  /**
+   * Test that a side without moves has lost.
+   */
+  @Test
+  public void gameOverTest() {
+    Position blocked = Position.of(Arrays.asList(new Man(2, 0, Color.BLACK),
+        new Man(1, 1, Color.WHITE), new Man(0, 2, Color.WHITE)), Color.BLACK);
+    assertTrue(blocked.isGameOver());
+    assertFalse(Position.initial().isGameOver());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void sharedCellTest() {
+    Position.of(Arrays.asList(new Man(3, 3, Color.BLACK), new King(3, 3, Color.WHITE)),
+        Color.BLACK);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void uncrownedManTest() {
+    Position.of(Arrays.asList(new Man(0, 0, Color.BLACK)), Color.BLACK);
+  }
+}
@@ -0,0 +1,121 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import checkers.GameResult;
+import checkers.Position;
+import checkers.SelfPlay;
+import checkers.SelfPlayReport;
+import checkers.TrainingRecord;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Test for the SelfPlay pipeline and TrainingRecord format.
+ */
+public class SelfPlayTest {
+
+  /**
+   * Test that a record round-trips.
+   */
+  @Test
+  public void recordTest() {
+    ByteBuffer buffer = ByteBuffer.allocate(TrainingRecord.SIZE * 2);
+    Position start = Position.initial();
+    Position next = start.successors().get(3);
+    TrainingRecord.write(buffer, start, GameResult.WIN);
+    TrainingRecord.write(buffer, next, GameResult.LOSS);
+    assertEquals(start, TrainingRecord.readPosition(buffer, 0));
+    assertEquals(GameResult.WIN, TrainingRecord.readResult(buffer, 0));
+    assertEquals(next, TrainingRecord.readPosition(buffer, TrainingRecord.SIZE));
+    assertEquals(GameResult.LOSS, TrainingRecord.readResult(buffer, TrainingRecord.SIZE));
+  }
+
+  /**
+   * Test that every position of every game is written to the shards.
+   */
+  @Test
+  public void runTest() throws IOException {
+    Path directory = Files.createTempDirectory("selfplay");
+    SelfPlay selfPlay = new SelfPlay(directory, 2, 42);
+    SelfPlayReport report = selfPlay.run(20, 200);
+    assertEquals(20, report.getGames());
+    assertTrue(report.getPositions() >= 20);
+    assertEquals(TrainingRecord.SIZE, report.getBytesPerPosition(), 1e-9);
+
+    long bytes = 0;
+    int starts = 0;
+    for (int shard = 0; shard < 2; shard++) {
+      ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(selfPlay.shardFile(shard)));
+      bytes += data.capacity();
+      for (int offset = 0; offset < data.capacity(); offset += TrainingRecord.SIZE) {
+        if (TrainingRecord.readPosition(data, offset).equals(Position.initial())) {
+          starts++;
+        }
+      }
+      Files.delete(selfPlay.shardFile(shard));
+    }
+    Files.delete(directory);
+    assertEquals(report.getBytes(), bytes);
+    assertEquals(20, starts);
+  }
+
+  /**
+   * Test that the same seed reproduces the same shard files and another seed does not.
+   */
+  @Test
+  public void reproducibleTest() throws IOException {
+    byte[][] first = shards(7, 3);
+    byte[][] second = shards(7, 3);
+    byte[][] other = shards(8, 3);
+    boolean differs = false;
+    for (int shard = 0; shard < 3; shard++) {
+      assertArrayEquals(first[shard], second[shard]);
+      differs |= !Arrays.equals(first[shard], other[shard]);
+    }
+    assertTrue(differs);
+  }
+
+  private static byte[][] shards(long seed, int shards) throws IOException {
+    Path directory = Files.createTempDirectory("selfplay");
+    SelfPlay selfPlay = new SelfPlay(directory, shards, seed);
+    selfPlay.run(10, 100);
+    byte[][] data = new byte[shards][];
+    for (int shard = 0; shard < shards; shard++) {
+      data[shard] = Files.readAllBytes(selfPlay.shardFile(shard));
+      Files.delete(selfPlay.shardFile(shard));
+    }
+    Files.delete(directory);
+    return data;
+  }
+
+  /**
+   * Test that zero games are accepted and write empty shards.
+   */
+  @Test
+  public void noGamesTest() throws IOException {
+    Path directory = Files.createTempDirectory("selfplay");
+    SelfPlay selfPlay = new SelfPlay(directory, 2, 1);
+    SelfPlayReport report = selfPlay.run(0, 10);
+    assertEquals(0, report.getPositions());
+    for (int shard = 0; shard < 2; shard++) {
+      assertEquals(0, Files.size(selfPlay.shardFile(shard)));
+      Files.delete(selfPlay.shardFile(shard));
+    }
+    Files.delete(directory);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeGamesTest() throws IOException {
+    new SelfPlay(Path.of("."), 1, 1).run(-1, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noShardsTest() {
+    new SelfPlay(Path.of("."), 0, 1);
+  }
+}
@@ -0,0 +1,268 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import checkers.CheckersPiece;
+import checkers.Color;
+import checkers.GameResult;
+import checkers.King;
+import checkers.Man;
+import checkers.Position;
+import checkers.Tablebase;
+import checkers.TablebaseGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the Tablebase and TablebaseGenerator classes.
+ */
+public class TablebaseTest {
+  private Path directory;
+  private Tablebase tablebase;
+
+  /**
+   * Generates a two piece tablebase in a temporary directory.
+   */
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("tablebase");
+    tablebase = new TablebaseGenerator(directory, 2).generate();
+  }
+
+  /**
+   * Deletes the temporary directory.
+   */
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> {
+        try {
+          Files.delete(file);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+
+  private static Position kings(int blackRow, int blackColumn, int whiteRow, int whiteColumn,
+                                Color sideToMove) {
+    return Position.of(Arrays.asList(new King(blackRow, blackColumn, Color.BLACK),
+        new King(whiteRow, whiteColumn, Color.WHITE)), sideToMove);
+  }
+
+  /**
+   * Test that an available capture wins.
+   */
+  @Test
+  public void captureWinsTest() {
+    assertEquals(GameResult.WIN, tablebase.probe(kings(3, 3, 4, 4, Color.BLACK)));
+  }
+
+  /**
+   * Test that two kings in the double corners draw.
+   */
+  @Test
+  public void doubleCornersDrawTest() {
+    assertEquals(GameResult.DRAW, tablebase.probe(kings(7, 1, 0, 6, Color.BLACK)));
+    assertEquals(GameResult.DRAW, tablebase.probe(kings(7, 1, 0, 6, Color.WHITE)));
+  }
+
+  /**
+   * Test that every stored value agrees with the values of the successors.
+   */
+  @Test
+  public void consistencyTest() {
+    for (int first = 0; first < 64; first++) {
+      for (int second = 0; second < 64; second++) {
+        int r1 = first / 8;
+        int c1 = first % 8;
+        int r2 = second / 8;
+        int c2 = second % 8;
+        if (first == second || (r1 + c1) % 2 != 0 || (r2 + c2) % 2 != 0 || r1 == 0) {
+          continue;
+        }
+        for (Color side : Color.values()) {
+          CheckersPiece black = new Man(r1, c1, Color.BLACK);
+          CheckersPiece white = new King(r2, c2, Color.WHITE);
+          Position position = Position.of(Arrays.asList(black, white), side);
+          boolean anyLoss = false;
+          boolean allWins = true;
+          for (Position next : position.successors()) {
+            GameResult value = tablebase.probe(next);
+            anyLoss |= value == GameResult.LOSS;
+            allWins &= value == GameResult.WIN;
+          }
+          GameResult expected = anyLoss ? GameResult.WIN
+              : allWins ? GameResult.LOSS : GameResult.DRAW;
+          assertEquals(expected, tablebase.probe(position));
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that a finished tablebase can be reopened and regenerating reuses the files.
+   */
+  @Test
+  public void reopenTest() throws IOException {
+    Position position = kings(3, 3, 4, 4, Color.WHITE);
+    GameResult expected = tablebase.probe(position);
+    assertEquals(expected, Tablebase.open(directory, 2).probe(position));
+    assertEquals(expected, new TablebaseGenerator(directory, 2).generate().probe(position));
+    assertTrue(tablebase.covers(position));
+    assertFalse(tablebase.covers(Position.initial()));
+  }
+
+  /**
+   * Test that generation resumes from slices left in progress with only some results
+   * written, and finishes them exactly as an uninterrupted run does.
+   */
+  @Test
+  public void resumeTest() throws IOException {
+    Path complete = directory.resolve("complete");
+    Path partial = directory.resolve("partial");
+    new TablebaseGenerator(complete, 3).generate();
+    Files.createDirectories(partial);
+    try (Stream<Path> files = Files.list(complete)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        byte[] data = Files.readAllBytes(file);
+        // Mark the slice as in progress and forget the results of every other byte.
+        Arrays.fill(data, 8, 12, (byte) 0);
+        for (int i = 16; i < data.length; i += 2) {
+          data[i] = 0;
+        }
+        Files.write(partial.resolve(file.getFileName()), data);
+      }
+    }
+    Tablebase resumed = new TablebaseGenerator(partial, 3).generate();
+    try (Stream<Path> files = Files.list(complete)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        byte[] expected = Files.readAllBytes(file);
+        byte[] actual = Files.readAllBytes(partial.resolve(file.getFileName()));
+        assertArrayEquals(Arrays.copyOf(expected, 12), Arrays.copyOf(actual, 12));
+        assertArrayEquals(Arrays.copyOfRange(expected, 16, expected.length),
+            Arrays.copyOfRange(actual, 16, actual.length));
+      }
+    }
+    assertEquals(GameResult.WIN, resumed.probe(kings(3, 3, 4, 4, Color.BLACK)));
+  }
+
+  /**
+   * Test that every position with up to three pieces has the value found by a brute-force
+   * solver that repeatedly evaluates every position from its successors until nothing
+   * changes.
+   */
+  @Test
+  public void bruteForceTest() throws IOException {
+    List<Position> positions = new ArrayList<>();
+    enumerate(3, 0, new ArrayList<>(), positions);
+    Map<Position, Integer> ids = new HashMap<>();
+    for (Position position : positions) {
+      ids.put(position, ids.size());
+    }
+    // Successors missing from the map are those where the mover took the last piece.
+    int[][] successors = new int[positions.size()][];
+    for (int i = 0; i < successors.length; i++) {
+      successors[i] = positions.get(i).successors().stream()
+          .mapToInt(next -> ids.getOrDefault(next, -1)).toArray();
+    }
+    GameResult[] values = new GameResult[successors.length];
+    Arrays.fill(values, GameResult.DRAW);
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i < successors.length; i++) {
+        if (values[i] != GameResult.DRAW) {
+          continue;
+        }
+        boolean anyLoss = false;
+        boolean allWins = true;
+        for (int next : successors[i]) {
+          GameResult value = next < 0 ? GameResult.LOSS : values[next];
+          anyLoss |= value == GameResult.LOSS;
+          allWins &= value == GameResult.WIN;
+        }
+        if (anyLoss || allWins) {
+          values[i] = anyLoss ? GameResult.WIN : GameResult.LOSS;
+          changed = true;
+        }
+      }
+    }
+    Tablebase three = new TablebaseGenerator(directory.resolve("three"), 3).generate();
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(positions.get(i).toString(), values[i], three.probe(positions.get(i)));
+    }
+  }
+
+  /**
+   * Adds every position with both colors and at most the given number of pieces, placing
+   * further pieces on the cells from firstCell on.
+   */
+  private static void enumerate(int maxPieces, int firstCell, List<CheckersPiece> pieces,
+                                List<Position> out) {
+    if (pieces.stream().map(CheckersPiece::getColor).distinct().count() == 2) {
+      for (Color side : Color.values()) {
+        out.add(Position.of(pieces, side));
+      }
+    }
+    if (pieces.size() == maxPieces) {
+      return;
+    }
+    for (int cell = firstCell; cell < 64; cell++) {
+      int row = cell / 8;
+      int column = cell % 8;
+      if ((row + column) % 2 != 0) {
+        continue;
+      }
+      for (Color color : Color.values()) {
+        pieces.add(new King(row, column, color));
+        enumerate(maxPieces, cell + 1, pieces, out);
+        pieces.remove(pieces.size() - 1);
+        if (row != (color == Color.BLACK ? 0 : 7)) {
+          pieces.add(new Man(row, column, color));
+          enumerate(maxPieces, cell + 1, pieces, out);
+          pieces.remove(pieces.size() - 1);
+        }
+      }
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void missingSliceTest() throws IOException {
+    Tablebase.open(directory, 3);
+  }
+
+  /**
+   * Test that a tablebase too large to generate is rejected before any file is written.
+   */
+  @Test
+  public void sevenPiecesTest() throws IOException {
+    Path seven = directory.resolve("seven");
+    try {
+      new TablebaseGenerator(seven, 7).generate();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertFalse(Files.exists(seven));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tooManyPiecesTest() {
+    tablebase.probe(Position.initial());
+  }
+}
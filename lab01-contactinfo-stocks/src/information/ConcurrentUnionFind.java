@@ -0,0 +1,106 @@
+package information;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free union-find over the elements 0 to n - 1, for merging clusters from many
+ * threads. The parent links live in an {@link AtomicIntegerArray}: a root is linked under
+ * another with a compare-and-set, always from the larger index to the smaller so that no
+ * cycle can form, and finds halve their paths with compare-and-sets that may harmlessly
+ * fail. The root of every set is therefore its smallest element.
+ */
+public class ConcurrentUnionFind {
+  private final AtomicIntegerArray parents;
+
+  /**
+   * Constructs a union-find with every element in a set of its own.
+   *
+   * @param size The number of elements.
+   */
+  public ConcurrentUnionFind(int size) {
+    parents = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) {
+      parents.set(i, i);
+    }
+  }
+
+  /**
+   * Gets the number of elements.
+   *
+   * @return The number of elements.
+   */
+  public int size() {
+    return parents.length();
+  }
+
+  /**
+   * Finds the root of the set of an element, which is its smallest element once no union
+   * is in progress.
+   *
+   * @param element The element.
+   * @return The root.
+   * @throws IndexOutOfBoundsException if there is no such element.
+   */
+  public int find(int element) {
+    while (true) {
+      int parent = parents.get(element);
+      if (parent == element) {
+        return element;
+      }
+      int grandparent = parents.get(parent);
+      if (parent != grandparent) {
+        parents.compareAndSet(element, parent, grandparent);
+      }
+      element = grandparent;
+    }
+  }
+
+  /**
+   * Merges the sets of two elements.
+   *
+   * @param first  The first element.
+   * @param second The second element.
+   * @return True if the elements were in different sets.
+   * @throws IndexOutOfBoundsException if there is no such element.
+   */
+  public boolean union(int first, int second) {
+    while (true) {
+      int a = find(first);
+      int b = find(second);
+      if (a == b) {
+        return false;
+      }
+      if (a < b) {
+        int swap = a;
+        a = b;
+        b = swap;
+      }
+      // Fails if a stopped being a root in the meantime; then try again from the new roots.
+      if (parents.compareAndSet(a, a, b)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Tells whether two elements are in the same set.
+   *
+   * @param first  The first element.
+   * @param second The second element.
+   * @return True if they are in the same set.
+   * @throws IndexOutOfBoundsException if there is no such element.
+   */
+  public boolean connected(int first, int second) {
+    while (true) {
+      int a = find(first);
+      int b = find(second);
+      if (a == b) {
+        return true;
+      }
+      // Two distinct roots only prove the sets distinct if a is still a root.
+      if (parents.get(a) == a) {
+        return false;
+      }
+    }
+  }
+}
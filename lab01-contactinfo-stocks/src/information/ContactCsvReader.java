@@ -0,0 +1,299 @@
+package information;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads contacts from a CSV file with the columns name, email and phone, as written by
+ * {@link ContactCsvWriter}, and hands them to a consumer in batches.
+ *
+ * <p>The file is memory-mapped in windows and parsed straight from the mapped bytes: the
+ * email address is split on '@' in place, the digits of the phone number are accumulated
+ * into its parts without building a string, and domains are looked up in a small cache of
+ * the domains seen recently, so usually only the name and username are allocated. A name
+ * may be quoted, with quotes inside doubled. A phone number must have ten digits, or eleven
+ * starting with a 1, separated by any of " -.()+". Empty fields are null. Lines that do not
+ * parse are skipped and counted; blank lines and a first line equal to {@value #HEADER}
+ * are skipped. This class is not thread-safe.
+ */
+public class ContactCsvReader {
+  /** The header line of a contacts file. */
+  public static final String HEADER = "name,email,phone";
+  private static final long DEFAULT_WINDOW = 1L << 28;
+  private static final int DOMAIN_CACHE_SIZE = 1024;
+  private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+
+  private final int batchSize;
+  private final long window;
+  private final String[] domains = new String[DOMAIN_CACHE_SIZE];
+  private byte[] scratch = new byte[256];
+  private long imported;
+  private long rejected;
+
+  /**
+   * Constructs a reader.
+   *
+   * @param batchSize The number of contacts per batch.
+   * @throws IllegalArgumentException if the batch size is not positive.
+   */
+  public ContactCsvReader(int batchSize) {
+    this(batchSize, DEFAULT_WINDOW);
+  }
+
+  ContactCsvReader(int batchSize, long window) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    this.batchSize = batchSize;
+    this.window = window;
+  }
+
+  /**
+   * Reads all contacts of a file.
+   *
+   * @param file     The file.
+   * @param consumer The consumer of the batches of contacts, which may keep them.
+   * @throws IOException if the file cannot be read or has a line longer than the mapped
+   *                     window.
+   */
+  public void read(Path file, Consumer<List<Person>> consumer) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      List<Person> batch = new ArrayList<>(batchSize);
+      long offset = 0;
+      boolean first = true;
+      while (offset < size) {
+        int length = (int) Math.min(window, size - offset);
+        boolean last = offset + length == size;
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        int start = 0;
+        while (start < length) {
+          int end = lineEnd(data, start, length);
+          if (end < 0 && !last) {
+            break;
+          }
+          if (end < 0) {
+            end = length;
+          }
+          boolean blank = end == start || end == start + 1 && data.get(start) == '\r';
+          if (!blank && !(first && isHeader(data, start, end))) {
+            Person person = parse(data, start, end);
+            if (person == null) {
+              rejected++;
+            } else {
+              imported++;
+              batch.add(person);
+              if (batch.size() == batchSize) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+              }
+            }
+          }
+          first = false;
+          start = end + 1;
+        }
+        if (start == 0 && !last) {
+          throw new IOException("Line longer than " + window + " bytes at offset " + offset);
+        }
+        offset += Math.min(start, length);
+      }
+      if (!batch.isEmpty()) {
+        consumer.accept(batch);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of contacts read by this reader.
+   *
+   * @return The number of contacts.
+   */
+  public long getImported() {
+    return imported;
+  }
+
+  /**
+   * Gets the number of lines skipped by this reader because they did not parse.
+   *
+   * @return The number of rejected lines.
+   */
+  public long getRejected() {
+    return rejected;
+  }
+
+  /**
+   * Returns the position of the newline ending the line at start, ignoring newlines inside
+   * quotes, or -1 if the line does not end before the limit.
+   */
+  private static int lineEnd(ByteBuffer data, int start, int limit) {
+    boolean quoted = false;
+    for (int i = start; i < limit; i++) {
+      byte b = data.get(i);
+      if (b == '"') {
+        quoted = !quoted;
+      } else if (b == '\n' && !quoted) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isHeader(ByteBuffer data, int start, int end) {
+    if (end > start && data.get(end - 1) == '\r') {
+      end--;
+    }
+    if (end - start != HEADER_BYTES.length) {
+      return false;
+    }
+    for (int i = 0; i < HEADER_BYTES.length; i++) {
+      if (data.get(start + i) != HEADER_BYTES[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses a line, returning null if it is invalid.
+   */
+  private Person parse(ByteBuffer data, int start, int end) {
+    if (end > start && data.get(end - 1) == '\r') {
+      end--;
+    }
+    // Name, quoted or up to the first comma.
+    String name;
+    int p = start;
+    if (p < end && data.get(p) == '"') {
+      int length = 0;
+      p++;
+      while (true) {
+        if (p == end) {
+          return null;
+        }
+        byte b = data.get(p++);
+        if (b == '"') {
+          if (p < end && data.get(p) == '"') {
+            p++;
+          } else {
+            break;
+          }
+        }
+        length = append(length, b);
+      }
+      name = new String(scratch, 0, length, StandardCharsets.UTF_8);
+    } else {
+      while (p < end && data.get(p) != ',') {
+        p++;
+      }
+      name = string(data, start, p);
+    }
+    if (p == end || data.get(p++) != ',') {
+      return null;
+    }
+    if (name.isEmpty()) {
+      name = null;
+    }
+    // Email, split on its single '@'.
+    int emailStart = p;
+    int at = -1;
+    while (p < end && data.get(p) != ',') {
+      byte b = data.get(p);
+      if (b == '@') {
+        if (at >= 0) {
+          return null;
+        }
+        at = p;
+      } else if (b == ' ' || b == '"') {
+        return null;
+      }
+      p++;
+    }
+    if (p == end) {
+      return null;
+    }
+    EmailAddress email = null;
+    if (p > emailStart) {
+      if (at <= emailStart || at == p - 1) {
+        return null;
+      }
+      email = new EmailAddress(string(data, emailStart, at), domain(data, at + 1, p));
+    }
+    p++;
+    // Phone, with its digits accumulated as they are read.
+    long digits = 0;
+    int count = 0;
+    for (; p < end; p++) {
+      byte b = data.get(p);
+      if (b >= '0' && b <= '9') {
+        if (++count > 11) {
+          return null;
+        }
+        digits = digits * 10 + (b - '0');
+      } else if (b != ' ' && b != '-' && b != '.' && b != '(' && b != ')' && b != '+') {
+        return null;
+      }
+    }
+    if (count == 11 && digits / 10_000_000_000L == 1) {
+      digits -= 10_000_000_000L;
+      count = 10;
+    }
+    PhoneNumber phone = null;
+    if (count == 10) {
+      phone = new PhoneNumber((int) (digits / 10_000_000), (int) (digits / 10_000 % 1000),
+          (int) (digits % 10_000));
+    } else if (count != 0) {
+      return null;
+    }
+    return new Person(name, email, phone);
+  }
+
+  private int append(int length, byte b) {
+    if (length == scratch.length) {
+      scratch = Arrays.copyOf(scratch, length * 2);
+    }
+    scratch[length] = b;
+    return length + 1;
+  }
+
+  private String string(ByteBuffer data, int from, int to) {
+    int length = to - from;
+    if (length > scratch.length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+    data.get(from, scratch, 0, length);
+    return new String(scratch, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the domain spelled by the bytes in the given range, reusing the cached string if
+   * the last domain with the same hash was the same.
+   */
+  private String domain(ByteBuffer data, int from, int to) {
+    int hash = 0;
+    for (int i = from; i < to; i++) {
+      hash = 31 * hash + data.get(i);
+    }
+    int slot = (hash ^ hash >>> 16) & (DOMAIN_CACHE_SIZE - 1);
+    String cached = domains[slot];
+    if (cached != null && cached.length() == to - from) {
+      int i = from;
+      while (i < to && cached.charAt(i - from) == data.get(i)) {
+        i++;
+      }
+      if (i == to) {
+        return cached;
+      }
+    }
+    String domain = string(data, from, to);
+    domains[slot] = domain;
+    return domain;
+  }
+}
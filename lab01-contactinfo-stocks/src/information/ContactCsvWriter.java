@@ -0,0 +1,211 @@
+package information;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes contacts to a CSV file with the columns name, email and phone, to be read with
+ * {@link ContactCsvReader}. The fields are encoded straight into a direct buffer that is
+ * written to the file when full: ASCII characters and the digits of phone numbers byte by
+ * byte, and other text as UTF-8. Names with a comma, quote or line break are quoted, and
+ * phone numbers are written as 555-123-2024. Missing fields are left empty.
+ */
+public class ContactCsvWriter implements Closeable {
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private long written;
+  private boolean closed;
+
+  /**
+   * Creates a contacts file with a header line, replacing any existing file.
+   *
+   * @param file The file.
+   * @throws IOException if the file cannot be created.
+   */
+  public ContactCsvWriter(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    text(ContactCsvReader.HEADER);
+    put((byte) '\n');
+  }
+
+  /**
+   * Appends a contact.
+   *
+   * @param person The contact.
+   * @throws IllegalArgumentException if the phone number does not have a three-digit area
+   *                                  code and prefix and a four-digit line number, or the
+   *                                  email address has an empty or null part or a part
+   *                                  with a comma, quote, space or line break.
+   * @throws IllegalStateException    if the writer is closed.
+   * @throws IOException              if the file cannot be written.
+   */
+  public void write(Person person) throws IOException {
+    if (closed) {
+      throw new IllegalStateException("The writer is closed.");
+    }
+    EmailAddress email = person.getEmailAddress();
+    if (email != null) {
+      checkEmailPart(email.getUsername());
+      checkEmailPart(email.getDomain());
+    }
+    PhoneNumber phone = person.getPhoneNumber();
+    if (phone != null && (phone.getAreaCode() < 0 || phone.getAreaCode() > 999
+        || phone.getPrefix() < 0 || phone.getPrefix() > 999
+        || phone.getLineNumber() < 0 || phone.getLineNumber() > 9999)) {
+      throw new IllegalArgumentException("Phone number parts must have 3, 3 and 4 digits.");
+    }
+    String name = person.getName();
+    if (name != null) {
+      if (needsQuotes(name)) {
+        put((byte) '"');
+        for (int i = 0; i < name.length(); i++) {
+          if (name.charAt(i) == '"') {
+            put((byte) '"');
+          }
+          character(name, i);
+        }
+        put((byte) '"');
+      } else {
+        text(name);
+      }
+    }
+    put((byte) ',');
+    if (email != null) {
+      text(email.getUsername());
+      put((byte) '@');
+      text(email.getDomain());
+    }
+    put((byte) ',');
+    if (phone != null) {
+      digits(phone.getAreaCode(), 3);
+      put((byte) '-');
+      digits(phone.getPrefix(), 3);
+      put((byte) '-');
+      digits(phone.getLineNumber(), 4);
+    }
+    put((byte) '\n');
+    written++;
+  }
+
+  /**
+   * Appends contacts.
+   *
+   * @param persons The contacts.
+   * @throws IllegalArgumentException if a contact cannot be written.
+   * @throws IllegalStateException    if the writer is closed.
+   * @throws IOException              if the file cannot be written.
+   */
+  public void writeAll(Iterable<Person> persons) throws IOException {
+    for (Person person : persons) {
+      write(person);
+    }
+  }
+
+  /**
+   * Gets the number of contacts written.
+   *
+   * @return The number of contacts.
+   */
+  public long getWritten() {
+    return written;
+  }
+
+  /**
+   * Writes the buffered contacts and closes the file.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private static void checkEmailPart(String part) {
+    if (part == null || part.isEmpty()) {
+      throw new IllegalArgumentException("Email addresses must have a username and domain.");
+    }
+    for (int i = 0; i < part.length(); i++) {
+      char c = part.charAt(i);
+      if (c == ',' || c == '"' || c == ' ' || c == '\n' || c == '\r' || c == '@') {
+        throw new IllegalArgumentException("Invalid character in email address: " + part);
+      }
+    }
+  }
+
+  private static boolean needsQuotes(String name) {
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void text(String text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      character(text, i);
+    }
+  }
+
+  /**
+   * Writes the character at an index, or if it is not ASCII, the UTF-8 bytes of the code
+   * point starting or ending there.
+   */
+  private void character(String text, int index) throws IOException {
+    char c = text.charAt(index);
+    if (c < 0x80) {
+      put((byte) c);
+    } else if (!Character.isLowSurrogate(c) || index == 0
+        || !Character.isHighSurrogate(text.charAt(index - 1))) {
+      int end = Character.isHighSurrogate(c) && index + 1 < text.length()
+          && Character.isLowSurrogate(text.charAt(index + 1)) ? index + 2 : index + 1;
+      for (byte b : text.substring(index, end).getBytes(StandardCharsets.UTF_8)) {
+        put(b);
+      }
+    }
+  }
+
+  private void digits(int value, int count) throws IOException {
+    if (buffer.remaining() < count) {
+      flush();
+    }
+    int position = buffer.position();
+    for (int i = count - 1; i >= 0; i--) {
+      buffer.put(position + i, (byte) ('0' + value % 10));
+      value /= 10;
+    }
+    buffer.position(position + count);
+  }
+
+  private void put(byte b) throws IOException {
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    buffer.put(b);
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
@@ -0,0 +1,374 @@
+package information;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Finds duplicate contacts, such as the same person imported twice with a differently
+ * spelled name or another email domain, and clusters them.
+ *
+ * <p>The fields are normalized first: names to upper-case words of letters and digits,
+ * usernames and domains to lower case, with any "+tag" removed from the username. A phone
+ * number with a part {@link PhoneNumberCodec} cannot hold counts as missing. To avoid
+ * comparing all pairs, contacts are only compared within blocks sharing a key, in four
+ * passes keyed on the Soundex code of the last name with the area code, on that code with
+ * the email domain, on the email username, and on the phone number. Every pass sorts the
+ * contacts by key; within a block larger than the window, the contacts are sorted by name
+ * and each is compared with the next ones in the window only.
+ *
+ * <p>A pair scores the weighted average of the similarities of the fields both contacts
+ * have, and must share at least two fields: the Jaro-Winkler similarity of the names, and
+ * for emails and phone numbers 1 when equal and 0.5 when only the username, or the prefix
+ * and line number, are equal. Pairs scoring at least the threshold are merged in a
+ * {@link ConcurrentUnionFind}. Normalization, sorting and scoring all run in parallel on a
+ * fork-join pool.
+ */
+public class ContactDeduplicator {
+  private static final double NAME_WEIGHT = 0.5;
+  private static final double EMAIL_WEIGHT = 0.3;
+  private static final double PHONE_WEIGHT = 0.2;
+  private static final int PASSES = 4;
+  private static final long ABSENT = Long.MAX_VALUE;
+
+  private final double threshold;
+  private final int window;
+
+  /**
+   * Constructs a deduplicator.
+   *
+   * @param threshold The score from 0 to 1 at or above which two contacts are duplicates.
+   * @param window    The number of following contacts each contact of a large block is
+   *                  compared with.
+   * @throws IllegalArgumentException if the threshold is not in (0, 1] or the window is not
+   *                                  positive.
+   */
+  public ContactDeduplicator(double threshold, int window) {
+    if (!(threshold > 0 && threshold <= 1)) {
+      throw new IllegalArgumentException("Threshold must be greater than 0 and at most 1.");
+    }
+    if (window <= 0) {
+      throw new IllegalArgumentException("Window must be positive.");
+    }
+    this.threshold = threshold;
+    this.window = window;
+  }
+
+  /**
+   * Constructs a deduplicator with a threshold of 0.8 and a window of 16.
+   */
+  public ContactDeduplicator() {
+    this(0.8, 16);
+  }
+
+  /**
+   * Deduplicates contacts on the common fork-join pool.
+   *
+   * @param persons The contacts.
+   * @return The clusters of duplicates.
+   */
+  public DedupResult deduplicate(List<Person> persons) {
+    return deduplicate(persons, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Deduplicates contacts on the given pool.
+   *
+   * @param persons The contacts.
+   * @param pool    The pool running the deduplication.
+   * @return The clusters of duplicates.
+   */
+  public DedupResult deduplicate(List<Person> persons, ForkJoinPool pool) {
+    Normalized contacts = new Normalized(persons.toArray(new Person[0]));
+    int size = contacts.size;
+    pool.submit(() -> IntStream.range(0, size).parallel().forEach(contacts::normalize))
+        .join();
+    ConcurrentUnionFind clusters = new ConcurrentUnionFind(size);
+    LongAdder comparisons = new LongAdder();
+    long[] keys = new long[size];
+    for (int pass = 0; pass < PASSES; pass++) {
+      int current = pass;
+      pool.submit(() -> {
+        IntStream.range(0, size).parallel().forEach(row -> {
+          int key = contacts.key(current, row);
+          keys[row] = key == 0 ? ABSENT : (long) key << 32 | row;
+        });
+        Arrays.parallelSort(keys);
+      }).join();
+      int keyed = keyed(keys);
+      int[] chunks = chunks(keys, keyed, pool.getParallelism() * 8);
+      pool.submit(() -> IntStream.range(0, chunks.length - 1).parallel().forEach(
+          chunk -> compareBlocks(contacts, keys, chunks[chunk], chunks[chunk + 1], clusters,
+              comparisons))).join();
+    }
+    int[] representatives = new int[size];
+    pool.submit(() -> IntStream.range(0, size).parallel()
+        .forEach(row -> representatives[row] = clusters.find(row))).join();
+    return new DedupResult(representatives, comparisons.sum());
+  }
+
+  /**
+   * Returns the number of contacts with a key, which come before the others once sorted.
+   */
+  private static int keyed(long[] keys) {
+    int from = 0;
+    int to = keys.length;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      if (keys[middle] < ABSENT) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return from;
+  }
+
+  /**
+   * Splits the keyed part of the sorted keys into about the given number of ranges, moving
+   * every boundary forward to the start of a block so that no block is split.
+   */
+  private static int[] chunks(long[] keys, int keyed, int count) {
+    int[] bounds = new int[count + 1];
+    int chunks = 0;
+    for (int i = 1; i < count; i++) {
+      int bound = Math.max(bounds[chunks], (int) ((long) keyed * i / count));
+      while (bound > 0 && bound < keyed && keys[bound] >>> 32 == keys[bound - 1] >>> 32) {
+        bound++;
+      }
+      if (bound > bounds[chunks] && bound < keyed) {
+        bounds[++chunks] = bound;
+      }
+    }
+    bounds[++chunks] = keyed;
+    return Arrays.copyOf(bounds, chunks + 1);
+  }
+
+  private void compareBlocks(Normalized contacts, long[] keys, int from, int to,
+                             ConcurrentUnionFind clusters, LongAdder comparisons) {
+    long compared = 0;
+    int start = from;
+    while (start < to) {
+      int end = start + 1;
+      while (end < to && keys[end] >>> 32 == keys[start] >>> 32) {
+        end++;
+      }
+      int[] rows = new int[end - start];
+      for (int i = 0; i < rows.length; i++) {
+        rows[i] = (int) keys[start + i];
+      }
+      if (rows.length > window + 1) {
+        rows = Arrays.stream(rows).boxed()
+            .sorted(Comparator.comparing(row -> contacts.names[row],
+                Comparator.nullsLast(Comparator.naturalOrder())))
+            .mapToInt(Integer::intValue).toArray();
+      }
+      for (int i = 0; i < rows.length; i++) {
+        for (int j = i + 1; j < rows.length && j <= i + window; j++) {
+          if (!clusters.connected(rows[i], rows[j])) {
+            compared++;
+            if (contacts.score(rows[i], rows[j]) >= threshold) {
+              clusters.union(rows[i], rows[j]);
+            }
+          }
+        }
+      }
+      start = end;
+    }
+    comparisons.add(compared);
+  }
+
+  /**
+   * Jaro-Winkler similarity of two strings, from 0 for nothing in common to 1 when equal.
+   */
+  static double jaroWinkler(String a, String b) {
+    if (a.equals(b)) {
+      return 1;
+    }
+    int range = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+    boolean[] matchedA = new boolean[a.length()];
+    boolean[] matchedB = new boolean[b.length()];
+    int matches = 0;
+    for (int i = 0; i < a.length(); i++) {
+      for (int j = Math.max(0, i - range); j < Math.min(b.length(), i + range + 1); j++) {
+        if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+          matchedA[i] = true;
+          matchedB[j] = true;
+          matches++;
+          break;
+        }
+      }
+    }
+    if (matches == 0) {
+      return 0;
+    }
+    int transpositions = 0;
+    for (int i = 0, j = 0; i < a.length(); i++) {
+      if (matchedA[i]) {
+        while (!matchedB[j]) {
+          j++;
+        }
+        if (a.charAt(i) != b.charAt(j++)) {
+          transpositions++;
+        }
+      }
+    }
+    double m = matches;
+    double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3;
+    int prefix = 0;
+    while (prefix < Math.min(4, Math.min(a.length(), b.length()))
+        && a.charAt(prefix) == b.charAt(prefix)) {
+      prefix++;
+    }
+    return jaro + prefix * 0.1 * (1 - jaro);
+  }
+
+  /**
+   * The normalized fields of the contacts, in parallel arrays. A missing field is null, or
+   * -1 for a phone number, which also stands for a phone number the codec cannot encode.
+   */
+  private static final class Normalized {
+    private final Person[] persons;
+    private final int size;
+    private final String[] names;
+    private final String[] soundex;
+    private final String[] usernames;
+    private final String[] domains;
+    private final long[] phones;
+
+    Normalized(Person[] persons) {
+      this.persons = persons;
+      this.size = persons.length;
+      this.names = new String[size];
+      this.soundex = new String[size];
+      this.usernames = new String[size];
+      this.domains = new String[size];
+      this.phones = new long[size];
+    }
+
+    void normalize(int row) {
+      Person person = persons[row];
+      names[row] = normalizeName(person.getName());
+      if (names[row] != null) {
+        soundex[row] = Soundex.encode(names[row].substring(names[row].lastIndexOf(' ') + 1));
+      }
+      EmailAddress email = person.getEmailAddress();
+      if (email != null && email.getUsername() != null && email.getDomain() != null) {
+        String username = email.getUsername().toLowerCase(Locale.ROOT);
+        int tag = username.indexOf('+');
+        usernames[row] = tag < 0 ? username : username.substring(0, tag);
+        domains[row] = email.getDomain().toLowerCase(Locale.ROOT);
+      }
+      phones[row] = encodePhone(person.getPhoneNumber());
+    }
+
+    /**
+     * Encodes a phone number, or returns -1 if it is missing or has a part the codec cannot
+     * hold, so that a single malformed record does not abort a whole import.
+     */
+    private static long encodePhone(PhoneNumber phone) {
+      if (phone == null) {
+        return -1;
+      }
+      int areaCode = phone.getAreaCode();
+      int prefix = phone.getPrefix();
+      int lineNumber = phone.getLineNumber();
+      if ((areaCode | prefix | lineNumber) < 0
+          || Math.max(areaCode, Math.max(prefix, lineNumber)) > PhoneNumberCodec.MAX_PART) {
+        return -1;
+      }
+      return PhoneNumberCodec.encode(areaCode, prefix, lineNumber);
+    }
+
+    /**
+     * Returns the blocking key of a contact in a pass, or zero if it lacks the fields.
+     */
+    int key(int pass, int row) {
+      long hash;
+      switch (pass) {
+        case 0:
+          if (soundex[row] == null || phones[row] < 0) {
+            return 0;
+          }
+          hash = soundex[row].hashCode() * 31L + PhoneNumberCodec.areaCode(phones[row]);
+          break;
+        case 1:
+          if (soundex[row] == null || domains[row] == null) {
+            return 0;
+          }
+          hash = soundex[row].hashCode() * 31L + domains[row].hashCode();
+          break;
+        case 2:
+          if (usernames[row] == null) {
+            return 0;
+          }
+          hash = usernames[row].hashCode();
+          break;
+        default:
+          if (phones[row] < 0) {
+            return 0;
+          }
+          hash = phones[row];
+          break;
+      }
+      // Mixes in the pass and spreads the bits, keeping zero for missing keys.
+      hash = (hash + pass) * 0x9E3779B97F4A7C15L;
+      int key = (int) (hash ^ hash >>> 32);
+      return key == 0 ? 1 : key;
+    }
+
+    double score(int a, int b) {
+      double total = 0;
+      double weight = 0;
+      int fields = 0;
+      if (names[a] != null && names[b] != null) {
+        total += NAME_WEIGHT * jaroWinkler(names[a], names[b]);
+        weight += NAME_WEIGHT;
+        fields++;
+      }
+      if (usernames[a] != null && usernames[b] != null) {
+        if (usernames[a].equals(usernames[b])) {
+          total += EMAIL_WEIGHT * (domains[a].equals(domains[b]) ? 1 : 0.5);
+        }
+        weight += EMAIL_WEIGHT;
+        fields++;
+      }
+      if (phones[a] >= 0 && phones[b] >= 0) {
+        long mask = (1L << 2 * PhoneNumberCodec.FIELD_BITS) - 1;
+        if (phones[a] == phones[b]) {
+          total += PHONE_WEIGHT;
+        } else if ((phones[a] & mask) == (phones[b] & mask)) {
+          total += PHONE_WEIGHT * 0.5;
+        }
+        weight += PHONE_WEIGHT;
+        fields++;
+      }
+      return fields < 2 ? 0 : total / weight;
+    }
+
+    private static String normalizeName(String name) {
+      if (name == null) {
+        return null;
+      }
+      StringBuilder normalized = new StringBuilder(name.length());
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (Character.isLetterOrDigit(c)) {
+          normalized.append(Character.toUpperCase(c));
+        } else if (normalized.length() > 0
+            && normalized.charAt(normalized.length() - 1) != ' ') {
+          normalized.append(' ');
+        }
+      }
+      int length = normalized.length();
+      if (length > 0 && normalized.charAt(length - 1) == ' ') {
+        normalized.setLength(length - 1);
+      }
+      return normalized.length() == 0 ? null : normalized.toString();
+    }
+  }
+}
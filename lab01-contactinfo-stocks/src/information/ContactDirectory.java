@@ -0,0 +1,217 @@
+package information;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * An immutable directory of contacts indexed for lookups by name prefix, email address,
+ * phone number, email domain and area code.
+ *
+ * <p>Names are searched in an array of the contacts sorted case-insensitively by name, which
+ * serves as a flattened trie: the contacts whose names start with a prefix form one range
+ * of the array, found by two binary searches. The other indexes are hash maps from a key to
+ * the ascending positions of the contacts having it, so a lookup is one hash probe and its
+ * results are a view of the posting list. No query copies or allocates more than the view.
+ *
+ * <p>The indexes are built concurrently on a fork-join pool, the sort itself in parallel.
+ * Contacts with a null name, email address or phone number are left out of the indexes
+ * on it.
+ */
+public class ContactDirectory {
+  private static final Comparator<Person> NAME_ORDER =
+      Comparator.comparing(Person::getName, String.CASE_INSENSITIVE_ORDER);
+
+  private final Person[] persons;
+  private final Person[] byName;
+  private final Map<EmailAddress, int[]> byEmail;
+  private final Map<PhoneNumber, int[]> byPhone;
+  private final Map<String, int[]> byDomain;
+  private final Map<Integer, int[]> byAreaCode;
+
+  /**
+   * Constructs a directory of the given contacts, building the indexes on the common
+   * fork-join pool.
+   *
+   * @param persons The contacts.
+   */
+  public ContactDirectory(Collection<Person> persons) {
+    this(persons, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a directory of the given contacts, building the indexes on the given pool.
+   *
+   * @param persons The contacts.
+   * @param pool    The pool building the indexes.
+   */
+  public ContactDirectory(Collection<Person> persons, ForkJoinPool pool) {
+    this.persons = persons.toArray(new Person[0]);
+    Person[] named = Arrays.stream(this.persons).filter(person -> person.getName() != null)
+        .toArray(Person[]::new);
+    ForkJoinTask<?> sort = ForkJoinTask.adapt(() -> Arrays.parallelSort(named, NAME_ORDER));
+    ForkJoinTask<Map<EmailAddress, int[]>> emails =
+        ForkJoinTask.adapt(() -> postings(Person::getEmailAddress));
+    ForkJoinTask<Map<PhoneNumber, int[]>> phones =
+        ForkJoinTask.adapt(() -> postings(Person::getPhoneNumber));
+    ForkJoinTask<Map<String, int[]>> domains = ForkJoinTask.adapt(() -> postings(
+        person -> person.getEmailAddress() == null ? null
+            : person.getEmailAddress().getDomain()));
+    ForkJoinTask<Map<Integer, int[]>> areaCodes = ForkJoinTask.adapt(() -> postings(
+        person -> person.getPhoneNumber() == null ? null
+            : person.getPhoneNumber().getAreaCode()));
+    pool.invoke(ForkJoinTask.adapt(
+        () -> ForkJoinTask.invokeAll(sort, emails, phones, domains, areaCodes)));
+    this.byName = named;
+    this.byEmail = emails.join();
+    this.byPhone = phones.join();
+    this.byDomain = domains.join();
+    this.byAreaCode = areaCodes.join();
+  }
+
+  /**
+   * Gets the number of contacts in the directory.
+   *
+   * @return The number of contacts.
+   */
+  public int size() {
+    return persons.length;
+  }
+
+  /**
+   * Gets a contact by its position, the order in which the contacts were given.
+   *
+   * @param index The position of the contact.
+   * @return The contact.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public Person get(int index) {
+    return persons[index];
+  }
+
+  /**
+   * Finds the contacts whose names start with a prefix, ignoring case.
+   *
+   * @param prefix The prefix.
+   * @return An unmodifiable list of the contacts, sorted by name.
+   */
+  public List<Person> findByNamePrefix(String prefix) {
+    int from = 0;
+    int to = byName.length;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      if (String.CASE_INSENSITIVE_ORDER.compare(byName[middle].getName(), prefix) < 0) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    // The names from here on are not less than the prefix, those starting with it first.
+    int low = from;
+    to = byName.length;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      if (byName[middle].getName().regionMatches(true, 0, prefix, 0, prefix.length())) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return Collections.unmodifiableList(Arrays.asList(byName).subList(low, from));
+  }
+
+  /**
+   * Finds the contacts with an email address.
+   *
+   * @param emailAddress The email address.
+   * @return An unmodifiable list of the contacts, in the order they were given.
+   */
+  public List<Person> findByEmailAddress(EmailAddress emailAddress) {
+    return view(byEmail.get(emailAddress));
+  }
+
+  /**
+   * Finds the contacts with a phone number.
+   *
+   * @param phoneNumber The phone number.
+   * @return An unmodifiable list of the contacts, in the order they were given.
+   */
+  public List<Person> findByPhoneNumber(PhoneNumber phoneNumber) {
+    return view(byPhone.get(phoneNumber));
+  }
+
+  /**
+   * Finds the contacts with an email address in a domain.
+   *
+   * @param domain The domain.
+   * @return An unmodifiable list of the contacts, in the order they were given.
+   */
+  public List<Person> findByDomain(String domain) {
+    return view(byDomain.get(domain));
+  }
+
+  /**
+   * Finds the contacts with a phone number in an area code.
+   *
+   * @param areaCode The area code.
+   * @return An unmodifiable list of the contacts, in the order they were given.
+   */
+  public List<Person> findByAreaCode(int areaCode) {
+    return view(byAreaCode.get(areaCode));
+  }
+
+  /**
+   * Builds a map from every key to the ascending positions of the contacts having it, in
+   * two passes: the first counts the contacts per key, the second fills the arrays.
+   */
+  private <K> Map<K, int[]> postings(Function<Person, K> key) {
+    Map<K, int[]> postings = new HashMap<>();
+    for (Person person : persons) {
+      K value = key.apply(person);
+      if (value != null) {
+        postings.computeIfAbsent(value, k -> new int[1])[0]++;
+      }
+    }
+    for (Map.Entry<K, int[]> entry : postings.entrySet()) {
+      int[] rows = new int[entry.getValue()[0]];
+      // Counts down as the array is filled from the end.
+      rows[0] = rows.length;
+      entry.setValue(rows);
+    }
+    for (int row = persons.length - 1; row >= 0; row--) {
+      K value = key.apply(persons[row]);
+      if (value != null) {
+        int[] rows = postings.get(value);
+        int next = rows[0] - 1;
+        rows[0] = next;
+        rows[next] = row;
+      }
+    }
+    return postings;
+  }
+
+  private List<Person> view(int[] rows) {
+    if (rows == null) {
+      return Collections.emptyList();
+    }
+    return new AbstractList<>() {
+      @Override
+      public Person get(int index) {
+        return persons[rows[index]];
+      }
+
+      @Override
+      public int size() {
+        return rows.length;
+      }
+    };
+  }
+}
@@ -0,0 +1,250 @@
+package information;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A columnar store of contacts that holds each contact in a few dozen bytes instead of the
+ * six objects of a {@link Person} with its email address and phone number.
+ *
+ * <p>Phone numbers are kept as {@link PhoneNumberCodec} codes in a long column and email
+ * domains as IDs of a {@link DomainDictionary} in an int column. Names and usernames are
+ * stored as UTF-8 bytes in pages of {@value #ROWS_PER_PAGE} contacts, each prefixed with
+ * its length plus one as a varint, zero standing for null, and an int column holds the
+ * offset of every contact within its page. Contacts are materialized as objects only when
+ * read. This class is not thread-safe.
+ */
+public class ContactStore {
+  static final int ROWS_PER_PAGE = 1024;
+  private static final int PAGE_SHIFT = 10;
+  private static final long NO_PHONE = -1;
+
+  private final DomainDictionary domains = new DomainDictionary();
+  private long[] phones;
+  private int[] domainIds;
+  private int[] offsets;
+  private byte[][] pages = new byte[16][];
+  private int pageSize;
+  private int size;
+
+  /**
+   * Constructs a store with room for the given number of contacts before it grows.
+   *
+   * @param expectedSize The expected number of contacts.
+   */
+  public ContactStore(int expectedSize) {
+    int capacity = Math.max(16, expectedSize);
+    phones = new long[capacity];
+    domainIds = new int[capacity];
+    offsets = new int[capacity];
+  }
+
+  /**
+   * Constructs an empty store.
+   */
+  public ContactStore() {
+    this(16);
+  }
+
+  /**
+   * Adds a contact.
+   *
+   * @param person The contact.
+   * @return The position of the contact in the store.
+   * @throws IllegalArgumentException if a part of the phone number cannot be encoded.
+   */
+  public int add(Person person) {
+    PhoneNumber phoneNumber = person.getPhoneNumber();
+    long phone = phoneNumber == null ? NO_PHONE : PhoneNumberCodec.encode(phoneNumber);
+    EmailAddress emailAddress = person.getEmailAddress();
+    if (size == phones.length) {
+      int capacity = size + (size >> 1);
+      phones = Arrays.copyOf(phones, capacity);
+      domainIds = Arrays.copyOf(domainIds, capacity);
+      offsets = Arrays.copyOf(offsets, capacity);
+    }
+    int page = size >>> PAGE_SHIFT;
+    if ((size & (ROWS_PER_PAGE - 1)) == 0) {
+      if (page > 0) {
+        pages[page - 1] = Arrays.copyOf(pages[page - 1], pageSize);
+      }
+      if (page == pages.length) {
+        pages = Arrays.copyOf(pages, page * 2);
+      }
+      pages[page] = new byte[ROWS_PER_PAGE * 16];
+      pageSize = 0;
+    }
+    offsets[size] = pageSize;
+    append(page, person.getName());
+    if (emailAddress == null) {
+      append(page, null);
+      domainIds[size] = -1;
+    } else {
+      append(page, emailAddress.getUsername());
+      domainIds[size] = emailAddress.getDomain() == null ? -1
+          : domains.intern(emailAddress.getDomain());
+    }
+    phones[size] = phone;
+    return size++;
+  }
+
+  /**
+   * Gets the number of contacts in the store.
+   *
+   * @return The number of contacts.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the dictionary of the email domains of the contacts.
+   *
+   * @return The domain dictionary.
+   */
+  public DomainDictionary getDomains() {
+    return domains;
+  }
+
+  /**
+   * Gets a contact as a new Person object.
+   *
+   * @param row The position of the contact.
+   * @return The contact.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public Person get(int row) {
+    return new Person(getName(row), getEmailAddress(row), getPhoneNumber(row));
+  }
+
+  /**
+   * Gets the name of a contact.
+   *
+   * @param row The position of the contact.
+   * @return The name.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public String getName(int row) {
+    Objects.checkIndex(row, size);
+    return read(pages[row >>> PAGE_SHIFT], offsets[row], 0);
+  }
+
+  /**
+   * Gets the username of the email address of a contact.
+   *
+   * @param row The position of the contact.
+   * @return The username, or null if the contact has no email address.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public String getUsername(int row) {
+    Objects.checkIndex(row, size);
+    return read(pages[row >>> PAGE_SHIFT], offsets[row], 1);
+  }
+
+  /**
+   * Gets the ID of the email domain of a contact in the domain dictionary.
+   *
+   * @param row The position of the contact.
+   * @return The domain ID, or -1 if the contact has no email domain.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public int getDomainId(int row) {
+    return domainIds[Objects.checkIndex(row, size)];
+  }
+
+  /**
+   * Gets the email address of a contact as a new object, sharing the interned domain.
+   *
+   * @param row The position of the contact.
+   * @return The email address, or null if the contact has none.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public EmailAddress getEmailAddress(int row) {
+    String username = getUsername(row);
+    int domain = domainIds[row];
+    if (username == null && domain < 0) {
+      return null;
+    }
+    return new EmailAddress(username, domain < 0 ? null : domains.domain(domain));
+  }
+
+  /**
+   * Gets the phone number of a contact as a {@link PhoneNumberCodec} code.
+   *
+   * @param row The position of the contact.
+   * @return The code, or -1 if the contact has no phone number.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public long getPhoneCode(int row) {
+    return phones[Objects.checkIndex(row, size)];
+  }
+
+  /**
+   * Gets the phone number of a contact as a new object.
+   *
+   * @param row The position of the contact.
+   * @return The phone number, or null if the contact has none.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public PhoneNumber getPhoneNumber(int row) {
+    long phone = getPhoneCode(row);
+    return phone == NO_PHONE ? null : PhoneNumberCodec.decode(phone);
+  }
+
+  /**
+   * Gets the number of bytes holding the contacts, excluding array headers, unused capacity
+   * and the domain dictionary.
+   *
+   * @return The number of bytes.
+   */
+  public long getStoredBytes() {
+    long bytes = (long) size * (Long.BYTES + 2 * Integer.BYTES);
+    int pageCount = (size + ROWS_PER_PAGE - 1) >>> PAGE_SHIFT;
+    for (int page = 0; page < pageCount - 1; page++) {
+      bytes += pages[page].length;
+    }
+    return pageCount == 0 ? bytes : bytes + pageSize;
+  }
+
+  private void append(int page, String text) {
+    byte[] bytes = text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    int length = bytes == null ? 0 : bytes.length + 1;
+    byte[] data = pages[page];
+    if (pageSize + 5 + length > data.length) {
+      data = Arrays.copyOf(data, Math.max(data.length * 2, pageSize + 5 + length));
+      pages[page] = data;
+    }
+    while ((length & ~0x7F) != 0) {
+      data[pageSize++] = (byte) (length | 0x80);
+      length >>>= 7;
+    }
+    data[pageSize++] = (byte) length;
+    if (bytes != null) {
+      System.arraycopy(bytes, 0, data, pageSize, bytes.length);
+      pageSize += bytes.length;
+    }
+  }
+
+  /**
+   * Reads the string with the given index among the strings of a contact starting at an
+   * offset of a page.
+   */
+  private static String read(byte[] data, int offset, int index) {
+    while (true) {
+      int length = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[offset++];
+        length |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      if (index-- == 0) {
+        return length == 0 ? null
+            : new String(data, offset, length - 1, StandardCharsets.UTF_8);
+      }
+      offset += Math.max(0, length - 1);
+    }
+  }
+}
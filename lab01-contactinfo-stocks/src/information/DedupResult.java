@@ -0,0 +1,102 @@
+package information;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The clusters of duplicate contacts found by a {@link ContactDeduplicator}. Every contact
+ * is represented by the first contact of its cluster.
+ */
+public class DedupResult {
+  private final int[] representatives;
+  private final int clusterCount;
+  private final long comparisons;
+
+  DedupResult(int[] representatives, long comparisons) {
+    this.representatives = representatives;
+    int clusters = 0;
+    for (int i = 0; i < representatives.length; i++) {
+      if (representatives[i] == i) {
+        clusters++;
+      }
+    }
+    this.clusterCount = clusters;
+    this.comparisons = comparisons;
+  }
+
+  /**
+   * Gets the number of contacts that were deduplicated.
+   *
+   * @return The number of contacts.
+   */
+  public int size() {
+    return representatives.length;
+  }
+
+  /**
+   * Gets the representative of the cluster of a contact.
+   *
+   * @param index The position of the contact.
+   * @return The position of the first contact of its cluster.
+   * @throws IndexOutOfBoundsException if there is no such contact.
+   */
+  public int getRepresentative(int index) {
+    return representatives[index];
+  }
+
+  /**
+   * Gets the number of clusters, that is of distinct contacts.
+   *
+   * @return The number of clusters.
+   */
+  public int getClusterCount() {
+    return clusterCount;
+  }
+
+  /**
+   * Gets the number of pairs of contacts that were scored.
+   *
+   * @return The number of comparisons.
+   */
+  public long getComparisons() {
+    return comparisons;
+  }
+
+  /**
+   * Merges every cluster into one contact, taking each field from the first contact of the
+   * cluster that has it.
+   *
+   * @param persons The contacts that were deduplicated.
+   * @return The merged contacts, in the order of their representatives.
+   * @throws IllegalArgumentException if the number of contacts differs.
+   */
+  public List<Person> merge(List<Person> persons) {
+    if (persons.size() != representatives.length) {
+      throw new IllegalArgumentException("Expected " + representatives.length
+          + " contacts.");
+    }
+    String[] names = new String[representatives.length];
+    EmailAddress[] emails = new EmailAddress[representatives.length];
+    PhoneNumber[] phones = new PhoneNumber[representatives.length];
+    for (int i = 0; i < representatives.length; i++) {
+      Person person = persons.get(i);
+      int cluster = representatives[i];
+      if (names[cluster] == null) {
+        names[cluster] = person.getName();
+      }
+      if (emails[cluster] == null) {
+        emails[cluster] = person.getEmailAddress();
+      }
+      if (phones[cluster] == null) {
+        phones[cluster] = person.getPhoneNumber();
+      }
+    }
+    List<Person> merged = new ArrayList<>(clusterCount);
+    for (int i = 0; i < representatives.length; i++) {
+      if (representatives[i] == i) {
+        merged.add(new Person(names[i], emails[i], phones[i]));
+      }
+    }
+    return merged;
+  }
+}
@@ -0,0 +1,67 @@
+package information;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Interns email domains to dense int IDs 0, 1, 2, ... in order of first appearance, so that
+ * each distinct domain is stored once however many addresses share it.
+ */
+public class DomainDictionary {
+  private final Map<String, Integer> ids = new HashMap<>();
+  private String[] domains = new String[16];
+
+  /**
+   * Gets the ID of a domain, assigning the next ID if it is new.
+   *
+   * @param domain The domain.
+   * @return The ID.
+   * @throws NullPointerException if the domain is null.
+   */
+  public int intern(String domain) {
+    Integer id = ids.get(Objects.requireNonNull(domain));
+    if (id != null) {
+      return id;
+    }
+    int next = ids.size();
+    if (next == domains.length) {
+      domains = Arrays.copyOf(domains, next * 2);
+    }
+    domains[next] = domain;
+    ids.put(domain, next);
+    return next;
+  }
+
+  /**
+   * Gets the ID of a domain.
+   *
+   * @param domain The domain.
+   * @return The ID, or -1 if the domain has not been interned.
+   */
+  public int id(String domain) {
+    Integer id = ids.get(domain);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Gets the domain with an ID.
+   *
+   * @param id The ID.
+   * @return The domain.
+   * @throws IndexOutOfBoundsException if no domain has the ID.
+   */
+  public String domain(int id) {
+    return domains[Objects.checkIndex(id, ids.size())];
+  }
+
+  /**
+   * Gets the number of interned domains.
+   *
+   * @return The number of domains.
+   */
+  public int size() {
+    return ids.size();
+  }
+}
@@ -1,5 +1,7 @@
 package information;
 
+import java.util.Objects;
+
 /**
  * Represents an email address with a username and domain.
  */
@@ -35,4 +37,21 @@ public class EmailAddress {
   public String getDomain() {
     return domain;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EmailAddress)) {
+      return false;
+    }
+    EmailAddress other = (EmailAddress) o;
+    return Objects.equals(username, other.username) && Objects.equals(domain, other.domain);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(username, domain);
+  }
 }
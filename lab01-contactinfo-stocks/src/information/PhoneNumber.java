@@ -47,5 +47,22 @@ public class PhoneNumber {
   public int getLineNumber() {
     return lineNumber;
   }
-}
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PhoneNumber)) {
+      return false;
+    }
+    PhoneNumber other = (PhoneNumber) o;
+    return areaCode == other.areaCode && prefix == other.prefix
+        && lineNumber == other.lineNumber;
+  }
+
+  @Override
+  public int hashCode() {
+    return (areaCode * 31 + prefix) * 31 + lineNumber;
+  }
+}
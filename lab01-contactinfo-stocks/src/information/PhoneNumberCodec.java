@@ -0,0 +1,89 @@
+package information;
+
+/**
+ * Packs phone numbers into a long with the area code, prefix and line number in three
+ * {@value #FIELD_BITS}-bit fields, from the most significant down. Codes are non-negative
+ * and compare like the phone numbers field by field, and the parts can be read back from a
+ * code without building a {@link PhoneNumber}.
+ */
+public final class PhoneNumberCodec {
+  /** The number of bits of each part. */
+  public static final int FIELD_BITS = 20;
+  /** The largest value of each part. */
+  public static final int MAX_PART = (1 << FIELD_BITS) - 1;
+
+  private PhoneNumberCodec() {
+  }
+
+  /**
+   * Encodes a phone number.
+   *
+   * @param phoneNumber The phone number.
+   * @return The code.
+   * @throws IllegalArgumentException if a part is negative or greater than
+   *                                  {@value #MAX_PART}.
+   */
+  public static long encode(PhoneNumber phoneNumber) {
+    return encode(phoneNumber.getAreaCode(), phoneNumber.getPrefix(),
+        phoneNumber.getLineNumber());
+  }
+
+  /**
+   * Encodes the parts of a phone number.
+   *
+   * @param areaCode   The area code.
+   * @param prefix     The prefix.
+   * @param lineNumber The line number.
+   * @return The code.
+   * @throws IllegalArgumentException if a part is negative or greater than
+   *                                  {@value #MAX_PART}.
+   */
+  public static long encode(int areaCode, int prefix, int lineNumber) {
+    if ((areaCode | prefix | lineNumber) < 0
+        || Math.max(areaCode, Math.max(prefix, lineNumber)) > MAX_PART) {
+      throw new IllegalArgumentException("Phone number parts must be between 0 and "
+          + MAX_PART + ".");
+    }
+    return (long) areaCode << (2 * FIELD_BITS) | (long) prefix << FIELD_BITS | lineNumber;
+  }
+
+  /**
+   * Decodes a phone number.
+   *
+   * @param code The code.
+   * @return The phone number.
+   */
+  public static PhoneNumber decode(long code) {
+    return new PhoneNumber(areaCode(code), prefix(code), lineNumber(code));
+  }
+
+  /**
+   * Gets the area code of an encoded phone number.
+   *
+   * @param code The code.
+   * @return The area code.
+   */
+  public static int areaCode(long code) {
+    return (int) (code >>> (2 * FIELD_BITS)) & MAX_PART;
+  }
+
+  /**
+   * Gets the prefix of an encoded phone number.
+   *
+   * @param code The code.
+   * @return The prefix.
+   */
+  public static int prefix(long code) {
+    return (int) (code >>> FIELD_BITS) & MAX_PART;
+  }
+
+  /**
+   * Gets the line number of an encoded phone number.
+   *
+   * @param code The code.
+   * @return The line number.
+   */
+  public static int lineNumber(long code) {
+    return (int) code & MAX_PART;
+  }
+}
@@ -0,0 +1,51 @@
+package information;
+
+/**
+ * Computes the American Soundex code of a name: its first letter followed by three digits
+ * for the consonant sounds after it, so that names that sound alike, such as Robert and
+ * Rupert, get the same code.
+ */
+public final class Soundex {
+  // The digit of each letter A to Z, 0 for vowels and for H, W and Y.
+  private static final String DIGITS = "01230120022455012623010202";
+
+  private Soundex() {
+  }
+
+  /**
+   * Encodes a name. Characters other than the letters A to Z, in either case, are ignored.
+   *
+   * @param name The name.
+   * @return The four character code, or null if the name has no letters.
+   */
+  public static String encode(CharSequence name) {
+    char[] code = new char[4];
+    int length = 0;
+    char previous = 0;
+    for (int i = 0; i < name.length() && length < 4; i++) {
+      char c = name.charAt(i);
+      if (c >= 'a' && c <= 'z') {
+        c -= 'a' - 'A';
+      } else if (c < 'A' || c > 'Z') {
+        continue;
+      }
+      char digit = DIGITS.charAt(c - 'A');
+      if (length == 0) {
+        code[length++] = c;
+      } else if (digit != '0' && digit != previous) {
+        code[length++] = digit;
+      }
+      // H and W do not separate letters with the same digit; vowels do.
+      if (c != 'H' && c != 'W') {
+        previous = digit;
+      }
+    }
+    if (length == 0) {
+      return null;
+    }
+    while (length < 4) {
+      code[length++] = '0';
+    }
+    return new String(code);
+  }
+}
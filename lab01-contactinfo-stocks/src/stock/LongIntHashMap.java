@@ -0,0 +1,145 @@
+package stock;
+
+import java.util.Arrays;
+
+/**
+ * A map from long keys to non-negative int values with open addressing and linear probing
+ * in two parallel primitive arrays, so neither lookups nor insertions allocate, except when
+ * the table grows. Lookups of absent keys return -1.
+ */
+public class LongIntHashMap {
+  private static final int MISSING = -1;
+  private static final long EMPTY = 0;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  // Zero marks empty slots, so the value of key zero is kept aside.
+  private int zeroValue = MISSING;
+
+  /**
+   * Constructs a map with room for the given number of entries before it grows.
+   *
+   * @param expectedSize The expected number of entries.
+   */
+  public LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Constructs an empty map.
+   */
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  private int slot(long key) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  /**
+   * Gets the value of a key.
+   *
+   * @param key The key.
+   * @return The value, or -1 if the key is absent.
+   */
+  public int get(long key) {
+    if (key == EMPTY) {
+      return zeroValue;
+    }
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        return values[i];
+      } else if (k == EMPTY) {
+        return MISSING;
+      }
+    }
+  }
+
+  /**
+   * Tells whether the map has a key.
+   *
+   * @param key The key.
+   * @return True if the key is present.
+   */
+  public boolean containsKey(long key) {
+    return get(key) != MISSING;
+  }
+
+  /**
+   * Associates a value with a key.
+   *
+   * @param key   The key.
+   * @param value The value, not negative.
+   * @return The previous value, or -1 if the key was absent.
+   * @throws IllegalArgumentException if the value is negative.
+   */
+  public int put(long key, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Values must not be negative.");
+    }
+    if (key == EMPTY) {
+      int previous = zeroValue;
+      zeroValue = value;
+      size += previous == MISSING ? 1 : 0;
+      return previous;
+    }
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        int previous = values[i];
+        values[i] = value;
+        return previous;
+      } else if (k == EMPTY) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length / 2) {
+          rehash(keys.length * 2);
+        }
+        return MISSING;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of entries.
+   *
+   * @return The number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      long key = oldKeys[j];
+      if (key != EMPTY) {
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  /**
+   * Removes all entries, keeping the capacity.
+   */
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    zeroValue = MISSING;
+    size = 0;
+  }
+}
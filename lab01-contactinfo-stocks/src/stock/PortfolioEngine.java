@@ -0,0 +1,346 @@
+package stock;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Values many portfolios over a shared universe of stocks and keeps their aggregates up to
+ * date as prices and positions change.
+ *
+ * <p>Every aggregate of a portfolio is a sum over its positions of the quantity times a
+ * per-share term of the stock: the price, the 52-week high and low, the price times the
+ * debt-to-assets ratio and the price times the analyst recommendation. A change to a stock
+ * therefore changes each portfolio holding it by the quantity times the change of the
+ * terms, and a position change by the change of the quantity times the terms. Both are
+ * applied as deltas, so a tick costs a few multiply-adds per holding portfolio, found
+ * through a per-stock list of holders, and nothing is ever recomputed from scratch.
+ *
+ * <p>Deltas accumulate rounding errors over time; {@link #recompute()} rebuilds the sums
+ * exactly. The sums of a portfolio are also reset to zero when its last position is closed,
+ * so an empty portfolio always has the NaN ratios of an empty portfolio. This class is not
+ * thread-safe.
+ */
+public class PortfolioEngine {
+  private final SymbolTable symbols = new SymbolTable();
+  // Per stock, indexed by symbol ID.
+  private double[] prices = new double[16];
+  private double[] lows = new double[16];
+  private double[] highs = new double[16];
+  private double[] debtToAssets = new double[16];
+  private int[] recommendations = new int[16];
+  private int[][] holders = new int[16][];
+  private double[][] quantities = new double[16][];
+  private int[] holderCounts = new int[16];
+  // Slot of each position in the holders of its stock, keyed by portfolio and stock ID.
+  private final LongIntHashMap positions = new LongIntHashMap();
+  // Per portfolio: the sums of quantity times price, high, low, price times debt-to-assets
+  // and price times recommendation.
+  private double[] values = new double[16];
+  private double[] highValues = new double[16];
+  private double[] lowValues = new double[16];
+  private double[] leveragedValues = new double[16];
+  private double[] scoredValues = new double[16];
+  // Per portfolio: the number of positions with a non-zero quantity.
+  private int[] openPositions = new int[16];
+  private int portfolioCount;
+
+  /**
+   * Adds a stock to the universe, or replaces the values of a stock already in it and
+   * revalues the portfolios holding it.
+   *
+   * @param stock The stock.
+   * @return The ID of the stock.
+   * @throws IllegalArgumentException if the ticker cannot be encoded, the price is not
+   *                                  positive or the total assets are not positive.
+   */
+  public int add(Stock stock) {
+    checkPrice(stock.getPricePerShare());
+    if (!(stock.getTotalAssets() > 0)) {
+      throw new IllegalArgumentException("Total assets must be positive.");
+    }
+    int id = symbols.intern(stock.getTickerSymbol());
+    if (id == prices.length) {
+      int capacity = id * 2;
+      prices = Arrays.copyOf(prices, capacity);
+      lows = Arrays.copyOf(lows, capacity);
+      highs = Arrays.copyOf(highs, capacity);
+      debtToAssets = Arrays.copyOf(debtToAssets, capacity);
+      recommendations = Arrays.copyOf(recommendations, capacity);
+      holders = Arrays.copyOf(holders, capacity);
+      quantities = Arrays.copyOf(quantities, capacity);
+      holderCounts = Arrays.copyOf(holderCounts, capacity);
+    }
+    update(id, stock.getPricePerShare(), stock.getLowestPrice52Weeks(),
+        stock.getHighestPrice52Weeks(), StockField.DEBT_TO_ASSETS.of(stock),
+        stock.getAnalystRecommendation());
+    return id;
+  }
+
+  /**
+   * Gets the ID of a stock in the universe.
+   *
+   * @param tickerSymbol The ticker symbol.
+   * @return The ID, or -1 if the stock is not in the universe.
+   */
+  public int id(String tickerSymbol) {
+    return symbols.id(tickerSymbol);
+  }
+
+  /**
+   * Applies a price tick, widening the 52-week range if the price lies outside it.
+   *
+   * @param tickerSymbol The ticker symbol.
+   * @param price        The new price per share.
+   * @throws IllegalArgumentException if the ticker is unknown or the price is not positive.
+   */
+  public void tick(String tickerSymbol, double price) {
+    tick(stock(tickerSymbol), price);
+  }
+
+  /**
+   * Applies a price tick, widening the 52-week range if the price lies outside it.
+   *
+   * @param stock The ID of the stock.
+   * @param price The new price per share.
+   * @throws IllegalArgumentException  if the price is not positive.
+   * @throws IndexOutOfBoundsException if no stock has the ID.
+   */
+  public void tick(int stock, double price) {
+    checkPrice(price);
+    Objects.checkIndex(stock, symbols.size());
+    update(stock, price, Math.min(lows[stock], price), Math.max(highs[stock], price),
+        debtToAssets[stock], recommendations[stock]);
+  }
+
+  /**
+   * Creates an empty portfolio.
+   *
+   * @return The ID of the portfolio, one more than that of the previous portfolio.
+   */
+  public int newPortfolio() {
+    if (portfolioCount == values.length) {
+      int capacity = portfolioCount * 2;
+      values = Arrays.copyOf(values, capacity);
+      highValues = Arrays.copyOf(highValues, capacity);
+      lowValues = Arrays.copyOf(lowValues, capacity);
+      leveragedValues = Arrays.copyOf(leveragedValues, capacity);
+      scoredValues = Arrays.copyOf(scoredValues, capacity);
+      openPositions = Arrays.copyOf(openPositions, capacity);
+    }
+    return portfolioCount++;
+  }
+
+  /**
+   * Gets the number of portfolios.
+   *
+   * @return The number of portfolios.
+   */
+  public int getPortfolioCount() {
+    return portfolioCount;
+  }
+
+  /**
+   * Sets the number of shares of a stock held by a portfolio.
+   *
+   * @param portfolio    The ID of the portfolio.
+   * @param tickerSymbol The ticker symbol.
+   * @param quantity     The number of shares, zero to close the position.
+   * @throws IllegalArgumentException  if the ticker is unknown or the quantity is not finite.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public void setPosition(int portfolio, String tickerSymbol, double quantity) {
+    Objects.checkIndex(portfolio, portfolioCount);
+    if (!Double.isFinite(quantity)) {
+      throw new IllegalArgumentException("Quantity must be finite.");
+    }
+    int stock = stock(tickerSymbol);
+    long key = (long) portfolio << 32 | stock;
+    int slot = positions.get(key);
+    if (slot < 0) {
+      if (quantity == 0) {
+        return;
+      }
+      slot = addHolder(stock, portfolio);
+      positions.put(key, slot);
+    }
+    // A closed position keeps its slot, which is reused if the position is opened again.
+    double delta = quantity - quantities[stock][slot];
+    if (quantities[stock][slot] == 0) {
+      openPositions[portfolio]++;
+    }
+    if (quantity == 0) {
+      openPositions[portfolio]--;
+    }
+    quantities[stock][slot] = quantity;
+    if (openPositions[portfolio] == 0) {
+      // Nothing is held any more, so the sums are exactly zero rather than whatever rounding
+      // residue the deltas would leave, and the ratios are NaN as documented.
+      values[portfolio] = 0;
+      highValues[portfolio] = 0;
+      lowValues[portfolio] = 0;
+      leveragedValues[portfolio] = 0;
+      scoredValues[portfolio] = 0;
+      return;
+    }
+    double price = prices[stock];
+    values[portfolio] += delta * price;
+    highValues[portfolio] += delta * highs[stock];
+    lowValues[portfolio] += delta * lows[stock];
+    leveragedValues[portfolio] += delta * price * debtToAssets[stock];
+    scoredValues[portfolio] += delta * price * recommendations[stock];
+  }
+
+  /**
+   * Gets the number of shares of a stock held by a portfolio.
+   *
+   * @param portfolio    The ID of the portfolio.
+   * @param tickerSymbol The ticker symbol.
+   * @return The number of shares, zero if the portfolio holds none.
+   * @throws IllegalArgumentException  if the ticker is unknown.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public double getPosition(int portfolio, String tickerSymbol) {
+    Objects.checkIndex(portfolio, portfolioCount);
+    int stock = stock(tickerSymbol);
+    int slot = positions.get((long) portfolio << 32 | stock);
+    return slot < 0 ? 0 : quantities[stock][slot];
+  }
+
+  /**
+   * Gets the market value of a portfolio.
+   *
+   * @param portfolio The ID of the portfolio.
+   * @return The sum of the number of shares times the price of the positions.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public double getMarketValue(int portfolio) {
+    return values[Objects.checkIndex(portfolio, portfolioCount)];
+  }
+
+  /**
+   * Gets the debt-to-assets ratio of a portfolio, the average of those of its stocks
+   * weighted by market value.
+   *
+   * @param portfolio The ID of the portfolio.
+   * @return The debt-to-assets exposure, or NaN if the market value is zero.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public double getDebtToAssets(int portfolio) {
+    return leveragedValues[Objects.checkIndex(portfolio, portfolioCount)] / values[portfolio];
+  }
+
+  /**
+   * Gets how far a portfolio is below the value it would have with every stock at its
+   * 52-week high, as a fraction of that value.
+   *
+   * @param portfolio The ID of the portfolio.
+   * @return The distance from the 52-week high, or NaN if the portfolio is empty.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public double getBelow52WeekHigh(int portfolio) {
+    double high = highValues[Objects.checkIndex(portfolio, portfolioCount)];
+    return (high - values[portfolio]) / high;
+  }
+
+  /**
+   * Gets how far a portfolio is above the value it would have with every stock at its
+   * 52-week low, as a fraction of that value.
+   *
+   * @param portfolio The ID of the portfolio.
+   * @return The distance from the 52-week low, or NaN if the portfolio is empty.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public double getAbove52WeekLow(int portfolio) {
+    double low = lowValues[Objects.checkIndex(portfolio, portfolioCount)];
+    return (values[portfolio] - low) / low;
+  }
+
+  /**
+   * Gets the analyst recommendation score of a portfolio, the average of those of its
+   * stocks weighted by market value.
+   *
+   * @param portfolio The ID of the portfolio.
+   * @return The recommendation score, or NaN if the market value is zero.
+   * @throws IndexOutOfBoundsException if no portfolio has the ID.
+   */
+  public double getRecommendationScore(int portfolio) {
+    return scoredValues[Objects.checkIndex(portfolio, portfolioCount)] / values[portfolio];
+  }
+
+  /**
+   * Recomputes the aggregates of all portfolios from their positions, discarding the
+   * rounding errors accumulated by the incremental updates.
+   */
+  public void recompute() {
+    Arrays.fill(values, 0, portfolioCount, 0);
+    Arrays.fill(highValues, 0, portfolioCount, 0);
+    Arrays.fill(lowValues, 0, portfolioCount, 0);
+    Arrays.fill(leveragedValues, 0, portfolioCount, 0);
+    Arrays.fill(scoredValues, 0, portfolioCount, 0);
+    for (int stock = 0; stock < symbols.size(); stock++) {
+      double price = prices[stock];
+      apply(stock, price, highs[stock], lows[stock], price * debtToAssets[stock],
+          price * recommendations[stock]);
+    }
+  }
+
+  private void update(int stock, double price, double low, double high, double leverage,
+                      int recommendation) {
+    double oldPrice = prices[stock];
+    apply(stock, price - oldPrice, high - highs[stock], low - lows[stock],
+        price * leverage - oldPrice * debtToAssets[stock],
+        price * recommendation - oldPrice * recommendations[stock]);
+    prices[stock] = price;
+    lows[stock] = low;
+    highs[stock] = high;
+    debtToAssets[stock] = leverage;
+    recommendations[stock] = recommendation;
+  }
+
+  /**
+   * Adds the given per-share amounts, times the quantity held, to every portfolio holding
+   * a stock.
+   */
+  private void apply(int stock, double value, double high, double low, double leveraged,
+                     double scored) {
+    int[] portfolios = holders[stock];
+    double[] held = quantities[stock];
+    for (int i = 0, n = holderCounts[stock]; i < n; i++) {
+      int portfolio = portfolios[i];
+      double quantity = held[i];
+      values[portfolio] += quantity * value;
+      highValues[portfolio] += quantity * high;
+      lowValues[portfolio] += quantity * low;
+      leveragedValues[portfolio] += quantity * leveraged;
+      scoredValues[portfolio] += quantity * scored;
+    }
+  }
+
+  private int addHolder(int stock, int portfolio) {
+    int count = holderCounts[stock];
+    if (holders[stock] == null) {
+      holders[stock] = new int[4];
+      quantities[stock] = new double[4];
+    } else if (count == holders[stock].length) {
+      holders[stock] = Arrays.copyOf(holders[stock], count * 2);
+      quantities[stock] = Arrays.copyOf(quantities[stock], count * 2);
+    }
+    holders[stock][count] = portfolio;
+    holderCounts[stock] = count + 1;
+    return count;
+  }
+
+  private int stock(String tickerSymbol) {
+    int stock = symbols.id(tickerSymbol);
+    if (stock < 0) {
+      throw new IllegalArgumentException("Unknown ticker symbol: " + tickerSymbol);
+    }
+    return stock;
+  }
+
+  private static void checkPrice(double price) {
+    if (!(price > 0) || price == Double.POSITIVE_INFINITY) {
+      throw new IllegalArgumentException("Price must be a positive number.");
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package stock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A mutable, concurrent book of quotes keyed by ticker symbol. Price ticks update a quote in
+ * place, together with its 52-week low and high, so a tick allocates nothing.
+ *
+ * <p>Every quote has its own {@link StampedLock}, so ticks on different instruments never
+ * contend. Writers take the write lock; readers never lock at all but use optimistic reads,
+ * which work like a sequence lock: the fields are copied and the copy is kept only if no
+ * tick happened in between, otherwise the read is retried. Snapshots are therefore
+ * consistent and readers never hold up producers.
+ */
+public class QuoteBook {
+  private final ConcurrentHashMap<String, Quote> quotes = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a stock with its current values, replacing any quote with the same ticker symbol.
+   *
+   * @param stock The stock.
+   */
+  public void add(Stock stock) {
+    quotes.put(stock.getTickerSymbol(), new Quote(stock));
+  }
+
+  /**
+   * Gets the number of quotes in the book.
+   *
+   * @return The number of quotes.
+   */
+  public int size() {
+    return quotes.size();
+  }
+
+  /**
+   * Applies a price tick, widening the 52-week range if the price lies outside it.
+   *
+   * @param tickerSymbol The ticker symbol.
+   * @param price        The new price per share.
+   * @throws IllegalArgumentException if the ticker is unknown or the price is not positive.
+   */
+  public void tick(String tickerSymbol, double price) {
+    if (!(price > 0) || price == Double.POSITIVE_INFINITY) {
+      throw new IllegalArgumentException("Price must be a positive number.");
+    }
+    Quote quote = quote(tickerSymbol);
+    long stamp = quote.lock.writeLock();
+    try {
+      quote.price = price;
+      if (price < quote.low) {
+        quote.low = price;
+      }
+      if (price > quote.high) {
+        quote.high = price;
+      }
+    } finally {
+      quote.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Resets the 52-week range of a quote, for instance when the oldest week leaves the window.
+   * The range is widened to include the current price.
+   *
+   * @param tickerSymbol The ticker symbol.
+   * @param low          The lowest price in the past 52 weeks.
+   * @param high         The highest price in the past 52 weeks.
+   * @throws IllegalArgumentException if the ticker is unknown or low exceeds high.
+   */
+  public void setRange(String tickerSymbol, double low, double high) {
+    if (!(low <= high)) {
+      throw new IllegalArgumentException("Low must not exceed high.");
+    }
+    Quote quote = quote(tickerSymbol);
+    long stamp = quote.lock.writeLock();
+    try {
+      quote.low = Math.min(low, quote.price);
+      quote.high = Math.max(high, quote.price);
+    } finally {
+      quote.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Gets the current price of a stock without allocating.
+   *
+   * @param tickerSymbol The ticker symbol.
+   * @return The price per share.
+   * @throws IllegalArgumentException if the ticker is unknown.
+   */
+  public double getPrice(String tickerSymbol) {
+    Quote quote = quote(tickerSymbol);
+    while (true) {
+      long stamp = quote.lock.tryOptimisticRead();
+      double price = quote.price;
+      if (quote.lock.validate(stamp)) {
+        return price;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Takes a consistent snapshot of a quote.
+   *
+   * @param tickerSymbol The ticker symbol.
+   * @return A stock with the current values, or null if the ticker is unknown.
+   */
+  public Stock snapshot(String tickerSymbol) {
+    Quote quote = quotes.get(tickerSymbol);
+    return quote == null ? null : quote.snapshot();
+  }
+
+  /**
+   * Takes a snapshot of every quote. Each stock is consistent by itself; ticks applied while
+   * the snapshot is taken may be seen for some stocks and not for others.
+   *
+   * @return The stocks with their current values.
+   */
+  public List<Stock> snapshot() {
+    List<Stock> stocks = new ArrayList<>(quotes.size());
+    for (Quote quote : quotes.values()) {
+      stocks.add(quote.snapshot());
+    }
+    return stocks;
+  }
+
+  private Quote quote(String tickerSymbol) {
+    Quote quote = quotes.get(tickerSymbol);
+    if (quote == null) {
+      throw new IllegalArgumentException("Unknown ticker symbol: " + tickerSymbol);
+    }
+    return quote;
+  }
+
+  /**
+   * The values of a stock, of which price and 52-week range change.
+   */
+  private static final class Quote {
+    private final StampedLock lock = new StampedLock();
+    private final Stock stock;
+    private double price;
+    private double low;
+    private double high;
+
+    Quote(Stock stock) {
+      this.stock = stock;
+      this.price = stock.getPricePerShare();
+      this.low = stock.getLowestPrice52Weeks();
+      this.high = stock.getHighestPrice52Weeks();
+    }
+
+    Stock snapshot() {
+      while (true) {
+        // A stamp of zero means a tick holds the write lock; validate then fails.
+        long stamp = lock.tryOptimisticRead();
+        double currentPrice = price;
+        double currentLow = low;
+        double currentHigh = high;
+        if (lock.validate(stamp)) {
+          return new Stock(stock.getCompanyName(), stock.getTickerSymbol(), currentPrice,
+              currentLow, currentHigh, stock.getTotalDebt(), stock.getTotalAssets(),
+              stock.getAnalystRecommendation());
+        }
+        Thread.onSpinWait();
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package stock;
+
+import java.util.Arrays;
+
+/**
+ * The rows of a column in ascending order of their values, as ordered by
+ * {@link Double#compare}, so NaN comes last. The rows with values in a range form a slice
+ * found by binary search.
+ */
+class SortedIndex {
+  private final double[] column;
+  private final int[] rows;
+
+  /**
+   * Sorts the rows of a column with an LSD radix sort on order-preserving 64-bit keys.
+   *
+   * @param column The values by row.
+   */
+  SortedIndex(double[] column) {
+    this.column = column;
+    int n = column.length;
+    long[] keys = new long[n];
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = key(column[i]);
+      order[i] = i;
+    }
+    long[] otherKeys = new long[n];
+    int[] otherOrder = new int[n];
+    int[] counts = new int[257];
+    for (int shift = 0; n > 0 && shift < 64; shift += 8) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < n; i++) {
+        counts[(int) (keys[i] >>> shift & 0xFF) + 1]++;
+      }
+      if (counts[(int) (keys[0] >>> shift & 0xFF) + 1] == n) {
+        // Every key has the same byte here, so the order does not change.
+        continue;
+      }
+      for (int b = 0; b < 256; b++) {
+        counts[b + 1] += counts[b];
+      }
+      for (int i = 0; i < n; i++) {
+        int b = (int) (keys[i] >>> shift & 0xFF);
+        otherKeys[counts[b]] = keys[i];
+        otherOrder[counts[b]++] = order[i];
+      }
+      long[] swapKeys = keys;
+      keys = otherKeys;
+      otherKeys = swapKeys;
+      int[] swapOrder = order;
+      order = otherOrder;
+      otherOrder = swapOrder;
+    }
+    this.rows = order;
+  }
+
+  /**
+   * Maps a double to a long with the same order as {@link Double#compare}.
+   */
+  private static long key(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ (bits >> 63 | Long.MIN_VALUE);
+  }
+
+  /**
+   * Gets the row at a position of the order.
+   *
+   * @param position The position.
+   * @return The row.
+   */
+  int row(int position) {
+    return rows[position];
+  }
+
+  /**
+   * Gets the first position with a value not less than the given one.
+   *
+   * @param value The value.
+   * @return The position.
+   */
+  int from(double value) {
+    int low = 0;
+    int high = rows.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (Double.compare(column[rows[middle]], value) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets the first position with a value greater than the given one.
+   *
+   * @param value The value.
+   * @return The position.
+   */
+  int to(double value) {
+    int low = 0;
+    int high = rows.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (Double.compare(column[rows[middle]], value) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -3,7 +3,7 @@ package stock;
 /**
  * Represents a trading stock with various details.
  */
-public class Stock {
+public class Stock implements StockData {
 
   private final String companyName;
   private final String tickerSymbol;
@@ -0,0 +1,64 @@
+package stock;
+
+/**
+ * The values of a trading stock, whether held by a {@link Stock} object or read in place
+ * from a {@link StockSnapshot}.
+ */
+public interface StockData {
+
+  /**
+   * Gets the name of the company.
+   *
+   * @return The name of the company.
+   */
+  String getCompanyName();
+
+  /**
+   * Gets the ticker symbol of the stock.
+   *
+   * @return The ticker symbol.
+   */
+  String getTickerSymbol();
+
+  /**
+   * Gets the price per share of the stock.
+   *
+   * @return The price per share.
+   */
+  double getPricePerShare();
+
+  /**
+   * Gets the lowest price of the stock in the past 52 weeks.
+   *
+   * @return The lowest price in the past 52 weeks.
+   */
+  double getLowestPrice52Weeks();
+
+  /**
+   * Gets the highest price of the stock in the past 52 weeks.
+   *
+   * @return The highest price in the past 52 weeks.
+   */
+  double getHighestPrice52Weeks();
+
+  /**
+   * Gets the total debt of the company.
+   *
+   * @return The total debt.
+   */
+  double getTotalDebt();
+
+  /**
+   * Gets the total assets owned by the company.
+   *
+   * @return The total assets.
+   */
+  double getTotalAssets();
+
+  /**
+   * Gets the analyst recommendation score.
+   *
+   * @return The analyst recommendation score.
+   */
+  int getAnalystRecommendation();
+}
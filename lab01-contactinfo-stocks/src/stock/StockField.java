@@ -0,0 +1,67 @@
+package stock;
+
+/**
+ * The numeric fields of a {@link Stock} that can be screened, including ratios derived from
+ * them.
+ */
+public enum StockField {
+  PRICE_PER_SHARE,
+  LOWEST_PRICE_52_WEEKS,
+  HIGHEST_PRICE_52_WEEKS,
+  TOTAL_DEBT,
+  TOTAL_ASSETS,
+  ANALYST_RECOMMENDATION,
+  /** Total debt divided by total assets. */
+  DEBT_TO_ASSETS,
+  /** How far the price is above the 52-week low, as a fraction of the low. */
+  ABOVE_52_WEEK_LOW,
+  /** How far the price is below the 52-week high, as a fraction of the high. */
+  BELOW_52_WEEK_HIGH;
+
+  /**
+   * Computes the value of this field from the values of a stock.
+   *
+   * @param price          The price per share.
+   * @param low            The lowest price in the past 52 weeks.
+   * @param high           The highest price in the past 52 weeks.
+   * @param debt           The total debt.
+   * @param assets         The total assets.
+   * @param recommendation The analyst recommendation score.
+   * @return The value of the field.
+   */
+  public double of(double price, double low, double high, double debt, double assets,
+                   int recommendation) {
+    switch (this) {
+      case PRICE_PER_SHARE:
+        return price;
+      case LOWEST_PRICE_52_WEEKS:
+        return low;
+      case HIGHEST_PRICE_52_WEEKS:
+        return high;
+      case TOTAL_DEBT:
+        return debt;
+      case TOTAL_ASSETS:
+        return assets;
+      case ANALYST_RECOMMENDATION:
+        return recommendation;
+      case DEBT_TO_ASSETS:
+        return debt / assets;
+      case ABOVE_52_WEEK_LOW:
+        return (price - low) / low;
+      default:
+        return (high - price) / high;
+    }
+  }
+
+  /**
+   * Computes the value of this field for a stock.
+   *
+   * @param stock The stock.
+   * @return The value of the field.
+   */
+  public double of(StockData stock) {
+    return of(stock.getPricePerShare(), stock.getLowestPrice52Weeks(),
+        stock.getHighestPrice52Weeks(), stock.getTotalDebt(), stock.getTotalAssets(),
+        stock.getAnalystRecommendation());
+  }
+}
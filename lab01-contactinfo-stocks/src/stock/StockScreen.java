@@ -0,0 +1,141 @@
+package stock;
+
+import java.util.Arrays;
+
+/**
+ * A compound screen: a conjunction of ranges on {@link StockField}s. Conditions are added
+ * with the builder-style methods; several conditions on one field narrow its range. For
+ * example, stocks within 5% of their 52-week low with little debt and a good recommendation:
+ * <pre>
+ *   new StockScreen().atMost(StockField.ABOVE_52_WEEK_LOW, 0.05)
+ *       .lessThan(StockField.DEBT_TO_ASSETS, 0.3)
+ *       .atLeast(StockField.ANALYST_RECOMMENDATION, 4);
+ * </pre>
+ */
+public class StockScreen {
+  private static final int FIELDS = StockField.values().length;
+
+  private final double[] lows = new double[FIELDS];
+  private final double[] highs = new double[FIELDS];
+  private final boolean[] used = new boolean[FIELDS];
+
+  /**
+   * Constructs a screen without conditions, which every stock passes.
+   */
+  public StockScreen() {
+    Arrays.fill(lows, Double.NEGATIVE_INFINITY);
+    Arrays.fill(highs, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Requires a field to lie between two values, both included.
+   *
+   * @param field The field.
+   * @param min   The smallest value passing.
+   * @param max   The largest value passing.
+   * @return This screen.
+   * @throws IllegalArgumentException if a value is NaN.
+   */
+  public StockScreen between(StockField field, double min, double max) {
+    if (Double.isNaN(min) || Double.isNaN(max)) {
+      throw new IllegalArgumentException("Bounds must be numbers.");
+    }
+    int i = field.ordinal();
+    lows[i] = Math.max(lows[i], min);
+    highs[i] = Math.min(highs[i], max);
+    used[i] = true;
+    return this;
+  }
+
+  /**
+   * Requires a field to be at least a value.
+   *
+   * @param field The field.
+   * @param min   The smallest value passing.
+   * @return This screen.
+   */
+  public StockScreen atLeast(StockField field, double min) {
+    return between(field, min, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Requires a field to be greater than a value.
+   *
+   * @param field The field.
+   * @param value The largest value not passing.
+   * @return This screen.
+   */
+  public StockScreen greaterThan(StockField field, double value) {
+    return between(field, Math.nextUp(value), Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Requires a field to be at most a value.
+   *
+   * @param field The field.
+   * @param max   The largest value passing.
+   * @return This screen.
+   */
+  public StockScreen atMost(StockField field, double max) {
+    return between(field, Double.NEGATIVE_INFINITY, max);
+  }
+
+  /**
+   * Requires a field to be less than a value.
+   *
+   * @param field The field.
+   * @param value The smallest value not passing.
+   * @return This screen.
+   */
+  public StockScreen lessThan(StockField field, double value) {
+    return between(field, Double.NEGATIVE_INFINITY, Math.nextDown(value));
+  }
+
+  /**
+   * Tells whether the screen has a condition on a field.
+   *
+   * @param field The field.
+   * @return True if the field is restricted.
+   */
+  public boolean restricts(StockField field) {
+    return used[field.ordinal()];
+  }
+
+  /**
+   * Gets the smallest value of a field passing the screen.
+   *
+   * @param field The field.
+   * @return The lower bound, included.
+   */
+  public double getMin(StockField field) {
+    return lows[field.ordinal()];
+  }
+
+  /**
+   * Gets the largest value of a field passing the screen.
+   *
+   * @param field The field.
+   * @return The upper bound, included.
+   */
+  public double getMax(StockField field) {
+    return highs[field.ordinal()];
+  }
+
+  /**
+   * Tells whether a stock passes the screen, by checking every condition.
+   *
+   * @param stock The stock.
+   * @return True if the stock passes.
+   */
+  public boolean matches(StockData stock) {
+    for (StockField field : StockField.values()) {
+      if (used[field.ordinal()]) {
+        double value = field.of(stock);
+        if (!(value >= lows[field.ordinal()] && value <= highs[field.ordinal()])) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,191 @@
+package stock;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Screens a universe of stocks held in columnar primitive arrays, one per
+ * {@link StockField}, with a row per stock. Every field has a {@link SortedIndex}, and the
+ * analyst recommendation, a small integer score, also has a bitmap of the rows per score.
+ *
+ * <p>A {@link StockScreen} is evaluated by finding the slice of every restricted field's
+ * index, starting with the smallest slice as a bitmap of rows, and narrowing it condition by
+ * condition: by intersecting it with the bitmap of the next condition, or, once it holds
+ * fewer rows than that bitmap would, by checking the column values of its rows directly.
+ * The universe is fixed when the screener is built.
+ */
+public class StockScreener {
+  private static final StockField[] FIELDS = StockField.values();
+
+  private final int size;
+  private final String[] companyNames;
+  private final String[] tickerSymbols;
+  private final double[][] columns = new double[FIELDS.length][];
+  private final SortedIndex[] indexes = new SortedIndex[FIELDS.length];
+  private final Map<Integer, BitSet> recommendations = new TreeMap<>();
+
+  /**
+   * Constructs a screener over the given stocks, which become rows in iteration order.
+   *
+   * @param stocks The universe of stocks.
+   */
+  public StockScreener(Collection<Stock> stocks) {
+    size = stocks.size();
+    companyNames = new String[size];
+    tickerSymbols = new String[size];
+    for (StockField field : FIELDS) {
+      columns[field.ordinal()] = new double[size];
+    }
+    int row = 0;
+    for (Stock stock : stocks) {
+      companyNames[row] = stock.getCompanyName();
+      tickerSymbols[row] = stock.getTickerSymbol();
+      for (StockField field : FIELDS) {
+        // Adding zero turns -0.0 into 0.0, so the index order agrees with comparisons.
+        columns[field.ordinal()][row] = field.of(stock) + 0.0;
+      }
+      recommendations.computeIfAbsent(stock.getAnalystRecommendation(),
+          score -> new BitSet(size)).set(row);
+      row++;
+    }
+    for (StockField field : FIELDS) {
+      indexes[field.ordinal()] = new SortedIndex(columns[field.ordinal()]);
+    }
+  }
+
+  /**
+   * Gets the number of stocks in the universe.
+   *
+   * @return The number of stocks.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the stock of a row.
+   *
+   * @param row The row.
+   * @return A stock with the values of the row.
+   * @throws IndexOutOfBoundsException if the row is out of range.
+   */
+  public Stock get(int row) {
+    Objects.checkIndex(row, size);
+    return new Stock(companyNames[row], tickerSymbols[row],
+        value(StockField.PRICE_PER_SHARE, row), value(StockField.LOWEST_PRICE_52_WEEKS, row),
+        value(StockField.HIGHEST_PRICE_52_WEEKS, row), value(StockField.TOTAL_DEBT, row),
+        value(StockField.TOTAL_ASSETS, row),
+        (int) value(StockField.ANALYST_RECOMMENDATION, row));
+  }
+
+  private double value(StockField field, int row) {
+    return columns[field.ordinal()][row];
+  }
+
+  /**
+   * Gets the rows of the stocks passing a screen.
+   *
+   * @param screen The screen.
+   * @return A new bitmap with the bits of the passing rows set.
+   */
+  public BitSet screen(StockScreen screen) {
+    int[] fields = new int[FIELDS.length];
+    int[] from = new int[FIELDS.length];
+    int[] to = new int[FIELDS.length];
+    int used = 0;
+    for (StockField field : FIELDS) {
+      if (screen.restricts(field)) {
+        int f = field.ordinal();
+        SortedIndex index = indexes[f];
+        int start = index.from(screen.getMin(field) + 0.0);
+        int end = Math.max(start, index.to(screen.getMax(field) + 0.0));
+        if (start == end) {
+          return new BitSet();
+        }
+        // Insertion sort by the number of rows in the range.
+        int i = used++;
+        while (i > 0 && to[i - 1] - from[i - 1] > end - start) {
+          fields[i] = fields[i - 1];
+          from[i] = from[i - 1];
+          to[i] = to[i - 1];
+          i--;
+        }
+        fields[i] = f;
+        from[i] = start;
+        to[i] = end;
+      }
+    }
+    if (used == 0) {
+      BitSet all = new BitSet(size);
+      all.set(0, size);
+      return all;
+    }
+    BitSet result = bitmap(screen, fields[0], from[0], to[0]);
+    int cardinality = to[0] - from[0];
+    for (int i = 1; i < used && cardinality > 0; i++) {
+      if (cardinality < to[i] - from[i]) {
+        double[] column = columns[fields[i]];
+        double min = screen.getMin(FIELDS[fields[i]]);
+        double max = screen.getMax(FIELDS[fields[i]]);
+        for (int row = result.nextSetBit(0); row >= 0; row = result.nextSetBit(row + 1)) {
+          if (!(column[row] >= min && column[row] <= max)) {
+            result.clear(row);
+          }
+        }
+      } else {
+        result.and(bitmap(screen, fields[i], from[i], to[i]));
+      }
+      cardinality = result.cardinality();
+    }
+    return result;
+  }
+
+  private BitSet bitmap(StockScreen screen, int field, int from, int to) {
+    BitSet bitmap = new BitSet(size);
+    if (FIELDS[field] == StockField.ANALYST_RECOMMENDATION) {
+      double min = screen.getMin(StockField.ANALYST_RECOMMENDATION);
+      double max = screen.getMax(StockField.ANALYST_RECOMMENDATION);
+      for (Map.Entry<Integer, BitSet> entry : recommendations.entrySet()) {
+        if (entry.getKey() >= min && entry.getKey() <= max) {
+          bitmap.or(entry.getValue());
+        }
+      }
+      return bitmap;
+    }
+    SortedIndex index = indexes[field];
+    for (int position = from; position < to; position++) {
+      bitmap.set(index.row(position));
+    }
+    return bitmap;
+  }
+
+  /**
+   * Gets the number of stocks passing a screen.
+   *
+   * @param screen The screen.
+   * @return The number of passing stocks.
+   */
+  public int count(StockScreen screen) {
+    return screen(screen).cardinality();
+  }
+
+  /**
+   * Gets the stocks passing a screen, in row order.
+   *
+   * @param screen The screen.
+   * @return The passing stocks.
+   */
+  public List<Stock> screenStocks(StockScreen screen) {
+    BitSet rows = screen(screen);
+    List<Stock> stocks = new ArrayList<>(rows.cardinality());
+    for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+      stocks.add(get(row));
+    }
+    return stocks;
+  }
+}
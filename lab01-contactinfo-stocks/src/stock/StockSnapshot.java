@@ -0,0 +1,221 @@
+package stock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A universe of stocks in a binary snapshot file written by a {@link StockSnapshotWriter}.
+ * The file is memory-mapped and nothing is parsed when it is opened; the stocks are read in
+ * place through a reusable {@link Cursor}, so scanning them allocates nothing.
+ *
+ * <p>The file starts with a {@value #HEADER_SIZE} byte header holding the magic number, the
+ * format version, the number of stocks and the offset of the name table. It is followed by
+ * one {@value #RECORD_SIZE} byte record per stock: the ticker as a {@link TickerCodec} code,
+ * the price, 52-week low and high, total debt and total assets as doubles, the offset of
+ * the company name in the name table, or -1 if the stock has no company name, and the
+ * analyst recommendation. The name table holds
+ * every distinct company name once, as its length followed by its UTF-8 bytes. All numbers
+ * are little-endian. A snapshot must be smaller than 2 GiB.
+ */
+public class StockSnapshot {
+  static final int MAGIC = 0x53544B53;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int RECORD_SIZE = 56;
+  static final int NO_NAME = -1;
+  private static final int PRICE = 8;
+  private static final int LOW = 16;
+  private static final int HIGH = 24;
+  private static final int DEBT = 32;
+  private static final int ASSETS = 40;
+  private static final int NAME = 48;
+  private static final int RECOMMENDATION = 52;
+
+  private final ByteBuffer data;
+  private final int size;
+  private final int namesOffset;
+
+  private StockSnapshot(ByteBuffer data, int size, int namesOffset) {
+    this.data = data;
+    this.size = size;
+    this.namesOffset = namesOffset;
+  }
+
+  /**
+   * Maps a snapshot file.
+   *
+   * @param file The snapshot file.
+   * @return The snapshot.
+   * @throws IOException if the file cannot be read or is not a valid snapshot.
+   */
+  public static StockSnapshot open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length > Integer.MAX_VALUE) {
+        throw new IOException("Snapshot too large: " + file);
+      }
+      if (length < HEADER_SIZE) {
+        throw new IOException("Not a stock snapshot: " + file);
+      }
+      ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length)
+          .order(ByteOrder.LITTLE_ENDIAN);
+      int size = data.getInt(8);
+      int namesOffset = data.getInt(12);
+      if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION || size < 0
+          || HEADER_SIZE + (long) size * RECORD_SIZE != namesOffset || namesOffset > length) {
+        throw new IOException("Not a stock snapshot: " + file);
+      }
+      return new StockSnapshot(data, size, namesOffset);
+    }
+  }
+
+  /**
+   * Gets the number of stocks in the snapshot.
+   *
+   * @return The number of stocks.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Creates a cursor over the stocks, positioned at the first one, or at none if the
+   * snapshot is empty.
+   *
+   * @return The cursor.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * Reads a stock into a new Stock object.
+   *
+   * @param index The index of the stock.
+   * @return The stock.
+   * @throws IndexOutOfBoundsException if there is no such stock.
+   */
+  public Stock get(int index) {
+    return cursor().moveTo(index).toStock();
+  }
+
+  /**
+   * A view of one stock of the snapshot, which can be moved from stock to stock. The values
+   * are read from the mapped file on every call; only the company name and ticker symbol
+   * allocate, when their strings are built. A cursor must not be shared between threads,
+   * but any number of cursors can read the same snapshot concurrently. The getters of a
+   * cursor that is at no stock throw an {@link IllegalStateException}.
+   */
+  public final class Cursor implements StockData {
+    private int index = size > 0 ? 0 : -1;
+    private int offset = HEADER_SIZE;
+
+    private Cursor() {
+    }
+
+    /**
+     * Returns the offset of a field of the stock the cursor is at.
+     */
+    private int field(int field) {
+      if (index < 0) {
+        throw new IllegalStateException("The cursor is not at a stock.");
+      }
+      return offset + field;
+    }
+
+    /**
+     * Moves the cursor to a stock.
+     *
+     * @param index The index of the stock.
+     * @return This cursor.
+     * @throws IndexOutOfBoundsException if there is no such stock.
+     */
+    public Cursor moveTo(int index) {
+      this.index = Objects.checkIndex(index, size);
+      offset = HEADER_SIZE + index * RECORD_SIZE;
+      return this;
+    }
+
+    /**
+     * Gets the index of the stock the cursor is at.
+     *
+     * @return The index, or -1 if the cursor is at no stock.
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * Gets the ticker symbol of the stock as a {@link TickerCodec} code, without allocating.
+     *
+     * @return The ticker code.
+     */
+    public long getTickerCode() {
+      return data.getLong(field(0));
+    }
+
+    @Override
+    public String getCompanyName() {
+      int nameOffset = data.getInt(field(NAME));
+      if (nameOffset == NO_NAME) {
+        return null;
+      }
+      int name = namesOffset + nameOffset;
+      byte[] bytes = new byte[data.getInt(name)];
+      data.get(name + 4, bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getTickerSymbol() {
+      return TickerCodec.decode(getTickerCode());
+    }
+
+    @Override
+    public double getPricePerShare() {
+      return data.getDouble(field(PRICE));
+    }
+
+    @Override
+    public double getLowestPrice52Weeks() {
+      return data.getDouble(field(LOW));
+    }
+
+    @Override
+    public double getHighestPrice52Weeks() {
+      return data.getDouble(field(HIGH));
+    }
+
+    @Override
+    public double getTotalDebt() {
+      return data.getDouble(field(DEBT));
+    }
+
+    @Override
+    public double getTotalAssets() {
+      return data.getDouble(field(ASSETS));
+    }
+
+    @Override
+    public int getAnalystRecommendation() {
+      return data.getInt(field(RECOMMENDATION));
+    }
+
+    /**
+     * Copies the stock the cursor is at into a new Stock object.
+     *
+     * @return The stock.
+     */
+    public Stock toStock() {
+      return new Stock(getCompanyName(), getTickerSymbol(), getPricePerShare(),
+          getLowestPrice52Weeks(), getHighestPrice52Weeks(), getTotalDebt(), getTotalAssets(),
+          getAnalystRecommendation());
+    }
+  }
+}
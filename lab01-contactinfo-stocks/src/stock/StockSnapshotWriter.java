@@ -0,0 +1,149 @@
+package stock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes stocks to a binary snapshot file to be read with {@link StockSnapshot}. Records
+ * are streamed to the file as they are added; only the company names, each stored once,
+ * are kept in memory until the writer is closed.
+ */
+public class StockSnapshotWriter implements Closeable {
+  private final FileChannel channel;
+  private final ByteBuffer records = ByteBuffer.allocateDirect(StockSnapshot.RECORD_SIZE * 1024)
+      .order(ByteOrder.LITTLE_ENDIAN);
+  private final ByteArrayOutputStream names = new ByteArrayOutputStream();
+  private final Map<String, Integer> nameOffsets = new HashMap<>();
+  private int count;
+  private boolean closed;
+
+  /**
+   * Creates a snapshot file, replacing any existing file.
+   *
+   * @param file The snapshot file.
+   * @throws IOException if the file cannot be created.
+   */
+  public StockSnapshotWriter(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    channel.position(StockSnapshot.HEADER_SIZE);
+  }
+
+  /**
+   * Appends a stock to the snapshot.
+   *
+   * @param stock The stock.
+   * @throws IllegalArgumentException if the ticker cannot be encoded.
+   * @throws IllegalStateException    if the writer is closed or the snapshot would reach
+   *                                  2 GiB.
+   * @throws IOException              if the record cannot be written.
+   */
+  public void add(StockData stock) throws IOException {
+    if (closed) {
+      throw new IllegalStateException("The writer is closed.");
+    }
+    long code = TickerCodec.encode(stock.getTickerSymbol());
+    String name = stock.getCompanyName();
+    byte[] newName = name == null || nameOffsets.containsKey(name)
+        ? null : name.getBytes(StandardCharsets.UTF_8);
+    long namesSize = names.size() + (newName == null ? 0 : 4L + newName.length);
+    if (StockSnapshot.HEADER_SIZE + (long) (count + 1) * StockSnapshot.RECORD_SIZE
+        + namesSize > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Snapshots must be smaller than 2 GiB.");
+    }
+    int nameOffset = nameOffset(name, newName);
+    if (!records.hasRemaining()) {
+      flush();
+    }
+    records.putLong(code)
+        .putDouble(stock.getPricePerShare())
+        .putDouble(stock.getLowestPrice52Weeks())
+        .putDouble(stock.getHighestPrice52Weeks())
+        .putDouble(stock.getTotalDebt())
+        .putDouble(stock.getTotalAssets())
+        .putInt(nameOffset)
+        .putInt(stock.getAnalystRecommendation());
+    count++;
+  }
+
+  /**
+   * Gets the number of stocks added.
+   *
+   * @return The number of stocks.
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Writes the company names and the header and closes the file.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      flush();
+      long namesOffset = channel.position();
+      writeFully(ByteBuffer.wrap(names.toByteArray()));
+      ByteBuffer header = ByteBuffer.allocate(StockSnapshot.HEADER_SIZE)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .putInt(StockSnapshot.MAGIC)
+          .putInt(StockSnapshot.VERSION)
+          .putInt(count)
+          .putInt((int) namesOffset);
+      header.flip();
+      channel.position(0);
+      writeFully(header);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Returns the offset of a name in the name table, or {@link StockSnapshot#NO_NAME} for
+   * null. A new name, given with its UTF-8 bytes, is added to the table first, stored as its
+   * length in bytes followed by the bytes.
+   */
+  private int nameOffset(String name, byte[] bytes) {
+    if (name == null) {
+      return StockSnapshot.NO_NAME;
+    }
+    Integer offset = nameOffsets.get(name);
+    if (offset == null) {
+      offset = names.size();
+      names.write(bytes.length);
+      names.write(bytes.length >>> 8);
+      names.write(bytes.length >>> 16);
+      names.write(bytes.length >>> 24);
+      names.write(bytes, 0, bytes.length);
+      nameOffsets.put(name, offset);
+    }
+    return offset;
+  }
+
+  private void flush() throws IOException {
+    records.flip();
+    writeFully(records);
+    records.clear();
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package stock;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Interns ticker symbols to dense int IDs 0, 1, 2, ... in order of first appearance. The
+ * tickers are kept as {@link TickerCodec} codes in a {@link LongIntHashMap}, so looking up a
+ * ticker hashes one long and never allocates. The IDs can index arrays of per-instrument
+ * data directly.
+ */
+public class SymbolTable {
+  private final LongIntHashMap ids;
+  private long[] codes;
+  private int size;
+
+  /**
+   * Constructs a table with room for the given number of tickers before it grows.
+   *
+   * @param expectedSize The expected number of tickers.
+   */
+  public SymbolTable(int expectedSize) {
+    ids = new LongIntHashMap(expectedSize);
+    codes = new long[Math.max(16, expectedSize)];
+  }
+
+  /**
+   * Constructs an empty table.
+   */
+  public SymbolTable() {
+    this(16);
+  }
+
+  /**
+   * Gets the ID of a ticker symbol, assigning the next ID if it is new.
+   *
+   * @param ticker The ticker symbol.
+   * @return The ID.
+   * @throws IllegalArgumentException if the ticker cannot be encoded.
+   */
+  public int intern(CharSequence ticker) {
+    return intern(TickerCodec.encode(ticker));
+  }
+
+  /**
+   * Gets the ID of an encoded ticker symbol, assigning the next ID if it is new.
+   *
+   * @param code The code of the ticker symbol.
+   * @return The ID.
+   * @throws IllegalArgumentException if the code is zero.
+   */
+  public int intern(long code) {
+    if (code == 0) {
+      throw new IllegalArgumentException("Zero is not a ticker code.");
+    }
+    int id = ids.get(code);
+    if (id >= 0) {
+      return id;
+    }
+    if (size == codes.length) {
+      codes = Arrays.copyOf(codes, size * 2);
+    }
+    codes[size] = code;
+    ids.put(code, size);
+    return size++;
+  }
+
+  /**
+   * Gets the ID of a ticker symbol without allocating.
+   *
+   * @param ticker The ticker symbol.
+   * @return The ID, or -1 if the ticker has not been interned.
+   */
+  public int id(CharSequence ticker) {
+    return id(TickerCodec.tryEncode(ticker));
+  }
+
+  /**
+   * Gets the ID of an encoded ticker symbol.
+   *
+   * @param code The code of the ticker symbol.
+   * @return The ID, or -1 if the ticker has not been interned.
+   */
+  public int id(long code) {
+    return code == 0 ? -1 : ids.get(code);
+  }
+
+  /**
+   * Gets the code of the ticker symbol with an ID.
+   *
+   * @param id The ID.
+   * @return The code.
+   * @throws IndexOutOfBoundsException if no ticker has the ID.
+   */
+  public long code(int id) {
+    return codes[Objects.checkIndex(id, size)];
+  }
+
+  /**
+   * Gets the ticker symbol with an ID.
+   *
+   * @param id The ID.
+   * @return The ticker symbol.
+   * @throws IndexOutOfBoundsException if no ticker has the ID.
+   */
+  public String symbol(int id) {
+    return TickerCodec.decode(code(id));
+  }
+
+  /**
+   * Gets the number of interned tickers.
+   *
+   * @return The number of tickers.
+   */
+  public int size() {
+    return size;
+  }
+}
@@ -0,0 +1,107 @@
+package stock;
+
+/**
+ * Packs ticker symbols of up to eight ASCII characters into a long, one byte per character
+ * from the most significant byte down, with unused bytes zero. Codes of tickers therefore
+ * compare like the tickers themselves, and no code is zero.
+ */
+public final class TickerCodec {
+  /** The longest ticker symbol that can be encoded. */
+  public static final int MAX_LENGTH = 8;
+
+  private TickerCodec() {
+  }
+
+  /**
+   * Tells whether a ticker symbol can be encoded.
+   *
+   * @param ticker The ticker symbol.
+   * @return True if it has one to eight non-NUL ASCII characters.
+   */
+  public static boolean fits(CharSequence ticker) {
+    return tryEncode(ticker) != 0;
+  }
+
+  /**
+   * Encodes a ticker symbol.
+   *
+   * @param ticker The ticker symbol.
+   * @return The code.
+   * @throws IllegalArgumentException if the ticker does not have one to eight non-NUL ASCII
+   *                                  characters.
+   */
+  public static long encode(CharSequence ticker) {
+    long code = tryEncode(ticker);
+    if (code == 0) {
+      throw new IllegalArgumentException(
+          "Tickers must have 1 to 8 ASCII characters: " + ticker);
+    }
+    return code;
+  }
+
+  /**
+   * Encodes a ticker symbol in a single pass, without throwing.
+   *
+   * @param ticker The ticker symbol.
+   * @return The code, or 0 if the ticker does not have one to eight non-NUL ASCII characters.
+   */
+  public static long tryEncode(CharSequence ticker) {
+    int length = ticker.length();
+    if (length == 0 || length > MAX_LENGTH) {
+      return 0;
+    }
+    long code = 0;
+    for (int i = 0; i < length; i++) {
+      char c = ticker.charAt(i);
+      if (c == 0 || c > 0x7F) {
+        return 0;
+      }
+      code |= (long) c << (56 - 8 * i);
+    }
+    return code;
+  }
+
+  /**
+   * Encodes a ticker symbol stored as ASCII bytes.
+   *
+   * @param bytes  The bytes.
+   * @param offset The index of the first character.
+   * @param length The number of characters.
+   * @return The code.
+   * @throws IllegalArgumentException if the ticker does not have one to eight non-NUL ASCII
+   *                                  characters.
+   */
+  public static long encode(byte[] bytes, int offset, int length) {
+    if (length <= 0 || length > MAX_LENGTH) {
+      throw new IllegalArgumentException("Tickers must have 1 to 8 characters.");
+    }
+    long code = 0;
+    for (int i = 0; i < length; i++) {
+      byte b = bytes[offset + i];
+      if (b <= 0) {
+        throw new IllegalArgumentException("Tickers must be ASCII.");
+      }
+      code |= (long) b << (56 - 8 * i);
+    }
+    return code;
+  }
+
+  /**
+   * Decodes a ticker symbol.
+   *
+   * @param code The code.
+   * @return The ticker symbol.
+   * @throws IllegalArgumentException if the code is zero.
+   */
+  public static String decode(long code) {
+    if (code == 0) {
+      throw new IllegalArgumentException("Zero is not a ticker code.");
+    }
+    int length = MAX_LENGTH - Long.numberOfTrailingZeros(code) / 8;
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) (code >>> (56 - 8 * i) & 0xFF);
+    }
+    return new String(chars);
+  }
+}
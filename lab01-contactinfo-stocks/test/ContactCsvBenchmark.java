@@ -0,0 +1,61 @@
+import information.ContactCsvReader;
+import information.ContactCsvWriter;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the throughput of ContactCsvWriter and ContactCsvReader in MB/s on one thread.
+ * Run with {@code java ContactCsvBenchmark [contacts]}.
+ */
+public class ContactCsvBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of contacts.
+   * @throws IOException if the file cannot be written or read.
+   */
+  public static void main(String[] args) throws IOException {
+    int contacts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    String[] domains = new String[200];
+    for (int i = 0; i < domains.length; i++) {
+      domains[i] = "domain" + i + ".com";
+    }
+    SplittableRandom random = new SplittableRandom(1);
+    List<Person> persons = new ArrayList<>(contacts);
+    for (int i = 0; i < contacts; i++) {
+      persons.add(new Person("First" + random.nextInt(10000) + " Last" + i,
+          new EmailAddress("user" + i, domains[random.nextInt(domains.length)]),
+          new PhoneNumber(200 + random.nextInt(800), random.nextInt(1000),
+              random.nextInt(10000))));
+    }
+    Path file = Files.createTempFile("contacts", ".csv");
+    try {
+      for (int round = 0; round < 3; round++) {
+        long start = System.nanoTime();
+        try (ContactCsvWriter writer = new ContactCsvWriter(file)) {
+          writer.writeAll(persons);
+        }
+        double written = (System.nanoTime() - start) / 1e9;
+        double megabytes = Files.size(file) / 1e6;
+        long[] count = new long[1];
+        ContactCsvReader reader = new ContactCsvReader(10_000);
+        start = System.nanoTime();
+        reader.read(file, batch -> count[0] += batch.size());
+        double read = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%.0f MB: write %.0f MB/s, read %.0f MB/s (%d contacts, %d "
+                + "rejected)%n", megabytes, megabytes / written, megabytes / read, count[0],
+            reader.getRejected());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import information.ContactCsvReader;
+import information.ContactCsvWriter;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ContactCsvReader and ContactCsvWriter classes.
+ */
+public class ContactCsvTest {
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("contacts", ".csv");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    List<Person> persons = Arrays.asList(
+        new Person("Mickey Mouse", new EmailAddress("m.mouse", "example.com"),
+            new PhoneNumber(555, 123, 2024)),
+        new Person("Mouse, Minnie \"The Mouse\"", new EmailAddress("minnie", "example.com"),
+            new PhoneNumber(55, 3, 12)),
+        new Person("Line\nBreak", null, null),
+        new Person("Ren\u00E9e \uD83D\uDE00", new EmailAddress("ren\u00E9e", "exemple.fr"),
+            null),
+        new Person(null, null, new PhoneNumber(999, 999, 9999)));
+    try (ContactCsvWriter writer = new ContactCsvWriter(file)) {
+      writer.writeAll(persons);
+      assertEquals(5, writer.getWritten());
+    }
+    List<Person> read = new ArrayList<>();
+    List<Integer> batches = new ArrayList<>();
+    ContactCsvReader reader = new ContactCsvReader(2);
+    reader.read(file, batch -> {
+      batches.add(batch.size());
+      read.addAll(batch);
+    });
+    assertEquals(Arrays.asList(2, 2, 1), batches);
+    assertEquals(5, reader.getImported());
+    assertEquals(0, reader.getRejected());
+    for (int i = 0; i < persons.size(); i++) {
+      assertEquals(persons.get(i).getName(), read.get(i).getName());
+      assertEquals(persons.get(i).getEmailAddress(), read.get(i).getEmailAddress());
+      assertEquals(persons.get(i).getPhoneNumber(), read.get(i).getPhoneNumber());
+    }
+    assertEquals("055-003-0012", Files.readAllLines(file).get(2).split(",")[3]);
+  }
+
+  @Test
+  public void testFormatsAndRejects() throws IOException {
+    Files.write(file, String.join("\n",
+        "Plain,plain@example.com,(555) 123-2024",
+        "International,intl@example.com,+1 555.123.2024",
+        "No Phone,nophone@example.com,",
+        "",
+        "Two At,a@b@example.com,5551232024",
+        "No Domain,nodomain@,5551232024",
+        "Short Phone,short@example.com,555-123",
+        "Letters,letters@example.com,555-CALL-NOW",
+        "Missing Columns",
+        "Windows,windows@example.com,5551232024\r",
+        "Last,last@example.com,5551232024",
+        "\"Unclosed,x@example.com,5551232024").getBytes(StandardCharsets.UTF_8));
+    List<Person> read = new ArrayList<>();
+    ContactCsvReader reader = new ContactCsvReader(100);
+    reader.read(file, read::addAll);
+    assertEquals(5, reader.getImported());
+    assertEquals(6, reader.getRejected());
+    assertEquals(new PhoneNumber(555, 123, 2024), read.get(0).getPhoneNumber());
+    assertEquals(new PhoneNumber(555, 123, 2024), read.get(1).getPhoneNumber());
+    assertNull(read.get(2).getPhoneNumber());
+    assertEquals("Windows", read.get(3).getName());
+    assertEquals(new PhoneNumber(555, 123, 2024), read.get(3).getPhoneNumber());
+    assertEquals(new EmailAddress("last", "example.com"), read.get(4).getEmailAddress());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnwritablePhoneNumber() throws IOException {
+    try (ContactCsvWriter writer = new ContactCsvWriter(file)) {
+      writer.write(new Person("Mickey Mouse", null, new PhoneNumber(5555, 123, 2024)));
+    }
+  }
+}
@@ -0,0 +1,84 @@
+import information.ContactDeduplicator;
+import information.DedupResult;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the throughput of ContactDeduplicator on generated contacts of which a fifth are
+ * altered copies of others, and how many of the copies it finds. Run with
+ * {@code java ContactDeduplicatorBenchmark [contacts]}.
+ */
+public class ContactDeduplicatorBenchmark {
+  private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John",
+      "Jennifer", "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard",
+      "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen"};
+  private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com",
+      "example.com", "mail.org", "school.edu", "company.com", "web.de"};
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of contacts.
+   */
+  public static void main(String[] args) {
+    int contacts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int originals = contacts - contacts / 5;
+    SplittableRandom random = new SplittableRandom(1);
+    List<Person> persons = new ArrayList<>(contacts);
+    for (int i = 0; i < originals; i++) {
+      String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+      String last = surname(random);
+      persons.add(new Person(first + " " + last, new EmailAddress(
+          first.toLowerCase() + "." + last.toLowerCase() + i,
+          DOMAINS[random.nextInt(DOMAINS.length)]), new PhoneNumber(200 + random.nextInt(800),
+          random.nextInt(1000), random.nextInt(10000))));
+    }
+    int[] sources = new int[contacts - originals];
+    for (int i = 0; i < sources.length; i++) {
+      sources[i] = random.nextInt(originals);
+      Person original = persons.get(sources[i]);
+      String name = original.getName();
+      if (random.nextBoolean()) {
+        int typo = 1 + random.nextInt(name.length() - 2);
+        name = name.substring(0, typo) + name.substring(typo + 1);
+      }
+      EmailAddress email = original.getEmailAddress();
+      if (random.nextBoolean()) {
+        email = new EmailAddress(email.getUsername().toUpperCase(),
+            DOMAINS[random.nextInt(DOMAINS.length)]);
+      }
+      persons.add(new Person(name.toUpperCase(), email,
+          random.nextInt(4) == 0 ? null : original.getPhoneNumber()));
+    }
+    ContactDeduplicator deduplicator = new ContactDeduplicator();
+    for (int round = 0; round < 3; round++) {
+      long start = System.nanoTime();
+      DedupResult result = deduplicator.deduplicate(persons);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      int found = 0;
+      for (int i = 0; i < sources.length; i++) {
+        if (result.getRepresentative(originals + i) == result.getRepresentative(sources[i])) {
+          found++;
+        }
+      }
+      System.out.printf("%d contacts in %.2f s (%.0f thousand/s, %d threads): %d clusters, "
+              + "%d of %d copies found, %.1f comparisons per contact%n", contacts, seconds,
+          contacts / seconds / 1e3, Runtime.getRuntime().availableProcessors(),
+          result.getClusterCount(), found, sources.length,
+          (double) result.getComparisons() / contacts);
+    }
+  }
+
+  private static String surname(SplittableRandom random) {
+    StringBuilder surname = new StringBuilder();
+    surname.append((char) ('A' + random.nextInt(26)));
+    for (int i = 3 + random.nextInt(6); i > 0; i--) {
+      surname.append((char) ('a' + random.nextInt(26)));
+    }
+    return surname.toString();
+  }
+}
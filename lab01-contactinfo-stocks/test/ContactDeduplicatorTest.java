@@ -0,0 +1,154 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import information.ConcurrentUnionFind;
+import information.ContactDeduplicator;
+import information.DedupResult;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import information.Soundex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ContactDeduplicator, ConcurrentUnionFind and Soundex classes.
+ */
+public class ContactDeduplicatorTest {
+
+  @Test
+  public void testSoundex() {
+    assertEquals("R163", Soundex.encode("Robert"));
+    assertEquals("R163", Soundex.encode("Rupert"));
+    assertEquals("A261", Soundex.encode("Ashcraft"));
+    assertEquals("T522", Soundex.encode("Tymczak"));
+    assertEquals("P236", Soundex.encode("Pfister"));
+    assertEquals("L000", Soundex.encode("lee"));
+    assertNull(Soundex.encode("42"));
+  }
+
+  @Test
+  public void testUnionFind() {
+    ConcurrentUnionFind unionFind = new ConcurrentUnionFind(6);
+    assertTrue(unionFind.union(4, 2));
+    assertTrue(unionFind.union(5, 4));
+    assertFalse(unionFind.union(2, 5));
+    assertTrue(unionFind.connected(5, 2));
+    assertFalse(unionFind.connected(0, 2));
+    assertEquals(2, unionFind.find(5));
+    assertEquals(3, unionFind.find(3));
+  }
+
+  @Test
+  public void testConcurrentUnions() throws InterruptedException {
+    int size = 100_000;
+    ConcurrentUnionFind unionFind = new ConcurrentUnionFind(size);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Random random = new Random(t);
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < size; i++) {
+          // Links elements of the same residue modulo 10.
+          int a = random.nextInt(size);
+          unionFind.union(a, a % 10 + 10 * random.nextInt(size / 10));
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (int i = 0; i < size; i++) {
+      int root = unionFind.find(i);
+      assertEquals(i % 10, root % 10);
+      assertTrue(root <= i);
+    }
+  }
+
+  @Test
+  public void testDuplicates() {
+    List<Person> persons = Arrays.asList(
+        new Person("Mickey Mouse", new EmailAddress("m.mouse", "example.com"),
+            new PhoneNumber(555, 123, 2024)),
+        new Person("Donald Duck", new EmailAddress("donald", "duck.org"),
+            new PhoneNumber(212, 555, 1934)),
+        new Person("MICKEY  MOUSE", new EmailAddress("M.Mouse+news", "Example.com"), null),
+        new Person("Micky Mouse", null, new PhoneNumber(555, 123, 2024)),
+        new Person("Minnie Mouse", new EmailAddress("minnie", "example.com"),
+            new PhoneNumber(555, 321, 1928)),
+        new Person("Donald Duck", new EmailAddress("donald", "duck.com"), null),
+        new Person("Daisy Duck", null, null));
+    DedupResult result = new ContactDeduplicator().deduplicate(persons);
+    assertEquals(7, result.size());
+    assertEquals(4, result.getClusterCount());
+    assertEquals(0, result.getRepresentative(2));
+    assertEquals(0, result.getRepresentative(3));
+    assertEquals(1, result.getRepresentative(5));
+    assertEquals(4, result.getRepresentative(4));
+    assertEquals(6, result.getRepresentative(6));
+    assertTrue(result.getComparisons() > 0);
+    List<Person> merged = result.merge(persons);
+    assertEquals(4, merged.size());
+    assertEquals("Mickey Mouse", merged.get(0).getName());
+    assertEquals(new PhoneNumber(555, 123, 2024), merged.get(0).getPhoneNumber());
+    assertEquals("Daisy Duck", merged.get(3).getName());
+  }
+
+  @Test
+  public void testGeneratedDuplicates() {
+    Random random = new Random(11);
+    List<Person> persons = new ArrayList<>();
+    int originals = 2_000;
+    for (int i = 0; i < originals; i++) {
+      String name = "First" + i + " Surname" + Integer.toString(i * 7919, 26);
+      persons.add(new Person(name, new EmailAddress("user" + i, "example.com"),
+          new PhoneNumber(200 + random.nextInt(50), random.nextInt(1000),
+              random.nextInt(10000))));
+    }
+    for (int i = 0; i < originals; i += 2) {
+      Person original = persons.get(i);
+      // A typo in the name and another domain, with the same phone number.
+      String name = original.getName();
+      int typo = 1 + random.nextInt(name.length() - 2);
+      persons.add(new Person(name.substring(0, typo) + name.substring(typo + 1),
+          new EmailAddress(original.getEmailAddress().getUsername(), "example.org"),
+          original.getPhoneNumber()));
+    }
+    DedupResult result = new ContactDeduplicator().deduplicate(persons, new ForkJoinPool(3));
+    assertEquals(originals, result.getClusterCount());
+    for (int i = 0; i < originals / 2; i++) {
+      assertEquals(2 * i, result.getRepresentative(originals + i));
+    }
+    assertNotEquals(result.getRepresentative(0), result.getRepresentative(1));
+    assertTrue(result.getComparisons() < (long) persons.size() * 50);
+  }
+
+  @Test
+  public void testPhoneNumberOutOfRange() {
+    List<Person> persons = Arrays.asList(
+        new Person("Mickey Mouse", new EmailAddress("mickey", "example.com"),
+            new PhoneNumber(-1, 123, 2024)),
+        new Person("Mickey Mouse", new EmailAddress("mickey", "example.org"),
+            new PhoneNumber(555, 1 << 20, 2024)),
+        new Person("Donald Duck", null, new PhoneNumber(555, 123, 2024)));
+    DedupResult result = new ContactDeduplicator().deduplicate(persons);
+    assertEquals(2, result.getClusterCount());
+    assertEquals(0, result.getRepresentative(1));
+    assertEquals(2, result.getRepresentative(2));
+    assertEquals(new PhoneNumber(-1, 123, 2024), result.merge(persons).get(0).getPhoneNumber());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidThreshold() {
+    new ContactDeduplicator(0, 16);
+  }
+}
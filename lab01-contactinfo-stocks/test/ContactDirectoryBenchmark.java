@@ -0,0 +1,88 @@
+import information.ContactDirectory;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures how long building a ContactDirectory takes and how long its lookups take
+ * compared with linear scans of the contacts. Run with
+ * {@code java ContactDirectoryBenchmark [contacts] [queries]}.
+ */
+public class ContactDirectoryBenchmark {
+  private static final String[] DOMAINS = new String[1000];
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of contacts and of queries of each kind.
+   */
+  public static void main(String[] args) {
+    int contacts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int queries = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+    for (int i = 0; i < DOMAINS.length; i++) {
+      DOMAINS[i] = "domain" + i + ".com";
+    }
+    SplittableRandom random = new SplittableRandom(1);
+    List<Person> persons = new ArrayList<>(contacts);
+    for (int i = 0; i < contacts; i++) {
+      persons.add(person(random, i));
+    }
+    for (int round = 0; round < 3; round++) {
+      long start = System.nanoTime();
+      ContactDirectory directory = new ContactDirectory(persons);
+      System.out.printf("Built directory of %d contacts in %.0f ms%n", contacts,
+          (System.nanoTime() - start) / 1e6);
+      long found = 0;
+      start = System.nanoTime();
+      for (int i = 0; i < queries; i++) {
+        found += directory.findByNamePrefix(prefix(random)).size();
+      }
+      long names = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < queries; i++) {
+        found += directory.findByEmailAddress(
+            persons.get(random.nextInt(contacts)).getEmailAddress()).size();
+      }
+      long emails = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < queries; i++) {
+        found += directory.findByPhoneNumber(new PhoneNumber(200 + random.nextInt(800),
+            random.nextInt(1000), random.nextInt(10000))).size();
+      }
+      long phones = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < queries; i++) {
+        found += directory.findByDomain(DOMAINS[random.nextInt(DOMAINS.length)]).size();
+        found += directory.findByAreaCode(200 + random.nextInt(800)).size();
+      }
+      long inverted = System.nanoTime() - start;
+      start = System.nanoTime();
+      String prefix = prefix(random);
+      for (Person person : persons) {
+        if (person.getName().regionMatches(true, 0, prefix, 0, prefix.length())) {
+          found++;
+        }
+      }
+      long scan = System.nanoTime() - start;
+      System.out.printf("Per query: name prefix %.0f ns, email %.0f ns, phone %.0f ns, "
+              + "domain and area code %.0f ns; linear name scan %.1f ms (%d)%n",
+          (double) names / queries, (double) emails / queries, (double) phones / queries,
+          (double) inverted / queries, scan / 1e6, found);
+    }
+  }
+
+  private static Person person(SplittableRandom random, int i) {
+    String name = prefix(random) + prefix(random).toLowerCase() + " " + Integer.toString(i, 36);
+    return new Person(name, new EmailAddress("user" + i,
+        DOMAINS[random.nextInt(DOMAINS.length)]), new PhoneNumber(200 + random.nextInt(800),
+        random.nextInt(1000), random.nextInt(10000)));
+  }
+
+  private static String prefix(SplittableRandom random) {
+    return new String(new char[] {(char) ('A' + random.nextInt(26)),
+        (char) ('a' + random.nextInt(26)), (char) ('a' + random.nextInt(26))});
+  }
+}
@@ -0,0 +1,99 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import information.ContactDirectory;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ContactDirectory class.
+ */
+public class ContactDirectoryTest {
+
+  @Test
+  public void testLookups() {
+    Person mickey = new Person("Mickey Mouse", new EmailAddress("m.mouse", "example.com"),
+        new PhoneNumber(555, 123, 2024));
+    Person minnie = new Person("minnie mouse", new EmailAddress("minnie", "example.com"),
+        new PhoneNumber(555, 321, 1928));
+    Person donald = new Person("Donald Duck", new EmailAddress("donald", "duck.org"),
+        new PhoneNumber(212, 123, 2024));
+    Person nobody = new Person(null, null, null);
+    ContactDirectory directory = new ContactDirectory(Arrays.asList(mickey, minnie, donald,
+        nobody));
+
+    assertEquals(4, directory.size());
+    assertEquals(donald, directory.get(2));
+    assertEquals(Arrays.asList(mickey, minnie), directory.findByNamePrefix("mi"));
+    assertEquals(Arrays.asList(minnie), directory.findByNamePrefix("MINN"));
+    assertEquals(3, directory.findByNamePrefix("").size());
+    assertTrue(directory.findByNamePrefix("Mickey Mouse Jr").isEmpty());
+    assertTrue(directory.findByNamePrefix("Z").isEmpty());
+    assertEquals(Arrays.asList(minnie),
+        directory.findByEmailAddress(new EmailAddress("minnie", "example.com")));
+    assertEquals(Arrays.asList(donald),
+        directory.findByPhoneNumber(new PhoneNumber(212, 123, 2024)));
+    assertEquals(Arrays.asList(mickey, minnie), directory.findByDomain("example.com"));
+    assertEquals(Arrays.asList(mickey, minnie), directory.findByAreaCode(555));
+    assertTrue(directory.findByAreaCode(999).isEmpty());
+    assertTrue(directory.findByDomain("example.org").isEmpty());
+  }
+
+  @Test
+  public void testMatchesLinearScan() {
+    Random random = new Random(3);
+    String[] domains = {"example.com", "example.org", "mail.net", "school.edu"};
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      StringBuilder name = new StringBuilder();
+      for (int c = 1 + random.nextInt(6); c > 0; c--) {
+        char letter = (char) ('a' + random.nextInt(4));
+        name.append(random.nextBoolean() ? Character.toUpperCase(letter) : letter);
+      }
+      persons.add(new Person(name.toString(),
+          new EmailAddress("user" + random.nextInt(1000), domains[random.nextInt(4)]),
+          new PhoneNumber(200 + random.nextInt(20), random.nextInt(10), random.nextInt(10))));
+    }
+    ContactDirectory directory = new ContactDirectory(persons);
+    for (String prefix : new String[] {"a", "Ab", "bCd", "dddd", "abcdab"}) {
+      List<Person> expected = persons.stream()
+          .filter(p -> p.getName().toLowerCase().startsWith(prefix.toLowerCase()))
+          .sorted((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.getName(), b.getName()))
+          .collect(Collectors.toList());
+      assertEquals(expected.size(), directory.findByNamePrefix(prefix).size());
+      assertEquals(expected.stream().map(Person::getName).collect(Collectors.toList()),
+          directory.findByNamePrefix(prefix).stream().map(Person::getName)
+              .collect(Collectors.toList()));
+    }
+    for (String domain : domains) {
+      assertEquals(persons.stream().filter(p -> p.getEmailAddress().getDomain().equals(domain))
+          .collect(Collectors.toList()), directory.findByDomain(domain));
+    }
+    for (int areaCode = 200; areaCode < 220; areaCode++) {
+      int code = areaCode;
+      assertEquals(persons.stream().filter(p -> p.getPhoneNumber().getAreaCode() == code)
+          .collect(Collectors.toList()), directory.findByAreaCode(areaCode));
+    }
+    Person probe = persons.get(1234);
+    assertEquals(persons.stream().filter(p -> p.getEmailAddress().equals(
+        probe.getEmailAddress())).collect(Collectors.toList()),
+        directory.findByEmailAddress(probe.getEmailAddress()));
+    assertEquals(persons.stream().filter(p -> p.getPhoneNumber().equals(
+        probe.getPhoneNumber())).collect(Collectors.toList()),
+        directory.findByPhoneNumber(probe.getPhoneNumber()));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testResultsAreUnmodifiable() {
+    Person mickey = new Person("Mickey Mouse", new EmailAddress("m.mouse", "example.com"),
+        new PhoneNumber(555, 123, 2024));
+    new ContactDirectory(Arrays.asList(mickey)).findByDomain("example.com").clear();
+  }
+}
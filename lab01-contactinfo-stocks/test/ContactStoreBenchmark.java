@@ -0,0 +1,69 @@
+import information.ContactStore;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the heap taken per contact by Person objects and by a ContactStore holding the
+ * same contacts, and how fast the store is scanned. Run with
+ * {@code java ContactStoreBenchmark [contacts]}.
+ */
+public class ContactStoreBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of contacts.
+   */
+  public static void main(String[] args) {
+    int contacts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    String[] domains = new String[1000];
+    for (int i = 0; i < domains.length; i++) {
+      domains[i] = "domain" + i + ".com";
+    }
+    long base = usedMemory();
+    Person[] persons = new Person[contacts];
+    SplittableRandom random = new SplittableRandom(1);
+    for (int i = 0; i < contacts; i++) {
+      // Domains are parsed from input in practice, so every address has its own string.
+      persons[i] = new Person("First" + random.nextInt(10000) + " Last" + i,
+          new EmailAddress("user" + i, new String(domains[random.nextInt(domains.length)])),
+          new PhoneNumber(200 + random.nextInt(800), random.nextInt(1000),
+              random.nextInt(10000)));
+    }
+    long objects = usedMemory() - base;
+    ContactStore store = new ContactStore(contacts);
+    for (int i = 0; i < contacts; i++) {
+      store.add(persons[i]);
+    }
+    persons = null;
+    long columnar = usedMemory() - base;
+    System.out.printf("Objects: %.1f bytes per contact%n", (double) objects / contacts);
+    System.out.printf("Store: %.1f bytes per contact on the heap, %.1f stored%n",
+        (double) columnar / contacts, (double) store.getStoredBytes() / contacts);
+    for (int round = 0; round < 3; round++) {
+      long start = System.nanoTime();
+      long sum = 0;
+      for (int i = 0; i < store.size(); i++) {
+        sum += store.getDomainId(i) + (store.getPhoneCode(i) >>> 40);
+      }
+      long columns = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < store.size(); i++) {
+        sum += store.getName(i).length();
+      }
+      long names = System.nanoTime() - start;
+      System.out.printf("Scan of domain and phone columns %.1f ns, of names %.1f ns per "
+          + "contact (%d)%n", (double) columns / contacts, (double) names / contacts, sum);
+    }
+  }
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
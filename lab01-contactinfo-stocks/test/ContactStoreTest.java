@@ -0,0 +1,90 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import information.ContactStore;
+import information.EmailAddress;
+import information.Person;
+import information.PhoneNumber;
+import information.PhoneNumberCodec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ContactStore, DomainDictionary and PhoneNumberCodec classes.
+ */
+public class ContactStoreTest {
+
+  @Test
+  public void testPhoneNumberCodec() {
+    long code = PhoneNumberCodec.encode(new PhoneNumber(555, 123, 2024));
+    assertEquals(555, PhoneNumberCodec.areaCode(code));
+    assertEquals(123, PhoneNumberCodec.prefix(code));
+    assertEquals(2024, PhoneNumberCodec.lineNumber(code));
+    assertEquals(new PhoneNumber(555, 123, 2024), PhoneNumberCodec.decode(code));
+    assertTrue(code < PhoneNumberCodec.encode(555, 124, 0));
+    long max = PhoneNumberCodec.encode(PhoneNumberCodec.MAX_PART, PhoneNumberCodec.MAX_PART,
+        PhoneNumberCodec.MAX_PART);
+    assertTrue(max > 0);
+    assertEquals(PhoneNumberCodec.MAX_PART, PhoneNumberCodec.areaCode(max));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPhoneNumberOutOfRange() {
+    PhoneNumberCodec.encode(-1, 123, 2024);
+  }
+
+  @Test
+  public void testRoundTrip() {
+    ContactStore store = new ContactStore();
+    Random random = new Random(5);
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      String name = i % 97 == 0 ? null : "Person \u00C5" + i + "x".repeat(random.nextInt(200));
+      EmailAddress email = i % 89 == 0 ? null
+          : new EmailAddress(i % 83 == 0 ? null : "user" + i, "domain" + random.nextInt(10)
+          + ".com");
+      PhoneNumber phone = i % 79 == 0 ? null
+          : new PhoneNumber(random.nextInt(1000), random.nextInt(1000), random.nextInt(10000));
+      Person person = new Person(name, email, phone);
+      persons.add(person);
+      assertEquals(i, store.add(person));
+    }
+    assertEquals(persons.size(), store.size());
+    assertEquals(10, store.getDomains().size());
+    for (int i = 0; i < persons.size(); i++) {
+      Person expected = persons.get(i);
+      Person actual = store.get(i);
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getEmailAddress(), actual.getEmailAddress());
+      assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber());
+    }
+    assertNull(store.getEmailAddress(89));
+    assertEquals(-1, store.getDomainId(89));
+    assertNull(store.getPhoneNumber(79));
+    assertEquals(-1, store.getPhoneCode(79));
+    assertSame(store.getEmailAddress(1).getDomain(),
+        store.getDomains().domain(store.getDomainId(1)));
+    assertTrue(store.getStoredBytes() > 16L * store.size());
+  }
+
+  @Test
+  public void testDomainDictionary() {
+    ContactStore store = new ContactStore();
+    store.add(new Person("A", new EmailAddress("a", "example.com"), null));
+    store.add(new Person("B", new EmailAddress("b", "example.org"), null));
+    store.add(new Person("C", new EmailAddress("c", "example.com"), null));
+    assertEquals(0, store.getDomainId(2));
+    assertEquals(1, store.getDomains().id("example.org"));
+    assertEquals(-1, store.getDomains().id("example.net"));
+    assertEquals("example.org", store.getDomains().domain(1));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRowOutOfBounds() {
+    new ContactStore().getName(0);
+  }
+}
@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import information.EmailAddress;
 import org.junit.Test;
@@ -21,6 +22,13 @@ public class EmailTest {
 
     assertEquals("example.com", email.getDomain());
   }
-}
 
+  @Test
+  public void testEquals() {
+    EmailAddress value = new EmailAddress("m.mouse", "example.com");
 
+    assertEquals(new EmailAddress("m.mouse", "example.com"), value);
+    assertEquals(new EmailAddress("m.mouse", "example.com").hashCode(), value.hashCode());
+    assertNotEquals(new EmailAddress("m.mouse", "example.org"), value);
+  }
+}
@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import information.PhoneNumber;
 import org.junit.Test;
@@ -28,5 +29,13 @@ public class PhoneNumberTest {
 
     assertEquals(2024, phone.getLineNumber());
   }
-}
 
+  @Test
+  public void testEquals() {
+    PhoneNumber value = new PhoneNumber(555, 123, 2024);
+
+    assertEquals(new PhoneNumber(555, 123, 2024), value);
+    assertEquals(new PhoneNumber(555, 123, 2024).hashCode(), value.hashCode());
+    assertNotEquals(new PhoneNumber(555, 124, 2024), value);
+  }
+}
@@ -0,0 +1,66 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import stock.PortfolioEngine;
+import stock.Stock;
+
+/**
+ * Measures the latency of price ticks in PortfolioEngine, each revaluing every portfolio
+ * holding the stock, and reports percentiles. Run with
+ * {@code java PortfolioEngineBenchmark [stocks] [portfolios] [positions] [ticks]}.
+ */
+public class PortfolioEngineBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of stocks, of portfolios, of positions per portfolio and of
+   *             ticks per round.
+   */
+  public static void main(String[] args) {
+    int stocks = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+    int portfolios = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+    int positions = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+    int ticks = args.length > 3 ? Integer.parseInt(args[3]) : 1_000_000;
+    PortfolioEngine engine = new PortfolioEngine();
+    SplittableRandom random = new SplittableRandom(1);
+    for (int i = 0; i < stocks; i++) {
+      engine.add(new Stock("Company " + i, "T" + i, 100, 90, 110, random.nextInt(100), 100,
+          1 + random.nextInt(5)));
+    }
+    for (int p = 0; p < portfolios; p++) {
+      int portfolio = engine.newPortfolio();
+      for (int i = 0; i < positions; i++) {
+        // Skewed towards low IDs, so some stocks are held far more widely than others.
+        int stock = (int) (stocks * Math.pow(random.nextDouble(), 2));
+        engine.setPosition(portfolio, "T" + stock, 1 + random.nextInt(1000));
+      }
+    }
+    int[] ids = new int[ticks];
+    double[] prices = new double[ticks];
+    for (int i = 0; i < ticks; i++) {
+      ids[i] = random.nextInt(stocks);
+      prices[i] = 80 + random.nextDouble() * 40;
+    }
+    long[] latencies = new long[ticks];
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < ticks; i++) {
+        long before = System.nanoTime();
+        engine.tick(ids[i], prices[i]);
+        latencies[i] = System.nanoTime() - before;
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      Arrays.sort(latencies);
+      System.out.printf("%.2f million ticks/s; latency p50 %d ns, p90 %d ns, p99 %d ns, "
+              + "p99.9 %d ns, max %d ns%n", ticks / seconds / 1e6,
+          latencies[ticks / 2], latencies[(int) (ticks * 0.9)],
+          latencies[(int) (ticks * 0.99)], latencies[(int) (ticks * 0.999)],
+          latencies[ticks - 1]);
+    }
+    long start = System.nanoTime();
+    engine.recompute();
+    System.out.printf("Full recomputation of %d positions: %.2f ms (%.0f)%n",
+        (long) portfolios * positions, (System.nanoTime() - start) / 1e6,
+        engine.getMarketValue(0));
+  }
+}
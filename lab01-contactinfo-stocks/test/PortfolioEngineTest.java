@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+import stock.PortfolioEngine;
+import stock.Stock;
+
+/**
+ * Unit tests for the PortfolioEngine class.
+ */
+public class PortfolioEngineTest {
+
+  @Test
+  public void testAggregates() {
+    PortfolioEngine engine = new PortfolioEngine();
+    engine.add(new Stock("Microsoft Corporation", "MSFT", 60, 50, 80, 5, 10, 4));
+    engine.add(new Stock("Apple Inc.", "AAPL", 100, 80, 125, 1, 4, 2));
+    int portfolio = engine.newPortfolio();
+    engine.setPosition(portfolio, "MSFT", 10);
+    engine.setPosition(portfolio, "AAPL", 4);
+    assertEquals(1000, engine.getMarketValue(portfolio), 1e-9);
+    assertEquals((600 * 0.5 + 400 * 0.25) / 1000, engine.getDebtToAssets(portfolio), 1e-12);
+    assertEquals((600 * 4 + 400 * 2) / 1000.0, engine.getRecommendationScore(portfolio),
+        1e-12);
+    assertEquals((1300 - 1000) / 1300.0, engine.getBelow52WeekHigh(portfolio), 1e-12);
+    assertEquals((1000 - 820) / 820.0, engine.getAbove52WeekLow(portfolio), 1e-12);
+
+    engine.tick("AAPL", 130);
+    assertEquals(1120, engine.getMarketValue(portfolio), 1e-9);
+    assertEquals((1320 - 1120) / 1320.0, engine.getBelow52WeekHigh(portfolio), 1e-12);
+    engine.setPosition(portfolio, "MSFT", 0);
+    assertEquals(520, engine.getMarketValue(portfolio), 1e-9);
+    assertEquals(0.25, engine.getDebtToAssets(portfolio), 1e-12);
+    assertEquals(0, engine.getPosition(portfolio, "MSFT"), 0);
+    assertEquals(4, engine.getPosition(portfolio, "AAPL"), 0);
+
+    engine.add(new Stock("Apple Inc.", "AAPL", 110, 80, 130, 3, 4, 5));
+    assertEquals(440, engine.getMarketValue(portfolio), 1e-9);
+    assertEquals(0.75, engine.getDebtToAssets(portfolio), 1e-12);
+    assertEquals(5, engine.getRecommendationScore(portfolio), 1e-12);
+  }
+
+  @Test
+  public void testEmptyPortfolio() {
+    PortfolioEngine engine = new PortfolioEngine();
+    int portfolio = engine.newPortfolio();
+    assertEquals(1, engine.getPortfolioCount());
+    assertEquals(0, engine.getMarketValue(portfolio), 0);
+    assertTrue(Double.isNaN(engine.getDebtToAssets(portfolio)));
+    assertTrue(Double.isNaN(engine.getBelow52WeekHigh(portfolio)));
+  }
+
+  @Test
+  public void testClosedPortfolioIsEmpty() {
+    PortfolioEngine engine = new PortfolioEngine();
+    engine.add(new Stock("Microsoft Corporation", "MSFT", 60.1, 50, 80, 5, 10, 4));
+    engine.add(new Stock("Apple Inc.", "AAPL", 100.3, 80, 125, 1, 4, 2));
+    int portfolio = engine.newPortfolio();
+    engine.setPosition(portfolio, "MSFT", 10.7);
+    engine.setPosition(portfolio, "AAPL", 3.3);
+    engine.tick("MSFT", 61.7);
+    engine.tick("AAPL", 130.9);
+    engine.tick("MSFT", 49.3);
+    engine.setPosition(portfolio, "MSFT", 0);
+    engine.tick("AAPL", 77.1);
+    engine.setPosition(portfolio, "AAPL", 0);
+    assertEquals(0, engine.getMarketValue(portfolio), 0);
+    assertTrue(Double.isNaN(engine.getDebtToAssets(portfolio)));
+    assertTrue(Double.isNaN(engine.getRecommendationScore(portfolio)));
+    assertTrue(Double.isNaN(engine.getBelow52WeekHigh(portfolio)));
+    assertTrue(Double.isNaN(engine.getAbove52WeekLow(portfolio)));
+    engine.tick("AAPL", 90.5);
+    assertTrue(Double.isNaN(engine.getDebtToAssets(portfolio)));
+    engine.setPosition(portfolio, "AAPL", 2);
+    assertEquals(181, engine.getMarketValue(portfolio), 1e-9);
+  }
+
+  @Test
+  public void testIncrementalMatchesRecompute() {
+    PortfolioEngine engine = new PortfolioEngine();
+    Random random = new Random(7);
+    int stocks = 50;
+    for (int i = 0; i < stocks; i++) {
+      engine.add(new Stock("Company " + i, "T" + i, 100, 90, 110, random.nextInt(100),
+          100, 1 + random.nextInt(5)));
+    }
+    for (int p = 0; p < 40; p++) {
+      engine.newPortfolio();
+    }
+    for (int i = 0; i < 20_000; i++) {
+      String ticker = "T" + random.nextInt(stocks);
+      if (random.nextInt(4) == 0) {
+        engine.setPosition(random.nextInt(40), ticker, random.nextInt(3) * 100);
+      } else {
+        engine.tick(ticker, 50 + random.nextDouble() * 100);
+      }
+    }
+    double[] incremental = new double[40 * 5];
+    for (int p = 0; p < 40; p++) {
+      incremental[p * 5] = engine.getMarketValue(p);
+      incremental[p * 5 + 1] = engine.getDebtToAssets(p);
+      incremental[p * 5 + 2] = engine.getBelow52WeekHigh(p);
+      incremental[p * 5 + 3] = engine.getAbove52WeekLow(p);
+      incremental[p * 5 + 4] = engine.getRecommendationScore(p);
+    }
+    engine.recompute();
+    for (int p = 0; p < 40; p++) {
+      assertEquals(engine.getMarketValue(p), incremental[p * 5], 1e-6);
+      assertEquals(engine.getDebtToAssets(p), incremental[p * 5 + 1], 1e-9);
+      assertEquals(engine.getBelow52WeekHigh(p), incremental[p * 5 + 2], 1e-9);
+      assertEquals(engine.getAbove52WeekLow(p), incremental[p * 5 + 3], 1e-9);
+      assertEquals(engine.getRecommendationScore(p), incremental[p * 5 + 4], 1e-9);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownTicker() {
+    PortfolioEngine engine = new PortfolioEngine();
+    engine.setPosition(engine.newPortfolio(), "MSFT", 10);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testUnknownPortfolio() {
+    new PortfolioEngine().getMarketValue(0);
+  }
+}
@@ -0,0 +1,52 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import stock.QuoteBook;
+import stock.Stock;
+
+/**
+ * Measures the tick throughput of QuoteBook with several producer threads. Run with
+ * {@code java QuoteBookBenchmark [instruments] [ticksPerThread] [threads]}.
+ */
+public class QuoteBookBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of instruments, of ticks per thread and of threads.
+   * @throws InterruptedException if interrupted while waiting for the producers.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int instruments = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+    int producers = args.length > 2 ? Integer.parseInt(args[2])
+        : Runtime.getRuntime().availableProcessors();
+    QuoteBook book = new QuoteBook();
+    String[] tickers = new String[instruments];
+    for (int i = 0; i < instruments; i++) {
+      tickers[i] = "T" + i;
+      book.add(new Stock("Company " + i, tickers[i], 100, 90, 110, 0, 1, 3));
+    }
+    for (int round = 0; round < 3; round++) {
+      List<Thread> threads = new ArrayList<>();
+      for (int p = 0; p < producers; p++) {
+        SplittableRandom random = new SplittableRandom(p);
+        threads.add(new Thread(() -> {
+          for (int i = 0; i < ticks; i++) {
+            book.tick(tickers[random.nextInt(instruments)], 80 + random.nextDouble() * 40);
+          }
+        }));
+      }
+      long start = System.nanoTime();
+      for (Thread thread : threads) {
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%d producers: %.1f million ticks/s%n", producers,
+          (double) ticks * producers / seconds / 1e6);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import stock.QuoteBook;
+import stock.Stock;
+
+/**
+ * Unit tests for the QuoteBook class.
+ */
+public class QuoteBookTest {
+
+  @Test
+  public void testTickUpdatesRange() {
+    QuoteBook book = new QuoteBook();
+    book.add(new Stock("Microsoft Corporation", "MSFT", 60.37, 55.20, 75.40, 5000000,
+        10000000, 4));
+    book.tick("MSFT", 80);
+    book.tick("MSFT", 50);
+    book.tick("MSFT", 61);
+    Stock stock = book.snapshot("MSFT");
+    assertEquals("Microsoft Corporation", stock.getCompanyName());
+    assertEquals(61, stock.getPricePerShare(), 0);
+    assertEquals(50, stock.getLowestPrice52Weeks(), 0);
+    assertEquals(80, stock.getHighestPrice52Weeks(), 0);
+    assertEquals(5000000, stock.getTotalDebt(), 0);
+    assertEquals(4, stock.getAnalystRecommendation());
+    assertEquals(61, book.getPrice("MSFT"), 0);
+    book.setRange("MSFT", 58, 70);
+    assertEquals(58, book.snapshot("MSFT").getLowestPrice52Weeks(), 0);
+    assertNull(book.snapshot("AAPL"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownTicker() {
+    new QuoteBook().tick("AAPL", 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalPrice() {
+    QuoteBook book = new QuoteBook();
+    book.add(new Stock("Apple Inc.", "AAPL", 10, 5, 20, 0, 1, 3));
+    book.tick("AAPL", Double.NaN);
+  }
+
+  @Test
+  public void testConcurrentTicksAndSnapshots() throws InterruptedException {
+    QuoteBook book = new QuoteBook();
+    for (int i = 0; i < 4; i++) {
+      book.add(new Stock("Company " + i, "T" + i, 100, 100, 100, 0, 1, 3));
+    }
+    AtomicBoolean torn = new AtomicBoolean();
+    AtomicBoolean done = new AtomicBoolean();
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < 4; p++) {
+      int producer = p;
+      threads.add(new Thread(() -> {
+        for (int i = 1; i <= 200_000; i++) {
+          // Prices of every producer lie in their own band around 100.
+          book.tick("T" + (i & 3), 100 + ((i >> 2 & 1) == 0 ? 0.75 : -0.75) * (producer + 1));
+        }
+      }));
+    }
+    Thread reader = new Thread(() -> {
+      while (!done.get()) {
+        for (Stock stock : book.snapshot()) {
+          if (stock.getLowestPrice52Weeks() > stock.getPricePerShare()
+              || stock.getHighestPrice52Weeks() < stock.getPricePerShare()) {
+            torn.set(true);
+          }
+        }
+      }
+    });
+    reader.start();
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    done.set(true);
+    reader.join();
+    assertTrue(!torn.get());
+    for (int i = 0; i < 4; i++) {
+      Stock stock = book.snapshot("T" + i);
+      assertEquals(97, stock.getLowestPrice52Weeks(), 0);
+      assertEquals(103, stock.getHighestPrice52Weeks(), 0);
+    }
+  }
+
+  @Test
+  public void testReadersDoNotBlockWriter() throws InterruptedException {
+    QuoteBook book = new QuoteBook();
+    book.add(new Stock("Apple Inc.", "AAPL", 100, 100, 100, 0, 1, 3));
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicBoolean torn = new AtomicBoolean();
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 4; r++) {
+      // Every reader stays in the read path for the whole test.
+      readers.add(new Thread(() -> {
+        double last = 0;
+        while (!done.get()) {
+          Stock stock = book.snapshot("AAPL");
+          double price = book.getPrice("AAPL");
+          if (stock.getHighestPrice52Weeks() != stock.getPricePerShare()
+              || stock.getPricePerShare() < last || price < stock.getPricePerShare()) {
+            torn.set(true);
+          }
+          last = price;
+        }
+      }));
+    }
+    for (Thread reader : readers) {
+      reader.start();
+    }
+    Thread writer = new Thread(() -> {
+      for (int i = 1; i <= 500_000; i++) {
+        book.tick("AAPL", 100 + i);
+      }
+    });
+    writer.start();
+    writer.join(30_000);
+    boolean blocked = writer.isAlive();
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    writer.join();
+    assertTrue(!blocked);
+    assertTrue(!torn.get());
+    assertEquals(500_100, book.getPrice("AAPL"), 0);
+  }
+}
@@ -0,0 +1,57 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import stock.Stock;
+import stock.StockField;
+import stock.StockScreen;
+import stock.StockScreener;
+
+/**
+ * Compares a compound screen on StockScreener with a linear scan over a list of stocks. Run
+ * with {@code java StockScreenerBenchmark [stocks] [rounds]}.
+ */
+public class StockScreenerBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of stocks and of timed rounds.
+   */
+  public static void main(String[] args) {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    Random random = new Random(1);
+    List<Stock> stocks = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      double low = 1 + random.nextInt(50000) / 100.0;
+      double high = low * (1 + random.nextDouble());
+      double price = low + (high - low) * random.nextDouble();
+      double assets = 1e6 + random.nextInt(1000) * 1e6;
+      stocks.add(new Stock("Company " + i, "T" + i, price, low, high,
+          random.nextDouble() * assets, assets, 1 + random.nextInt(5)));
+    }
+    long start = System.nanoTime();
+    StockScreener screener = new StockScreener(stocks);
+    System.out.printf("build: %.0f ms%n", (System.nanoTime() - start) / 1e6);
+    StockScreen screen = new StockScreen().atMost(StockField.ABOVE_52_WEEK_LOW, 0.05)
+        .lessThan(StockField.DEBT_TO_ASSETS, 0.3)
+        .atLeast(StockField.ANALYST_RECOMMENDATION, 4);
+    long bestIndexed = Long.MAX_VALUE;
+    long bestScan = Long.MAX_VALUE;
+    int indexed = 0;
+    int scanned = 0;
+    for (int r = 0; r < rounds; r++) {
+      start = System.nanoTime();
+      indexed = screener.count(screen);
+      bestIndexed = Math.min(bestIndexed, System.nanoTime() - start);
+      start = System.nanoTime();
+      scanned = 0;
+      for (Stock stock : stocks) {
+        scanned += screen.matches(stock) ? 1 : 0;
+      }
+      bestScan = Math.min(bestScan, System.nanoTime() - start);
+    }
+    System.out.printf("indexed: %.2f ms, scan: %.2f ms (%d and %d matches)%n",
+        bestIndexed / 1e6, bestScan / 1e6, indexed, scanned);
+  }
+}
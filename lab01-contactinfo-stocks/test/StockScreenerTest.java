@@ -0,0 +1,96 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import stock.Stock;
+import stock.StockField;
+import stock.StockScreen;
+import stock.StockScreener;
+
+/**
+ * Unit tests for the StockScreener class.
+ */
+public class StockScreenerTest {
+
+  private static List<Stock> universe(int n) {
+    Random random = new Random(17);
+    List<Stock> stocks = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      double low = 1 + random.nextInt(50000) / 100.0;
+      double high = low * (1 + random.nextDouble());
+      double price = low + (high - low) * random.nextDouble();
+      double assets = random.nextInt(20) == 0 ? 0 : random.nextInt(1000) * 1e6;
+      stocks.add(new Stock("Company " + i, "T" + i, price, low, high,
+          random.nextDouble() * assets, assets, 1 + random.nextInt(5)));
+    }
+    return stocks;
+  }
+
+  private static void assertScreen(List<Stock> stocks, StockScreener screener,
+                                   StockScreen screen) {
+    BitSet expected = new BitSet();
+    for (int i = 0; i < stocks.size(); i++) {
+      if (screen.matches(stocks.get(i))) {
+        expected.set(i);
+      }
+    }
+    assertEquals(expected, screener.screen(screen));
+  }
+
+  @Test
+  public void testCompoundScreen() {
+    List<Stock> stocks = universe(20000);
+    StockScreener screener = new StockScreener(stocks);
+    StockScreen screen = new StockScreen().atMost(StockField.ABOVE_52_WEEK_LOW, 0.05)
+        .lessThan(StockField.DEBT_TO_ASSETS, 0.3)
+        .atLeast(StockField.ANALYST_RECOMMENDATION, 4);
+    assertScreen(stocks, screener, screen);
+    List<Stock> passing = screener.screenStocks(screen);
+    assertTrue(passing.size() > 0);
+    for (Stock stock : passing) {
+      assertTrue(stock.getPricePerShare() <= stock.getLowestPrice52Weeks() * 1.05 + 1e-9);
+      assertTrue(stock.getTotalDebt() < 0.3 * stock.getTotalAssets());
+      assertTrue(stock.getAnalystRecommendation() >= 4);
+    }
+  }
+
+  @Test
+  public void testRandomScreens() {
+    List<Stock> stocks = universe(5000);
+    StockScreener screener = new StockScreener(stocks);
+    Random random = new Random(3);
+    StockField[] fields = StockField.values();
+    for (int k = 0; k < 200; k++) {
+      StockScreen screen = new StockScreen();
+      for (int c = random.nextInt(4); c >= 0; c--) {
+        StockField field = fields[random.nextInt(fields.length)];
+        double a = field.of(stocks.get(random.nextInt(stocks.size())));
+        double b = field.of(stocks.get(random.nextInt(stocks.size())));
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+          screen.atLeast(field, 0);
+        } else if (random.nextBoolean()) {
+          screen.between(field, Math.min(a, b), Math.max(a, b));
+        } else {
+          screen.greaterThan(field, a);
+        }
+      }
+      assertScreen(stocks, screener, screen);
+    }
+  }
+
+  @Test
+  public void testEmptyScreenAndRows() {
+    List<Stock> stocks = universe(100);
+    StockScreener screener = new StockScreener(stocks);
+    assertEquals(100, screener.count(new StockScreen()));
+    assertEquals(0, screener.count(new StockScreen().atLeast(StockField.PRICE_PER_SHARE, 1e9)));
+    Stock stock = screener.get(42);
+    assertEquals("T42", stock.getTickerSymbol());
+    assertEquals(stocks.get(42).getTotalDebt(), stock.getTotalDebt(), 0);
+    assertEquals(stocks.get(42).getAnalystRecommendation(), stock.getAnalystRecommendation());
+  }
+}
@@ -0,0 +1,59 @@
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import stock.Stock;
+import stock.StockSnapshot;
+import stock.StockSnapshotWriter;
+
+/**
+ * Writes a universe of stocks to a snapshot, then measures how long opening it takes and how
+ * fast and with how much allocation a cursor scans it. Run with
+ * {@code java StockSnapshotBenchmark [stocks]}.
+ */
+public class StockSnapshotBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of stocks.
+   * @throws IOException if the snapshot cannot be written or read.
+   */
+  public static void main(String[] args) throws IOException {
+    int stocks = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Path file = Files.createTempFile("stocks", ".snapshot");
+    try {
+      long start = System.nanoTime();
+      try (StockSnapshotWriter writer = new StockSnapshotWriter(file)) {
+        for (int i = 0; i < stocks; i++) {
+          writer.add(new Stock("Company " + i / 2, "T" + Integer.toString(i, 36), 100 + i % 50,
+              90, 150, i % 1000, 1000, 1 + i % 5));
+        }
+      }
+      System.out.printf("Wrote %d stocks in %.0f ms, %d bytes%n", stocks,
+          (System.nanoTime() - start) / 1e6, Files.size(file));
+      for (int round = 0; round < 5; round++) {
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        start = System.nanoTime();
+        StockSnapshot snapshot = StockSnapshot.open(file);
+        long opened = System.nanoTime();
+        StockSnapshot.Cursor cursor = snapshot.cursor();
+        double sum = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+          cursor.moveTo(i);
+          sum += cursor.getPricePerShare() * cursor.getTotalDebt() / cursor.getTotalAssets()
+              + cursor.getAnalystRecommendation();
+        }
+        long scanned = System.nanoTime();
+        allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+        System.out.printf("Open %.3f ms, scan %.1f ms (%.1f ns per stock), allocated %d bytes"
+                + " (%.0f)%n", (opened - start) / 1e6, (scanned - opened) / 1e6,
+            (double) (scanned - opened) / stocks, allocated, sum);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
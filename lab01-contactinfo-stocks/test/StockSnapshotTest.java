@@ -0,0 +1,118 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import stock.Stock;
+import stock.StockField;
+import stock.StockScreen;
+import stock.StockSnapshot;
+import stock.StockSnapshotWriter;
+import stock.TickerCodec;
+
+/**
+ * Unit tests for the StockSnapshot and StockSnapshotWriter classes.
+ */
+public class StockSnapshotTest {
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("stocks", ".snapshot");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    Stock[] stocks = {
+        new Stock("Microsoft Corporation", "MSFT", 60.37, 55.20, 75.40, 5000000, 10000000, 4),
+        new Stock("Apple Inc.", "AAPL", 150.5, 120.25, 180.75, 1000000, 4000000, 2),
+        new Stock("Nestl\u00E9 S.A.", "NESN", 99.9, 90, 120, 0, 1, 5)
+    };
+    try (StockSnapshotWriter writer = new StockSnapshotWriter(file)) {
+      for (Stock stock : stocks) {
+        writer.add(stock);
+      }
+      assertEquals(3, writer.size());
+    }
+    StockSnapshot snapshot = StockSnapshot.open(file);
+    assertEquals(3, snapshot.size());
+    StockSnapshot.Cursor cursor = snapshot.cursor();
+    for (int i = 0; i < stocks.length; i++) {
+      cursor.moveTo(i);
+      assertEquals(i, cursor.getIndex());
+      assertEquals(stocks[i].getCompanyName(), cursor.getCompanyName());
+      assertEquals(stocks[i].getTickerSymbol(), cursor.getTickerSymbol());
+      assertEquals(TickerCodec.encode(stocks[i].getTickerSymbol()), cursor.getTickerCode());
+      assertEquals(stocks[i].getPricePerShare(), cursor.getPricePerShare(), 0);
+      assertEquals(stocks[i].getLowestPrice52Weeks(), cursor.getLowestPrice52Weeks(), 0);
+      assertEquals(stocks[i].getHighestPrice52Weeks(), cursor.getHighestPrice52Weeks(), 0);
+      assertEquals(stocks[i].getTotalDebt(), cursor.getTotalDebt(), 0);
+      assertEquals(stocks[i].getTotalAssets(), cursor.getTotalAssets(), 0);
+      assertEquals(stocks[i].getAnalystRecommendation(), cursor.getAnalystRecommendation());
+    }
+    assertEquals("AAPL", snapshot.get(1).getTickerSymbol());
+    assertTrue(new StockScreen().atLeast(StockField.ANALYST_RECOMMENDATION, 4)
+        .matches(cursor.moveTo(0)));
+  }
+
+  @Test
+  public void testNamesAreStoredOnce() throws IOException {
+    try (StockSnapshotWriter writer = new StockSnapshotWriter(file)) {
+      writer.add(new Stock("Alphabet Inc.", "GOOG", 100, 90, 110, 0, 1, 3));
+      writer.add(new Stock("Alphabet Inc.", "GOOGL", 101, 90, 110, 0, 1, 3));
+    }
+    assertEquals(16 + 2 * 56 + 4 + "Alphabet Inc.".length(), Files.size(file));
+    assertEquals("Alphabet Inc.", StockSnapshot.open(file).get(1).getCompanyName());
+  }
+
+  @Test
+  public void testNullCompanyName() throws IOException {
+    try (StockSnapshotWriter writer = new StockSnapshotWriter(file)) {
+      writer.add(new Stock(null, "ANON", 10, 5, 20, 0, 1, 3));
+      writer.add(new Stock("Apple Inc.", "AAPL", 150, 120, 180, 1, 4, 2));
+    }
+    StockSnapshot snapshot = StockSnapshot.open(file);
+    assertNull(snapshot.cursor().moveTo(0).getCompanyName());
+    assertNull(snapshot.get(0).getCompanyName());
+    assertEquals("ANON", snapshot.get(0).getTickerSymbol());
+    assertEquals("Apple Inc.", snapshot.get(1).getCompanyName());
+  }
+
+  @Test
+  public void testEmptySnapshot() throws IOException {
+    new StockSnapshotWriter(file).close();
+    assertEquals(0, StockSnapshot.open(file).size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEmptySnapshotCursor() throws IOException {
+    new StockSnapshotWriter(file).close();
+    StockSnapshot.Cursor cursor = StockSnapshot.open(file).cursor();
+    assertEquals(-1, cursor.getIndex());
+    cursor.getPricePerShare();
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidFile() throws IOException {
+    Files.write(file, new byte[64]);
+    StockSnapshot.open(file);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testIndexOutOfBounds() throws IOException {
+    try (StockSnapshotWriter writer = new StockSnapshotWriter(file)) {
+      writer.add(new Stock("Apple Inc.", "AAPL", 150, 120, 180, 1, 4, 2));
+    }
+    StockSnapshot.open(file).cursor().moveTo(1);
+  }
+}
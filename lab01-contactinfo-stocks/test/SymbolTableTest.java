@@ -0,0 +1,81 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import stock.LongIntHashMap;
+import stock.SymbolTable;
+import stock.TickerCodec;
+
+/**
+ * Unit tests for the SymbolTable, TickerCodec and LongIntHashMap classes.
+ */
+public class SymbolTableTest {
+
+  @Test
+  public void testCodec() {
+    assertEquals("MSFT", TickerCodec.decode(TickerCodec.encode("MSFT")));
+    assertEquals("BRK.B", TickerCodec.decode(TickerCodec.encode("BRK.B")));
+    assertEquals("ABCDEFGH", TickerCodec.decode(TickerCodec.encode("ABCDEFGH")));
+    assertTrue(TickerCodec.encode("AA") < TickerCodec.encode("AAPL"));
+    assertTrue(TickerCodec.encode("AAPL") < TickerCodec.encode("MSFT"));
+    byte[] bytes = "x,IBM,y".getBytes();
+    assertEquals(TickerCodec.encode("IBM"), TickerCodec.encode(bytes, 2, 3));
+    assertFalse(TickerCodec.fits("ABCDEFGHI"));
+    assertFalse(TickerCodec.fits(""));
+    assertFalse(TickerCodec.fits("\u00C4B"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooLong() {
+    TickerCodec.encode("ABCDEFGHI");
+  }
+
+  @Test
+  public void testIntern() {
+    SymbolTable table = new SymbolTable();
+    assertEquals(0, table.intern("MSFT"));
+    assertEquals(1, table.intern("AAPL"));
+    assertEquals(0, table.intern(new StringBuilder("MS").append("FT")));
+    assertEquals(1, table.id("AAPL"));
+    assertEquals(-1, table.id("IBM"));
+    assertEquals(-1, table.id("TOO-LONG-TICKER"));
+    assertEquals("AAPL", table.symbol(1));
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  public void testManySymbols() {
+    SymbolTable table = new SymbolTable();
+    for (int i = 0; i < 100_000; i++) {
+      assertEquals(i, table.intern("T" + i));
+    }
+    for (int i = 0; i < 100_000; i++) {
+      assertEquals(i, table.id("T" + i));
+      assertEquals("T" + i, table.symbol(i));
+    }
+  }
+
+  @Test
+  public void testMapAgainstHashMap() {
+    Random random = new Random(2);
+    LongIntHashMap map = new LongIntHashMap();
+    Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 50_000; i++) {
+      long key = random.nextInt(1000) == 0 ? 0 : random.nextLong() % 20_000;
+      int value = random.nextInt(Integer.MAX_VALUE);
+      Integer previous = expected.put(key, value);
+      assertEquals(previous == null ? -1 : previous, map.put(key, value));
+    }
+    assertEquals(expected.size(), map.size());
+    for (long key = -20_000; key < 20_000; key++) {
+      assertEquals((int) expected.getOrDefault(key, -1), map.get(key));
+    }
+    map.clear();
+    assertEquals(0, map.size());
+    assertEquals(-1, map.get(0));
+  }
+}
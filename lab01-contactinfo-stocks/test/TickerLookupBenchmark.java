@@ -0,0 +1,82 @@
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import stock.Stock;
+import stock.SymbolTable;
+import stock.TickerCodec;
+
+/**
+ * Compares looking up stocks by ticker in a HashMap with String keys and through a
+ * SymbolTable, both from String tickers and from tickers in a byte buffer such as a market
+ * data feed. JMH is not available to this project, so this is a plain timing loop with
+ * warm-up rounds. Run with {@code java TickerLookupBenchmark [instruments] [lookups]}.
+ */
+public class TickerLookupBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The number of instruments and of lookups per round.
+   */
+  public static void main(String[] args) {
+    int instruments = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+    Map<String, Stock> byTicker = new HashMap<>();
+    SymbolTable table = new SymbolTable(instruments);
+    Stock[] byId = new Stock[instruments];
+    Random random = new Random(1);
+    for (int i = 0; i < instruments; i++) {
+      StringBuilder ticker = new StringBuilder();
+      for (int c = 1 + random.nextInt(3); c > 0; c--) {
+        ticker.append((char) ('A' + random.nextInt(26)));
+      }
+      ticker.append(Integer.toString(i, 36).toUpperCase());
+      Stock stock = new Stock("Company " + i, ticker.toString(), 100, 90, 110, 0, 1, 3);
+      byTicker.put(stock.getTickerSymbol(), stock);
+      byId[table.intern(stock.getTickerSymbol())] = stock;
+    }
+    String[] tickers = byTicker.keySet().toArray(new String[0]);
+    String[] queries = new String[lookups];
+    byte[] feed = new byte[lookups * 8];
+    int[] offsets = new int[lookups];
+    int[] lengths = new int[lookups];
+    for (int i = 0; i < lookups; i++) {
+      // Copies, as a ticker read from elsewhere is not the instance used as the key.
+      queries[i] = new String(tickers[random.nextInt(tickers.length)]);
+      byte[] bytes = queries[i].getBytes(StandardCharsets.US_ASCII);
+      offsets[i] = i * 8;
+      lengths[i] = bytes.length;
+      System.arraycopy(bytes, 0, feed, offsets[i], bytes.length);
+    }
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      double sum = 0;
+      for (String query : queries) {
+        sum += byTicker.get(query).getPricePerShare();
+      }
+      long hashMap = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (String query : queries) {
+        sum += byId[table.id(query)].getPricePerShare();
+      }
+      long symbols = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < lookups; i++) {
+        String query = new String(feed, offsets[i], lengths[i], StandardCharsets.US_ASCII);
+        sum += byTicker.get(query).getPricePerShare();
+      }
+      long hashMapFeed = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < lookups; i++) {
+        sum += byId[table.id(TickerCodec.encode(feed, offsets[i], lengths[i]))]
+            .getPricePerShare();
+      }
+      long symbolsFeed = System.nanoTime() - start;
+      System.out.printf("String: HashMap %.1f ns, SymbolTable %.1f ns; "
+              + "bytes: HashMap %.1f ns, SymbolTable %.1f ns (%.0f)%n",
+          (double) hashMap / lookups, (double) symbols / lookups,
+          (double) hashMapFeed / lookups, (double) symbolsFeed / lookups, sum);
+    }
+  }
+}